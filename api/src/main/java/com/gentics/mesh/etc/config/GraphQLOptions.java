@@ -0,0 +1,77 @@
+package com.gentics.mesh.etc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.doc.GenerateDocumentation;
+import com.gentics.mesh.etc.config.env.EnvironmentVariable;
+import com.gentics.mesh.etc.config.env.Option;
+
+/**
+ * GraphQL query execution options.
+ */
+@GenerateDocumentation
+public class GraphQLOptions implements Option {
+
+	public static final int DEFAULT_WORKER_POOL_SIZE = 8;
+
+	public static final String MESH_GRAPHQL_PARALLEL_EXECUTION_ENV = "MESH_GRAPHQL_PARALLEL_EXECUTION";
+	public static final String MESH_GRAPHQL_WORKER_POOL_SIZE_ENV = "MESH_GRAPHQL_WORKER_POOL_SIZE";
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which indicates whether the top-level fields of a GraphQL query should be resolved concurrently. Each field will be resolved within its own read transaction. Default: false")
+	@EnvironmentVariable(name = MESH_GRAPHQL_PARALLEL_EXECUTION_ENV, description = "Override the GraphQL parallel execution flag.")
+	private boolean parallelExecution = false;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of worker threads which are used to resolve top-level fields when parallel execution is enabled. Default: "
+		+ DEFAULT_WORKER_POOL_SIZE)
+	@EnvironmentVariable(name = MESH_GRAPHQL_WORKER_POOL_SIZE_ENV, description = "Override the GraphQL worker pool size.")
+	private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+
+	/**
+	 * Check whether the top-level fields of a query should be resolved concurrently.
+	 *
+	 * @return
+	 */
+	public boolean isParallelExecution() {
+		return parallelExecution;
+	}
+
+	/**
+	 * Set the parallel execution flag.
+	 *
+	 * @param parallelExecution
+	 * @return Fluent API
+	 */
+	public GraphQLOptions setParallelExecution(boolean parallelExecution) {
+		this.parallelExecution = parallelExecution;
+		return this;
+	}
+
+	/**
+	 * Return the size of the worker pool which is used for parallel execution.
+	 *
+	 * @return
+	 */
+	public int getWorkerPoolSize() {
+		return workerPoolSize;
+	}
+
+	/**
+	 * Set the size of the worker pool which is used for parallel execution.
+	 *
+	 * @param workerPoolSize
+	 * @return Fluent API
+	 */
+	public GraphQLOptions setWorkerPoolSize(int workerPoolSize) {
+		this.workerPoolSize = workerPoolSize;
+		return this;
+	}
+
+	@Override
+	public void validate(MeshOptions meshOptions) {
+		if (workerPoolSize < 1) {
+			throw new IllegalArgumentException("The GraphQL worker pool size must be at least 1.");
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package com.gentics.mesh.etc.config;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
@@ -18,6 +20,12 @@ public class ImageManipulatorOptions implements Option {
 	public static final String MESH_IMAGE_MAX_HEIGHT_ENV = "MESH_IMAGE_MAX_HEIGHT";
 	public static final int DEFAULT_MAX_WIDTH = 2048;
 	public static final int DEFAULT_MAX_HEIGHT = 2048;
+	public static final String MESH_IMAGE_CACHE_MAX_SIZE_ENV = "MESH_IMAGE_CACHE_MAX_SIZE";
+	public static final String MESH_IMAGE_CACHE_MAX_AGE_ENV = "MESH_IMAGE_CACHE_MAX_AGE";
+	public static final long DEFAULT_IMAGE_CACHE_MAX_SIZE = 1024L * 1024 * 1024;
+	public static final long DEFAULT_IMAGE_CACHE_MAX_AGE = 0;
+	public static final String MESH_IMAGE_DECODE_MEMORY_LIMIT_ENV = "MESH_IMAGE_DECODE_MEMORY_LIMIT";
+	public static final long DEFAULT_DECODE_MEMORY_LIMIT = 0;
 
 	private String imageCacheDirectory = "data" + File.separator + "binaryImageCache";
 
@@ -33,6 +41,28 @@ public class ImageManipulatorOptions implements Option {
 	@EnvironmentVariable(name = MESH_IMAGE_MAX_HEIGHT_ENV, description = "Override the max height for image resize operations.")
 	private Integer maxHeight = DEFAULT_MAX_HEIGHT;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum size in bytes of the resized images which are kept in the image cache directory. The least recently used images will be removed once the limit has been reached. A value of 0 disables the limit. Default: "
+		+ DEFAULT_IMAGE_CACHE_MAX_SIZE)
+	@EnvironmentVariable(name = MESH_IMAGE_CACHE_MAX_SIZE_ENV, description = "Override the max size of the image cache.")
+	private long imageCacheMaxSize = DEFAULT_IMAGE_CACHE_MAX_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time in seconds after which resized images which have not been accessed will be removed from the image cache. A value of 0 disables the expiration. Default: "
+		+ DEFAULT_IMAGE_CACHE_MAX_AGE)
+	@EnvironmentVariable(name = MESH_IMAGE_CACHE_MAX_AGE_ENV, description = "Override the max age of the image cache entries.")
+	private long imageCacheMaxAge = DEFAULT_IMAGE_CACHE_MAX_AGE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of memory in bytes which may be used to decode images for resize operations at the same time. Resize operations will wait until enough memory is available. A value of 0 will use a quarter of the maximum heap size. Default: "
+		+ DEFAULT_DECODE_MEMORY_LIMIT)
+	@EnvironmentVariable(name = MESH_IMAGE_DECODE_MEMORY_LIMIT_ENV, description = "Override the decode memory limit for image resize operations.")
+	private long decodeMemoryLimit = DEFAULT_DECODE_MEMORY_LIMIT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Set of image renditions which will be generated when an image gets uploaded. The key is the name of the rendition and the value contains the image manipulation query parameters (e.g. w=480&h=320&crop=fp).")
+	private Map<String, String> renditions = new LinkedHashMap<>();
+
 	/**
 	 * Return the binary image cache directory.
 	 * 
@@ -93,8 +123,106 @@ public class ImageManipulatorOptions implements Option {
 		return this;
 	}
 
-	public void validate(MeshOptions meshOptions) {
-		// TODO Auto-generated method stub
+	/**
+	 * Return the maximum size of the image cache in bytes.
+	 * 
+	 * @return
+	 */
+	public long getImageCacheMaxSize() {
+		return imageCacheMaxSize;
+	}
 
+	/**
+	 * Set the maximum size of the image cache in bytes. A value of 0 disables the limit.
+	 * 
+	 * @param imageCacheMaxSize
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setImageCacheMaxSize(long imageCacheMaxSize) {
+		this.imageCacheMaxSize = imageCacheMaxSize;
+		return this;
+	}
+
+	/**
+	 * Return the time in seconds after which unused image cache entries expire.
+	 * 
+	 * @return
+	 */
+	public long getImageCacheMaxAge() {
+		return imageCacheMaxAge;
+	}
+
+	/**
+	 * Set the time in seconds after which unused image cache entries expire. A value of 0 disables the expiration.
+	 * 
+	 * @param imageCacheMaxAge
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setImageCacheMaxAge(long imageCacheMaxAge) {
+		this.imageCacheMaxAge = imageCacheMaxAge;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of memory in bytes which may be used to decode images at the same time.
+	 * 
+	 * @return
+	 */
+	public long getDecodeMemoryLimit() {
+		return decodeMemoryLimit;
+	}
+
+	/**
+	 * Set the maximum amount of memory in bytes which may be used to decode images at the same time. A value of 0 will use a quarter of the maximum heap
+	 * size.
+	 * 
+	 * @param decodeMemoryLimit
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setDecodeMemoryLimit(long decodeMemoryLimit) {
+		this.decodeMemoryLimit = decodeMemoryLimit;
+		return this;
+	}
+
+	/**
+	 * Return the configured image renditions. The key is the name of the rendition and the value contains the image manipulation query parameters.
+	 * 
+	 * @return
+	 */
+	public Map<String, String> getRenditions() {
+		return renditions;
+	}
+
+	/**
+	 * Add an image rendition which will be generated when an image gets uploaded.
+	 * 
+	 * @param name
+	 *            Name of the rendition
+	 * @param query
+	 *            Image manipulation query parameters (e.g. w=480&h=320)
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setRendition(String name, String query) {
+		this.renditions.put(name, query);
+		return this;
+	}
+
+	public void validate(MeshOptions meshOptions) {
+		if (getImageCacheMaxSize() < 0) {
+			throw new IllegalArgumentException("The image cache max size must not be negative.");
+		}
+		if (getImageCacheMaxAge() < 0) {
+			throw new IllegalArgumentException("The image cache max age must not be negative.");
+		}
+		if (getDecodeMemoryLimit() < 0) {
+			throw new IllegalArgumentException("The image decode memory limit must not be negative.");
+		}
+		if (getRenditions() != null) {
+			for (Map.Entry<String, String> entry : getRenditions().entrySet()) {
+				if (entry.getValue() == null || entry.getValue().isEmpty()) {
+					throw new IllegalArgumentException("The image rendition {" + entry.getKey() + "} does not define any image manipulation parameters.");
+				}
+			}
+		}
 	}
 }
@@ -1,6 +1,8 @@
 package com.gentics.mesh.etc.config;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
@@ -19,6 +21,24 @@ public class MeshUploadOptions implements Option {
 	public static final String MESH_BINARY_DIR_ENV = "MESH_BINARY_DIR";
 	public static final String MESH_BINARY_UPLOAD_TEMP_DIR_ENV = "MESH_BINARY_UPLOAD_TEMP_DIR";
 	public static final String MESH_BINARY_UPLOAD_LIMIT_ENV = "MESH_BINARY_UPLOAD_LIMIT";
+	public static final String MESH_BINARY_GC_RATE_ENV = "MESH_BINARY_GC_RATE";
+	public static final String MESH_BINARY_GC_GRACE_PERIOD_ENV = "MESH_BINARY_GC_GRACE_PERIOD";
+	public static final int DEFAULT_GC_RATE = 500;
+	public static final long DEFAULT_GC_GRACE_PERIOD = 60 * 60;
+
+	public static final String MESH_BINARY_PARSER_THREADS_ENV = "MESH_BINARY_PARSER_THREADS";
+	public static final String MESH_BINARY_PARSER_QUEUE_SIZE_ENV = "MESH_BINARY_PARSER_QUEUE_SIZE";
+	public static final String MESH_BINARY_PARSER_TIMEOUT_ENV = "MESH_BINARY_PARSER_TIMEOUT";
+	public static final String MESH_BINARY_PARSER_LIMIT_ENV = "MESH_BINARY_PARSER_LIMIT";
+	public static final String MESH_BINARY_PARSER_DEFERRED_ENV = "MESH_BINARY_PARSER_DEFERRED";
+	public static final int DEFAULT_PARSER_THREADS = 2;
+	public static final int DEFAULT_PARSER_QUEUE_SIZE = 100;
+	public static final long DEFAULT_PARSER_TIMEOUT = 30_000;
+	public static final int DEFAULT_PARSER_LIMIT = 100_000;
+	public static final boolean DEFAULT_PARSER_DEFERRED = false;
+
+	public static final String MESH_BINARY_SNIFF_LIMIT_ENV = "MESH_BINARY_SNIFF_LIMIT";
+	public static final int DEFAULT_SNIFF_LIMIT = 10 * 1024 * 1024; // 10 MiB
 
 	@JsonProperty(required = false)
 	@JsonPropertyDescription("The upload size limit in bytes. Default: " + DEFAULT_FILEUPLOAD_MB_LIMIT)
@@ -35,6 +55,57 @@ public class MeshUploadOptions implements Option {
 	@EnvironmentVariable(name = MESH_BINARY_UPLOAD_TEMP_DIR_ENV, description = "Override the configured upload temporary directory.")
 	private String tempDirectory = DEFAULT_TEMP_DIR;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of binaries per second which will be checked by the binary garbage collection. A value of 0 disables the limit. Default: "
+		+ DEFAULT_GC_RATE)
+	@EnvironmentVariable(name = MESH_BINARY_GC_RATE_ENV, description = "Override the rate of the binary garbage collection.")
+	private int gcRate = DEFAULT_GC_RATE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time in seconds for which stored binary data without a binary will be kept by the binary garbage collection. This protects the data of uploads which are still being processed. Default: "
+		+ DEFAULT_GC_GRACE_PERIOD)
+	@EnvironmentVariable(name = MESH_BINARY_GC_GRACE_PERIOD_ENV, description = "Override the grace period of the binary garbage collection.")
+	private long gcGracePeriod = DEFAULT_GC_GRACE_PERIOD;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of threads which will be used to extract the metadata of uploaded documents. Default: " + DEFAULT_PARSER_THREADS)
+	@EnvironmentVariable(name = MESH_BINARY_PARSER_THREADS_ENV, description = "Override the amount of upload parser threads.")
+	private int parserThreads = DEFAULT_PARSER_THREADS;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of documents which wait for the metadata extraction. The extraction will be skipped for uploads which exceed the limit. Default: "
+		+ DEFAULT_PARSER_QUEUE_SIZE)
+	@EnvironmentVariable(name = MESH_BINARY_PARSER_QUEUE_SIZE_ENV, description = "Override the queue size of the upload parser.")
+	private int parserQueueSize = DEFAULT_PARSER_QUEUE_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time in milliseconds after which the upload no longer waits for the metadata extraction of a document. The parser is interrupted and a parser thread which does not stop is replaced. A value of 0 disables the timeout. Default: "
+		+ DEFAULT_PARSER_TIMEOUT)
+	@EnvironmentVariable(name = MESH_BINARY_PARSER_TIMEOUT_ENV, description = "Override the timeout of the upload parser.")
+	private long parserTimeout = DEFAULT_PARSER_TIMEOUT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of characters which will be extracted from a document. The metadata which has been found until the limit was reached will be used. A value of -1 disables the limit. Default: "
+		+ DEFAULT_PARSER_LIMIT)
+	@EnvironmentVariable(name = MESH_BINARY_PARSER_LIMIT_ENV, description = "Override the text limit of the upload parser.")
+	private int parserLimit = DEFAULT_PARSER_LIMIT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Mime types of uploads for which no metadata will be extracted. A trailing wildcard can be used to match all subtypes (e.g. video/*).")
+	private List<String> parserExcludedTypes = new ArrayList<>();
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which controls whether the metadata of uploaded documents will be extracted in the background. The upload request will not wait for the extraction when enabled. Default: "
+		+ DEFAULT_PARSER_DEFERRED)
+	@EnvironmentVariable(name = MESH_BINARY_PARSER_DEFERRED_ENV, description = "Override the deferred flag of the upload parser.")
+	private boolean parserDeferred = DEFAULT_PARSER_DEFERRED;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of bytes at the beginning of an upload which will be kept in memory while the upload is stored. The metadata of the upload is extracted from these bytes. Larger images will not be decoded and only the beginning of larger documents will be parsed unless the parser is deferred. Default: "
+		+ DEFAULT_SNIFF_LIMIT)
+	@EnvironmentVariable(name = MESH_BINARY_SNIFF_LIMIT_ENV, description = "Override the sniff limit of uploads.")
+	private int sniffLimit = DEFAULT_SNIFF_LIMIT;
+
 	/**
 	 * Return the upload limit in bytes.
 	 * 
@@ -98,4 +169,210 @@ public class MeshUploadOptions implements Option {
 		return this;
 	}
 
+	/**
+	 * Return the maximum amount of binaries per second which will be checked by the binary garbage collection.
+	 * 
+	 * @return
+	 */
+	public int getGcRate() {
+		return gcRate;
+	}
+
+	/**
+	 * Set the maximum amount of binaries per second which will be checked by the binary garbage collection. A value of 0 disables the limit.
+	 * 
+	 * @param gcRate
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setGcRate(int gcRate) {
+		this.gcRate = gcRate;
+		return this;
+	}
+
+	/**
+	 * Return the time in seconds for which stored binary data without a binary will be kept by the binary garbage collection.
+	 * 
+	 * @return
+	 */
+	public long getGcGracePeriod() {
+		return gcGracePeriod;
+	}
+
+	/**
+	 * Set the time in seconds for which stored binary data without a binary will be kept by the binary garbage collection.
+	 * 
+	 * @param gcGracePeriod
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setGcGracePeriod(long gcGracePeriod) {
+		this.gcGracePeriod = gcGracePeriod;
+		return this;
+	}
+
+	/**
+	 * Return the amount of threads which will be used to extract the metadata of uploaded documents.
+	 * 
+	 * @return
+	 */
+	public int getParserThreads() {
+		return parserThreads;
+	}
+
+	/**
+	 * Set the amount of threads which will be used to extract the metadata of uploaded documents.
+	 * 
+	 * @param parserThreads
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setParserThreads(int parserThreads) {
+		this.parserThreads = parserThreads;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of documents which wait for the metadata extraction.
+	 * 
+	 * @return
+	 */
+	public int getParserQueueSize() {
+		return parserQueueSize;
+	}
+
+	/**
+	 * Set the maximum amount of documents which wait for the metadata extraction.
+	 * 
+	 * @param parserQueueSize
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setParserQueueSize(int parserQueueSize) {
+		this.parserQueueSize = parserQueueSize;
+		return this;
+	}
+
+	/**
+	 * Return the time in milliseconds after which the upload no longer waits for the metadata extraction of a document.
+	 * 
+	 * @return
+	 */
+	public long getParserTimeout() {
+		return parserTimeout;
+	}
+
+	/**
+	 * Set the time in milliseconds after which the upload no longer waits for the metadata extraction of a document. The parser is interrupted and a
+	 * parser thread which does not stop is replaced. A value of 0 disables the timeout.
+	 * 
+	 * @param parserTimeout
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setParserTimeout(long parserTimeout) {
+		this.parserTimeout = parserTimeout;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of characters which will be extracted from a document.
+	 * 
+	 * @return
+	 */
+	public int getParserLimit() {
+		return parserLimit;
+	}
+
+	/**
+	 * Set the maximum amount of characters which will be extracted from a document. A value of -1 disables the limit.
+	 * 
+	 * @param parserLimit
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setParserLimit(int parserLimit) {
+		this.parserLimit = parserLimit;
+		return this;
+	}
+
+	/**
+	 * Return the mime types of uploads for which no metadata will be extracted.
+	 * 
+	 * @return
+	 */
+	public List<String> getParserExcludedTypes() {
+		return parserExcludedTypes;
+	}
+
+	/**
+	 * Set the mime types of uploads for which no metadata will be extracted. A trailing wildcard can be used to match all subtypes (e.g. video/*).
+	 * 
+	 * @param parserExcludedTypes
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setParserExcludedTypes(List<String> parserExcludedTypes) {
+		this.parserExcludedTypes = parserExcludedTypes;
+		return this;
+	}
+
+	/**
+	 * Check whether the metadata of uploaded documents will be extracted in the background.
+	 * 
+	 * @return
+	 */
+	public boolean isParserDeferred() {
+		return parserDeferred;
+	}
+
+	/**
+	 * Set the flag which controls whether the metadata of uploaded documents will be extracted in the background.
+	 * 
+	 * @param parserDeferred
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setParserDeferred(boolean parserDeferred) {
+		this.parserDeferred = parserDeferred;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of bytes at the beginning of an upload which will be used to extract the metadata of the upload.
+	 * 
+	 * @return
+	 */
+	public int getSniffLimit() {
+		return sniffLimit;
+	}
+
+	/**
+	 * Set the maximum amount of bytes at the beginning of an upload which will be used to extract the metadata of the upload.
+	 * 
+	 * @param sniffLimit
+	 * @return Fluent API
+	 */
+	public MeshUploadOptions setSniffLimit(int sniffLimit) {
+		this.sniffLimit = sniffLimit;
+		return this;
+	}
+
+	@Override
+	public void validate(MeshOptions meshOptions) {
+		if (getGcRate() < 0) {
+			throw new IllegalArgumentException("The binary garbage collection rate must not be negative.");
+		}
+		if (getGcGracePeriod() < 0) {
+			throw new IllegalArgumentException("The binary garbage collection grace period must not be negative.");
+		}
+		if (getParserThreads() < 1) {
+			throw new IllegalArgumentException("The amount of upload parser threads must be at least 1.");
+		}
+		if (getParserQueueSize() < 0) {
+			throw new IllegalArgumentException("The upload parser queue size must not be negative.");
+		}
+		if (getParserTimeout() < 0) {
+			throw new IllegalArgumentException("The upload parser timeout must not be negative.");
+		}
+		if (getParserLimit() < -1) {
+			throw new IllegalArgumentException("The upload parser limit must be -1 or positive.");
+		}
+		if (getSniffLimit() < 0) {
+			throw new IllegalArgumentException("The upload sniff limit must not be negative.");
+		}
+	}
+
 }
@@ -0,0 +1,267 @@
+package com.gentics.mesh.etc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.doc.GenerateDocumentation;
+import com.gentics.mesh.etc.config.env.EnvironmentVariable;
+import com.gentics.mesh.etc.config.env.Option;
+
+/**
+ * Options for schema, microschema and branch migrations.
+ */
+@GenerateDocumentation
+public class MigrationOptions implements Option {
+
+	public static final int DEFAULT_WORKER_COUNT = 1;
+
+	public static final int DEFAULT_BATCH_SIZE = 50;
+
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+
+	public static final int DEFAULT_JOB_WORKER_COUNT = 2;
+
+	public static final int DEFAULT_JOB_LEASE_TIMEOUT = 300;
+
+	public static final boolean DEFAULT_LAZY_MIGRATION = false;
+
+	public static final int DEFAULT_THROTTLE_RATE = 0;
+
+	public static final boolean DEFAULT_ADAPTIVE_THROTTLE = false;
+
+	public static final String MESH_MIGRATION_WORKER_COUNT_ENV = "MESH_MIGRATION_WORKER_COUNT";
+	public static final String MESH_MIGRATION_BATCH_SIZE_ENV = "MESH_MIGRATION_BATCH_SIZE";
+	public static final String MESH_MIGRATION_CHECKPOINT_INTERVAL_ENV = "MESH_MIGRATION_CHECKPOINT_INTERVAL";
+	public static final String MESH_MIGRATION_JOB_WORKER_COUNT_ENV = "MESH_MIGRATION_JOB_WORKER_COUNT";
+	public static final String MESH_MIGRATION_JOB_LEASE_TIMEOUT_ENV = "MESH_MIGRATION_JOB_LEASE_TIMEOUT";
+	public static final String MESH_MIGRATION_LAZY_ENV = "MESH_MIGRATION_LAZY";
+	public static final String MESH_MIGRATION_THROTTLE_RATE_ENV = "MESH_MIGRATION_THROTTLE_RATE";
+	public static final String MESH_MIGRATION_ADAPTIVE_THROTTLE_ENV = "MESH_MIGRATION_ADAPTIVE_THROTTLE";
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of workers which migrate containers concurrently. Default: " + DEFAULT_WORKER_COUNT)
+	@EnvironmentVariable(name = MESH_MIGRATION_WORKER_COUNT_ENV, description = "Override the migration worker count.")
+	private int workerCount = DEFAULT_WORKER_COUNT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of containers which will be migrated within a single transaction. Default: " + DEFAULT_BATCH_SIZE)
+	@EnvironmentVariable(name = MESH_MIGRATION_BATCH_SIZE_ENV, description = "Override the migration batch size.")
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of migrated elements after which the progress of the migration will be stored in the job. Interrupted migrations will resume from the last checkpoint. Default: "
+		+ DEFAULT_CHECKPOINT_INTERVAL)
+	@EnvironmentVariable(name = MESH_MIGRATION_CHECKPOINT_INTERVAL_ENV, description = "Override the migration checkpoint interval.")
+	private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of jobs which may be executed concurrently by this instance. Jobs which affect the same branch are always executed one after another. Default: "
+		+ DEFAULT_JOB_WORKER_COUNT)
+	@EnvironmentVariable(name = MESH_MIGRATION_JOB_WORKER_COUNT_ENV, description = "Override the job worker count.")
+	private int jobWorkerCount = DEFAULT_JOB_WORKER_COUNT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time in seconds after which the lease of a running job expires if it has not been renewed by the instance which executes the job. Jobs with expired leases can be taken over by other instances of the cluster. Default: "
+		+ DEFAULT_JOB_LEASE_TIMEOUT)
+	@EnvironmentVariable(name = MESH_MIGRATION_JOB_LEASE_TIMEOUT_ENV, description = "Override the job lease timeout.")
+	private int jobLeaseTimeout = DEFAULT_JOB_LEASE_TIMEOUT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which enables the lazy schema migration. Schema changes which only add or remove fields will take effect immediately. Affected contents are translated when being read and migrated when being written or by a low priority migration job. Default: "
+		+ DEFAULT_LAZY_MIGRATION)
+	@EnvironmentVariable(name = MESH_MIGRATION_LAZY_ENV, description = "Override the lazy migration flag.")
+	private boolean lazyMigration = DEFAULT_LAZY_MIGRATION;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of containers per second which will be migrated by this instance. A value of 0 disables the limit. The value can also be changed at runtime via the job admin endpoint. Default: "
+		+ DEFAULT_THROTTLE_RATE)
+	@EnvironmentVariable(name = MESH_MIGRATION_THROTTLE_RATE_ENV, description = "Override the migration throttle rate.")
+	private volatile int throttleRate = DEFAULT_THROTTLE_RATE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which enables the adaptive migration throttle. The migration rate will be reduced when transaction conflicts occur or when the event loop latency rises and will be increased again up to the throttle rate once the load decreases. Default: "
+		+ DEFAULT_ADAPTIVE_THROTTLE)
+	@EnvironmentVariable(name = MESH_MIGRATION_ADAPTIVE_THROTTLE_ENV, description = "Override the adaptive migration throttle flag.")
+	private volatile boolean adaptiveThrottle = DEFAULT_ADAPTIVE_THROTTLE;
+
+	/**
+	 * Return the amount of concurrent migration workers.
+	 *
+	 * @return
+	 */
+	public int getWorkerCount() {
+		return workerCount;
+	}
+
+	/**
+	 * Set the amount of concurrent migration workers.
+	 *
+	 * @param workerCount
+	 * @return Fluent API
+	 */
+	public MigrationOptions setWorkerCount(int workerCount) {
+		this.workerCount = workerCount;
+		return this;
+	}
+
+	/**
+	 * Return the amount of containers which are migrated within one transaction.
+	 *
+	 * @return
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the amount of containers which are migrated within one transaction.
+	 *
+	 * @param batchSize
+	 * @return Fluent API
+	 */
+	public MigrationOptions setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	/**
+	 * Return the amount of migrated elements after which a checkpoint will be stored.
+	 *
+	 * @return
+	 */
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	/**
+	 * Set the amount of migrated elements after which a checkpoint will be stored.
+	 *
+	 * @param checkpointInterval
+	 * @return Fluent API
+	 */
+	public MigrationOptions setCheckpointInterval(int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+		return this;
+	}
+
+	/**
+	 * Return the amount of jobs which may be executed concurrently.
+	 *
+	 * @return
+	 */
+	public int getJobWorkerCount() {
+		return jobWorkerCount;
+	}
+
+	/**
+	 * Set the amount of jobs which may be executed concurrently.
+	 *
+	 * @param jobWorkerCount
+	 * @return Fluent API
+	 */
+	public MigrationOptions setJobWorkerCount(int jobWorkerCount) {
+		this.jobWorkerCount = jobWorkerCount;
+		return this;
+	}
+
+	/**
+	 * Return the lease timeout of running jobs in seconds.
+	 *
+	 * @return
+	 */
+	public int getJobLeaseTimeout() {
+		return jobLeaseTimeout;
+	}
+
+	/**
+	 * Set the lease timeout of running jobs in seconds.
+	 *
+	 * @param jobLeaseTimeout
+	 * @return Fluent API
+	 */
+	public MigrationOptions setJobLeaseTimeout(int jobLeaseTimeout) {
+		this.jobLeaseTimeout = jobLeaseTimeout;
+		return this;
+	}
+
+	/**
+	 * Check whether the lazy schema migration has been enabled.
+	 *
+	 * @return
+	 */
+	public boolean isLazyMigration() {
+		return lazyMigration;
+	}
+
+	/**
+	 * Set the flag which enables the lazy schema migration.
+	 *
+	 * @param lazyMigration
+	 * @return Fluent API
+	 */
+	public MigrationOptions setLazyMigration(boolean lazyMigration) {
+		this.lazyMigration = lazyMigration;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of containers which are migrated per second.
+	 *
+	 * @return
+	 */
+	public int getThrottleRate() {
+		return throttleRate;
+	}
+
+	/**
+	 * Set the maximum amount of containers which are migrated per second. A value of 0 disables the limit.
+	 *
+	 * @param throttleRate
+	 * @return Fluent API
+	 */
+	public MigrationOptions setThrottleRate(int throttleRate) {
+		this.throttleRate = throttleRate;
+		return this;
+	}
+
+	/**
+	 * Check whether the adaptive migration throttle has been enabled.
+	 *
+	 * @return
+	 */
+	public boolean isAdaptiveThrottle() {
+		return adaptiveThrottle;
+	}
+
+	/**
+	 * Set the flag which enables the adaptive migration throttle.
+	 *
+	 * @param adaptiveThrottle
+	 * @return Fluent API
+	 */
+	public MigrationOptions setAdaptiveThrottle(boolean adaptiveThrottle) {
+		this.adaptiveThrottle = adaptiveThrottle;
+		return this;
+	}
+
+	@Override
+	public void validate(MeshOptions meshOptions) {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("The migration worker count must be at least 1.");
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The migration batch size must be at least 1.");
+		}
+		if (checkpointInterval < 1) {
+			throw new IllegalArgumentException("The migration checkpoint interval must be at least 1.");
+		}
+		if (jobWorkerCount < 1) {
+			throw new IllegalArgumentException("The job worker count must be at least 1.");
+		}
+		if (jobLeaseTimeout < 1) {
+			throw new IllegalArgumentException("The job lease timeout must be at least 1 second.");
+		}
+		if (throttleRate < 0) {
+			throw new IllegalArgumentException("The migration throttle rate must not be negative.");
+		}
+	}
+}
@@ -25,6 +25,12 @@ public class ElasticSearchOptions implements Option {
 
 	public static final String DEFAULT_PREFIX = "mesh-";
 
+	public static final String DEFAULT_SEARCH_TYPE = "query_then_fetch";
+
+	public static final long DEFAULT_RESULT_CACHE_SIZE = 0;
+
+	public static final int DEFAULT_RESULT_CACHE_TTL = 60;
+
 	public static final String DEFAULT_ARGS = "-Xms1g -Xmx1g -XX:+UseConcMarkSweepGC -XX:CMSInitiatingOccupancyFraction=75 -XX:+UseCMSInitiatingOccupancyOnly -XX:+AlwaysPreTouch -client -Xss1m -Djava.awt.headless=true -Dfile.encoding=UTF-8 -Djna.nosys=true -XX:-OmitStackTraceInFastThrow -Dio.netty.noUnsafe=true -Dio.netty.noKeySetOptimization=true -Dio.netty.recycler.maxCapacityPerThread=0 -Dlog4j.shutdownHookEnabled=false -Dlog4j2.disable.jmx=true -XX:+HeapDumpOnOutOfMemoryError";
 
 	public static final String MESH_ELASTICSEARCH_URL_ENV = "MESH_ELASTICSEARCH_URL";
@@ -32,6 +38,9 @@ public class ElasticSearchOptions implements Option {
 	public static final String MESH_ELASTICSEARCH_STARTUP_TIMEOUT_ENV = "MESH_ELASTICSEARCH_STARTUP_TIMEOUT";
 	public static final String MESH_ELASTICSEARCH_START_EMBEDDED_ENV = "MESH_ELASTICSEARCH_START_EMBEDDED";
 	public static final String MESH_ELASTICSEARCH_PREFIX_ENV = "MESH_ELASTICSEARCH_PREFIX";
+	public static final String MESH_ELASTICSEARCH_SEARCH_TYPE_ENV = "MESH_ELASTICSEARCH_SEARCH_TYPE";
+	public static final String MESH_ELASTICSEARCH_RESULT_CACHE_SIZE_ENV = "MESH_ELASTICSEARCH_RESULT_CACHE_SIZE";
+	public static final String MESH_ELASTICSEARCH_RESULT_CACHE_TTL_ENV = "MESH_ELASTICSEARCH_RESULT_CACHE_TTL";
 
 	@JsonProperty(required = false)
 	@JsonPropertyDescription("Elasticsearch connection url to be used. Set this setting to null will disable the Elasticsearch support.")
@@ -67,6 +76,24 @@ public class ElasticSearchOptions implements Option {
 	@EnvironmentVariable(name = MESH_ELASTICSEARCH_PREFIX_ENV, description = "Override the configured elasticsearch prefix.")
 	private String prefix = DEFAULT_PREFIX;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Search type which will be used for search queries. Possible values are query_then_fetch and dfs_query_then_fetch. Using dfs_query_then_fetch will result in more accurate scores but requires an additional round-trip. Default: "
+		+ DEFAULT_SEARCH_TYPE)
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_SEARCH_TYPE_ENV, description = "Override the configured elasticsearch search type.")
+	private String searchType = DEFAULT_SEARCH_TYPE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of search responses which will be cached. Setting the size to 0 will disable the result cache. Default: "
+		+ DEFAULT_RESULT_CACHE_SIZE)
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_RESULT_CACHE_SIZE_ENV, description = "Override the configured search result cache size.")
+	private long resultCacheSize = DEFAULT_RESULT_CACHE_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time in seconds after which cached search responses expire. In clustered setups this also limits how long results of changes made on other instances may be stale. Default: "
+		+ DEFAULT_RESULT_CACHE_TTL)
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_RESULT_CACHE_TTL_ENV, description = "Override the configured search result cache TTL.")
+	private int resultCacheTTL = DEFAULT_RESULT_CACHE_TTL;
+
 	public ElasticSearchOptions() {
 
 	}
@@ -130,7 +157,15 @@ public class ElasticSearchOptions implements Option {
 	}
 
 	public void validate(MeshOptions meshOptions) {
-
+		if (searchType != null && !"query_then_fetch".equals(searchType) && !"dfs_query_then_fetch".equals(searchType)) {
+			throw new IllegalArgumentException("The search type {" + searchType + "} is not supported. Use query_then_fetch or dfs_query_then_fetch.");
+		}
+		if (resultCacheSize < 0) {
+			throw new IllegalArgumentException("The search result cache size must not be negative.");
+		}
+		if (resultCacheSize > 0 && resultCacheTTL < 1) {
+			throw new IllegalArgumentException("The search result cache TTL must be at least one second.");
+		}
 	}
 
 	public long getStartupTimeout() {
@@ -160,4 +195,31 @@ public class ElasticSearchOptions implements Option {
 		return this;
 	}
 
+	public String getSearchType() {
+		return searchType;
+	}
+
+	public ElasticSearchOptions setSearchType(String searchType) {
+		this.searchType = searchType;
+		return this;
+	}
+
+	public long getResultCacheSize() {
+		return resultCacheSize;
+	}
+
+	public ElasticSearchOptions setResultCacheSize(long resultCacheSize) {
+		this.resultCacheSize = resultCacheSize;
+		return this;
+	}
+
+	public int getResultCacheTTL() {
+		return resultCacheTTL;
+	}
+
+	public ElasticSearchOptions setResultCacheTTL(int resultCacheTTL) {
+		this.resultCacheTTL = resultCacheTTL;
+		return this;
+	}
+
 }
@@ -8,6 +8,7 @@ import com.gentics.mesh.core.data.schema.MicroschemaContainerVersion;
 import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
+import com.gentics.mesh.core.rest.job.JobMetrics;
 import com.gentics.mesh.core.rest.job.JobResponse;
 import com.gentics.mesh.core.rest.job.JobWarningList;
 import com.gentics.mesh.util.DateUtils;
@@ -37,6 +38,14 @@ public interface Job extends MeshCoreVertex<JobResponse, Job>, CreatorTrackingVe
 
 	String WARNING_PROPERTY_KEY = "warnings";
 
+	String CHECKPOINT_PROPERTY_KEY = "checkpoint";
+
+	String METRICS_PROPERTY_KEY = "metrics";
+
+	String LEASE_OWNER_PROPERTY_KEY = "leaseOwner";
+
+	String LEASE_TIMESTAMP_PROPERTY_KEY = "leaseTimestamp";
+
 	/**
 	 * The max length before detail error messages will be truncated
 	 */
@@ -267,6 +276,83 @@ public interface Job extends MeshCoreVertex<JobResponse, Job>, CreatorTrackingVe
 	 */
 	void setCompletionCount(long count);
 
+	/**
+	 * Return the checkpoint which was stored by a previous run of the job. The checkpoint is used to resume an interrupted job.
+	 * 
+	 * @return Checkpoint or null if the job has not yet stored a checkpoint
+	 */
+	String getCheckpoint();
+
+	/**
+	 * Set the checkpoint of the job.
+	 * 
+	 * @param checkpoint
+	 */
+	void setCheckpoint(String checkpoint);
+
+	/**
+	 * Return the runtime metrics which were stored by the job.
+	 * 
+	 * @return Metrics or null if no metrics have been stored
+	 */
+	JobMetrics getMetrics();
+
+	/**
+	 * Set the runtime metrics of the job.
+	 * 
+	 * @param metrics
+	 */
+	void setMetrics(JobMetrics metrics);
+
+	/**
+	 * Return the key which is used to serialize the execution of jobs. Jobs with the same key will never be executed concurrently.
+	 * 
+	 * @return
+	 */
+	String getLockKey();
+
+	/**
+	 * Return the priority of the job. Jobs with a higher priority will be started first.
+	 * 
+	 * @return
+	 */
+	int getPriority();
+
+	/**
+	 * Return the id of the instance which currently holds the lease of the job.
+	 * 
+	 * @return Owner or null if the job has never been claimed
+	 */
+	String getLeaseOwner();
+
+	/**
+	 * Set the id of the instance which holds the lease of the job.
+	 * 
+	 * @param owner
+	 */
+	void setLeaseOwner(String owner);
+
+	/**
+	 * Return the timestamp at which the lease of the job has been renewed the last time.
+	 * 
+	 * @return
+	 */
+	Long getLeaseTimestamp();
+
+	/**
+	 * Set the timestamp at which the lease of the job has been renewed.
+	 * 
+	 * @param timestamp
+	 */
+	void setLeaseTimestamp(Long timestamp);
+
+	/**
+	 * Renew the lease of the job.
+	 */
+	default void renewLease() {
+		setLeaseTimestamp(System.currentTimeMillis());
+	}
+
 	/**
 	 * Get migration status.
 	 * 
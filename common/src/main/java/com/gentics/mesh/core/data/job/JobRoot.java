@@ -1,5 +1,7 @@
 package com.gentics.mesh.core.data.job;
 
+import java.util.List;
+
 import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.root.RootVertex;
@@ -7,6 +9,7 @@ import com.gentics.mesh.core.data.schema.MicroschemaContainerVersion;
 import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 
 import io.reactivex.Completable;
+import io.reactivex.Scheduler;
 
 /**
  * Aggregation vertex for jobs.
@@ -56,9 +59,24 @@ public interface JobRoot extends RootVertex<Job> {
 	Job enqueueBranchMigration(User creator, Branch branch);
 
 	/**
-	 * Process all remaining jobs.
+	 * Claim all remaining jobs which are not currently being executed by another instance of the cluster. Jobs which share the same lock key are grouped into
+	 * a queue in the order in which they were enqueued. The queues are sorted by the highest priority of their jobs. Must be invoked within a transaction
+	 * since the claimed leases will be stored in the jobs.
+	 * 
+	 * @return Queues of claimed jobs
+	 */
+	List<List<Job>> claim();
+
+	/**
+	 * Claim and process all remaining jobs. Jobs which share the same lock key are processed one after another in the order in which they were enqueued.
+	 * Jobs with different lock keys are processed concurrently on the given scheduler. Jobs which are currently being executed by another instance of the
+	 * cluster will be skipped. The leases of the claimed jobs are renewed periodically until their queue has been processed. Must be invoked within a
+	 * transaction since the claimed leases will be stored in the jobs.
+	 * 
+	 * @param scheduler
+	 *            Scheduler which executes the jobs
 	 */
-	Completable process();
+	Completable process(Scheduler scheduler);
 
 	/**
 	 * Purge all failed jobs from the job root.
@@ -36,6 +36,8 @@ public interface BinaryGraphField extends BasicGraphField<BinaryField>, MeshEdge
 
 	String BINARY_ALT_KEY = "metadata-alt";
 
+	String BINARY_METADATA_UPLOAD_KEY = "metadata-upload";
+
 	/**
 	 * Return the binary filename.
 	 * 
@@ -267,9 +269,28 @@ public interface BinaryGraphField extends BasicGraphField<BinaryField>, MeshEdge
 	}
 
 	/**
-	 * Clear the metadata properties.
+	 * Return the key of the upload whose metadata has not yet been extracted.
+	 * 
+	 * @return Key of the upload or null if no extraction is pending
+	 */
+	default String getMetadataUpload() {
+		return property(BINARY_METADATA_UPLOAD_KEY);
+	}
+
+	/**
+	 * Set the key of the upload whose metadata will be added to the field once it has been extracted.
+	 * 
+	 * @param uploadKey
+	 */
+	default void setMetadataUpload(String uploadKey) {
+		property(BINARY_METADATA_UPLOAD_KEY, uploadKey);
+	}
+
+	/**
+	 * Clear the metadata properties. The metadata of a pending extraction will no longer be added to the field.
 	 */
 	default void clearMetadata() {
+		setMetadataUpload(null);
 		setLocationAltitude(null);
 		setLocationLongitude(null);
 		setLocationLatitude(null);
@@ -7,6 +7,7 @@ import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.MeshCoreVertex;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.core.data.root.RootVertex;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
@@ -151,4 +152,13 @@ public interface IndexHandler<T extends MeshCoreVertex<?, T>> {
 	 */
 	Observable<UpdateBulkEntry> updatePermissionForBulk(UpdateDocumentEntry entry);
 
+	/**
+	 * Process the entry and generate the bulk entries which update the tag information of the documents. Handlers which can't apply partial updates will
+	 * store the whole document instead.
+	 * 
+	 * @param entry
+	 * @return
+	 */
+	Observable<? extends BulkEntry> updateTagsForBulk(UpdateDocumentEntry entry);
+
 }
@@ -13,6 +13,8 @@ public enum SearchQueueEntryAction {
 
 	UPDATE_ROLE_PERM_ACTION("updateRolePerm", 70),
 
+	UPDATE_TAGS_ACTION("updateTags", 65),
+
 	STORE_ACTION("store", 60),
 
 	MOVE_ACTION("move", 50);
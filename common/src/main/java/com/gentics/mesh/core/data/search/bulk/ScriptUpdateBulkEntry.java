@@ -0,0 +1,43 @@
+package com.gentics.mesh.core.data.search.bulk;
+
+import com.gentics.mesh.search.SearchProvider;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A bulk entry for partial document updates which replace the given top-level properties of the document. In contrast to the regular {@link UpdateBulkEntry} the
+ * properties will not be merged with the existing values. This is required for properties which use dynamic keys (e.g. the tag families of a node).
+ */
+public class ScriptUpdateBulkEntry extends UpdateBulkEntry {
+
+	public static final String REPLACE_SCRIPT = "for (def key : params.doc.keySet()) { ctx._source[key] = params.doc[key]; }";
+
+	/**
+	 * Construct a new entry.
+	 *
+	 * @param indexName
+	 * @param documentId
+	 * @param payload
+	 *            Properties which will replace the properties of the stored document
+	 */
+	public ScriptUpdateBulkEntry(String indexName, String documentId, JsonObject payload) {
+		super(indexName, documentId, payload);
+	}
+
+	@Override
+	public String toBulkString(String installationPrefix) {
+		JsonObject metaData = new JsonObject();
+		JsonObject settings = new JsonObject()
+			.put("_index", installationPrefix + getIndexName())
+			.put("_type", SearchProvider.DEFAULT_TYPE)
+			.put("_id", getDocumentId());
+		JsonObject script = new JsonObject()
+			.put("source", REPLACE_SCRIPT)
+			.put("lang", "painless")
+			.put("params", new JsonObject().put("doc", getPayload()));
+
+		metaData.put(getBulkAction().id(), settings);
+		return new StringBuilder().append(metaData.encode()).append("\n").append(new JsonObject().put("script", script).encode()).toString();
+	}
+
+}
@@ -4,16 +4,20 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.util.Iterator;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import com.gentics.mesh.etc.config.ImageManipulatorOptions;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 
 import io.reactivex.Single;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.Vertx;
@@ -29,59 +33,28 @@ public abstract class AbstractImageManipulator implements ImageManipulator {
 
 	protected Vertx vertx;
 
+	protected ImageVariantCache cache;
+
 	public AbstractImageManipulator(Vertx vertx, ImageManipulatorOptions options) {
 		this.vertx = vertx;
 		this.options = options;
+		this.cache = new ImageVariantCache(options);
 	}
 
 	@Override
 	public File getCacheFile(String sha512sum, ImageManipulationParameters parameters) {
-
-		String[] parts = sha512sum.split("(?<=\\G.{8})");
-		StringBuffer buffer = new StringBuffer();
-		buffer.append(File.separator);
-		for (String part : parts) {
-			buffer.append(part + File.separator);
-		}
-
-		File baseFolder = new File(options.getImageCacheDirectory(), buffer.toString());
-		if (!baseFolder.exists()) {
-			baseFolder.mkdirs();
-		}
-
-		String baseName = "image-" + parameters.getCacheKey();
-		File[] foundFiles = baseFolder.listFiles((dir, name) -> name.startsWith(baseName));
-		int numFiles = foundFiles.length;
-
-		if (numFiles == 0) {
-			File ret = new File(baseFolder, baseName);
-
+		File cached = cache.get(sha512sum, parameters.getCacheKey());
+		if (cached != null) {
 			if (log.isDebugEnabled()) {
-				log.debug("No cache file found for base path {" + ret.getAbsolutePath() + "}");
+				log.debug("Using cache file {" + cached + "}");
 			}
-
-			return ret;
+			return cached;
 		}
-
-		if (numFiles > 1) {
-			String indent = System.lineSeparator() + "    - ";
-
-			log.warn(
-				"More than one cache file found:"
-				+ System.lineSeparator() + "  hash: " + sha512sum
-				+ System.lineSeparator() + "  key: " + parameters.getCacheKey()
-				+ System.lineSeparator() + "  files:"
-				+ indent
-				+ Arrays.stream(foundFiles).map(File::getName).collect(Collectors.joining(indent))
-				+ System.lineSeparator()
-				+ "The cache directory {" + options.getImageCacheDirectory() + "} should be cleared");
-		}
-
+		File ret = cache.getBaseFile(sha512sum, parameters.getCacheKey());
 		if (log.isDebugEnabled()) {
-			log.debug("Using cache file {" + foundFiles[0] + "}");
+			log.debug("No cache file found for base path {" + ret.getAbsolutePath() + "}");
 		}
-
-		return foundFiles[0];
+		return ret;
 	}
 
 	@Override
@@ -104,6 +77,53 @@ public abstract class AbstractImageManipulator implements ImageManipulator {
 		});
 	}
 
+	@Override
+	public Single<ImageInfo> readImageInfo(Buffer data, boolean complete) {
+		return vertx.rxExecuteBlocking(bh -> {
+			try {
+				if (complete) {
+					BufferedImage image = ImageIO.read(new ByteArrayInputStream(data.getBytes()));
+					if (image == null) {
+						bh.fail(error(BAD_REQUEST, "image_error_reading_failed"));
+					} else {
+						bh.complete(toImageInfo(image));
+					}
+				} else {
+					bh.complete(readImageSize(data));
+				}
+			} catch (Exception e) {
+				log.error("Reading image information failed", e);
+				bh.fail(e);
+			}
+		});
+	}
+
+	/**
+	 * Read the size of the image from the header which is contained in the given data. The image will not be decoded.
+	 * 
+	 * @param data
+	 * @return
+	 * @throws IOException
+	 */
+	private ImageInfo readImageSize(Buffer data) throws IOException {
+		try (ImageInputStream ins = ImageIO.createImageInputStream(new ByteArrayInputStream(data.getBytes()))) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(ins);
+			if (!readers.hasNext()) {
+				throw error(BAD_REQUEST, "image_error_reading_failed");
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(ins, true, true);
+				ImageInfo info = new ImageInfo();
+				info.setWidth(reader.getWidth(0));
+				info.setHeight(reader.getHeight(0));
+				return info;
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
 	/**
 	 * Extract the image information from the given buffered image.
 	 * 
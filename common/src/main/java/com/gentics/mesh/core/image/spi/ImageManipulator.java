@@ -8,6 +8,7 @@ import java.util.Map;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.util.PropReadFileStream;
 
+import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
@@ -29,13 +30,26 @@ public interface ImageManipulator {
 	 */
 	Single<PropReadFileStream> handleResize(Flowable<Buffer> stream, String cacheKey, ImageManipulationParameters imageRequestParameter);
 
+	/**
+	 * Resize the given binary data and store the result in the image cache without reading it. Nothing will be done if the variant is already
+	 * cached.
+	 * 
+	 * @param stream
+	 *            Binary data stream to be used for resizing
+	 * @param cacheKey
+	 *            Key used to name the local cache file
+	 * @param imageRequestParameter
+	 * @return
+	 */
+	Completable prepareResize(Flowable<Buffer> stream, String cacheKey, ImageManipulationParameters imageRequestParameter);
+
 	/**
 	 * Return the cache file for the given sha512 checksum and image manipulation parameters.
 	 *
 	 * The provided <code>sha512sum</code> will be used to determine the cache directory, and the image manipulation parameters determine the
 	 * filename without the extension.
 	 *
-	 * When multiple files match the given hashsum and parameters, only the first found file will be returned.
+	 * The lookup uses the in-memory index of the image cache and does not access the filesystem.
 	 *
 	 * This method either returns an existing file, or a file object which filename is the name of the cache file without the extension.
 	 *
@@ -55,6 +69,18 @@ public interface ImageManipulator {
 	 */
 	Single<ImageInfo> readImageInfo(String file);
 
+	/**
+	 * Read the image information from the given image data. The data may only contain the beginning of the image. In that case only the size is
+	 * read from the header of the image and no dominant color will be determined.
+	 * 
+	 * @param data
+	 *            Image data
+	 * @param complete
+	 *            Whether the data contains the complete image
+	 * @return
+	 */
+	Single<ImageInfo> readImageInfo(Buffer data, boolean complete);
+
 	/**
 	 * Return the dominant color in the image.
 	 * 
@@ -0,0 +1,187 @@
+package com.gentics.mesh.core.image.spi;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.gentics.mesh.etc.config.ImageManipulatorOptions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.reactivex.Single;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Index of the resized images which are stored in the image cache directory.
+ *
+ * The entries are kept in memory so that a cache lookup does not require any filesystem access. The size of the cache is limited by the
+ * {@link ImageManipulatorOptions#getImageCacheMaxSize()} and {@link ImageManipulatorOptions#getImageCacheMaxAge()} settings. Files of evicted entries
+ * will be deleted. Concurrent requests for the same uncached variant will share a single computation.
+ */
+public class ImageVariantCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ImageVariantCache.class);
+
+	private static final String PREFIX = "image-";
+
+	private final File cacheDirectory;
+
+	private final Cache<String, File> index;
+
+	private final Map<String, Single<File>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a new cache and index the files which are already stored in the cache directory.
+	 *
+	 * @param options
+	 */
+	public ImageVariantCache(ImageManipulatorOptions options) {
+		this.cacheDirectory = new File(options.getImageCacheDirectory());
+		Caffeine<String, File> builder = Caffeine.newBuilder().removalListener((String key, File file, RemovalCause cause) -> {
+			if (cause.wasEvicted() && file != null) {
+				if (log.isDebugEnabled()) {
+					log.debug("Removing evicted image cache file {" + file.getAbsolutePath() + "}");
+				}
+				file.delete();
+			}
+		});
+		if (options.getImageCacheMaxSize() > 0) {
+			// The weight is measured in kilobytes since the weigher needs to return an integer
+			builder.maximumWeight(Math.max(options.getImageCacheMaxSize() / 1024, 1)).weigher((String key, File file) -> (int) Math.min(
+				Integer.MAX_VALUE, Math.max(file.length() / 1024, 1)));
+		}
+		if (options.getImageCacheMaxAge() > 0) {
+			builder.expireAfterAccess(options.getImageCacheMaxAge(), TimeUnit.SECONDS);
+		}
+		this.index = builder.build();
+		load();
+	}
+
+	/**
+	 * Add the existing files of the cache directory to the index.
+	 */
+	private void load() {
+		if (!cacheDirectory.exists()) {
+			return;
+		}
+		Path root = cacheDirectory.toPath();
+		try (Stream<Path> files = Files.walk(root)) {
+			files.filter(Files::isRegularFile).forEach(path -> {
+				String name = path.getFileName().toString();
+				int extension = name.lastIndexOf('.');
+				if (!name.startsWith(PREFIX) || extension < 0) {
+					return;
+				}
+				// The hashsum is split into the folder names
+				StringBuilder hash = new StringBuilder();
+				for (Path part : root.relativize(path.getParent())) {
+					hash.append(part.toString());
+				}
+				index.put(key(hash.toString(), name.substring(PREFIX.length(), extension)), path.toFile());
+			});
+		} catch (IOException | RuntimeException e) {
+			log.error("Could not index the image cache directory {" + cacheDirectory.getAbsolutePath() + "}", e);
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Indexed {" + index.estimatedSize() + "} files of the image cache");
+		}
+	}
+
+	/**
+	 * Return the cached file.
+	 *
+	 * @param sha512sum
+	 *            Hashsum of the original image
+	 * @param cacheKey
+	 *            Cache key of the image manipulation parameters
+	 * @return Cached file or null if the variant is not cached
+	 */
+	public File get(String sha512sum, String cacheKey) {
+		return index.getIfPresent(key(sha512sum, cacheKey));
+	}
+
+	/**
+	 * Return the base file for the variant. The extension of the image format will be appended to the base file name when the variant is written.
+	 *
+	 * @param sha512sum
+	 *            Hashsum of the original image
+	 * @param cacheKey
+	 *            Cache key of the image manipulation parameters
+	 * @return
+	 */
+	public File getBaseFile(String sha512sum, String cacheKey) {
+		String[] parts = sha512sum.split("(?<=\\G.{8})");
+		StringBuffer buffer = new StringBuffer();
+		buffer.append(File.separator);
+		for (String part : parts) {
+			buffer.append(part + File.separator);
+		}
+
+		File baseFolder = new File(cacheDirectory, buffer.toString());
+		if (!baseFolder.exists()) {
+			baseFolder.mkdirs();
+		}
+		return new File(baseFolder, PREFIX + cacheKey);
+	}
+
+	/**
+	 * Return the cached variant or create it using the given function. Concurrent calls for the same variant will share the created file.
+	 *
+	 * @param sha512sum
+	 *            Hashsum of the original image
+	 * @param cacheKey
+	 *            Cache key of the image manipulation parameters
+	 * @param creator
+	 *            Function which writes the variant. The function is invoked with the base file and must return the written file.
+	 * @return
+	 */
+	public Single<File> computeIfAbsent(String sha512sum, String cacheKey, Function<File, Single<File>> creator) {
+		String key = key(sha512sum, cacheKey);
+		// The index is checked on each subscription so that resubscribing will use the variant which has been created meanwhile
+		return Single.defer(() -> {
+			File cached = index.getIfPresent(key);
+			if (cached != null) {
+				return Single.just(cached);
+			}
+			return inFlight.computeIfAbsent(key, k -> {
+				return creator.apply(getBaseFile(sha512sum, cacheKey))
+					.doOnSuccess(file -> index.put(k, file))
+					.doFinally(() -> inFlight.remove(k))
+					.cache();
+			});
+		});
+	}
+
+	/**
+	 * Remove the variant from the index. This is used when a cached file was removed by a third party.
+	 *
+	 * @param sha512sum
+	 * @param cacheKey
+	 */
+	public void invalidate(String sha512sum, String cacheKey) {
+		index.invalidate(key(sha512sum, cacheKey));
+	}
+
+	/**
+	 * Return the amount of indexed variants.
+	 *
+	 * @return
+	 */
+	public long size() {
+		index.cleanUp();
+		return index.estimatedSize();
+	}
+
+	private String key(String sha512sum, String cacheKey) {
+		return sha512sum + "/" + cacheKey;
+	}
+
+}
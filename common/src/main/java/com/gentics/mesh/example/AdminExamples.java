@@ -6,6 +6,9 @@ import static com.gentics.mesh.example.ExampleUuids.PLUGIN_2_UUID;
 import static com.gentics.mesh.example.ExampleUuids.PLUGIN_3_UUID;
 import static com.gentics.mesh.example.ExampleUuids.UUID_1;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.gentics.mesh.MeshStatus;
 import com.gentics.mesh.core.rest.admin.cluster.ClusterStatusResponse;
 import com.gentics.mesh.core.rest.admin.consistency.ConsistencyCheckResponse;
@@ -13,6 +16,7 @@ import com.gentics.mesh.core.rest.admin.consistency.InconsistencyInfo;
 import com.gentics.mesh.core.rest.admin.consistency.InconsistencySeverity;
 import com.gentics.mesh.core.rest.admin.consistency.RepairAction;
 import com.gentics.mesh.core.rest.admin.status.MeshStatusResponse;
+import com.gentics.mesh.core.rest.common.GenericMessageResponse;
 import com.gentics.mesh.core.rest.plugin.PluginDeploymentRequest;
 import com.gentics.mesh.core.rest.plugin.PluginListResponse;
 import com.gentics.mesh.core.rest.plugin.PluginManifest;
@@ -70,4 +74,16 @@ public class AdminExamples {
 		return response;
 	}
 
+	public GenericMessageResponse createBinaryGarbageCollectionStatusResponse() {
+		GenericMessageResponse response = new GenericMessageResponse("The binary garbage collection is not running.");
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("running", false);
+		properties.put("checked", 1520L);
+		properties.put("removedBinaries", 12L);
+		properties.put("removedFiles", 3L);
+		properties.put("reclaimedBytes", 48234496L);
+		response.setProperties(properties);
+		return response;
+	}
+
 }
@@ -7,6 +7,7 @@ import static com.gentics.mesh.example.ExampleUuids.SCHEMA_VEHICLE_UUID;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
 import com.gentics.mesh.core.rest.job.JobListResponse;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.job.JobThrottle;
 
 public class JobExamples extends AbstractExamples {
 
@@ -30,4 +31,8 @@ public class JobExamples extends AbstractExamples {
 		return response;
 	}
 
+	public JobThrottle createJobThrottle() {
+		return new JobThrottle().setRate(100).setAdaptive(true);
+	}
+
 }
@@ -49,6 +49,8 @@ import com.gentics.mesh.core.rest.node.PublishStatusModel;
 import com.gentics.mesh.core.rest.node.field.BinaryField;
 import com.gentics.mesh.core.rest.node.field.BinaryFieldTransformRequest;
 import com.gentics.mesh.core.rest.node.field.Field;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadResponse;
 import com.gentics.mesh.core.rest.node.field.impl.BinaryFieldImpl;
 import com.gentics.mesh.core.rest.node.field.impl.HtmlFieldImpl;
 import com.gentics.mesh.core.rest.node.field.impl.NumberFieldImpl;
@@ -257,6 +259,24 @@ public class NodeExamples extends AbstractExamples {
 		return request;
 	}
 
+	public ResumableUploadRequest getResumableUploadRequest() {
+		ResumableUploadRequest request = new ResumableUploadRequest();
+		request.setLanguage("en");
+		request.setVersion("1.0");
+		request.setFileName("flux-compensator.jpg");
+		request.setMimeType("image/jpeg");
+		request.setSize(104857600L);
+		return request;
+	}
+
+	public ResumableUploadResponse getResumableUploadResponse() {
+		ResumableUploadResponse response = new ResumableUploadResponse();
+		response.setUuid(UUID_1);
+		response.setOffset(52428800L);
+		response.setSize(104857600L);
+		return response;
+	}
+
 	public NodeUpdateRequest getNodeUpdateRequest() {
 		NodeUpdateRequest nodeUpdate = new NodeUpdateRequest();
 		nodeUpdate.setLanguage("en");
@@ -1,6 +1,7 @@
 package com.gentics.mesh.graphdb.spi;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -415,6 +416,15 @@ public interface Database extends TxFactory {
 	 */
 	Iterator<Vertex> getVertices(Class<?> classOfVertex, String[] fieldNames, Object[] fieldValues);
 
+	/**
+	 * Utilize the uuid index and locate the vertices of the given type with one of the given uuids.
+	 * 
+	 * @param classOfVertex
+	 * @param uuids
+	 * @return
+	 */
+	Iterator<Vertex> getVerticesByUuids(Class<?> classOfVertex, Collection<String> uuids);
+
 	/**
 	 * Locate all vertices for the given type.
 	 * 
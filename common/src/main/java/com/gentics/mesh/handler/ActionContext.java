@@ -2,6 +2,7 @@ package com.gentics.mesh.handler;
 
 import static com.gentics.mesh.http.HttpConstants.APPLICATION_JSON_UTF8;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.Map;
 
@@ -9,6 +10,7 @@ import com.gentics.mesh.core.rest.error.GenericRestException;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 
 /**
  * Abstraction of the vertx-web routing context.
@@ -97,6 +99,18 @@ public interface ActionContext {
 	 */
 	void send(String body, HttpResponseStatus status, String contentType);
 
+	/**
+	 * Send the already encoded body buffer with the given status code and contentType. Implementations which are backed by a HTTP response should write
+	 * the buffer directly instead of converting it back into a string.
+	 * 
+	 * @param body
+	 * @param status
+	 * @param contentType
+	 */
+	default void send(Buffer body, HttpResponseStatus status, String contentType) {
+		send(body.toString(StandardCharsets.UTF_8.name()), status, contentType);
+	}
+
 	/**
 	 * Return the i18n string for the given i18n key and the parameters. This method is a wrapper that will lookup the defined locale and return a matching i18n
 	 * translation.
@@ -0,0 +1,61 @@
+package com.gentics.mesh.parameter.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.raml.model.ParamType;
+import org.raml.model.parameter.QueryParameter;
+
+import com.gentics.mesh.handler.ActionContext;
+import com.gentics.mesh.parameter.AbstractParameters;
+import com.gentics.mesh.parameter.SearchParameters;
+
+/**
+ * @see SearchParameters
+ */
+public class SearchParametersImpl extends AbstractParameters implements SearchParameters {
+
+	public SearchParametersImpl(ActionContext ac) {
+		super(ac);
+	}
+
+	public SearchParametersImpl() {
+	}
+
+	@Override
+	public void validate() {
+		// TODO validate query parameter value
+	}
+
+	@Override
+	public String getName() {
+		return "Search parameters";
+	}
+
+	@Override
+	public Map<? extends String, ? extends QueryParameter> getRAMLParameters() {
+		Map<String, QueryParameter> parameters = new HashMap<>();
+
+		// sourceOnly
+		QueryParameter sourceOnlyParameter = new QueryParameter();
+		sourceOnlyParameter.setDefaultValue("false");
+		sourceOnlyParameter.setDescription(
+			"Specify whether the response should directly be created from the indexed documents. The found elements will not be loaded from the graph. Permission information and fields which are not part of the index will be omitted. Types which do not support this mode will be loaded from the graph.");
+		sourceOnlyParameter.setExample("true");
+		sourceOnlyParameter.setRequired(false);
+		sourceOnlyParameter.setType(ParamType.BOOLEAN);
+		parameters.put(SOURCE_ONLY_PARAMETER_KEY, sourceOnlyParameter);
+
+		// cursor
+		QueryParameter cursorParameter = new QueryParameter();
+		cursorParameter.setDescription("Cursor which enables cursor based paging. Use " + INITIAL_CURSOR
+			+ " to load the first page. The cursor for the next page will be returned in the nextCursor property of the paging info. The page parameter will be ignored when a cursor is specified. Cursor based paging is not limited by the max result window of the search index.");
+		cursorParameter.setExample(INITIAL_CURSOR);
+		cursorParameter.setRequired(false);
+		cursorParameter.setType(ParamType.STRING);
+		parameters.put(CURSOR_PARAMETER_KEY, cursorParameter);
+
+		return parameters;
+	}
+
+}
@@ -1,10 +1,16 @@
 package com.gentics.mesh.router;
 
+import static com.gentics.mesh.http.HttpConstants.APPLICATION_OFFSET_OCTET_STREAM;
+
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.gentics.mesh.Mesh;
 
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.Router;
@@ -18,6 +24,11 @@ public class APIRouter {
 
 	public static final String API_MOUNTPOINT = "/api/v1";
 
+	/**
+	 * Path of the route which receives the chunks of resumable uploads.
+	 */
+	private static final Pattern UPLOAD_CHUNK_PATH = Pattern.compile(Pattern.quote(API_MOUNTPOINT) + "/[^/]+/nodes/[^/]+/binary/[^/]+/uploads/[^/]+/?");
+
 	private final ProjectsRouter projectsRouter;
 	private final PluginRouter pluginRouter;
 
@@ -54,6 +65,10 @@ public class APIRouter {
 			// handler will never pass through to the subsequent route handlers.
 			if ("websocket".equalsIgnoreCase(rh.request().getHeader("Upgrade"))) {
 				rh.next();
+			} else if (isUploadChunk(rh.request())) {
+				// Chunks of resumable uploads are streamed by the upload handler. The request is paused until the handler consumes the body.
+				rh.request().pause();
+				rh.next();
 			} else {
 				bodyHandler.handle(rh);
 			}
@@ -63,6 +78,21 @@ public class APIRouter {
 
 	}
 
+	/**
+	 * Check whether the request appends a chunk to a resumable upload. Only these requests are streamed. Other requests are handled by the body handler
+	 * regardless of their content type.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	private boolean isUploadChunk(HttpServerRequest request) {
+		if (request.method() != HttpMethod.PATCH || !UPLOAD_CHUNK_PATH.matcher(request.path()).matches()) {
+			return false;
+		}
+		String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE);
+		return contentType != null && contentType.startsWith(APPLICATION_OFFSET_OCTET_STREAM);
+	}
+
 	/**
 	 * Returns the plugin router which can be used to create routers for plugins.
 	 * 
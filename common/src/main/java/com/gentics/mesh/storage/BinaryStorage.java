@@ -1,6 +1,7 @@
 package com.gentics.mesh.storage;
 
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.util.RxUtil;
 
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
@@ -37,6 +38,21 @@ public interface BinaryStorage {
 	 */
 	Flowable<Buffer> read(String uuid);
 
+	/**
+	 * Read a range of the binary data which is identified by the given binary uuid. Storage implementations which are able to read only the requested
+	 * range should override this method. The default implementation reads the data up to the end of the range.
+	 * 
+	 * @param uuid
+	 * @param offset
+	 *            Offset of the first byte
+	 * @param length
+	 *            Amount of bytes to read
+	 * @return
+	 */
+	default Flowable<Buffer> read(String uuid, long offset, long length) {
+		return RxUtil.slice(read(uuid), offset, length);
+	}
+
 	/**
 	 * Read the entire binary data which is identified by the given binary uuid in the same thread blockingly.
 	 *
@@ -55,6 +71,29 @@ public interface BinaryStorage {
 		return null;
 	}
 
+	/**
+	 * Return the local file of the binary if possible. In contrast to {@link #getLocalPath(String)} the file will be kept until the returned handle
+	 * has been closed.
+	 * 
+	 * @param uuid
+	 * @return Handle of the file or null if the binary is not available as a local file
+	 */
+	default LocalBinaryFile openLocalFile(String uuid) {
+		String path = getLocalPath(uuid);
+		return path == null ? null : new LocalBinaryFile(path, () -> {
+		});
+	}
+
+	/**
+	 * List the binary data which is stored in the storage. The entries are loaded while the stream is being consumed. Storages which can't list their
+	 * content return an empty stream.
+	 * 
+	 * @return
+	 */
+	default Flowable<StoredBinary> list() {
+		return Flowable.empty();
+	}
+
 	/**
 	 * Delete the binary with the given uuid.
 	 * 
@@ -0,0 +1,438 @@
+package com.gentics.mesh.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.util.RxUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.core.file.FileSystem;
+
+/**
+ * Binary storage which keeps a local copy of the binaries of a remote storage.
+ *
+ * Binaries are written into the cache directory while they are read for the first time and removed again once the maximum size of the cache has been
+ * reached (least recently used first). Binaries which exceed the maximum size of the cache are not cached. Files which are currently being read are
+ * only deleted once the read has finished. Cached binaries are also exposed via {@link #openLocalFile(String)} so that they can be sent directly
+ * from the disk. Range reads of uncached binaries will only load the requested range from the remote storage and load the complete binary in the
+ * background.
+ *
+ * The results of {@link #exists(BinaryGraphField)} are cached as well. Binaries are never modified, thus positive results can be kept for a long
+ * time. Negative results are only kept for a short time since the binary may be stored by another instance.
+ */
+public class CachedBinaryStorage extends AbstractBinaryStorage {
+
+	private static final Logger log = LoggerFactory.getLogger(CachedBinaryStorage.class);
+
+	/**
+	 * Time in seconds for which a missing binary will be remembered.
+	 */
+	public static final long MISSING_CACHE_TIME = 10;
+
+	private static final String EXTENSION = ".bin";
+
+	private static final String TEMP_EXTENSION = ".tmp";
+
+	private final BinaryStorage delegate;
+
+	private final Vertx vertx;
+
+	private final File cacheDirectory;
+
+	private final long maxSize;
+
+	private final Cache<String, File> files;
+
+	private final Cache<String, Boolean> existing;
+
+	private final Cache<String, Boolean> missing;
+
+	private final Cache<String, Boolean> oversized;
+
+	/**
+	 * Binaries which are currently being written into the cache.
+	 */
+	private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Amount of reads per cached file. Evicted files will only be deleted once they are no longer read.
+	 */
+	private final Map<File, Integer> readers = new ConcurrentHashMap<>();
+
+	/**
+	 * Evicted files which will be deleted once they are no longer read.
+	 */
+	private final Set<File> evicted = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Create a new cached storage.
+	 *
+	 * @param delegate
+	 *            Storage which holds the binaries
+	 * @param vertx
+	 * @param cacheDirectory
+	 *            Directory for the cached binaries
+	 * @param maxSize
+	 *            Maximum size of the cached binaries in bytes
+	 * @param existsCacheTime
+	 *            Time in seconds for which an existing binary will be remembered
+	 */
+	public CachedBinaryStorage(BinaryStorage delegate, Vertx vertx, String cacheDirectory, long maxSize, long existsCacheTime) {
+		this.delegate = delegate;
+		this.vertx = vertx;
+		this.cacheDirectory = new File(cacheDirectory);
+		this.maxSize = maxSize;
+		// The weight is measured in kilobytes since the weigher needs to return an integer
+		// Evicted files are removed in the calling thread so that the disk usage does not exceed the limit
+		this.files = Caffeine.newBuilder()
+			.executor(Runnable::run)
+			.maximumWeight(Math.max(maxSize / 1024, 1))
+			.weigher((String uuid, File file) -> (int) Math.min(Integer.MAX_VALUE, Math.max(file.length() / 1024, 1)))
+			.removalListener((String uuid, File file, RemovalCause cause) -> {
+				if (file != null && cause != RemovalCause.REPLACED) {
+					release(file);
+				}
+			})
+			.build();
+		this.oversized = Caffeine.newBuilder().maximumSize(10_000).build();
+		this.existing = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(existsCacheTime, TimeUnit.SECONDS).build();
+		this.missing = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(MISSING_CACHE_TIME, TimeUnit.SECONDS).build();
+		index();
+	}
+
+	/**
+	 * Add the binaries which are already stored in the cache directory to the index and remove incomplete downloads.
+	 */
+	private void index() {
+		if (!cacheDirectory.exists()) {
+			cacheDirectory.mkdirs();
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(cacheDirectory.toPath())) {
+			paths.filter(Files::isRegularFile).forEach(path -> {
+				String name = path.getFileName().toString();
+				if (name.endsWith(EXTENSION)) {
+					files.put(name.substring(0, name.length() - EXTENSION.length()), path.toFile());
+				} else if (name.endsWith(TEMP_EXTENSION)) {
+					path.toFile().delete();
+				}
+			});
+		} catch (IOException | RuntimeException e) {
+			log.error("Could not index the binary cache directory {" + cacheDirectory.getAbsolutePath() + "}", e);
+		}
+	}
+
+	@Override
+	public Completable store(Flowable<Buffer> stream, String uuid) {
+		return delegate.store(stream, uuid).doOnComplete(() -> {
+			missing.invalidate(uuid);
+			existing.put(uuid, true);
+		});
+	}
+
+	@Override
+	public boolean exists(BinaryGraphField field) {
+		String uuid = field.getBinary().getUuid();
+		if (getCachedFile(uuid) != null || existing.getIfPresent(uuid) != null) {
+			return true;
+		}
+		if (missing.getIfPresent(uuid) != null) {
+			return false;
+		}
+		boolean exists = delegate.exists(field);
+		if (exists) {
+			existing.put(uuid, true);
+		} else {
+			missing.put(uuid, true);
+		}
+		return exists;
+	}
+
+	@Override
+	public Flowable<Buffer> read(String uuid) {
+		return Flowable.defer(() -> {
+			File file = pin(uuid);
+			if (file != null) {
+				return readFile(file).doFinally(() -> unpin(file));
+			}
+			return readThrough(uuid);
+		});
+	}
+
+	@Override
+	public Flowable<Buffer> read(String uuid, long offset, long length) {
+		return Flowable.defer(() -> {
+			File file = pin(uuid);
+			if (file != null) {
+				return readFile(file, offset, length).doFinally(() -> unpin(file));
+			}
+			// Only load the requested range and prefetch the rest of the binary
+			prefetch(uuid);
+			return delegate.read(uuid, offset, length);
+		});
+	}
+
+	@Override
+	public Buffer readAllSync(String uuid) {
+		File file = pin(uuid);
+		if (file != null) {
+			try {
+				return vertx.fileSystem().readFileBlocking(file.getAbsolutePath());
+			} finally {
+				unpin(file);
+			}
+		}
+		return delegate.readAllSync(uuid);
+	}
+
+	/**
+	 * Return the path of the cached file. The binary will not be loaded on a cache miss since the data is cached while it is read. The file may be
+	 * evicted at any time, thus {@link #openLocalFile(String)} should be used to access the file.
+	 */
+	@Override
+	public String getLocalPath(String uuid) {
+		File file = getCachedFile(uuid);
+		return file == null ? null : file.getAbsolutePath();
+	}
+
+	@Override
+	public LocalBinaryFile openLocalFile(String uuid) {
+		File file = pin(uuid);
+		if (file == null) {
+			return null;
+		}
+		return new LocalBinaryFile(file.getAbsolutePath(), () -> unpin(file));
+	}
+
+	@Override
+	public Flowable<StoredBinary> list() {
+		return delegate.list();
+	}
+
+	@Override
+	public Completable delete(String uuid) {
+		return delegate.delete(uuid).doOnComplete(() -> {
+			existing.invalidate(uuid);
+			files.invalidate(uuid);
+		});
+	}
+
+	/**
+	 * Load the binary into the cache in the background.
+	 *
+	 * @param uuid
+	 */
+	public void prefetch(String uuid) {
+		if (oversized.getIfPresent(uuid) != null || loading.contains(uuid)) {
+			return;
+		}
+		readThrough(uuid).ignoreElements().subscribe(() -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Prefetched binary {" + uuid + "}");
+			}
+		}, e -> log.warn("Could not prefetch binary {" + uuid + "}", e));
+	}
+
+	/**
+	 * Read the binary from the delegate and write it into the cache while it is being read. Thus the data is passed on as soon as it has been loaded.
+	 * Binaries which are already being written into the cache or which exceed the maximum size of the cache are only read from the delegate.
+	 *
+	 * @param uuid
+	 * @return
+	 */
+	private Flowable<Buffer> readThrough(String uuid) {
+		return Flowable.defer(() -> {
+			if (oversized.getIfPresent(uuid) != null || !loading.add(uuid)) {
+				return delegate.read(uuid);
+			}
+			File target = getFile(uuid);
+			File temp = new File(target.getParentFile(), uuid + "-" + UUID.randomUUID() + TEMP_EXTENSION);
+			OutputStream out;
+			try {
+				out = new BufferedOutputStream(new FileOutputStream(temp));
+			} catch (IOException e) {
+				loading.remove(uuid);
+				log.warn("Could not create cache file for binary {" + uuid + "}", e);
+				return delegate.read(uuid);
+			}
+			AtomicLong written = new AtomicLong();
+			AtomicBoolean writing = new AtomicBoolean(true);
+			return delegate.read(uuid).doOnNext(buffer -> {
+				if (!writing.get()) {
+					return;
+				}
+				if (written.addAndGet(buffer.length()) > maxSize) {
+					// The binary would be evicted right away
+					oversized.put(uuid, true);
+					writing.set(false);
+					return;
+				}
+				try {
+					out.write(buffer.getBytes());
+				} catch (IOException e) {
+					log.warn("Could not write binary {" + uuid + "} into the cache", e);
+					writing.set(false);
+				}
+			})
+				.doOnComplete(() -> finish(uuid, out, temp, target, writing.get()))
+				.doOnError(e -> finish(uuid, out, temp, target, false))
+				.doOnCancel(() -> finish(uuid, out, temp, target, false));
+		});
+	}
+
+	/**
+	 * Close the cache file which has been written by {@link #readThrough(String)} and add it to the cache if the binary has been written completely.
+	 *
+	 * @param uuid
+	 * @param out
+	 * @param temp
+	 *            File which has been written
+	 * @param target
+	 *            Location of the cached file
+	 * @param complete
+	 *            Whether the binary has been written completely
+	 */
+	private void finish(String uuid, OutputStream out, File temp, File target, boolean complete) {
+		try {
+			out.close();
+			if (complete) {
+				Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				// The file must not be deleted by a pending read of a previously evicted file with the same location
+				readers.compute(target, (f, count) -> {
+					evicted.remove(f);
+					return count;
+				});
+				files.put(uuid, target);
+			}
+		} catch (IOException | RuntimeException e) {
+			log.warn("Could not add binary {" + uuid + "} to the cache", e);
+		} finally {
+			temp.delete();
+			loading.remove(uuid);
+		}
+	}
+
+	/**
+	 * Return the cached file for the binary and register a read of it. The file will not be deleted until {@link #unpin(File)} has been invoked.
+	 *
+	 * @param uuid
+	 * @return Cached file or null if the binary is not cached
+	 */
+	private File pin(String uuid) {
+		File file = files.getIfPresent(uuid);
+		if (file == null) {
+			return null;
+		}
+		readers.merge(file, 1, Integer::sum);
+		if (!file.exists()) {
+			// The file was evicted or removed by a third party in the meantime
+			unpin(file);
+			files.invalidate(uuid);
+			return null;
+		}
+		return file;
+	}
+
+	/**
+	 * Unregister a read of the file. The file will be deleted if it has been evicted and is no longer read.
+	 *
+	 * @param file
+	 */
+	private void unpin(File file) {
+		readers.compute(file, (f, count) -> {
+			if (count == null || count <= 1) {
+				if (evicted.remove(f)) {
+					delete(f);
+				}
+				return null;
+			}
+			return count - 1;
+		});
+	}
+
+	/**
+	 * Delete the evicted file or defer the deletion until the file is no longer read.
+	 *
+	 * @param file
+	 */
+	private void release(File file) {
+		readers.compute(file, (f, count) -> {
+			if (count == null) {
+				delete(f);
+			} else {
+				evicted.add(f);
+			}
+			return count;
+		});
+	}
+
+	private void delete(File file) {
+		if (log.isDebugEnabled()) {
+			log.debug("Removing cached binary {" + file.getAbsolutePath() + "}");
+		}
+		file.delete();
+	}
+
+	/**
+	 * Return the cached file for the binary.
+	 *
+	 * @param uuid
+	 * @return Cached file or null if the binary is not cached
+	 */
+	private File getCachedFile(String uuid) {
+		File file = files.getIfPresent(uuid);
+		if (file != null && !file.exists()) {
+			// The file was removed by a third party
+			files.invalidate(uuid);
+			return null;
+		}
+		return file;
+	}
+
+	private File getFile(String uuid) {
+		File folder = new File(cacheDirectory, uuid.substring(0, 2) + File.separator + uuid.substring(2, 4));
+		if (!folder.exists()) {
+			folder.mkdirs();
+		}
+		return new File(folder, uuid + EXTENSION);
+	}
+
+	private Flowable<Buffer> readFile(File file) {
+		return FileSystem.newInstance(vertx.fileSystem())
+			.rxOpen(file.getAbsolutePath(), new OpenOptions().setRead(true))
+			.toFlowable()
+			.flatMap(RxUtil::toBufferFlow);
+	}
+
+	private Flowable<Buffer> readFile(File file, long offset, long length) {
+		return FileSystem.newInstance(vertx.fileSystem())
+			.rxOpen(file.getAbsolutePath(), new OpenOptions().setRead(true))
+			.toFlowable()
+			.flatMap(asyncFile -> RxUtil.slice(RxUtil.toBufferFlow(asyncFile.setReadPos(offset)), 0, length));
+	}
+
+}
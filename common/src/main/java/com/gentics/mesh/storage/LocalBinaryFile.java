@@ -0,0 +1,49 @@
+package com.gentics.mesh.storage;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local file of a binary which is returned by {@link BinaryStorage#openLocalFile(String)}. The file will be kept by the storage until the handle has
+ * been closed.
+ */
+public class LocalBinaryFile implements AutoCloseable {
+
+	private final String path;
+
+	private final Runnable release;
+
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+
+	/**
+	 * Create a new handle.
+	 *
+	 * @param path
+	 *            Path of the file
+	 * @param release
+	 *            Action which releases the file. It will only be invoked once.
+	 */
+	public LocalBinaryFile(String path, Runnable release) {
+		this.path = path;
+		this.release = release;
+	}
+
+	/**
+	 * Return the path of the file.
+	 *
+	 * @return
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Release the file. Closing the handle again has no effect.
+	 */
+	@Override
+	public void close() {
+		if (closed.compareAndSet(false, true)) {
+			release.run();
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.gentics.mesh.storage;
+
+/**
+ * Binary data which is stored in a {@link BinaryStorage}.
+ */
+public class StoredBinary {
+
+	private final String uuid;
+
+	private final long size;
+
+	private final long lastModified;
+
+	/**
+	 * Create a new entry.
+	 * 
+	 * @param uuid
+	 *            Uuid of the binary
+	 * @param size
+	 *            Size in bytes
+	 * @param lastModified
+	 *            Timestamp of the last modification in milliseconds
+	 */
+	public StoredBinary(String uuid, long size, long lastModified) {
+		this.uuid = uuid;
+		this.size = size;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Return the uuid of the binary.
+	 * 
+	 * @return
+	 */
+	public String getUuid() {
+		return uuid;
+	}
+
+	/**
+	 * Return the size of the stored data in bytes.
+	 * 
+	 * @return
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Return the timestamp of the last modification in milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+}
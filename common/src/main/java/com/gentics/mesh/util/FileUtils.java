@@ -24,6 +24,20 @@ public final class FileUtils {
 	private FileUtils() {
 	}
 
+	/**
+	 * Create a new SHA 512 digest. This can be used to hash data incrementally while it is being processed.
+	 * 
+	 * @return
+	 */
+	public static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-512");
+		} catch (Exception e) {
+			log.error("Error while creating digest", e);
+			throw error(INTERNAL_SERVER_ERROR, "node_error_upload_failed", e);
+		}
+	}
+
 	/**
 	 * Generate a SHA 512 checksum from the given file and asynchronously return the hex encoded hash as a string.
 	 * 
@@ -0,0 +1,123 @@
+package com.gentics.mesh.util;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.Branch;
+import com.gentics.mesh.core.data.GraphFieldContainer;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.field.GraphField;
+import com.gentics.mesh.core.data.schema.AddFieldChange;
+import com.gentics.mesh.core.data.schema.RemoveFieldChange;
+import com.gentics.mesh.core.data.schema.SchemaChange;
+import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
+import com.gentics.mesh.core.data.schema.SchemaFieldChange;
+import com.gentics.mesh.etc.config.MigrationOptions;
+
+/**
+ * Utility for the lazy schema migration mode. In this mode containers of schema versions which only differ in added or removed fields from the schema
+ * version of the branch are translated to the schema version of the branch when being read. The containers are physically migrated once they are written
+ * or by the schema migration job which runs with a low priority.
+ */
+public final class LazyMigrationUtil {
+
+	private static final Map<String, Boolean> LAZY_CHANGES = new ConcurrentHashMap<>();
+
+	private LazyMigrationUtil() {
+
+	}
+
+	/**
+	 * Check whether the lazy migration mode has been enabled.
+	 * 
+	 * @return
+	 */
+	public static boolean isEnabled() {
+		MigrationOptions options = Mesh.mesh().getOptions().getMigrationOptions();
+		return options != null && options.isLazyMigration();
+	}
+
+	/**
+	 * Return the schema version which should be used to present the container. This is the schema version of the branch if the container can be translated
+	 * to it and the version of the container otherwise.
+	 * 
+	 * @param container
+	 * @param branch
+	 * @return
+	 */
+	public static SchemaContainerVersion getEffectiveVersion(NodeGraphFieldContainer container, Branch branch) {
+		SchemaContainerVersion version = container.getSchemaContainerVersion();
+		if (!isEnabled() || branch == null) {
+			return version;
+		}
+		SchemaContainerVersion branchVersion = branch.findLatestSchemaVersion(version.getSchemaContainer());
+		if (branchVersion == null || branchVersion.equals(version)) {
+			return version;
+		}
+		return isLazy(version, branchVersion) ? branchVersion : version;
+	}
+
+	/**
+	 * Check whether containers of the first version can be translated to the second version. This is the case if all changes in between only add or remove
+	 * fields without a custom migration script and if no field is removed and added again.
+	 * 
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	public static boolean isLazy(SchemaContainerVersion from, SchemaContainerVersion to) {
+		if (!isEnabled()) {
+			return false;
+		}
+		// The changes of a version never change once the next version has been created
+		return LAZY_CHANGES.computeIfAbsent(from.getUuid() + ":" + to.getUuid(), key -> checkChanges(from, to));
+	}
+
+	private static boolean checkChanges(SchemaContainerVersion from, SchemaContainerVersion to) {
+		Set<String> touchedFields = new HashSet<>();
+		SchemaContainerVersion version = from;
+		while (version != null && !version.equals(to)) {
+			SchemaChange<?> change = version.getNextChange();
+			while (change != null) {
+				if (!(change instanceof AddFieldChange || change instanceof RemoveFieldChange)) {
+					return false;
+				}
+				try {
+					if (!Objects.equals(change.getMigrationScript(), change.getAutoMigrationScript())) {
+						return false;
+					}
+				} catch (IOException e) {
+					return false;
+				}
+				// A field which was removed and added again may use a different type
+				if (!touchedFields.add(((SchemaFieldChange) change).getFieldName())) {
+					return false;
+				}
+				change = change.getNextChange();
+			}
+			version = version.getNextVersion();
+		}
+		return version != null;
+	}
+
+	/**
+	 * Migrate the container to the given version. Fields which are not part of the schema of the version will be removed.
+	 * 
+	 * @param container
+	 * @param version
+	 */
+	public static void migrate(GraphFieldContainer container, SchemaContainerVersion version) {
+		Set<String> fieldNames = version.getSchema().getFieldsAsMap().keySet();
+		for (GraphField field : container.getFields()) {
+			if (!fieldNames.contains(field.getFieldKey())) {
+				field.removeField(container);
+			}
+		}
+		container.setSchemaContainerVersion(version);
+	}
+}
@@ -4,17 +4,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
+import org.reactivestreams.Subscription;
+
 import io.reactivex.Completable;
 import io.reactivex.CompletableSource;
 import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.AsyncFile;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.reactivex.RxHelper;
 import io.vertx.reactivex.core.Vertx;
 
@@ -107,4 +113,84 @@ public final class RxUtil {
 				}
 			}).ignoreElements();
 	}
+
+	/**
+	 * Return the given range of the data stream. The source will be cancelled once the end of the range has been reached.
+	 * 
+	 * @param source
+	 * @param offset
+	 *            Offset of the first byte
+	 * @param length
+	 *            Amount of bytes
+	 * @return
+	 */
+	public static Flowable<Buffer> slice(Flowable<Buffer> source, long offset, long length) {
+		long end = offset + length;
+		return Flowable.defer(() -> {
+			AtomicLong position = new AtomicLong();
+			return source.map(buffer -> {
+				long start = position.getAndAdd(buffer.length());
+				int from = (int) Math.max(0, Math.min(buffer.length(), offset - start));
+				int to = (int) Math.max(from, Math.min(buffer.length(), end - start));
+				return buffer.slice(from, to);
+			}).takeUntil(buffer -> position.get() >= end).filter(buffer -> buffer.length() > 0);
+		});
+	}
+
+	/**
+	 * Write the buffers of the source to the given write stream. The next buffer will only be requested once the write queue of the stream is no
+	 * longer full. This way slow receivers will not cause the whole source to be buffered in memory. The stream will not be ended.
+	 * 
+	 * @param source
+	 * @param stream
+	 * @return Completable which completes once all buffers have been written. Disposing it will cancel the source.
+	 */
+	public static Completable pipe(Flowable<Buffer> source, WriteStream<Buffer> stream) {
+		return Completable.create(emitter -> {
+			source.subscribe(new FlowableSubscriber<Buffer>() {
+
+				private Subscription subscription;
+
+				private final AtomicBoolean paused = new AtomicBoolean(false);
+
+				@Override
+				public void onSubscribe(Subscription s) {
+					subscription = s;
+					emitter.setCancellable(s::cancel);
+					s.request(1);
+				}
+
+				@Override
+				public void onNext(Buffer buffer) {
+					stream.write(buffer);
+					if (stream.writeQueueFull()) {
+						paused.set(true);
+						stream.drainHandler(v -> resume());
+						// The queue may have been drained before the handler was set
+						if (!stream.writeQueueFull()) {
+							resume();
+						}
+					} else {
+						subscription.request(1);
+					}
+				}
+
+				private void resume() {
+					if (paused.compareAndSet(true, false)) {
+						subscription.request(1);
+					}
+				}
+
+				@Override
+				public void onError(Throwable t) {
+					emitter.onError(t);
+				}
+
+				@Override
+				public void onComplete() {
+					emitter.onComplete();
+				}
+			});
+		});
+	}
 }
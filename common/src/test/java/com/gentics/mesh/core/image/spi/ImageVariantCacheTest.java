@@ -0,0 +1,110 @@
+package com.gentics.mesh.core.image.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.mesh.etc.config.ImageManipulatorOptions;
+
+import io.reactivex.Single;
+import io.reactivex.subjects.SingleSubject;
+
+public class ImageVariantCacheTest {
+
+	private static final String HASH = "0123456789abcdef0123456789abcdef";
+
+	private File cacheDir;
+
+	@Before
+	public void setup() {
+		cacheDir = new File("target/imageVariantCache_" + System.currentTimeMillis());
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		FileUtils.deleteDirectory(cacheDir);
+	}
+
+	@Test
+	public void testLoadExistingFiles() throws IOException {
+		ImageVariantCache cache = new ImageVariantCache(options());
+		File file = write(cache.getBaseFile(HASH, "rw100"), 10);
+
+		ImageVariantCache reloaded = new ImageVariantCache(options());
+		assertEquals(file.getAbsoluteFile(), reloaded.get(HASH, "rw100").getAbsoluteFile());
+		assertNull("Only exact cache keys must match", reloaded.get(HASH, "rw10"));
+	}
+
+	@Test
+	public void testCoalescing() throws IOException {
+		ImageVariantCache cache = new ImageVariantCache(options());
+		AtomicInteger invocations = new AtomicInteger();
+		SingleSubject<File> result = SingleSubject.create();
+
+		Single<File> first = cache.computeIfAbsent(HASH, "rw100", base -> {
+			invocations.incrementAndGet();
+			return result;
+		});
+		Single<File> second = cache.computeIfAbsent(HASH, "rw100", base -> {
+			invocations.incrementAndGet();
+			return result;
+		});
+		first.test();
+		second.test();
+
+		File file = write(cache.getBaseFile(HASH, "rw100"), 10);
+		result.onSuccess(file);
+		assertEquals(file, first.blockingGet());
+		assertEquals(file, second.blockingGet());
+		assertEquals("The variant should only be created once", 1, invocations.get());
+		assertNotNull(cache.get(HASH, "rw100"));
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		ImageVariantCache cache = new ImageVariantCache(options().setImageCacheMaxSize(10 * 1024));
+		for (int i = 0; i < 20; i++) {
+			String key = "rw" + i;
+			File file = write(cache.getBaseFile(HASH, key), 1024);
+			cache.computeIfAbsent(HASH, key, base -> Single.just(file)).blockingGet();
+		}
+		assertTrue("The cache should have been limited", cache.size() <= 10);
+		// The files are removed asynchronously
+		long deadline = System.currentTimeMillis() + 5000;
+		while (countFiles(cache) == 20 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue("The files of evicted entries should be deleted", countFiles(cache) < 20);
+	}
+
+	private int countFiles(ImageVariantCache cache) {
+		int count = 0;
+		for (int i = 0; i < 20; i++) {
+			if (new File(cache.getBaseFile(HASH, "rw" + i).getAbsolutePath() + ".jpg").exists()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private ImageManipulatorOptions options() {
+		return new ImageManipulatorOptions().setImageCacheDirectory(cacheDir.getAbsolutePath());
+	}
+
+	private File write(File baseFile, int size) throws IOException {
+		File file = new File(baseFile.getAbsolutePath() + ".jpg");
+		FileUtils.writeByteArrayToFile(file, new byte[size]);
+		return file;
+	}
+
+}
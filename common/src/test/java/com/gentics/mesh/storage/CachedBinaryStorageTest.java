@@ -0,0 +1,247 @@
+package com.gentics.mesh.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.gentics.mesh.core.data.binary.Binary;
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.util.RxUtil;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+public class CachedBinaryStorageTest {
+
+	private static final String UUID = "b1a0a5d3e1b94f5ea0a5d3e1b9ff5e1a";
+
+	private static Vertx vertx = Vertx.vertx();
+
+	private File cacheDir;
+
+	private RemoteStorage remote;
+
+	private CachedBinaryStorage storage;
+
+	@Before
+	public void setup() {
+		cacheDir = new File("target/binaryCache_" + System.currentTimeMillis());
+		remote = new RemoteStorage();
+		storage = new CachedBinaryStorage(remote, vertx, cacheDir.getAbsolutePath(), 1024 * 1024, 60);
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		FileUtils.deleteDirectory(cacheDir);
+	}
+
+	@Test
+	public void testReadThrough() {
+		storage.store(Flowable.just(Buffer.buffer("0123456789")), UUID).blockingAwait();
+		assertNull("The binary should not yet be cached", storage.getLocalPath(UUID));
+
+		assertEquals("0123456789", readAll(storage.read(UUID)));
+		String localPath = storage.getLocalPath(UUID);
+		assertNotNull("The binary should be cached", localPath);
+		assertEquals("0123456789", vertx.fileSystem().readFileBlocking(localPath).toString());
+
+		// Cached data must not be loaded again
+		int reads = remote.reads.get();
+		assertEquals("0123456789", readAll(storage.read(UUID)));
+		assertEquals("3456", readAll(storage.read(UUID, 3, 4)));
+		assertEquals(reads, remote.reads.get());
+	}
+
+	@Test
+	public void testReadOnCacheMiss() {
+		storage.store(Flowable.just(Buffer.buffer("01234"), Buffer.buffer("56789")), UUID).blockingAwait();
+		assertEquals("0123456789", readAll(storage.read(UUID)));
+		assertEquals("The binary should be cached while it is read", 1, remote.reads.get());
+
+		String localPath = storage.getLocalPath(UUID);
+		assertNotNull("The binary should be cached", localPath);
+		assertEquals("0123456789", vertx.fileSystem().readFileBlocking(localPath).toString());
+		assertEquals(1, remote.reads.get());
+	}
+
+	@Test
+	public void testColdRequest() {
+		storage.store(Flowable.just(Buffer.buffer("0123456789")), UUID).blockingAwait();
+
+		// A request first checks for a local file and streams the binary otherwise
+		assertNull(storage.openLocalFile(UUID));
+		assertEquals("0123456789", readAll(storage.read(UUID)));
+		assertEquals("The binary should only be loaded once", 1, remote.reads.get());
+
+		// The next request is served from the disk
+		try (LocalBinaryFile localFile = storage.openLocalFile(UUID)) {
+			assertNotNull(localFile);
+			assertEquals("0123456789", vertx.fileSystem().readFileBlocking(localFile.getPath()).toString());
+		}
+		assertEquals(1, remote.reads.get());
+	}
+
+	@Test
+	public void testLocalFileKeptUntilClosed() {
+		storage.store(Flowable.just(Buffer.buffer("0123456789")), UUID).blockingAwait();
+		readAll(storage.read(UUID));
+
+		LocalBinaryFile localFile = storage.openLocalFile(UUID);
+		File file = new File(localFile.getPath());
+		storage.delete(UUID).blockingAwait();
+		assertTrue("The file should be kept until the handle has been closed", file.exists());
+		localFile.close();
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void testLargeBinaryNotCached() {
+		storage = new CachedBinaryStorage(remote, vertx, cacheDir.getAbsolutePath(), 1024, 60);
+		byte[] data = new byte[2048];
+		storage.store(Flowable.just(Buffer.buffer(data)), UUID).blockingAwait();
+
+		assertEquals(data.length, RxUtil.readEntireData(storage.read(UUID)).blockingGet().length());
+		assertNull("The binary exceeds the size of the cache", storage.getLocalPath(UUID));
+		assertNull(storage.getLocalPath(UUID));
+		assertEquals("The binary should not be prefetched", 1, remote.reads.get());
+		assertEquals(0, FileUtils.listFiles(cacheDir, null, true).size());
+	}
+
+	@Test
+	public void testEvictionDuringRead() throws InterruptedException {
+		storage.store(Flowable.just(Buffer.buffer("0123456789")), UUID).blockingAwait();
+		readAll(storage.read(UUID));
+		File file = new File(storage.getLocalPath(UUID));
+
+		TestSubscriber<Buffer> subscriber = storage.read(UUID).test(0);
+		storage.delete(UUID).blockingAwait();
+		assertNull(storage.getLocalPath(UUID));
+		assertTrue("The file should be kept while it is read", file.exists());
+
+		subscriber.request(Long.MAX_VALUE);
+		subscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+		subscriber.assertComplete();
+		Buffer read = Buffer.buffer();
+		subscriber.values().forEach(read::appendBuffer);
+		assertEquals("0123456789", read.toString());
+
+		for (int i = 0; i < 100 && file.exists(); i++) {
+			Thread.sleep(10);
+		}
+		assertFalse("The file should be removed once it has been read", file.exists());
+	}
+
+	@Test
+	public void testRangeRead() {
+		storage.store(Flowable.just(Buffer.buffer("01234"), Buffer.buffer("56789")), UUID).blockingAwait();
+		assertEquals("Only the range should be loaded on a cache miss", "3456", readAll(storage.read(UUID, 3, 4)));
+		assertEquals(1, remote.rangeReads.get());
+	}
+
+	@Test
+	public void testExistsCache() {
+		BinaryGraphField field = mockField(UUID);
+		assertFalse(storage.exists(field));
+		remote.data.put(UUID, Buffer.buffer("data"));
+		assertFalse("The missing binary should be remembered", storage.exists(field));
+		assertEquals(1, remote.existsChecks.get());
+
+		storage.store(Flowable.just(Buffer.buffer("data")), UUID).blockingAwait();
+		assertTrue("Storing the binary should update the cache", storage.exists(field));
+		assertTrue(storage.exists(field));
+		assertEquals(1, remote.existsChecks.get());
+	}
+
+	@Test
+	public void testDelete() {
+		storage.store(Flowable.just(Buffer.buffer("data")), UUID).blockingAwait();
+		readAll(storage.read(UUID));
+		String localPath = storage.getLocalPath(UUID);
+		assertNotNull(localPath);
+		storage.delete(UUID).blockingAwait();
+		assertFalse("The cached file should have been removed", new File(localPath).exists());
+		assertFalse(storage.exists(mockField(UUID)));
+	}
+
+	private String readAll(Flowable<Buffer> data) {
+		return RxUtil.readEntireData(data).blockingGet().toString();
+	}
+
+	private BinaryGraphField mockField(String uuid) {
+		BinaryGraphField field = Mockito.mock(BinaryGraphField.class);
+		Binary binary = Mockito.mock(Binary.class);
+		Mockito.when(field.getBinary()).thenReturn(binary);
+		Mockito.when(binary.getUuid()).thenReturn(uuid);
+		return field;
+	}
+
+	/**
+	 * In-memory stand-in for a remote storage.
+	 */
+	private static class RemoteStorage extends AbstractBinaryStorage {
+
+		private final Map<String, Buffer> data = new ConcurrentHashMap<>();
+
+		private final AtomicInteger reads = new AtomicInteger();
+
+		private final AtomicInteger rangeReads = new AtomicInteger();
+
+		private final AtomicInteger existsChecks = new AtomicInteger();
+
+		@Override
+		public Completable store(Flowable<Buffer> stream, String uuid) {
+			return RxUtil.readEntireData(stream).doOnSuccess(buffer -> data.put(uuid, buffer)).toCompletable();
+		}
+
+		@Override
+		public boolean exists(BinaryGraphField field) {
+			existsChecks.incrementAndGet();
+			return data.containsKey(field.getBinary().getUuid());
+		}
+
+		@Override
+		public Flowable<Buffer> read(String uuid) {
+			return Flowable.defer(() -> {
+				reads.incrementAndGet();
+				return Flowable.just(data.get(uuid));
+			});
+		}
+
+		@Override
+		public Flowable<Buffer> read(String uuid, long offset, long length) {
+			return Flowable.defer(() -> {
+				rangeReads.incrementAndGet();
+				return Flowable.just(data.get(uuid).getBuffer((int) offset, (int) (offset + length)));
+			});
+		}
+
+		@Override
+		public Buffer readAllSync(String uuid) {
+			return data.get(uuid);
+		}
+
+		@Override
+		public Completable delete(String uuid) {
+			return Completable.fromAction(() -> data.remove(uuid));
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.gentics.mesh.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.observers.TestObserver;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+public class RxUtilTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPipeBackpressure() {
+		List<Buffer> written = new ArrayList<>();
+		AtomicBoolean full = new AtomicBoolean(false);
+		AtomicReference<Handler<Void>> drainHandler = new AtomicReference<>();
+		WriteStream<Buffer> stream = mock(WriteStream.class);
+		when(stream.write(any(Buffer.class))).then(invocation -> {
+			written.add((Buffer) invocation.getArguments()[0]);
+			full.set(true);
+			return stream;
+		});
+		when(stream.writeQueueFull()).then(invocation -> full.get());
+		when(stream.drainHandler(any(Handler.class))).then(invocation -> {
+			drainHandler.set((Handler<Void>) invocation.getArguments()[0]);
+			return stream;
+		});
+
+		Flowable<Buffer> source = Flowable.range(0, 3).map(i -> Buffer.buffer("chunk" + i));
+		TestObserver<Void> observer = RxUtil.pipe(source, stream).test();
+
+		// The source must not be read while the write queue is full
+		assertEquals(1, written.size());
+		observer.assertNotComplete();
+
+		full.set(false);
+		drainHandler.get().handle(null);
+		assertEquals(2, written.size());
+		observer.assertNotComplete();
+
+		full.set(false);
+		drainHandler.get().handle(null);
+		assertEquals(3, written.size());
+		observer.assertComplete();
+		assertEquals("chunk2", written.get(2).toString());
+	}
+
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.gentics.mesh.context.AbstractInternalActionContext;
 import com.gentics.mesh.context.BulkActionContext;
@@ -60,7 +61,7 @@ public class NodeMigrationActionContextImpl extends AbstractInternalActionContex
 
 	private Map<String, Object> data;
 
-	private Set<ConflictWarning> conflicts = new HashSet<>();
+	private Set<ConflictWarning> conflicts = ConcurrentHashMap.newKeySet();
 
 	private MultiMap parameters = MultiMap.caseInsensitiveMultiMap();
 
@@ -72,6 +73,20 @@ public class NodeMigrationActionContextImpl extends AbstractInternalActionContex
 
 	private Branch branch;
 
+	/**
+	 * Create a new context which shares the project, branch and the set of encountered conflicts with this context. Parameters are not shared, so the
+	 * returned context can be used by another migration worker thread.
+	 * 
+	 * @return
+	 */
+	public NodeMigrationActionContextImpl fork() {
+		NodeMigrationActionContextImpl context = new NodeMigrationActionContextImpl();
+		context.project = project;
+		context.branch = branch;
+		context.conflicts = conflicts;
+		return context;
+	}
+
 	/**
 	 * Set the body.
 	 *
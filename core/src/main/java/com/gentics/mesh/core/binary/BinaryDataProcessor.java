@@ -1,7 +1,11 @@
 package com.gentics.mesh.core.binary;
 
+import java.util.function.Consumer;
+
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.etc.config.MeshUploadOptions;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.FileUpload;
 
 /**
@@ -19,11 +23,17 @@ public interface BinaryDataProcessor {
 	boolean accepts(String contentType);
 
 	/**
-	 * Process the binary data and store the found meta data in the binary field.
+	 * Process the binary data and return a consumer which stores the found meta data in the binary field. The data is processed outside of the
+	 * transaction. The returned consumer will be invoked within the transaction which updates the field and may thus be invoked multiple times.
+	 * 
+	 * The processor must not read the uploaded file. It only gets the beginning of the data which was captured while the upload was stored. The
+	 * prefix is bounded by {@link MeshUploadOptions#getSniffLimit()} and contains the complete data if its length matches the size of the upload.
 	 * 
 	 * @param upload
-	 * @param field
+	 * @param prefix
+	 *            Beginning of the uploaded data
+	 * @return Consumer which applies the extracted information to the field
 	 */
-	void process(FileUpload upload, BinaryGraphField field);
+	Consumer<BinaryGraphField> process(FileUpload upload, Buffer prefix);
 
 }
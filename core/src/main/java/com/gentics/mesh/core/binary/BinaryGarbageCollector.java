@@ -0,0 +1,251 @@
+package com.gentics.mesh.core.binary;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.cli.BootstrapInitializer;
+import com.gentics.mesh.core.data.MeshVertex;
+import com.gentics.mesh.core.data.binary.Binary;
+import com.gentics.mesh.core.data.binary.impl.BinaryImpl;
+import com.gentics.mesh.core.endpoint.migration.VertexIdStream;
+import com.gentics.mesh.etc.config.MeshUploadOptions;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.storage.StoredBinary;
+import com.google.common.util.concurrent.RateLimiter;
+import com.syncleus.ferma.FramedGraph;
+import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Vertex;
+
+import dagger.Lazy;
+import io.reactivex.Completable;
+import io.reactivex.schedulers.Schedulers;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Mark and sweep garbage collection for binaries.
+ *
+ * Binaries are deduplicated by their hashsum and the binary data is stored once per binary. The collection runs in two phases:
+ * <ol>
+ * <li>Binaries which are no longer referenced by any binary field are deleted together with their data.</li>
+ * <li>The content of the binary storage is listed and data for which no binary exists is deleted. Data which was modified within the
+ * {@link MeshUploadOptions#getGcGracePeriod()} will be kept since the binary of an upload is created after the data has been stored.</li>
+ * </ol>
+ * Both phases stream the binaries and use one transaction per deletion so that the memory usage does not depend on the amount of binaries. The
+ * rate is limited by {@link MeshUploadOptions#getGcRate()}. The results are kept for the last run and are also reported to the shared Dropwizard
+ * registry using the <code>binary.gc</code> prefix.
+ */
+@Singleton
+public class BinaryGarbageCollector {
+
+	private static final Logger log = LoggerFactory.getLogger(BinaryGarbageCollector.class);
+
+	private static final MetricRegistry metricRegistry = SharedMetricRegistries.getOrCreate("mesh");
+
+	/**
+	 * Amount of binary ids which are read at once.
+	 */
+	public static final int BATCH_SIZE = 1000;
+
+	private final Database db;
+
+	private final Lazy<BootstrapInitializer> boot;
+
+	private final BinaryStorage binaryStorage;
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	private final AtomicLong checked = new AtomicLong();
+
+	private final AtomicLong removedBinaries = new AtomicLong();
+
+	private final AtomicLong removedFiles = new AtomicLong();
+
+	private final AtomicLong reclaimedBytes = new AtomicLong();
+
+	private final Counter reclaimedCounter = metricRegistry.counter("binary.gc.reclaimed");
+
+	private final Counter removedCounter = metricRegistry.counter("binary.gc.removed");
+
+	@Inject
+	public BinaryGarbageCollector(Database db, Lazy<BootstrapInitializer> boot, BinaryStorage binaryStorage) {
+		this.db = db;
+		this.boot = boot;
+		this.binaryStorage = binaryStorage;
+	}
+
+	/**
+	 * Run the garbage collection on the IO scheduler. Nothing will be done if a collection is already running.
+	 *
+	 * @return
+	 */
+	public Completable run() {
+		return Completable.defer(() -> {
+			if (!running.compareAndSet(false, true)) {
+				log.info("Binary garbage collection is already running");
+				return Completable.complete();
+			}
+			return Completable.fromAction(() -> {
+				checked.set(0);
+				removedBinaries.set(0);
+				removedFiles.set(0);
+				reclaimedBytes.set(0);
+				long start = System.currentTimeMillis();
+				log.info("Starting binary garbage collection");
+				RateLimiter limiter = createLimiter();
+				sweepBinaries(limiter);
+				sweepStorage(limiter);
+				log.info("Binary garbage collection completed in {" + (System.currentTimeMillis() - start) + "} ms. Removed {" + removedBinaries.get()
+					+ "} binaries and {" + removedFiles.get() + "} orphaned files. Reclaimed {" + reclaimedBytes.get() + "} bytes");
+			}).subscribeOn(Schedulers.io()).doFinally(() -> running.set(false));
+		});
+	}
+
+	/**
+	 * Delete the binaries which are not referenced by any field. The ids of the binaries are streamed in pages so that every binary is only checked
+	 * once. The data of a binary is deleted after the removal of the binary has been committed.
+	 *
+	 * @param limiter
+	 */
+	private void sweepBinaries(RateLimiter limiter) {
+		try (VertexIdStream binaryIds = new VertexIdStream(db, () -> boot.get().binaryRoot().findAll().iterator(), BATCH_SIZE)) {
+			for (Object id : binaryIds) {
+				limiter.acquire();
+				checked.incrementAndGet();
+				AtomicLong size = new AtomicLong();
+				String uuid;
+				try {
+					uuid = db.tx(() -> {
+						FramedGraph graph = Tx.getActive().getGraph();
+						Vertex vertex = graph.getVertex(id);
+						if (vertex == null) {
+							return null;
+						}
+						Binary binary = graph.frameElementExplicit(vertex, BinaryImpl.class);
+						// The binary may have been referenced again in the meantime
+						if (binary.findFields().iterator().hasNext()) {
+							return null;
+						}
+						size.set(binary.getSize());
+						String binaryUuid = binary.getUuid();
+						binary.getElement().remove();
+						return binaryUuid;
+					});
+				} catch (Exception e) {
+					log.error("Could not delete unreferenced binary {" + id + "}", e);
+					continue;
+				}
+				if (uuid == null) {
+					continue;
+				}
+				removedBinaries.incrementAndGet();
+				removedCounter.inc();
+				reclaimed(size.get());
+				try {
+					binaryStorage.delete(uuid).blockingAwait();
+				} catch (Exception e) {
+					// The data will be removed as orphaned data by the next run
+					log.error("Could not delete the data of unreferenced binary {" + uuid + "}", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Delete the stored data for which no binary exists.
+	 *
+	 * @param limiter
+	 */
+	private void sweepStorage(RateLimiter limiter) {
+		long gracePeriod = TimeUnit.SECONDS.toMillis(Mesh.mesh().getOptions().getUploadOptions().getGcGracePeriod());
+		long threshold = System.currentTimeMillis() - gracePeriod;
+		for (StoredBinary stored : binaryStorage.list().blockingIterable()) {
+			if (stored.getLastModified() > threshold) {
+				continue;
+			}
+			limiter.acquire();
+			checked.incrementAndGet();
+			String uuid = stored.getUuid();
+			boolean exists = db.tx(() -> db.findVertex(MeshVertex.UUID_KEY, uuid, BinaryImpl.class) != null);
+			if (exists) {
+				continue;
+			}
+			try {
+				if (log.isDebugEnabled()) {
+					log.debug("Deleting orphaned binary data {" + uuid + "}");
+				}
+				binaryStorage.delete(uuid).blockingAwait();
+				removedFiles.incrementAndGet();
+				removedCounter.inc();
+				reclaimed(stored.getSize());
+			} catch (Exception e) {
+				log.error("Could not delete orphaned binary data {" + uuid + "}", e);
+			}
+		}
+	}
+
+	private void reclaimed(long size) {
+		reclaimedBytes.addAndGet(size);
+		reclaimedCounter.inc(size);
+	}
+
+	private RateLimiter createLimiter() {
+		int rate = Mesh.mesh().getOptions().getUploadOptions().getGcRate();
+		return RateLimiter.create(rate > 0 ? rate : Double.MAX_VALUE);
+	}
+
+	/**
+	 * Check whether a collection is currently running.
+	 *
+	 * @return
+	 */
+	public boolean isRunning() {
+		return running.get();
+	}
+
+	/**
+	 * Return the amount of binaries and stored files which were checked by the current or last run.
+	 *
+	 * @return
+	 */
+	public long getChecked() {
+		return checked.get();
+	}
+
+	/**
+	 * Return the amount of unreferenced binaries which were removed by the current or last run.
+	 *
+	 * @return
+	 */
+	public long getRemovedBinaries() {
+		return removedBinaries.get();
+	}
+
+	/**
+	 * Return the amount of orphaned files which were removed by the current or last run.
+	 *
+	 * @return
+	 */
+	public long getRemovedFiles() {
+		return removedFiles.get();
+	}
+
+	/**
+	 * Return the amount of bytes which were reclaimed by the current or last run.
+	 *
+	 * @return
+	 */
+	public long getReclaimedBytes() {
+		return reclaimedBytes.get();
+	}
+
+}
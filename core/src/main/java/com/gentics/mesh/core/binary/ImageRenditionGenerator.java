@@ -0,0 +1,227 @@
+package com.gentics.mesh.core.binary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.cli.BootstrapInitializer;
+import com.gentics.mesh.core.data.binary.Binary;
+import com.gentics.mesh.core.data.binary.impl.BinaryImpl;
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.core.endpoint.migration.VertexIdStream;
+import com.gentics.mesh.core.image.spi.ImageManipulator;
+import com.gentics.mesh.core.rest.node.field.image.FocalPoint;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.parameter.ImageManipulationParameters;
+import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
+import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.util.HttpQueryUtils;
+import com.syncleus.ferma.FramedGraph;
+import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Vertex;
+
+import dagger.Lazy;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Generator for the image renditions which are configured via {@link com.gentics.mesh.etc.config.ImageManipulatorOptions#getRenditions()}.
+ *
+ * The renditions are written to the image cache so that the first request of a rendition does not need to resize the image.
+ */
+@Singleton
+public class ImageRenditionGenerator {
+
+	private static final Logger log = LoggerFactory.getLogger(ImageRenditionGenerator.class);
+
+	/**
+	 * Amount of binaries which will be loaded within a single transaction by the backfill.
+	 */
+	public static final int BATCH_SIZE = 100;
+
+	private final ImageManipulator imageManipulator;
+
+	private final BinaryStorage binaryStorage;
+
+	private final Database db;
+
+	private final Lazy<BootstrapInitializer> boot;
+
+	private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+
+	@Inject
+	public ImageRenditionGenerator(ImageManipulator imageManipulator, BinaryStorage binaryStorage, Database db, Lazy<BootstrapInitializer> boot) {
+		this.imageManipulator = imageManipulator;
+		this.binaryStorage = binaryStorage;
+		this.db = db;
+		this.boot = boot;
+	}
+
+	/**
+	 * Return the image manipulation parameters of the configured renditions. The focal point will be used for renditions which do not define their
+	 * own focal point. This matches the handling of image requests which also fall back to the focal point of the binary field.
+	 *
+	 * @param focalPoint
+	 *            Focal point of the binary field or null
+	 * @return
+	 */
+	public List<ImageManipulationParameters> getRenditions(FocalPoint focalPoint) {
+		List<ImageManipulationParameters> renditions = new ArrayList<>();
+		Map<String, String> config = Mesh.mesh().getOptions().getImageOptions().getRenditions();
+		if (config == null) {
+			return renditions;
+		}
+		for (Map.Entry<String, String> entry : config.entrySet()) {
+			ImageManipulationParameters parameters = new ImageManipulationParametersImpl();
+			for (Map.Entry<String, String> param : HttpQueryUtils.splitQuery(entry.getValue()).entrySet()) {
+				parameters.setParameter(param.getKey(), param.getValue());
+			}
+			if (!parameters.hasFocalPoint() && focalPoint != null) {
+				parameters.setFocalPoint(focalPoint);
+			}
+			renditions.add(parameters);
+		}
+		return renditions;
+	}
+
+	/**
+	 * Generate the configured renditions for the binary. The renditions are generated one after another. Renditions which fail will be skipped.
+	 *
+	 * @param binaryUuid
+	 *            Uuid of the binary which is used to read the binary data
+	 * @param sha512sum
+	 *            Hashsum of the binary
+	 * @param focalPoint
+	 *            Focal point of the binary field or null
+	 * @return
+	 */
+	public Completable generate(String binaryUuid, String sha512sum, FocalPoint focalPoint) {
+		return Flowable.fromIterable(getRenditions(focalPoint)).concatMap(parameters -> {
+			return imageManipulator.prepareResize(binaryStorage.read(binaryUuid), sha512sum, parameters).onErrorComplete(e -> {
+				log.warn("Could not generate rendition {" + parameters.getQueryParameters() + "} for binary {" + binaryUuid + "}", e);
+				return true;
+			}).toFlowable();
+		}).ignoreElements();
+	}
+
+	/**
+	 * Generate the configured renditions for the binary in the background. Must be invoked once the binary has been committed.
+	 *
+	 * @param binaryUuid
+	 *            Uuid of the binary which is used to read the binary data
+	 * @param sha512sum
+	 *            Hashsum of the binary
+	 * @param focalPoint
+	 *            Focal point of the binary field or null
+	 */
+	public void schedule(String binaryUuid, String sha512sum, FocalPoint focalPoint) {
+		if (!hasRenditions()) {
+			return;
+		}
+		generate(binaryUuid, sha512sum, focalPoint).subscribe(() -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Generated image renditions for binary {" + binaryUuid + "}");
+			}
+		}, e -> log.error("Error while generating image renditions for binary {" + binaryUuid + "}", e));
+	}
+
+	/**
+	 * Generate the configured renditions for all existing images. Each distinct focal point of the fields which reference an image will be
+	 * considered. The binaries are streamed and loaded in batches so that the memory usage does not depend on the amount of binaries. Nothing will be
+	 * done if a backfill is already running.
+	 *
+	 * @return
+	 */
+	public Completable backfill() {
+		return Completable.defer(() -> {
+			if (!hasRenditions() || !backfillRunning.compareAndSet(false, true)) {
+				return Completable.complete();
+			}
+			log.info("Generating image renditions for all images");
+			VertexIdStream binaryIds = new VertexIdStream(db, () -> boot.get().binaryRoot().findAll().iterator(), BATCH_SIZE);
+			AtomicLong count = new AtomicLong();
+			return Flowable.fromIterable(binaryIds)
+				.buffer(BATCH_SIZE)
+				.concatMap(ids -> Flowable.fromIterable(db.tx(() -> loadImages(ids))))
+				.concatMap(image -> {
+					count.incrementAndGet();
+					return generate(image.binaryUuid, image.sha512sum, image.focalPoint).toFlowable();
+				})
+				.ignoreElements()
+				.doOnComplete(() -> log.info("Image rendition generation completed for {" + count.get() + "} images"))
+				.doFinally(() -> {
+					binaryIds.close();
+					backfillRunning.set(false);
+				});
+		});
+	}
+
+	/**
+	 * Load the references to the images of the binaries with the given ids. Must be invoked within a transaction.
+	 *
+	 * @param ids
+	 * @return
+	 */
+	private List<ImageReference> loadImages(List<Object> ids) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		List<ImageReference> list = new ArrayList<>();
+		for (Object id : ids) {
+			Vertex vertex = graph.getVertex(id);
+			if (vertex == null) {
+				continue;
+			}
+			Binary binary = graph.frameElementExplicit(vertex, BinaryImpl.class);
+			if (binary.getImageWidth() == null || binary.getImageHeight() == null) {
+				continue;
+			}
+			List<FocalPoint> focalPoints = new ArrayList<>();
+			for (BinaryGraphField field : binary.findFields()) {
+				FocalPoint focalPoint = field.getImageFocalPoint();
+				if (!focalPoints.contains(focalPoint)) {
+					focalPoints.add(focalPoint);
+				}
+			}
+			for (FocalPoint focalPoint : focalPoints) {
+				list.add(new ImageReference(binary.getUuid(), binary.getSHA512Sum(), focalPoint));
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Check whether any renditions have been configured.
+	 *
+	 * @return
+	 */
+	public boolean hasRenditions() {
+		Map<String, String> config = Mesh.mesh().getOptions().getImageOptions().getRenditions();
+		return config != null && !config.isEmpty();
+	}
+
+	/**
+	 * Reference to an image for which the renditions should be generated.
+	 */
+	private static class ImageReference {
+
+		private final String binaryUuid;
+
+		private final String sha512sum;
+
+		private final FocalPoint focalPoint;
+
+		ImageReference(String binaryUuid, String sha512sum, FocalPoint focalPoint) {
+			this.binaryUuid = binaryUuid;
+			this.sha512sum = sha512sum;
+			this.focalPoint = focalPoint;
+		}
+	}
+
+}
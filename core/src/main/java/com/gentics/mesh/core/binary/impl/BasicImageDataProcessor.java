@@ -1,6 +1,7 @@
 package com.gentics.mesh.core.binary.impl;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -13,6 +14,7 @@ import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.util.NodeUtil;
 
 import io.reactivex.Single;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.FileUpload;
@@ -38,8 +40,10 @@ public class BasicImageDataProcessor extends AbstractBinaryProcessor {
 	}
 
 	@Override
-	public void process(FileUpload upload, BinaryGraphField field) {
-		Optional<ImageInfo> infoOpt = imageManipulator.readImageInfo(upload.uploadedFileName()).map(Optional::of)
+	public Consumer<BinaryGraphField> process(FileUpload upload, Buffer prefix) {
+		// Images which exceed the prefix are not decoded. Only their size will be read from the header.
+		boolean complete = prefix.length() >= upload.size();
+		Optional<ImageInfo> infoOpt = imageManipulator.readImageInfo(prefix, complete).map(Optional::of)
 			.onErrorResumeNext(e -> {
 				if (log.isDebugEnabled()) {
 					log.warn("Could not read image information from upload {" + upload.fileName() + "/" + upload.name() + "}", e);
@@ -47,15 +51,17 @@ public class BasicImageDataProcessor extends AbstractBinaryProcessor {
 				return Single.just(Optional.empty());
 			}).blockingGet();
 
-		
-		if (infoOpt.isPresent()) {
-			ImageInfo info = infoOpt.get();
-			Binary binary = field.getBinary();
-			binary.setImageHeight(info.getHeight());
-			binary.setImageWidth(info.getWidth());
-			field.setImageDominantColor(info.getDominantColor());
-		}
-
+		return field -> {
+			if (infoOpt.isPresent()) {
+				ImageInfo info = infoOpt.get();
+				Binary binary = field.getBinary();
+				binary.setImageHeight(info.getHeight());
+				binary.setImageWidth(info.getWidth());
+				if (info.getDominantColor() != null) {
+					field.setImageDominantColor(info.getDominantColor());
+				}
+			}
+		};
 	}
 
 }
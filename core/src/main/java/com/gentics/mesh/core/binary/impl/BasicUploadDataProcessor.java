@@ -1,11 +1,14 @@
 package com.gentics.mesh.core.binary.impl;
 
+import java.util.function.Consumer;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.gentics.mesh.core.binary.AbstractBinaryProcessor;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.FileUpload;
 
 @Singleton
@@ -21,9 +24,14 @@ public class BasicUploadDataProcessor extends AbstractBinaryProcessor {
 	}
 
 	@Override
-	public void process(FileUpload upload, BinaryGraphField field) {
-		field.setFileName(upload.fileName());
-		field.getBinary().setSize(upload.size());
-		field.setMimeType(upload.contentType());
+	public Consumer<BinaryGraphField> process(FileUpload upload, Buffer prefix) {
+		String fileName = upload.fileName();
+		long size = upload.size();
+		String contentType = upload.contentType();
+		return field -> {
+			field.setFileName(fileName);
+			field.getBinary().setSize(size);
+			field.setMimeType(contentType);
+		};
 	}
 }
@@ -1,40 +1,134 @@
 package com.gentics.mesh.core.binary.impl;
 
-import java.io.File;
+import static com.gentics.mesh.core.data.ContainerType.DRAFT;
+import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
+
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.xml.sax.SAXException;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.binary.AbstractBinaryProcessor;
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.MeshVertex;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.binary.Binary;
+import com.gentics.mesh.core.data.binary.impl.BinaryImpl;
+import com.gentics.mesh.core.data.container.impl.NodeGraphFieldContainerImpl;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.core.data.node.field.impl.BinaryGraphFieldImpl;
+import com.gentics.mesh.core.data.search.SearchQueue;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.node.field.binary.Location;
+import com.gentics.mesh.etc.config.MeshUploadOptions;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.storage.LocalBinaryFile;
+import com.gentics.mesh.util.RxUtil;
+import com.gentics.mesh.util.UUIDUtil;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.FileUpload;
 
+/**
+ * Processor which extracts the metadata of documents and media files using Apache Tika.
+ *
+ * The documents are parsed on a dedicated executor which is bounded by {@link MeshUploadOptions#getParserThreads()} and
+ * {@link MeshUploadOptions#getParserQueueSize()}. The upload stops waiting for the metadata after {@link MeshUploadOptions#getParserTimeout()}. The
+ * parser is then interrupted and its input is closed. Java can't forcibly stop a parser which ignores both (e.g. a parser stuck in a loop), so such a
+ * thread is left running and a replacement thread is added to the executor. This keeps the executor at its configured size. The extracted text is
+ * limited to {@link MeshUploadOptions#getParserLimit()} characters. When {@link MeshUploadOptions#isParserDeferred()} is set the
+ * upload will not wait for the extraction and the metadata will be added to the binary fields of the upload once it is available. Otherwise only the
+ * prefix of the upload which is bounded by {@link MeshUploadOptions#getSniffLimit()} will be parsed.
+ */
 @Singleton
 public class TikaBinaryProcessor extends AbstractBinaryProcessor {
 
 	private static final Logger log = LoggerFactory.getLogger(TikaBinaryProcessor.class);
 
+	/**
+	 * Amount of attempts to store the metadata of a deferred extraction.
+	 */
+	private static final int DEFERRED_APPLY_RETRIES = 5;
+
 	private final Set<String> acceptedTypes = new HashSet<>();
 
 	private final Set<String> skipSet = new HashSet<>();
 
-	private final Parser parser = new AutoDetectParser();
+	private final Parser parser;
+
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+	private final Database db;
+
+	private final BinaryStorage binaryStorage;
+
+	private final SearchQueue searchQueue;
+
+	private ThreadPoolExecutor executor;
+
+	/**
+	 * Amount of parser threads which did not stop after the timeout and have been replaced.
+	 */
+	private int stuckWorkers = 0;
 
 	@Inject
-	public TikaBinaryProcessor() {
+	public TikaBinaryProcessor(Database db, BinaryStorage binaryStorage, SearchQueue searchQueue) {
+		this(db, binaryStorage, searchQueue, new AutoDetectParser());
+	}
+
+	/**
+	 * Create a processor which uses the given parser.
+	 * 
+	 * @param db
+	 * @param binaryStorage
+	 * @param searchQueue
+	 * @param parser
+	 */
+	TikaBinaryProcessor(Database db, BinaryStorage binaryStorage, SearchQueue searchQueue, Parser parser) {
+		this.db = db;
+		this.binaryStorage = binaryStorage;
+		this.searchQueue = searchQueue;
+		this.parser = parser;
 		// Accepted types
 		acceptedTypes.add("application/pdf");
 		acceptedTypes.add("application/msword");
@@ -73,72 +167,368 @@ public class TikaBinaryProcessor extends AbstractBinaryProcessor {
 
 	@Override
 	public boolean accepts(String contentType) {
-		return acceptedTypes.contains(contentType);
+		return acceptedTypes.contains(contentType) && !isExcluded(contentType);
+	}
+
+	/**
+	 * Check whether the content type was excluded via {@link MeshUploadOptions#getParserExcludedTypes()}.
+	 * 
+	 * @param contentType
+	 * @return
+	 */
+	private boolean isExcluded(String contentType) {
+		List<String> excludedTypes = Mesh.mesh().getOptions().getUploadOptions().getParserExcludedTypes();
+		if (excludedTypes == null || contentType == null) {
+			return false;
+		}
+		String type = contentType.toLowerCase();
+		for (String excluded : excludedTypes) {
+			String pattern = excluded.toLowerCase();
+			if (pattern.endsWith("*") ? type.startsWith(pattern.substring(0, pattern.length() - 1)) : type.equals(pattern)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
-	public void process(FileUpload upload, BinaryGraphField field) {
+	public Consumer<BinaryGraphField> process(FileUpload upload, Buffer prefix) {
+		String name = upload.fileName() + "/" + upload.uploadedFileName();
+		if (Mesh.mesh().getOptions().getUploadOptions().isParserDeferred()) {
+			// The stored data will be parsed since the upload file will be removed once the request has been handled. Deferred parsing is thus not
+			// limited to the prefix.
+			String uploadKey = UUIDUtil.randomUUID();
+			return field -> {
+				field.setMetadataUpload(uploadKey);
+				schedule(field.getBinary().getUuid(), uploadKey, name);
+			};
+		}
+		if (prefix.length() < upload.size() && log.isDebugEnabled()) {
+			log.debug("Only the first {" + prefix.length() + "} bytes of upload {" + name + "} will be parsed");
+		}
+		try {
+			ParseResult result = parse(new ByteArrayInputStream(prefix.getBytes()), name);
+			return result::apply;
+		} catch (Exception e) {
+			log.warn("Tika processing of upload {" + name + "} failed", e);
+			return field -> {
+			};
+		}
+	}
 
-		File uploadFile = new File(upload.uploadedFileName());
-		try (FileInputStream inputstream = new FileInputStream(uploadFile)) {
-			Metadata metadata = new Metadata();
-			ParseContext context = new ParseContext();
-			BodyContentHandler handler = new BodyContentHandler();
+	/**
+	 * Parse the stored data of the binary in the background and apply the found metadata to the fields of the binary which were created by the upload.
+	 * 
+	 * @param binaryUuid
+	 * @param uploadKey
+	 *            Key of the upload which was stored in the fields
+	 * @param name
+	 *            Name of the upload which is used for logging
+	 */
+	private void schedule(String binaryUuid, String uploadKey, String name) {
+		// The consumer is invoked again when the transaction is repeated
+		String key = binaryUuid + "/" + uploadKey;
+		if (!pending.add(key)) {
+			return;
+		}
+		Single.fromCallable(() -> parse(openStoredData(binaryUuid), name))
+			.onErrorReturn(e -> {
+				// The fields must not wait for the metadata forever. Their marker is removed without adding any metadata.
+				log.warn("Deferred Tika processing of upload {" + name + "} failed", e);
+				return new ParseResult();
+			})
+			.flatMapCompletable(result -> Completable.fromAction(() -> applyDeferred(binaryUuid, uploadKey, result))
+				// The fields will only be found once the transaction of the upload has been committed. The update is dropped if the upload failed.
+				.retryWhen(errors -> errors.zipWith(Flowable.range(1, DEFERRED_APPLY_RETRIES), (e, i) -> i)
+					.flatMap(i -> Flowable.timer(i, TimeUnit.SECONDS))))
+			.subscribeOn(Schedulers.io())
+			.doFinally(() -> pending.remove(key))
+			.subscribe(() -> {
+				if (log.isDebugEnabled()) {
+					log.debug("Deferred Tika processing of upload {" + name + "} completed");
+				}
+			}, e -> log.warn("Metadata of deferred Tika processing of upload {" + name + "} could not be stored", e));
+	}
+
+	private InputStream openStoredData(String binaryUuid) throws IOException {
+		try (LocalBinaryFile localFile = binaryStorage.openLocalFile(binaryUuid)) {
+			if (localFile != null) {
+				// The opened file stays readable if it is removed from the storage
+				return new FileInputStream(localFile.getPath());
+			}
+		}
+		return RxUtil.toInputStream(binaryStorage.read(binaryUuid), Mesh.rxVertx());
+	}
 
-			// PDF files need to be parsed fully
-			if (upload.contentType().toLowerCase().startsWith("application/pdf")) {
-				handler = new BodyContentHandler(-1);
+	/**
+	 * Apply the metadata to the fields of the binary which are still waiting for the metadata of the upload and update the search index of the
+	 * containers of the fields.
+	 * 
+	 * @param binaryUuid
+	 * @param uploadKey
+	 * @param result
+	 */
+	private void applyDeferred(String binaryUuid, String uploadKey, ParseResult result) {
+		SearchQueueBatch batch = db.tx(() -> {
+			Binary binary = db.findVertex(MeshVertex.UUID_KEY, binaryUuid, BinaryImpl.class);
+			if (binary == null) {
+				throw new NoSuchElementException("Binary {" + binaryUuid + "} could not be found");
 			}
+			SearchQueueBatch sqb = searchQueue.create();
+			boolean found = false;
+			for (BinaryGraphField field : binary.findFields()) {
+				if (!uploadKey.equals(field.getMetadataUpload())) {
+					continue;
+				}
+				found = true;
+				field.setMetadataUpload(null);
+				result.apply(field);
+				NodeGraphFieldContainer container = ((BinaryGraphFieldImpl) field).outV().nextOrDefaultExplicit(NodeGraphFieldContainerImpl.class,
+					null);
+				if (container != null) {
+					for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
+						for (String branchUuid : container.getBranches(type)) {
+							sqb.store(container, branchUuid, type, false);
+						}
+					}
+				}
+			}
+			if (!found) {
+				throw new NoSuchElementException("No field of binary {" + binaryUuid + "} is waiting for the metadata of upload {" + uploadKey + "}");
+			}
+			return sqb;
+		});
+		batch.processSync();
+	}
+
+	/**
+	 * Parse the stream on the parser executor. The stream will be closed once the parsing has been completed or the timeout has been reached. A parser
+	 * thread which is still running after the timeout will be replaced.
+	 * 
+	 * @param stream
+	 * @param name
+	 *            Name of the upload which is used for logging
+	 * @return
+	 * @throws Exception
+	 *             Parsing failed, timed out or was rejected because the parser queue is full
+	 */
+	private ParseResult parse(InputStream stream, String name) throws Exception {
+		MeshUploadOptions options = Mesh.mesh().getOptions().getUploadOptions();
+		ParseTask task = new ParseTask(stream, options.getParserLimit(), name);
+		try {
+			Future<ParseResult> future = getExecutor().submit(task);
+			long timeout = options.getParserTimeout();
+			if (timeout <= 0) {
+				return future.get();
+			}
+			try {
+				return future.get(timeout, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// Closing the stream will make the parser fail on its next read in case it does not react to the interruption
+				future.cancel(true);
+				task.abandon();
+				throw new TimeoutException("Parsing did not complete within {" + timeout + "} ms");
+			}
+		} finally {
+			IOUtils.closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Extract the metadata from the stream.
+	 * 
+	 * @param stream
+	 * @param limit
+	 *            Maximum amount of characters which will be extracted or -1 for no limit
+	 * @param name
+	 *            Name of the upload which is used for logging
+	 * @return
+	 * @throws Exception
+	 */
+	private ParseResult extract(InputStream stream, int limit, String name) throws Exception {
+		Metadata metadata = new Metadata();
+		ParseContext context = new ParseContext();
+		WriteOutContentHandler content = new WriteOutContentHandler(limit);
+		BodyContentHandler handler = new BodyContentHandler(content);
 
-			parser.parse(inputstream, handler, metadata, context);
+		try {
+			parser.parse(stream, handler, metadata, context);
+		} catch (SAXException e) {
+			if (!content.isWriteLimitReached(e)) {
+				throw e;
+			}
+			// The metadata which has been found so far will be used
 			if (log.isDebugEnabled()) {
-				log.debug("Parsed file {" + uploadFile + "} got content: {" + handler.toString() + "}");
+				log.debug("Parsing of upload {" + name + "} reached the limit of {" + limit + "} characters");
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Parsed upload {" + name + "} got content: {" + handler.toString() + "}");
+		}
+
+		ParseResult result = new ParseResult();
+		String[] metadataNames = metadata.names();
+		for (String key : metadataNames) {
+			String value = metadata.get(key);
+			key = sanitizeName(key);
+			if (skipSet.contains(key)) {
+				log.debug("Skipping entry {" + key + "} because it is on the skip set.");
+				continue;
+			}
+			if (value == null) {
+				log.debug("Skipping entry {" + key + "} because value is null.");
+				continue;
 			}
 
-			String[] metadataNames = metadata.names();
-			Location loc = new Location();
-			for (String name : metadataNames) {
-				String value = metadata.get(name);
-				name = sanitizeName(name);
-				if (skipSet.contains(name)) {
-					log.debug("Skipping entry {" + name + "} because it is on the skip set.");
+			// Dedicated handling of GPS information
+			try {
+				if (key.equals("geo_lat")) {
+					result.loc.setLat(Double.valueOf(value));
 					continue;
 				}
-				if (value == null) {
-					log.debug("Skipping entry {" + name + "} because value is null.");
+				if (key.equals("geo_long")) {
+					result.loc.setLon(Double.valueOf(value));
 					continue;
 				}
+				if (key.equals("GPS_Altitude")) {
+					String v = value.replaceAll(" .*", "");
+					result.loc.setAlt(Integer.parseInt(v));
+					continue;
+				}
+			} catch (NumberFormatException e) {
+				log.warn("Could not parse {" + key + "} key with value {" + value + "} - Ignoring field.", e);
+			}
 
-				// Dedicated handling of GPS information
-				try {
-					if (name.equals("geo_lat")) {
-						loc.setLat(Double.valueOf(value));
-						continue;
-					}
-					if (name.equals("geo_long")) {
-						loc.setLon(Double.valueOf(value));
-						continue;
-					}
-					if (name.equals("GPS_Altitude")) {
-						String v = value.replaceAll(" .*", "");
-						loc.setAlt(Integer.parseInt(v));
-						continue;
-					}
-				} catch (NumberFormatException e) {
-					log.warn("Could not parse {" + name + "} key with value {" + value + "} - Ignoring field.", e);
+			log.debug("Adding property {" + key + "}={" + value + "}");
+			result.fields.put(key, value);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the executor which runs the parser. The executor is created on first use since the options are not yet available when the processor is
+	 * created.
+	 * 
+	 * @return
+	 */
+	private synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			MeshUploadOptions options = Mesh.mesh().getOptions().getUploadOptions();
+			int threads = options.getParserThreads();
+			int queueSize = options.getParserQueueSize();
+			BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+			executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, new ThreadFactoryBuilder().setNameFormat(
+				"mesh-upload-parser-%d").setDaemon(true).build());
+		}
+		return executor;
+	}
+
+	/**
+	 * Adjust the amount of stuck parser threads and resize the executor so that the configured amount of threads is available for new documents.
+	 * 
+	 * @param delta
+	 */
+	private synchronized void updateStuckWorkers(int delta) {
+		stuckWorkers += delta;
+		int size = Mesh.mesh().getOptions().getUploadOptions().getParserThreads() + stuckWorkers;
+		// The maximum size must never be below the core size
+		if (delta > 0) {
+			executor.setMaximumPoolSize(size);
+			executor.setCorePoolSize(size);
+		} else {
+			executor.setCorePoolSize(size);
+			executor.setMaximumPoolSize(size);
+		}
+	}
+
+	/**
+	 * Return the amount of parser threads which did not stop after the timeout and are still running.
+	 * 
+	 * @return
+	 */
+	synchronized int getStuckWorkers() {
+		return stuckWorkers;
+	}
+
+	/**
+	 * Task which extracts the metadata of a document on the parser executor.
+	 */
+	private class ParseTask implements Callable<ParseResult> {
+
+		private static final int QUEUED = 0;
+
+		private static final int RUNNING = 1;
+
+		private static final int DONE = 2;
+
+		private static final int STUCK = 3;
+
+		private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+		private final InputStream stream;
+
+		private final int limit;
+
+		private final String name;
+
+		ParseTask(InputStream stream, int limit, String name) {
+			this.stream = stream;
+			this.limit = limit;
+			this.name = name;
+		}
+
+		@Override
+		public ParseResult call() throws Exception {
+			if (!state.compareAndSet(QUEUED, RUNNING)) {
+				throw new CancellationException("Parsing of upload {" + name + "} was abandoned before it started");
+			}
+			try {
+				return extract(stream, limit, name);
+			} finally {
+				if (state.getAndSet(DONE) == STUCK) {
+					log.info("Parser thread of upload {" + name + "} stopped after the timeout");
+					updateStuckWorkers(-1);
 				}
+			}
+		}
 
-				log.debug("Adding property {" + name + "}={" + value + "}");
-				field.setMetadata(name, value);
+		/**
+		 * Abandon the task after the timeout. The thread of the task will be replaced if it is still running.
+		 */
+		void abandon() {
+			if (state.compareAndSet(QUEUED, DONE)) {
+				return;
 			}
+			if (state.compareAndSet(RUNNING, STUCK)) {
+				updateStuckWorkers(1);
+				log.warn("Parser thread of upload {" + name + "} is still running after the timeout. A replacement thread has been added. Stuck threads: "
+					+ getStuckWorkers());
+			}
+		}
+	}
 
+	/**
+	 * Metadata which was extracted from an upload.
+	 */
+	private static class ParseResult {
+
+		private final Map<String, String> fields = new LinkedHashMap<>();
+
+		private final Location loc = new Location();
+
+		/**
+		 * Store the metadata in the field.
+		 * 
+		 * @param field
+		 */
+		void apply(BinaryGraphField field) {
+			for (Map.Entry<String, String> entry : fields.entrySet()) {
+				field.setMetadata(entry.getKey(), entry.getValue());
+			}
 			if (loc.isPresent()) {
 				field.setLocation(loc);
 			}
-		} catch (Exception e) {
-			log.warn("Tika processing of upload failed", e);
 		}
-
 	}
 
 	/**
@@ -18,7 +18,6 @@ import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.dagger.DB;
 import com.gentics.mesh.dagger.MeshInternal;
 import com.gentics.mesh.graphdb.spi.Database;
-import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
 import io.vertx.core.logging.Logger;
@@ -48,28 +47,48 @@ public class BranchMigrationJobImpl extends JobImpl {
 		indexCreationBatch.processSync();
 	}
 
+	@Override
+	public int getPriority() {
+		// The new branch can't be used until its nodes have been migrated
+		return 1;
+	}
+
 	@Override
 	protected Completable processTask() {
-		return Completable.fromAction(() -> {
-			try (Tx tx = DB.get().tx()) {
-				MigrationStatusHandler status = new MigrationStatusHandlerImpl(this, Mesh.vertx(), MigrationType.branch);
-				try {
+		MigrationStatusHandler status = new MigrationStatusHandlerImpl(this, Mesh.vertx(), MigrationType.branch);
+
+		return Completable.defer(() -> {
+			// The migration handler uses its own transactions for each chunk of nodes. Thus no transaction must be kept open during the migration.
+			Branch branch;
+			try {
+				branch = DB.get().tx(() -> {
 					if (log.isDebugEnabled()) {
 						log.debug("Branch migration for job {" + getUuid() + "} was requested");
 					}
 					status.commit();
 
-					Branch branch = getBranch();
-					if (branch == null) {
+					Branch jobBranch = getBranch();
+					if (jobBranch == null) {
 						throw error(BAD_REQUEST, "Branch for job {" + getUuid() + "} cannot be found.");
 					}
-					MeshInternal.get().branchMigrationHandler().migrateBranch(branch, status).blockingAwait();
-					status.done();
-				} catch (Exception e) {
+					return jobBranch;
+				});
+			} catch (Exception e) {
+				DB.get().tx(() -> {
 					status.error(e, "Error while preparing branch migration.");
-					throw e;
-				}
+				});
+				throw e;
 			}
+
+			return Completable.defer(() -> MeshInternal.get().branchMigrationHandler().migrateBranch(branch, status)).doOnComplete(() -> {
+				DB.get().tx(() -> {
+					status.done();
+				});
+			}).doOnError(err -> {
+				DB.get().tx(() -> {
+					status.error(err, "Error in branch migration.");
+				});
+			});
 		});
 	}
 
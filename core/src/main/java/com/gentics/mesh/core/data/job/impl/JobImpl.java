@@ -30,6 +30,7 @@ import com.gentics.mesh.core.data.schema.impl.SchemaContainerVersionImpl;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
+import com.gentics.mesh.core.rest.job.JobMetrics;
 import com.gentics.mesh.core.rest.job.JobResponse;
 import com.gentics.mesh.core.rest.job.JobWarningList;
 import com.gentics.mesh.dagger.DB;
@@ -92,6 +93,7 @@ public abstract class JobImpl extends AbstractMeshCoreVertex<JobResponse, Job> i
 		if (warnings != null) {
 			response.setWarnings(warnings.getData());
 		}
+		response.setMetrics(getMetrics());
 
 		Map<String, String> props = response.getProperties();
 		Branch branch = getBranch();
@@ -138,6 +140,21 @@ public abstract class JobImpl extends AbstractMeshCoreVertex<JobResponse, Job> i
 		property(WARNING_PROPERTY_KEY, json);
 	}
 
+	@Override
+	public JobMetrics getMetrics() {
+		String json = property(METRICS_PROPERTY_KEY);
+		if (json == null) {
+			return null;
+		} else {
+			return JsonUtil.readValue(json, JobMetrics.class);
+		}
+	}
+
+	@Override
+	public void setMetrics(JobMetrics metrics) {
+		property(METRICS_PROPERTY_KEY, metrics == null ? null : JsonUtil.toJson(metrics));
+	}
+
 	@Override
 	public String getETag(InternalActionContext ac) {
 		return ETag.hash(getUuid() + getErrorMessage() + getErrorDetail());
@@ -244,6 +261,48 @@ public abstract class JobImpl extends AbstractMeshCoreVertex<JobResponse, Job> i
 		remove();
 	}
 
+	@Override
+	public String getCheckpoint() {
+		return property(CHECKPOINT_PROPERTY_KEY);
+	}
+
+	@Override
+	public void setCheckpoint(String checkpoint) {
+		property(CHECKPOINT_PROPERTY_KEY, checkpoint);
+	}
+
+	@Override
+	public String getLockKey() {
+		// Jobs of the same branch must not run concurrently
+		Branch branch = getBranch();
+		return branch == null ? "global" : branch.getUuid();
+	}
+
+	@Override
+	public int getPriority() {
+		return 0;
+	}
+
+	@Override
+	public String getLeaseOwner() {
+		return property(LEASE_OWNER_PROPERTY_KEY);
+	}
+
+	@Override
+	public void setLeaseOwner(String owner) {
+		property(LEASE_OWNER_PROPERTY_KEY, owner);
+	}
+
+	@Override
+	public Long getLeaseTimestamp() {
+		return property(LEASE_TIMESTAMP_PROPERTY_KEY);
+	}
+
+	@Override
+	public void setLeaseTimestamp(Long timestamp) {
+		property(LEASE_TIMESTAMP_PROPERTY_KEY, timestamp);
+	}
+
 	@Override
 	public MigrationStatus getStatus() {
 		String status = property(STATUS_PROPERTY_KEY);
@@ -304,6 +363,10 @@ public abstract class JobImpl extends AbstractMeshCoreVertex<JobResponse, Job> i
 		setStopTimestamp(null);
 		setErrorDetail(null);
 		setErrorMessage(null);
+		setCheckpoint(null);
+		setMetrics(null);
+		setCompletionCount(0);
+		setLeaseOwner(null);
 		setStatus(MigrationStatus.QUEUED);
 	}
 
@@ -317,10 +380,17 @@ public abstract class JobImpl extends AbstractMeshCoreVertex<JobResponse, Job> i
 		return Completable.defer(() -> {
 
 			DB.get().tx(() -> {
-				log.info("Processing job {" + getUuid() + "}");
-				setStartTimestamp();
+				// Keep the original start date when resuming an interrupted job
+				if (getCheckpoint() != null && getStartTimestamp() != null) {
+					log.info("Resuming job {" + getUuid() + "} from checkpoint {" + getCheckpoint() + "}");
+				} else {
+					log.info("Processing job {" + getUuid() + "}");
+					setStartTimestamp();
+				}
 				setStatus(STARTING);
 				setNodeName();
+				setLeaseOwner(JobRootImpl.INSTANCE_ID);
+				renewLease();
 			});
 
 			return processTask();
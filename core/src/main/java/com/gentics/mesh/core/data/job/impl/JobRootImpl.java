@@ -10,12 +10,20 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang.NotImplementedException;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.BulkActionContext;
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.Branch;
@@ -32,21 +40,29 @@ import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
+import com.gentics.mesh.dagger.DB;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.madlmigration.TraversalResult;
 import com.gentics.mesh.parameter.PagingParameters;
+import com.gentics.mesh.util.UUIDUtil;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.tx.Tx;
 import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Vertex;
 
 import io.reactivex.Completable;
+import io.reactivex.Scheduler;
 
 /**
  * @see JobRoot
  */
 public class JobRootImpl extends AbstractRootVertex<Job> implements JobRoot {
 
+	/**
+	 * Id of this instance which is used to claim jobs. The id changes with each start so that leases of previous runs can be detected.
+	 */
+	public static final String INSTANCE_ID = UUIDUtil.randomUUID();
+
 	public static void init(Database database) {
 		database.addVertexType(JobRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_JOB, true, false, true);
@@ -199,23 +215,133 @@ public class JobRootImpl extends AbstractRootVertex<Job> implements JobRoot {
 	}
 
 	@Override
-	public Completable process() {
-		List<Completable> actions = new ArrayList<>();
-		Iterable<? extends Job> it = findAll();
-		for (Job job : it) {
+	public List<List<Job>> claim() {
+		long leaseTimeout = leaseTimeout();
+		String nodeName = Mesh.mesh().getOptions().getNodeName();
+
+		// Jobs which share the same lock key are queued in the order in which they were enqueued
+		Map<String, List<Job>> queues = new LinkedHashMap<>();
+		Set<String> busyKeys = new HashSet<>();
+		for (Job job : findAll()) {
 			try {
 				// Don't execute failed or completed jobs again
 				MigrationStatus jobStatus = job.getStatus();
 				if (job.hasFailed() || (jobStatus == COMPLETED || jobStatus == FAILED || jobStatus == UNKNOWN)) {
 					continue;
 				}
-				actions.add(job.process());
+				String key = job.getLockKey();
+				if (busyKeys.contains(key)) {
+					continue;
+				}
+				if (isLeased(job, nodeName, leaseTimeout)) {
+					// The job is already being executed. Other jobs with the same key have to wait for it.
+					busyKeys.add(key);
+					queues.remove(key);
+					continue;
+				}
+				// Jobs which have been interrupted (e.g. by a restart) will continue from their last checkpoint
+				queues.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
 			} catch (Exception e) {
 				job.markAsFailed(e);
 				log.error("Error while processing job {" + job.getUuid() + "}");
 			}
 		}
-		return Completable.concat(actions);
+
+		// Start the queues which contain the most important jobs first
+		List<List<Job>> sortedQueues = new ArrayList<>(queues.values());
+		sortedQueues.sort(Comparator.comparingInt((List<Job> queue) -> queue.stream().mapToInt(Job::getPriority).max().orElse(0)).reversed());
+
+		for (List<Job> queue : sortedQueues) {
+			for (Job job : queue) {
+				job.setLeaseOwner(INSTANCE_ID);
+				job.renewLease();
+				job.setNodeName(nodeName);
+			}
+		}
+		return sortedQueues;
+	}
+
+	@Override
+	public Completable process(Scheduler scheduler) {
+		List<List<Job>> queues = claim();
+		if (queues.isEmpty()) {
+			return Completable.complete();
+		}
+
+		List<Completable> actions = new ArrayList<>();
+		for (List<Job> queue : queues) {
+			Completable action = Completable.concat(queue.stream().map(this::processIfLeased).collect(Collectors.toList()))
+				.doFinally(() -> releaseLeases(queue))
+				.subscribeOn(scheduler);
+			actions.add(action);
+		}
+
+		// The leases are renewed when the jobs are started and whenever the migrations store their status. A separate heartbeat would write the job
+		// vertices concurrently with the status updates of the migrations.
+		return Completable.merge(actions);
+	}
+
+	/**
+	 * Process the job unless its lease has been taken over by another instance while the job was waiting in its queue.
+	 * 
+	 * @param job
+	 * @return
+	 */
+	private Completable processIfLeased(Job job) {
+		return Completable.defer(() -> {
+			boolean leased = DB.get().tx(() -> INSTANCE_ID.equals(job.getLeaseOwner()));
+			if (!leased) {
+				log.info("The lease of job {" + job.getUuid() + "} has been taken over by another instance. Skipping the job.");
+				return Completable.complete();
+			}
+			return job.process();
+		});
+	}
+
+	private long leaseTimeout() {
+		return TimeUnit.SECONDS.toMillis(Mesh.mesh().getOptions().getMigrationOptions().getJobLeaseTimeout());
+	}
+
+	/**
+	 * Check whether the job is currently leased by this instance or by another instance of the cluster.
+	 * 
+	 * @param job
+	 * @param nodeName
+	 *            Name of this node
+	 * @param leaseTimeout
+	 *            Timeout in milliseconds after which leases of other instances expire
+	 * @return
+	 */
+	private boolean isLeased(Job job, String nodeName, long leaseTimeout) {
+		String owner = job.getLeaseOwner();
+		Long timestamp = job.getLeaseTimestamp();
+		if (owner == null || timestamp == null) {
+			return false;
+		}
+		if (INSTANCE_ID.equals(owner)) {
+			return true;
+		}
+		// Leases of a previous run of this node can be taken over right away
+		if (nodeName.equals(job.getNodeName())) {
+			return false;
+		}
+		return System.currentTimeMillis() - timestamp < leaseTimeout;
+	}
+
+	/**
+	 * Release the leases of the given jobs which are still held by this instance. Jobs which were not processed (e.g. because a previous job of the queue
+	 * failed) will thus be picked up again by the next run.
+	 * 
+	 * @param queue
+	 */
+	private void releaseLeases(List<Job> queue) {
+		DB.get().tx(() -> {
+			for (Job job : queue) {
+				if (INSTANCE_ID.equals(job.getLeaseOwner())) {
+					job.setLeaseOwner(null);
+				}
+			}
+		});
 	}
 
 	@Override
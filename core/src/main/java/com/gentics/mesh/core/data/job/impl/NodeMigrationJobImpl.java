@@ -26,6 +26,7 @@ import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.dagger.DB;
 import com.gentics.mesh.dagger.MeshInternal;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.util.LazyMigrationUtil;
 import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
@@ -58,6 +59,17 @@ public class NodeMigrationJobImpl extends JobImpl {
 		batch.processSync();
 	}
 
+	@Override
+	public int getPriority() {
+		// Migrations which can be applied lazily are already visible. The job only sweeps the remaining containers.
+		SchemaContainerVersion fromVersion = getFromSchemaVersion();
+		SchemaContainerVersion toVersion = getToSchemaVersion();
+		if (fromVersion != null && toVersion != null && LazyMigrationUtil.isLazy(fromVersion, toVersion)) {
+			return -1;
+		}
+		return super.getPriority();
+	}
+
 	protected Completable processTask() {
 
 		MigrationStatusHandler status = new MigrationStatusHandlerImpl(this, Mesh.vertx(), MigrationType.schema);
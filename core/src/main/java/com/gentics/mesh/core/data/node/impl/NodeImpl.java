@@ -122,6 +122,7 @@ import com.gentics.mesh.path.Path;
 import com.gentics.mesh.path.PathSegment;
 import com.gentics.mesh.util.DateUtils;
 import com.gentics.mesh.util.ETag;
+import com.gentics.mesh.util.LazyMigrationUtil;
 import com.gentics.mesh.util.URIUtils;
 import com.gentics.mesh.util.VersionNumber;
 import com.syncleus.ferma.EdgeFrame;
@@ -742,7 +743,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			// We should change this behaviour and update the client implementations.
 			// throw error(NOT_FOUND, "object_not_found_for_uuid", getUuid());
 		} else {
-			Schema schema = fieldContainer.getSchemaContainerVersion().getSchema();
+			// Containers which were not yet migrated lazily are presented using the schema version of the branch
+			SchemaContainerVersion schemaVersion = LazyMigrationUtil.getEffectiveVersion(fieldContainer, branch);
+			Schema schema = schemaVersion.getSchema();
 			restNode.setContainer(schema.isContainer());
 			restNode.setDisplayField(schema.getDisplayField());
 			restNode.setDisplayName(getDisplayName(ac));
@@ -756,7 +759,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			containerLanguageTags.add(0, restNode.getLanguage());
 
 			// Schema reference
-			restNode.setSchema(fieldContainer.getSchemaContainerVersion().transformToReference());
+			restNode.setSchema(schemaVersion.transformToReference());
 
 			// Version reference
 			if (fieldContainer.getVersion() != null) {
@@ -1625,11 +1628,20 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 				version = "draft";
 			}
 
+			// The version of the draft before a lazy migration. The request is based on this version.
+			String draftVersion = latestDraftVersion.getVersion().getFullVersion();
+
 			// Make sure the container was already migrated. Otherwise the update can't proceed.
 			SchemaContainerVersion schemaContainerVersion = latestDraftVersion.getSchemaContainerVersion();
-			if (!latestDraftVersion.getSchemaContainerVersion().equals(branch.findLatestSchemaVersion(schemaContainerVersion
-				.getSchemaContainer()))) {
-				throw error(BAD_REQUEST, "node_error_migration_incomplete");
+			SchemaContainerVersion branchSchemaVersion = branch.findLatestSchemaVersion(schemaContainerVersion.getSchemaContainer());
+			NodeGraphFieldContainer migratedVersion = null;
+			if (!schemaContainerVersion.equals(branchSchemaVersion)) {
+				if (!LazyMigrationUtil.isLazy(schemaContainerVersion, branchSchemaVersion)) {
+					throw error(BAD_REQUEST, "node_error_migration_incomplete");
+				}
+				// The update will be stored in the migrated draft
+				migratedVersion = migrateLazily(ac, batch, branch, latestDraftVersion, branchSchemaVersion);
+				latestDraftVersion = migratedVersion;
 			}
 
 			// Load the base version field container in order to create the diff
@@ -1649,7 +1661,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			List<FieldContainerChange> intersect = baseVersionDiff.stream().filter(requestVersionDiff::contains).collect(Collectors.toList());
 
 			// Check whether the update was not based on the latest draft version. In that case a conflict check needs to occur.
-			if (!latestDraftVersion.getVersion().getFullVersion().equals(version)) {
+			if (!draftVersion.equals(version)) {
 
 				// Check whether a conflict has been detected
 				if (intersect.size() > 0) {
@@ -1679,6 +1691,11 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 			// Check whether the request still contains data which needs to be updated.
 			if (!requestModel.getFields().isEmpty()) {
+				if (migratedVersion != null) {
+					// The migrated draft has been created by this request. Thus the fields can be updated without creating another version.
+					migratedVersion.updateFieldsFromRest(ac, requestModel.getFields());
+					return true;
+				}
 
 				// Create new field container as clone of the existing
 				NodeGraphFieldContainer newDraftVersion = createGraphFieldContainer(language.getLanguageTag(), branch, ac.getUser(),
@@ -1689,8 +1706,46 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 				batch.store(newDraftVersion, branch.getUuid(), DRAFT, false);
 				return true;
 			}
+			return migratedVersion != null;
+		}
+	}
+
+	/**
+	 * Migrate the draft container which can be migrated lazily by creating a new draft version. The published container is migrated as well, just like
+	 * the schema migration does. Otherwise it would remain on the old schema version which is no longer migrated once the draft has been migrated.
+	 * 
+	 * @param ac
+	 * @param batch
+	 * @param branch
+	 * @param draft
+	 *            Draft container which uses an old schema version
+	 * @param toVersion
+	 *            Schema version of the branch
+	 * @return Migrated draft container
+	 */
+	private NodeGraphFieldContainer migrateLazily(InternalActionContext ac, SearchQueueBatch batch, Branch branch, NodeGraphFieldContainer draft,
+		SchemaContainerVersion toVersion) {
+		String languageTag = draft.getLanguageTag();
+		String branchUuid = branch.getUuid();
+
+		NodeGraphFieldContainer published = getGraphFieldContainer(languageTag, branch, PUBLISHED);
+		if (published != null) {
+			SchemaContainerVersion publishedVersion = published.getSchemaContainerVersion();
+			if (!publishedVersion.equals(toVersion) && LazyMigrationUtil.isLazy(publishedVersion, toVersion)) {
+				// The published version is not modified by the update. Thus it is migrated to a separate container.
+				NodeGraphFieldContainer migratedPublished = createGraphFieldContainer(languageTag, branch, published.getEditor(), published, true);
+				migratedPublished.setVersion(published.getVersion().nextPublished());
+				setPublished(migratedPublished, branchUuid);
+				LazyMigrationUtil.migrate(migratedPublished, toVersion);
+				batch.move(published, migratedPublished, branchUuid, PUBLISHED);
+			}
 		}
-		return false;
+
+		// The draft will follow the migrated published container if there is one
+		NodeGraphFieldContainer migrated = createGraphFieldContainer(languageTag, branch, ac.getUser(), draft, true);
+		LazyMigrationUtil.migrate(migrated, toVersion);
+		batch.move(draft, migrated, branchUuid, DRAFT);
+		return migrated;
 	}
 
 	@Override
@@ -7,6 +7,8 @@ import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERR
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -40,6 +42,7 @@ import com.gentics.mesh.core.data.search.context.impl.MoveEntryContextImpl;
 import com.gentics.mesh.core.rest.schema.Schema;
 import com.gentics.mesh.search.IndexHandlerRegistry;
 import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.index.SearchResultCache;
 import com.gentics.mesh.search.index.common.CreateIndexEntryImpl;
 import com.gentics.mesh.search.index.common.DropIndexEntryImpl;
 import com.gentics.mesh.search.index.common.DropIndexHandler;
@@ -84,6 +87,9 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 	@Inject
 	SearchProvider searchProvider;
 
+	@Inject
+	SearchResultCache resultCache;
+
 	@Inject
 	public SearchQueueBatchImpl() {
 	}
@@ -187,7 +193,7 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		if (addRelatedEntries) {
 			// We need to store (e.g: Update related entries)
 			element.handleRelatedEntries((relatedElement, relatedContext) -> {
-				store(relatedElement, relatedContext, false);
+				storeRelated(element, relatedElement, relatedContext);
 			});
 		}
 		return this;
@@ -201,12 +207,28 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		if (addRelatedEntries) {
 			// We need to store (e.g: Update related entries)
 			element.handleRelatedEntries((relatedElement, relatedContext) -> {
-				this.store(relatedElement, relatedContext, false);
+				storeRelated(element, relatedElement, relatedContext);
 			});
 		}
 		return this;
 	}
 
+	/**
+	 * Add the entry for an element which is affected by a change of the given element. Nodes which are related to changed tags or tag families only need an
+	 * update of their tag information. In all other cases the related element will be stored completely.
+	 * 
+	 * @param element
+	 * @param relatedElement
+	 * @param relatedContext
+	 */
+	private void storeRelated(IndexableElement element, IndexableElement relatedElement, GenericEntryContext relatedContext) {
+		if (relatedElement instanceof Node && (element instanceof Tag || element instanceof TagFamily)) {
+			addEntry(new UpdateDocumentEntryImpl(nodeContainerIndexHandler, relatedElement, relatedContext, SearchQueueEntryAction.UPDATE_TAGS_ACTION));
+		} else {
+			store(relatedElement, relatedContext, false);
+		}
+	}
+
 	@Override
 	public SearchQueueBatch updatePermissions(IndexableElement element) {
 		GenericEntryContextImpl context = new GenericEntryContextImpl();
@@ -269,6 +291,9 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		}
 		return Completable.defer(() -> {
 			Completable obs = Completable.complete();
+			// Index create and drop requests affect the set of searched indices. Thus all cached results need to be discarded.
+			boolean invalidateAll = !seperateEntries.isEmpty();
+			Set<String> touchedIndices = ConcurrentHashMap.newKeySet();
 
 			if (!seperateEntries.isEmpty()) {
 				List<Completable> seperateEntryList = seperateEntries.stream().map(entry -> entry.process()).collect(Collectors.toList());
@@ -277,7 +302,8 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 			int bulkLimit = Mesh.mesh().getOptions().getSearchOptions().getBulkLimit();
 			if (!bulkEntries.isEmpty()) {
 				Observable<BulkEntry> bulks = Observable.fromIterable(bulkEntries)
-					.flatMap(BulkSearchQueueEntry::process);
+					.flatMap(BulkSearchQueueEntry::process)
+					.doOnNext(entry -> touchedIndices.add(entry.getIndexName()));
 
 				AtomicLong counter = new AtomicLong();
 				Completable bulkProcessing = bulks
@@ -292,10 +318,17 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 				if (log.isDebugEnabled()) {
 					log.debug("Handled all search queue items.");
 				}
+				if (invalidateAll) {
+					resultCache.invalidate();
+				} else {
+					touchedIndices.forEach(resultCache::bump);
+				}
 				// Clear the batch entries so that the GC can claim the memory
 				clear();
 			}).doOnError(error -> {
 				log.error("Error while processing batch {" + batchId + "}");
+				// Some of the changes may already have been applied
+				touchedIndices.forEach(resultCache::bump);
 				if (log.isDebugEnabled()) {
 					printDebug();
 				}
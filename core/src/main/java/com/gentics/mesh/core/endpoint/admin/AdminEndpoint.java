@@ -66,6 +66,8 @@ public class AdminEndpoint extends AbstractInternalEndpoint {
 		// addServiceHandler();
 		addJobHandler();
 		addPluginHandler();
+		addImageRenditionHandler();
+		addBinaryGarbageCollectionHandler();
 
 	}
 
@@ -153,6 +155,42 @@ public class AdminEndpoint extends AbstractInternalEndpoint {
 		});
 	}
 
+	private void addImageRenditionHandler() {
+		InternalEndpointRoute endpoint = createRoute();
+		endpoint.path("/images/renditions");
+		endpoint.method(POST);
+		endpoint.description(
+			"Invoke the generation of the configured image renditions for all existing images. The renditions will be generated in the background.");
+		endpoint.produces(APPLICATION_JSON);
+		endpoint.exampleResponse(OK, miscExamples.createMessageResponse(), "Image rendition generation was invoked.");
+		endpoint.handler(rc -> {
+			adminHandler.handleImageRenditions(wrap(rc));
+		});
+	}
+
+	private void addBinaryGarbageCollectionHandler() {
+		InternalEndpointRoute endpoint = createRoute();
+		endpoint.path("/binaries/gc");
+		endpoint.method(POST);
+		endpoint.description(
+			"Invoke the garbage collection of unreferenced binaries and orphaned binary data. The garbage collection will be executed in the background.");
+		endpoint.produces(APPLICATION_JSON);
+		endpoint.exampleResponse(OK, miscExamples.createMessageResponse(), "Binary garbage collection was invoked.");
+		endpoint.handler(rc -> {
+			adminHandler.handleBinaryGarbageCollection(wrap(rc));
+		});
+
+		InternalEndpointRoute statusEndpoint = createRoute();
+		statusEndpoint.path("/binaries/gc");
+		statusEndpoint.method(GET);
+		statusEndpoint.description("Return the status of the binary garbage collection and the amount of bytes which were reclaimed by the last run.");
+		statusEndpoint.produces(APPLICATION_JSON);
+		statusEndpoint.exampleResponse(OK, adminExamples.createBinaryGarbageCollectionStatusResponse(), "Binary garbage collection status.");
+		statusEndpoint.handler(rc -> {
+			adminHandler.handleBinaryGarbageCollectionStatus(wrap(rc));
+		});
+	}
+
 	private void addExportHandler() {
 		InternalEndpointRoute endpoint = createRoute();
 		endpoint.path("/graphdb/export");
@@ -246,6 +284,31 @@ public class AdminEndpoint extends AbstractInternalEndpoint {
 			jobHandler.handleReadList(ac);
 		});
 
+		// The throttle routes need to be registered before the job routes which would otherwise match the path
+		InternalEndpointRoute readThrottle = createRoute();
+		readThrottle.path("/jobs/throttle");
+		readThrottle.method(GET);
+		readThrottle.description("Load the throttle settings of migration jobs of this instance.");
+		readThrottle.produces(APPLICATION_JSON);
+		readThrottle.exampleResponse(OK, jobExamples.createJobThrottle(), "Throttle settings.");
+		readThrottle.handler(rc -> {
+			InternalActionContext ac = wrap(rc);
+			jobHandler.handleReadThrottle(ac);
+		});
+
+		InternalEndpointRoute updateThrottle = createRoute();
+		updateThrottle.path("/jobs/throttle");
+		updateThrottle.method(POST);
+		updateThrottle.description("Update the throttle settings of migration jobs of this instance. The settings also affect already running migrations.");
+		updateThrottle.consumes(APPLICATION_JSON);
+		updateThrottle.produces(APPLICATION_JSON);
+		updateThrottle.exampleRequest(jobExamples.createJobThrottle());
+		updateThrottle.exampleResponse(OK, jobExamples.createJobThrottle(), "Updated throttle settings.");
+		updateThrottle.handler(rc -> {
+			InternalActionContext ac = wrap(rc);
+			jobHandler.handleUpdateThrottle(ac);
+		});
+
 		InternalEndpointRoute readJob = createRoute();
 		readJob.path("/jobs/:jobUuid");
 		readJob.method(GET);
@@ -12,6 +12,8 @@ import static java.util.Comparator.comparing;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -20,9 +22,12 @@ import com.gentics.mesh.Mesh;
 import com.gentics.mesh.MeshStatus;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.binary.BinaryGarbageCollector;
+import com.gentics.mesh.core.binary.ImageRenditionGenerator;
 import com.gentics.mesh.core.cache.PermissionStore;
 import com.gentics.mesh.core.data.root.impl.MeshRootImpl;
 import com.gentics.mesh.core.endpoint.handler.AbstractHandler;
+import com.gentics.mesh.core.rest.common.GenericMessageResponse;
 import com.gentics.mesh.core.rest.admin.status.MeshStatusResponse;
 import com.gentics.mesh.etc.config.MeshOptions;
 import com.gentics.mesh.graphdb.spi.Database;
@@ -30,6 +35,7 @@ import com.gentics.mesh.router.RouterStorage;
 import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -47,11 +53,18 @@ public class AdminHandler extends AbstractHandler {
 
 	private BootstrapInitializer boot;
 
+	private ImageRenditionGenerator renditionGenerator;
+
+	private BinaryGarbageCollector binaryGarbageCollector;
+
 	@Inject
-	public AdminHandler(Database db, RouterStorage routerStorage, BootstrapInitializer boot) {
+	public AdminHandler(Database db, RouterStorage routerStorage, BootstrapInitializer boot, ImageRenditionGenerator renditionGenerator,
+		BinaryGarbageCollector binaryGarbageCollector) {
 		this.db = db;
 		this.routerStorage = routerStorage;
 		this.boot = boot;
+		this.renditionGenerator = renditionGenerator;
+		this.binaryGarbageCollector = binaryGarbageCollector;
 	}
 
 	public void handleMeshStatus(InternalActionContext ac) {
@@ -133,6 +146,64 @@ public class AdminHandler extends AbstractHandler {
 		}).subscribe(model -> ac.send(model, OK), ac::fail);
 	}
 
+	/**
+	 * Invoke the generation of the configured image renditions for all existing images.
+	 * 
+	 * @param ac
+	 */
+	public void handleImageRenditions(InternalActionContext ac) {
+		db.asyncTx(() -> {
+			if (!ac.getUser().hasAdminRole()) {
+				throw error(FORBIDDEN, "error_admin_permission_required");
+			}
+			return Single.just(message(ac, "image_renditions_invoked"));
+		}).subscribe(model -> {
+			renditionGenerator.backfill().subscribeOn(Schedulers.io()).subscribe(() -> {
+			}, e -> log.error("Error while generating the image renditions", e));
+			ac.send(model, OK);
+		}, ac::fail);
+	}
+
+	/**
+	 * Invoke the binary garbage collection in the background.
+	 * 
+	 * @param ac
+	 */
+	public void handleBinaryGarbageCollection(InternalActionContext ac) {
+		db.asyncTx(() -> {
+			if (!ac.getUser().hasAdminRole()) {
+				throw error(FORBIDDEN, "error_admin_permission_required");
+			}
+			return Single.just(message(ac, "binary_gc_invoked"));
+		}).subscribe(model -> {
+			binaryGarbageCollector.run().subscribe(() -> {
+			}, e -> log.error("Error during the binary garbage collection", e));
+			ac.send(model, OK);
+		}, ac::fail);
+	}
+
+	/**
+	 * Return the status and the results of the current or last binary garbage collection.
+	 * 
+	 * @param ac
+	 */
+	public void handleBinaryGarbageCollectionStatus(InternalActionContext ac) {
+		db.asyncTx(() -> {
+			if (!ac.getUser().hasAdminRole()) {
+				throw error(FORBIDDEN, "error_admin_permission_required");
+			}
+			GenericMessageResponse response = message(ac, binaryGarbageCollector.isRunning() ? "binary_gc_running" : "binary_gc_idle");
+			Map<String, Object> properties = new HashMap<>();
+			properties.put("running", binaryGarbageCollector.isRunning());
+			properties.put("checked", binaryGarbageCollector.getChecked());
+			properties.put("removedBinaries", binaryGarbageCollector.getRemovedBinaries());
+			properties.put("removedFiles", binaryGarbageCollector.getRemovedFiles());
+			properties.put("reclaimedBytes", binaryGarbageCollector.getReclaimedBytes());
+			response.setProperties(properties);
+			return Single.just(response);
+		}).subscribe(model -> ac.send(model, OK), ac::fail);
+	}
+
 	/**
 	 * Handle graph import action.
 	 * 
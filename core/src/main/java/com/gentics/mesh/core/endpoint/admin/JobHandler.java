@@ -10,6 +10,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.MeshEvent;
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -22,8 +23,11 @@ import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.endpoint.handler.AbstractCrudHandler;
 import com.gentics.mesh.core.rest.error.NotModifiedException;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.job.JobThrottle;
 import com.gentics.mesh.core.verticle.handler.HandlerUtilities;
+import com.gentics.mesh.etc.config.MigrationOptions;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.PagingParameters;
 
 import io.vertx.core.logging.Logger;
@@ -148,4 +152,48 @@ public class JobHandler extends AbstractCrudHandler<Job, JobResponse> {
 			return message(ac, "job_processing_invoked");
 		}, (model) -> ac.send(model, OK));
 	}
+
+	/**
+	 * Load the throttle settings of the migration jobs.
+	 * 
+	 * @param ac
+	 */
+	public void handleReadThrottle(InternalActionContext ac) {
+		utils.asyncTx(ac, (tx) -> {
+			if (!ac.getUser().hasAdminRole()) {
+				throw error(FORBIDDEN, "error_admin_permission_required");
+			}
+			return toThrottle(Mesh.mesh().getOptions().getMigrationOptions());
+		}, (model) -> ac.send(model, OK));
+	}
+
+	/**
+	 * Update the throttle settings of the migration jobs. The settings are only applied to this instance and will be picked up by running migrations.
+	 * 
+	 * @param ac
+	 */
+	public void handleUpdateThrottle(InternalActionContext ac) {
+		utils.asyncTx(ac, (tx) -> {
+			if (!ac.getUser().hasAdminRole()) {
+				throw error(FORBIDDEN, "error_admin_permission_required");
+			}
+			JobThrottle request = JsonUtil.readValue(ac.getBodyAsString(), JobThrottle.class);
+			MigrationOptions options = Mesh.mesh().getOptions().getMigrationOptions();
+			if (request.getRate() != null) {
+				if (request.getRate() < 0) {
+					throw error(BAD_REQUEST, "job_error_throttle_rate_invalid", String.valueOf(request.getRate()));
+				}
+				options.setThrottleRate(request.getRate());
+			}
+			if (request.getAdaptive() != null) {
+				options.setAdaptiveThrottle(request.getAdaptive());
+			}
+			log.info("Updated migration throttle to rate {" + options.getThrottleRate() + "} and adaptive {" + options.isAdaptiveThrottle() + "}");
+			return toThrottle(options);
+		}, (model) -> ac.send(model, OK));
+	}
+
+	private JobThrottle toThrottle(MigrationOptions options) {
+		return new JobThrottle().setRate(options.getThrottleRate()).setAdaptive(options.isAdaptiveThrottle());
+	}
 }
@@ -2,26 +2,59 @@ package com.gentics.mesh.core.endpoint.migration;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.impl.NodeMigrationActionContextImpl;
 import com.gentics.mesh.core.data.GraphFieldContainer;
 import com.gentics.mesh.core.data.node.handler.TypeConverter;
+import com.gentics.mesh.core.data.schema.AddFieldChange;
 import com.gentics.mesh.core.data.schema.GraphFieldSchemaContainerVersion;
 import com.gentics.mesh.core.data.schema.RemoveFieldChange;
 import com.gentics.mesh.core.data.schema.SchemaChange;
+import com.gentics.mesh.core.data.schema.UpdateFieldChange;
+import com.gentics.mesh.core.data.schema.UpdateMicroschemaChange;
+import com.gentics.mesh.core.data.schema.UpdateSchemaChange;
 import com.gentics.mesh.core.data.schema.impl.FieldTypeChangeImpl;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.endpoint.handler.AbstractHandler;
+import com.gentics.mesh.core.endpoint.migration.MigrationMetrics.Phase;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.core.rest.common.FieldContainer;
 import com.gentics.mesh.core.rest.common.RestModel;
+import com.gentics.mesh.core.rest.node.FieldMapImpl;
+import com.gentics.mesh.core.rest.schema.change.impl.SchemaChangeModel;
+import com.gentics.mesh.etc.config.MigrationOptions;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.util.Tuple;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.syncleus.ferma.FramedGraph;
+import com.syncleus.ferma.VertexFrame;
+import com.syncleus.ferma.tx.Tx;
 
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -38,6 +71,30 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	 */
 	protected NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
 
+	/**
+	 * Sandboxed engine of the current migration worker which is used to compile the migration scripts. Nashorn engines and the scripts compiled by them
+	 * are not thread-safe, so each worker uses its own engine. Each evaluation uses its own bindings.
+	 */
+	protected ThreadLocal<ScriptEngine> engine = ThreadLocal.withInitial(() -> factory.getScriptEngine(new Sandbox()));
+
+	/**
+	 * Compiled migration scripts of the current migration worker. The scripts are compiled once per worker and reused for all containers which are
+	 * migrated by the worker.
+	 */
+	private final ThreadLocal<Cache<String, CompiledScript>> compiledScripts = ThreadLocal.withInitial(() -> Caffeine.newBuilder().maximumSize(100)
+		.build());
+
+	/**
+	 * Metrics of the migration which is executed by the current thread. Used to record the timing of the phases within {@link #migrate}.
+	 */
+	private final ThreadLocal<MigrationMetrics> activeMetrics = new ThreadLocal<>();
+
+	/**
+	 * Time in nanoseconds which was recorded for explicit phases by the current thread. The remaining time of the migrator is accounted to the read
+	 * phase.
+	 */
+	private final ThreadLocal<long[]> recordedTime = ThreadLocal.withInitial(() -> new long[1]);
+
 	protected Database db;
 
 	protected SearchQueue searchQueue;
@@ -51,7 +108,9 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	}
 
 	/**
-	 * Collect the migration scripts and set of touched fields when migrating the given container into the next version
+	 * Collect the migration scripts and set of touched fields when migrating the given container into the next version. No scripts will be collected if
+	 * all changes can be applied directly to the graph fields (e.g. fields were only added or removed). The migration will use the script-free path in this
+	 * case.
 	 *
 	 * @param fromVersion
 	 *            Container which contains the expected migration changes
@@ -63,6 +122,7 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	 */
 	protected void prepareMigration(GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> fromVersion,
 			List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, Set<String> touchedFields) throws IOException {
+		boolean scriptFree = true;
 		SchemaChange<?> change = fromVersion.getNextChange();
 		while (change != null) {
 			String migrationScript = change.getMigrationScript();
@@ -70,6 +130,7 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 				migrationScript = migrationScript + "\nnode = JSON.stringify(migrate(JSON.parse(node), fieldname, convert));";
 				migrationScripts.add(Tuple.tuple(migrationScript, change.getMigrationScriptContext()));
 			}
+			scriptFree = scriptFree && isScriptFree(change);
 
 			// if either the type changes or the field is removed, the field is
 			// "touched"
@@ -81,6 +142,115 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 
 			change = change.getNextChange();
 		}
+
+		if (scriptFree) {
+			migrationScripts.clear();
+		}
+	}
+
+	/**
+	 * Check whether the change can be applied to the containers without evaluating a migration script. This is the case for changes which don't use a
+	 * custom script and which only add or remove fields or alter schema properties which can't invalidate existing field values.
+	 * 
+	 * @param change
+	 * @return
+	 * @throws IOException
+	 */
+	private boolean isScriptFree(SchemaChange<?> change) throws IOException {
+		boolean customScript = !Objects.equals(change.getMigrationScript(), change.getAutoMigrationScript());
+		if (customScript) {
+			return false;
+		}
+		if (change instanceof AddFieldChange || change instanceof RemoveFieldChange || change instanceof UpdateSchemaChange
+			|| change instanceof UpdateMicroschemaChange) {
+			return true;
+		}
+		// Changed allowed values need to be validated against the existing field values
+		if (change instanceof UpdateFieldChange) {
+			return change.getRestProperty(SchemaChangeModel.ALLOW_KEY) == null;
+		}
+		return false;
+	}
+
+	/**
+	 * Return the compiled version of the given migration script. The script is compiled by the engine of the current thread.
+	 * 
+	 * @param script
+	 * @return
+	 * @throws ScriptException
+	 */
+	protected CompiledScript compile(String script) throws ScriptException {
+		Cache<String, CompiledScript> scripts = compiledScripts.get();
+		CompiledScript compiled = scripts.getIfPresent(script);
+		if (compiled == null) {
+			compiled = ((Compilable) engine.get()).compile(script);
+			scripts.put(script, compiled);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Stream the ids of the vertices which are returned by the traversal in pages of the configured batch size. Only the ids of a few pages are kept in
+	 * memory while the migration runs. The vertices themselves are framed again by the migration workers within the transaction which migrates them. The
+	 * vertices are counted beforehand so that the total is known to the {@link MigrationMetrics}. The returned stream must be closed once the migration is
+	 * done.
+	 * 
+	 * @param traversal
+	 *            Supplier for the traversal. It will be invoked within the read transaction of the stream.
+	 * @return
+	 */
+	protected VertexIdStream streamIds(Supplier<Iterator<? extends VertexFrame>> traversal) {
+		return new VertexIdStream(db, traversal, Mesh.mesh().getOptions().getMigrationOptions().getBatchSize());
+	}
+
+	/**
+	 * Frame the vertex with the given id within the active transaction.
+	 * 
+	 * @param id
+	 * @param clazz
+	 * @return
+	 */
+	protected <T> T reframe(Object id, Class<T> clazz) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		return graph.frameElementExplicit(graph.getVertex(id), clazz);
+	}
+
+	/**
+	 * Record the time since the given start for the phase in the metrics of the current migration.
+	 * 
+	 * @param phase
+	 * @param start
+	 *            Start in nanoseconds
+	 */
+	protected void record(Phase phase, long start) {
+		MigrationMetrics metrics = activeMetrics.get();
+		if (metrics != null) {
+			long duration = System.nanoTime() - start;
+			metrics.record(phase, duration);
+			recordedTime.get()[0] += duration;
+		}
+	}
+
+	/**
+	 * Invoke the migrator for the container and record the time which was not accounted to other phases as read time.
+	 * 
+	 * @param migrator
+	 * @param batch
+	 * @param container
+	 * @param errors
+	 * @param metrics
+	 */
+	private <T> void accept(TriConsumer<SearchQueueBatch, T, List<Exception>> migrator, SearchQueueBatch batch, T container, List<Exception> errors,
+		MigrationMetrics metrics) {
+		long start = System.nanoTime();
+		long recordedBefore = recordedTime.get()[0];
+		activeMetrics.set(metrics);
+		try {
+			migrator.accept(batch, container, errors);
+		} finally {
+			activeMetrics.remove();
+			metrics.record(Phase.READ, System.nanoTime() - start - (recordedTime.get()[0] - recordedBefore));
+		}
 	}
 
 	/**
@@ -91,7 +261,7 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	 * @param container
 	 *            container to migrate
 	 * @param restModel
-	 *            rest model of the container
+	 *            rest model of the container. The model is not needed and may be null if there are no migration scripts.
 	 * @param newVersion
 	 *            new schema version
 	 * @param touchedFields
@@ -108,23 +278,34 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 		// Remove all touched fields (if necessary, they will be readded later)
 		container.getFields().stream().filter(f -> touchedFields.contains(f.getFieldKey())).forEach(f -> f.removeField(container));
 
-		String nodeJson = restModel.toJson();
+		if (migrationScripts.isEmpty()) {
+			// The fields have already been cloned from the previous container. An empty field map will only update the properties which are
+			// derived from the fields (e.g. the display field value and the webroot path).
+			long writeStart = System.nanoTime();
+			container.setSchemaContainerVersion(newVersion);
+			container.updateFieldsFromRest(ac, new FieldMapImpl());
+			record(Phase.WRITE, writeStart);
+			return;
+		}
+
+		long scriptStart = System.nanoTime();
+		String nodeJson = JsonUtil.getMapper().writeValueAsString(restModel);
 
 		for (Tuple<String, List<Tuple<String, Object>>> scriptEntry : migrationScripts) {
-			String script = scriptEntry.v1();
+			CompiledScript script = compile(scriptEntry.v1());
 			List<Tuple<String, Object>> context = scriptEntry.v2();
-			ScriptEngine engine = factory.getScriptEngine(new Sandbox());
+			Bindings bindings = script.getEngine().createBindings();
 
-			engine.put("node", nodeJson);
-			engine.put("convert", new TypeConverter());
+			bindings.put("node", nodeJson);
+			bindings.put("convert", new TypeConverter());
 			if (context != null) {
 				for (Tuple<String, Object> ctxEntry : context) {
-					engine.put(ctxEntry.v1(), ctxEntry.v2());
+					bindings.put(ctxEntry.v1(), ctxEntry.v2());
 				}
 			}
-			engine.eval(script);
+			script.eval(bindings);
 
-			Object transformedNodeModel = engine.get("node");
+			Object transformedNodeModel = bindings.get("node");
 
 			if (transformedNodeModel == null) {
 				throw new Exception("Transformed node model not found after handling migration scripts");
@@ -135,55 +316,343 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 
 		// Transform the result back to the Rest Model
 		T transformedRestModel = JsonUtil.readValue(nodeJson, clazz);
+		record(Phase.SCRIPT, scriptStart);
 
+		long writeStart = System.nanoTime();
 		container.setSchemaContainerVersion(newVersion);
 		container.updateFieldsFromRest(ac, transformedRestModel.getFields());
+		record(Phase.WRITE, writeStart);
 
 	}
 
+	/**
+	 * Migrate the given containers. The containers will be split into chunks of the configured batch size. Each chunk is migrated within a single
+	 * transaction by one of the configured migration workers. If the transaction of a chunk fails, the containers of the chunk will be migrated again using
+	 * one transaction per container. This way a single failing container does not affect the other containers of the chunk.
+	 *
+	 * The search queue batches of the chunks are merged and flushed asynchronously. A checkpoint will be stored in the job after every checkpoint interval
+	 * so that the progress of an interrupted migration is not lost. The migration itself resumes naturally since migrated containers no longer reference
+	 * the old version.
+	 *
+	 * The throughput, the time spent per phase and the encountered errors are recorded in the {@link MigrationMetrics} of the status. The rate of the
+	 * migration is limited by the {@link MigrationThrottle}.
+	 * 
+	 * @param containers
+	 *            Containers (or the ids of the containers) to migrate. The iterable is consumed lazily.
+	 * @param status
+	 * @param migrator
+	 *            Migrator which will be invoked for each container within an active transaction
+	 * @return Detected errors
+	 */
 	@ParametersAreNonnullByDefault
 	protected <T> List<Exception> migrateLoop(Iterable<T> containers, MigrationStatusHandler status, TriConsumer<SearchQueueBatch, T, List<Exception>> migrator) {
-		// Iterate over all containers and invoke a migration for each one
-		long count = 0;
-		List<Exception> errorsDetected = new ArrayList<>();
-		SearchQueueBatch sqb = searchQueue.create();
-		for (T container : containers) {
+		MigrationOptions options = Mesh.mesh().getOptions().getMigrationOptions();
+		int workerCount = options.getWorkerCount();
+		int batchSize = options.getBatchSize();
+
+		MigrationMetrics metrics = status != null ? status.getMetrics() : new MigrationMetrics("unknown");
+		metrics.start(getTotal(containers));
+
+		List<Exception> errorsDetected = Collections.synchronizedList(new ArrayList<>());
+		// Checkpoints are also stored periodically so that the lease of the job gets renewed
+		Progress progress = new Progress(options.getCheckpointInterval(), TimeUnit.SECONDS.toMillis(options.getJobLeaseTimeout()) / 4);
+		SearchQueueFlusher flusher = new SearchQueueFlusher(metrics);
+		MigrationThrottle throttle = new MigrationThrottle(options, metrics);
+
+		if (workerCount <= 1) {
+			for (List<T> chunk : Iterables.partition(containers, batchSize)) {
+				migrateChunk(chunk, status, migrator, errorsDetected, progress, flusher, metrics, throttle);
+			}
+		} else {
+			ExecutorService workers = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder().setNameFormat("mesh-migration-worker-%d").build());
+			// Limit the amount of pending chunks so that the containers are not loaded all at once
+			Semaphore pending = new Semaphore(workerCount * 2);
+			List<Future<?>> futures = new ArrayList<>();
 			try {
-				// Each container migration has its own search queue batch which is then combined with other batch entries.
-				// This prevents adding partial entries from failed migrations.
-				SearchQueueBatch containerBatch = searchQueue.create();
-				db.tx(() -> {
-					migrator.accept(containerBatch, container, errorsDetected);
-				});
-				sqb.addAll(containerBatch);
-				status.incCompleted();
-				if (count % 50 == 0) {
-					log.info("Migrated containers: " + count);
+				for (List<T> chunk : Iterables.partition(containers, batchSize)) {
+					pending.acquireUninterruptibly();
+					futures.add(workers.submit(() -> {
+						try {
+							migrateChunk(chunk, status, migrator, errorsDetected, progress, flusher, metrics, throttle);
+						} finally {
+							pending.release();
+						}
+					}));
 				}
-				count++;
-			} catch (Exception e) {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException | ExecutionException e) {
 				errorsDetected.add(e);
+			} finally {
+				workers.shutdown();
 			}
+		}
 
-			if (count % 500 == 0) {
-				// Process the batch and reset it
-				log.info("Syncing batch with size: " + sqb.size());
-				db.tx(() -> {
-					sqb.processSync();
-					sqb.clear();
-				});
+		throttle.close();
+		flusher.flush(true);
+
+		log.info("Migration of " + progress.getCount() + " containers done. Throughput: " + String.format("%.1f", metrics.toRest().getThroughput())
+			+ " containers/s");
+		log.info("Encountered {" + errorsDetected.size() + "} errors during node migration.");
+		return new ArrayList<>(errorsDetected);
+	}
+
+	/**
+	 * Return the amount of containers which will be migrated or null if the amount is not known.
+	 * 
+	 * @param containers
+	 * @return
+	 */
+	private Long getTotal(Iterable<?> containers) {
+		if (containers instanceof VertexIdStream) {
+			return ((VertexIdStream) containers).getTotal();
+		}
+		if (containers instanceof Collection) {
+			return (long) ((Collection<?>) containers).size();
+		}
+		return null;
+	}
+
+	/**
+	 * Migrate the containers of the chunk.
+	 * 
+	 * @param chunk
+	 * @param status
+	 * @param migrator
+	 * @param errorsDetected
+	 * @param progress
+	 * @param flusher
+	 * @param metrics
+	 * @param throttle
+	 */
+	private <T> void migrateChunk(List<T> chunk, MigrationStatusHandler status, TriConsumer<SearchQueueBatch, T, List<Exception>> migrator,
+		List<Exception> errorsDetected, Progress progress, SearchQueueFlusher flusher, MigrationMetrics metrics, MigrationThrottle throttle) {
+		throttle.acquire(chunk.size());
+		// Each chunk has its own search queue batch which is then combined with the other batch entries.
+		// This prevents adding partial entries from failed migrations.
+		SearchQueueBatch chunkBatch = searchQueue.create();
+		List<Exception> chunkErrors = new ArrayList<>();
+		// Time spent within the transaction handlers. The remaining time of the transactions is accounted to the commit.
+		long[] handlerTime = new long[1];
+		int[] attempts = new int[1];
+		int migrated;
+		long txStart = System.nanoTime();
+		try {
+			db.tx(() -> {
+				long attemptStart = System.nanoTime();
+				attempts[0]++;
+				// The transaction may be retried. Entries and errors of previous attempts must be discarded.
+				chunkBatch.clear();
+				chunkErrors.clear();
+				for (T container : chunk) {
+					accept(migrator, chunkBatch, container, chunkErrors, metrics);
+				}
+				handlerTime[0] += System.nanoTime() - attemptStart;
+			});
+			metrics.record(Phase.COMMIT, System.nanoTime() - txStart - handlerTime[0]);
+			migrated = chunk.size();
+		} catch (Exception e) {
+			if (chunk.size() == 1) {
+				chunkBatch.clear();
+				chunkErrors.clear();
+				chunkErrors.add(e);
+				migrated = 0;
+			} else {
+				log.warn("Migration of chunk with {" + chunk.size() + "} containers failed. Migrating the containers one by one.", e);
+				chunkBatch.clear();
+				chunkErrors.clear();
+				migrated = 0;
+				for (T container : chunk) {
+					SearchQueueBatch containerBatch = searchQueue.create();
+					List<Exception> containerErrors = new ArrayList<>();
+					try {
+						db.tx(() -> {
+							containerBatch.clear();
+							containerErrors.clear();
+							accept(migrator, containerBatch, container, containerErrors, metrics);
+						});
+						chunkBatch.addAll(containerBatch);
+						chunkErrors.addAll(containerErrors);
+						migrated++;
+					} catch (Exception e1) {
+						chunkErrors.add(e1);
+					}
+				}
 			}
 		}
-		if (sqb.size() > 0) {
-			log.info("Syncing last batch with size: " + sqb.size());
+		// Retried or failed chunk transactions indicate conflicts with concurrent writes
+		throttle.report(attempts[0] > 1 || migrated < chunk.size());
+		errorsDetected.addAll(chunkErrors);
+		for (Exception error : chunkErrors) {
+			metrics.error(error);
+		}
+		metrics.processed(migrated);
+		if (status != null) {
+			for (int i = 0; i < migrated; i++) {
+				status.incCompleted();
+			}
+		}
+		long total = progress.add(migrated);
+		if (total / 50 != (total - migrated) / 50) {
+			log.info("Migrated containers: " + total);
+		}
+		flusher.add(chunkBatch);
+		if (status != null && progress.needsCheckpoint(total, migrated)) {
+			flusher.sync();
 			db.tx(() -> {
-				sqb.processSync();
+				status.checkpoint(String.valueOf(total));
 			});
 		}
+	}
 
-		log.info("Migration of " + count + " containers done..");
-		log.info("Encountered {" + errorsDetected.size() + "} errors during node migration.");
-		return errorsDetected;
+	/**
+	 * Tracks the amount of migrated containers and decides when a checkpoint needs to be stored.
+	 */
+	private static class Progress {
+
+		private final AtomicLong count = new AtomicLong();
+
+		private final AtomicLong lastCheckpoint = new AtomicLong(System.currentTimeMillis());
+
+		private final int checkpointInterval;
+
+		private final long heartbeatInterval;
+
+		/**
+		 * Create a new progress.
+		 * 
+		 * @param checkpointInterval
+		 *            Amount of containers after which a checkpoint is stored
+		 * @param heartbeatInterval
+		 *            Time in milliseconds after which a checkpoint is stored regardless of the amount of migrated containers
+		 */
+		Progress(int checkpointInterval, long heartbeatInterval) {
+			this.checkpointInterval = checkpointInterval;
+			this.heartbeatInterval = heartbeatInterval;
+		}
+
+		/**
+		 * Add the amount of migrated containers.
+		 * 
+		 * @param migrated
+		 * @return Total amount of migrated containers
+		 */
+		long add(int migrated) {
+			return count.addAndGet(migrated);
+		}
+
+		long getCount() {
+			return count.get();
+		}
+
+		/**
+		 * Check whether a checkpoint needs to be stored after the given amount of containers has been added.
+		 * 
+		 * @param total
+		 *            Total amount of migrated containers which was returned when the containers were added
+		 * @param migrated
+		 * @return
+		 */
+		boolean needsCheckpoint(long total, int migrated) {
+			long now = System.currentTimeMillis();
+			long last = lastCheckpoint.get();
+			boolean intervalReached = total / checkpointInterval != (total - migrated) / checkpointInterval;
+			if (intervalReached || now - last >= heartbeatInterval) {
+				return lastCheckpoint.compareAndSet(last, now);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Collects the search queue batches of the migrated chunks and processes them on a dedicated thread once enough entries have been accumulated.
+	 */
+	protected class SearchQueueFlusher {
+
+		private static final int FLUSH_SIZE = 500;
+
+		private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("mesh-migration-index-%d")
+			.build());
+
+		private final List<Future<?>> pending = new ArrayList<>();
+
+		private final MigrationMetrics metrics;
+
+		private SearchQueueBatch current = searchQueue.create();
+
+		public SearchQueueFlusher(MigrationMetrics metrics) {
+			this.metrics = metrics;
+		}
+
+		/**
+		 * Merge the batch into the current batch and process the current batch if it exceeds the flush size.
+		 * 
+		 * @param batch
+		 */
+		public synchronized void add(SearchQueueBatch batch) {
+			current.addAll(batch);
+			if (current.size() >= FLUSH_SIZE) {
+				flush(false);
+			}
+		}
+
+		/**
+		 * Process the current batch asynchronously.
+		 * 
+		 * @param await
+		 *            Whether to wait for all pending batches and to release the flush thread
+		 */
+		public synchronized void flush(boolean await) {
+			submitCurrent();
+			if (await) {
+				try {
+					awaitPending();
+				} finally {
+					executor.shutdown();
+				}
+			}
+		}
+
+		/**
+		 * Process the current batch and wait until all pending batches have been processed. This is used before storing a checkpoint so that a resumed
+		 * migration does not miss the index updates of the already migrated containers.
+		 */
+		public synchronized void sync() {
+			submitCurrent();
+			awaitPending();
+		}
+
+		private void submitCurrent() {
+			if (current.size() > 0) {
+				SearchQueueBatch batch = current;
+				current = searchQueue.create();
+				log.info("Syncing batch with size: " + batch.size());
+				pending.add(executor.submit(() -> {
+					long start = System.nanoTime();
+					db.tx(() -> {
+						batch.processSync();
+					});
+					metrics.record(Phase.FLUSH, System.nanoTime() - start);
+				}));
+			}
+		}
+
+		private void awaitPending() {
+			try {
+				for (Future<?> future : pending) {
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						log.error("Error while processing the search queue batch of the migration", e.getCause());
+					}
+				}
+			} catch (InterruptedException e) {
+				log.error("Interrupted while waiting for the search queue batches of the migration", e);
+			} finally {
+				pending.clear();
+			}
+		}
 	}
 
 	/**
@@ -0,0 +1,174 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+import com.gentics.mesh.core.rest.job.JobMetrics;
+
+/**
+ * Throughput, phase timing and error metrics of a single migration run. The values are recorded for the job (see {@link JobMetrics}) and are also
+ * reported to the shared Dropwizard registry using the <code>migration.[type]</code> prefix.
+ */
+public class MigrationMetrics {
+
+	private static final MetricRegistry metricRegistry = SharedMetricRegistries.getOrCreate("mesh");
+
+	/**
+	 * Phases of the migration of a container.
+	 */
+	public enum Phase {
+		/**
+		 * Loading and preparation of the containers. This covers all work of the migrator which is not measured by the other phases.
+		 */
+		READ,
+
+		/**
+		 * Evaluation of the migration scripts.
+		 */
+		SCRIPT,
+
+		/**
+		 * Creation and update of the migrated containers.
+		 */
+		WRITE,
+
+		/**
+		 * Processing of the search queue batches.
+		 */
+		FLUSH,
+
+		/**
+		 * Commit of the chunk transactions (including retries).
+		 */
+		COMMIT;
+
+		public String key() {
+			return name().toLowerCase();
+		}
+	}
+
+	private final String prefix;
+
+	private final Map<Phase, LongAdder> phaseTimes = new HashMap<>();
+
+	private final Map<Phase, Timer> phaseTimers = new HashMap<>();
+
+	private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+	private final Meter migratedMeter;
+
+	private final LongAdder processed = new LongAdder();
+
+	private volatile long startTime = System.currentTimeMillis();
+
+	private volatile Long total;
+
+	/**
+	 * Create new metrics for the given migration type.
+	 *
+	 * @param type
+	 *            Type which is used for the name of the Dropwizard metrics (e.g. schema, microschema, branch)
+	 */
+	public MigrationMetrics(String type) {
+		this.prefix = "migration." + type;
+		for (Phase phase : Phase.values()) {
+			phaseTimes.put(phase, new LongAdder());
+			phaseTimers.put(phase, metricRegistry.timer(prefix + ".phase." + phase.key()));
+		}
+		this.migratedMeter = metricRegistry.meter(prefix + ".migrated");
+	}
+
+	/**
+	 * Start the measurement of a migration run.
+	 *
+	 * @param total
+	 *            Amount of elements which will be migrated by the run or null if the amount is not known
+	 */
+	public void start(Long total) {
+		this.total = total;
+		this.startTime = System.currentTimeMillis();
+		this.processed.reset();
+	}
+
+	/**
+	 * Record the time which was spent in the phase.
+	 *
+	 * @param phase
+	 * @param nanos
+	 *            Duration in nanoseconds
+	 */
+	public void record(Phase phase, long nanos) {
+		if (nanos <= 0) {
+			return;
+		}
+		phaseTimes.get(phase).add(nanos);
+		phaseTimers.get(phase).update(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Record the given amount of migrated elements.
+	 *
+	 * @param count
+	 */
+	public void processed(int count) {
+		if (count > 0) {
+			processed.add(count);
+			migratedMeter.mark(count);
+		}
+	}
+
+	/**
+	 * Record the error. Errors are counted per exception type.
+	 *
+	 * @param error
+	 */
+	public void error(Throwable error) {
+		String type = error.getClass().getSimpleName();
+		errors.computeIfAbsent(type, k -> new AtomicLong()).incrementAndGet();
+		metricRegistry.counter(prefix + ".errors." + type).inc();
+	}
+
+	/**
+	 * Return the time in nanoseconds which was spent in the phase.
+	 *
+	 * @param phase
+	 * @return
+	 */
+	public long getTime(Phase phase) {
+		return phaseTimes.get(phase).sum();
+	}
+
+	/**
+	 * Create a snapshot of the metrics.
+	 *
+	 * @return
+	 */
+	public JobMetrics toRest() {
+		JobMetrics metrics = new JobMetrics();
+		long count = processed.sum();
+		long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+		double throughput = count * 1000d / elapsed;
+		metrics.setProcessed(count);
+		metrics.setTotal(total);
+		metrics.setThroughput(throughput);
+		if (total != null && throughput > 0) {
+			metrics.setEstimatedRemainingTime((long) Math.ceil(Math.max(total - count, 0) / throughput));
+		}
+		for (Phase phase : Phase.values()) {
+			metrics.getPhases().put(phase.key(), TimeUnit.NANOSECONDS.toMillis(getTime(phase)));
+		}
+		for (Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+			metrics.getErrors().put(entry.getKey(), entry.getValue().get());
+		}
+		return metrics;
+	}
+
+}
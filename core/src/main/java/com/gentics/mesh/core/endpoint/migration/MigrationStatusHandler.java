@@ -19,6 +19,23 @@ public interface MigrationStatusHandler {
 	 */
 	MigrationStatusHandler commit();
 
+	/**
+	 * Store the checkpoint and the current completion count in the job. Must be invoked within a transaction.
+	 * 
+	 * @param checkpoint
+	 *            Position from which an interrupted migration can be resumed
+	 * @return Fluent API
+	 */
+	MigrationStatusHandler checkpoint(String checkpoint);
+
+	/**
+	 * Load the checkpoint of a previous run of the migration. The completion count of the previous run will be restored if a checkpoint exists. Must be
+	 * invoked within a transaction.
+	 * 
+	 * @return Checkpoint or null if the migration was not interrupted
+	 */
+	String resume();
+
 	/**
 	 * Update status and inform all the channels.
 	 * 
@@ -62,6 +79,13 @@ public interface MigrationStatusHandler {
 	 */
 	void incCompleted();
 
+	/**
+	 * Return the metrics of the migration. The metrics will be stored in the job whenever the status is committed.
+	 * 
+	 * @return
+	 */
+	MigrationMetrics getMetrics();
+
 	default Exception fail(HttpResponseStatus status, String message) {
 		GenericRestException ex = Errors.error(status, message);
 		error(ex, message);
@@ -0,0 +1,165 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.etc.config.MigrationOptions;
+import com.google.common.util.concurrent.RateLimiter;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Rate governor for migrations. The throttle limits the amount of containers which are migrated per second so that foreground requests are not starved
+ * by a running migration.
+ *
+ * The settings are read from the {@link MigrationOptions} before each chunk. Changes which are applied at runtime (e.g. via the job admin endpoint) will
+ * thus affect running migrations. In adaptive mode the rate is halved whenever a chunk transaction had to be retried due to conflicts or when the event
+ * loop latency exceeds {@link #LATENCY_THRESHOLD}. Otherwise the rate is slowly increased again up to the configured throttle rate.
+ */
+public class MigrationThrottle implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(MigrationThrottle.class);
+
+	/**
+	 * Event loop latency in milliseconds above which the adaptive throttle backs off.
+	 */
+	public static final long LATENCY_THRESHOLD = 100;
+
+	private static final long PROBE_INTERVAL = 200;
+
+	private static final double MIN_RATE = 1;
+
+	private static final double INCREASE_FACTOR = 1.1;
+
+	private final MigrationOptions options;
+
+	private final MigrationMetrics metrics;
+
+	private final RateLimiter limiter;
+
+	private final Vertx vertx;
+
+	private Long probeTimer;
+
+	private volatile long latency;
+
+	/**
+	 * Current rate of the adaptive mode. {@link Double#POSITIVE_INFINITY} as long as the throttle did not need to back off.
+	 */
+	private double adaptiveRate = Double.POSITIVE_INFINITY;
+
+	/**
+	 * Create a new throttle.
+	 *
+	 * @param options
+	 *            Options which are read before each chunk
+	 * @param metrics
+	 *            Metrics of the migration which are used to determine the current throughput
+	 */
+	public MigrationThrottle(MigrationOptions options, MigrationMetrics metrics) {
+		this(options, metrics, RateLimiter.create(Double.MAX_VALUE), Mesh.vertx());
+	}
+
+	/**
+	 * Create a new throttle which uses the given limiter.
+	 *
+	 * @param options
+	 *            Options which are read before each chunk
+	 * @param metrics
+	 *            Metrics of the migration which are used to determine the current throughput
+	 * @param limiter
+	 *            Limiter which is used to wait for the permits
+	 * @param vertx
+	 *            Vert.x instance which is used to probe the event loop latency or null if the latency should not be probed
+	 */
+	MigrationThrottle(MigrationOptions options, MigrationMetrics metrics, RateLimiter limiter, Vertx vertx) {
+		this.options = options;
+		this.metrics = metrics;
+		this.limiter = limiter;
+		this.vertx = vertx;
+		if (vertx != null) {
+			long[] last = { System.currentTimeMillis() };
+			probeTimer = vertx.setPeriodic(PROBE_INTERVAL, id -> {
+				long now = System.currentTimeMillis();
+				setLatency(Math.max(now - last[0] - PROBE_INTERVAL, 0));
+				last[0] = now;
+			});
+		}
+	}
+
+	/**
+	 * Wait until the given amount of containers may be migrated.
+	 *
+	 * @param permits
+	 */
+	public void acquire(int permits) {
+		double rate = getRate();
+		if (permits <= 0 || Double.isInfinite(rate)) {
+			return;
+		}
+		if (limiter.getRate() != rate) {
+			limiter.setRate(rate);
+		}
+		limiter.acquire(permits);
+	}
+
+	/**
+	 * Report the outcome of a chunk to the adaptive throttle.
+	 *
+	 * @param conflict
+	 *            Whether the transaction of the chunk had to be retried or failed
+	 */
+	public synchronized void report(boolean conflict) {
+		if (!options.isAdaptiveThrottle()) {
+			adaptiveRate = Double.POSITIVE_INFINITY;
+			return;
+		}
+		long currentLatency = latency;
+		if (conflict || currentLatency > LATENCY_THRESHOLD) {
+			double current = Double.isInfinite(adaptiveRate) ? metrics.toRest().getThroughput() : adaptiveRate;
+			adaptiveRate = Math.max(Math.min(current, getLimit()) / 2, MIN_RATE);
+			if (log.isDebugEnabled()) {
+				log.debug("Reducing migration rate to {" + adaptiveRate + "} containers/s. Conflict: {" + conflict + "}, event loop latency: {"
+					+ currentLatency + "} ms");
+			}
+		} else if (!Double.isInfinite(adaptiveRate)) {
+			adaptiveRate = Math.min(adaptiveRate * INCREASE_FACTOR, getLimit());
+		}
+	}
+
+	/**
+	 * Return the effective rate in containers per second.
+	 *
+	 * @return Rate or {@link Double#POSITIVE_INFINITY} if the migration is not throttled
+	 */
+	public synchronized double getRate() {
+		double limit = getLimit();
+		if (options.isAdaptiveThrottle()) {
+			return Math.min(limit, adaptiveRate);
+		}
+		return limit;
+	}
+
+	/**
+	 * Update the measured event loop latency.
+	 *
+	 * @param latency
+	 *            Latency in milliseconds
+	 */
+	void setLatency(long latency) {
+		this.latency = latency;
+	}
+
+	private double getLimit() {
+		int rate = options.getThrottleRate();
+		return rate <= 0 ? Double.POSITIVE_INFINITY : rate;
+	}
+
+	@Override
+	public void close() {
+		if (vertx != null && probeTimer != null) {
+			vertx.cancelTimer(probeTimer);
+		}
+	}
+
+}
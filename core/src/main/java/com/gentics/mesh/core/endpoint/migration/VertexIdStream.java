@@ -0,0 +1,169 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.gentics.mesh.graphdb.spi.Database;
+import com.google.common.collect.Iterators;
+import com.syncleus.ferma.VertexFrame;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Stream of the ids of the vertices which are returned by a traversal. The traversal is executed once by a reader thread within its own read transaction
+ * and the ids are handed over in pages. At most {@link #PENDING_PAGES} pages are kept in memory, so the memory usage does not depend on the amount of
+ * vertices. Since the reader only stays a few pages ahead of the consumer, it will only read vertices which have not yet been modified by the migration.
+ *
+ * The vertices are counted before the reader is started so that the progress of the migration can be estimated. The stream can only be iterated once
+ * and must be closed if it has not been fully consumed.
+ */
+public class VertexIdStream implements Iterable<Object>, Iterator<Object>, AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(VertexIdStream.class);
+
+	/**
+	 * Maximum amount of pages which have been read but not yet consumed.
+	 */
+	public static final int PENDING_PAGES = 4;
+
+	/**
+	 * Marker which signals that the traversal has been completed.
+	 */
+	private static final List<Object> END = Collections.unmodifiableList(new ArrayList<>());
+
+	private final BlockingQueue<List<Object>> pages = new ArrayBlockingQueue<>(PENDING_PAGES);
+
+	private final long total;
+
+	private volatile boolean closed = false;
+
+	private volatile Throwable error;
+
+	private Iterator<Object> current = Collections.emptyIterator();
+
+	private boolean completed = false;
+
+	/**
+	 * Create a new stream, count the vertices of the traversal and start reading the ids.
+	 *
+	 * @param db
+	 * @param traversal
+	 *            Supplier for the traversal which will be invoked by the reader within its transaction
+	 * @param pageSize
+	 *            Amount of ids per page
+	 */
+	public VertexIdStream(Database db, Supplier<Iterator<? extends VertexFrame>> traversal, int pageSize) {
+		this.total = db.tx(() -> (long) Iterators.size(traversal.get()));
+		Thread reader = new Thread(() -> read(db, traversal, Math.max(pageSize, 1)), "mesh-migration-reader");
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	private void read(Database db, Supplier<Iterator<? extends VertexFrame>> traversal, int pageSize) {
+		try (Tx tx = db.tx()) {
+			Iterator<? extends VertexFrame> it = traversal.get();
+			List<Object> page = new ArrayList<>(pageSize);
+			while (it.hasNext() && !closed) {
+				page.add(it.next().getId());
+				if (page.size() >= pageSize) {
+					hand(page);
+					page = new ArrayList<>(pageSize);
+				}
+			}
+			if (!page.isEmpty()) {
+				hand(page);
+			}
+		} catch (Throwable e) {
+			log.error("Error while reading the vertices of the migration", e);
+			error = e;
+		} finally {
+			try {
+				hand(END);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Hand the page over to the consumer. The page will be dropped if the stream gets closed in the meantime.
+	 *
+	 * @param page
+	 * @throws InterruptedException
+	 */
+	private void hand(List<Object> page) throws InterruptedException {
+		while (!closed) {
+			if (pages.offer(page, 100, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Return the amount of vertices which were found by the traversal when the stream was created.
+	 *
+	 * @return
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	@Override
+	public Iterator<Object> iterator() {
+		return this;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!current.hasNext()) {
+			if (completed) {
+				return false;
+			}
+			List<Object> page;
+			try {
+				page = pages.take();
+			} catch (InterruptedException e) {
+				close();
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for the vertices of the migration", e);
+			}
+			if (page == END) {
+				completed = true;
+				if (error != null) {
+					throw new RuntimeException("Could not read the vertices of the migration", error);
+				}
+				return false;
+			}
+			current = page.iterator();
+		}
+		return true;
+	}
+
+	@Override
+	public Object next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return current.next();
+	}
+
+	/**
+	 * Stop the reader. Pages which have not yet been consumed will be dropped.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		completed = true;
+		pages.clear();
+	}
+
+}
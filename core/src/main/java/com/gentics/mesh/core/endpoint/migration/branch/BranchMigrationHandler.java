@@ -8,7 +8,6 @@ import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.RUNNING
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -18,10 +17,12 @@ import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.impl.GraphFieldContainerEdgeImpl;
 import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.node.impl.NodeImpl;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.endpoint.migration.AbstractMigrationHandler;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
+import com.gentics.mesh.core.endpoint.migration.VertexIdStream;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.graphdb.spi.Database;
 
@@ -41,7 +42,8 @@ public class BranchMigrationHandler extends AbstractMigrationHandler {
 	}
 
 	/**
-	 * Migrate all nodes from one branch to the other
+	 * Migrate all nodes from one branch to the other. The nodes are migrated in chunks by the configured migration workers. Nodes which already have been
+	 * migrated (e.g. by an interrupted run of the migration) will be skipped.
 	 * 
 	 * @param newBranch
 	 *            new branch
@@ -49,62 +51,41 @@ public class BranchMigrationHandler extends AbstractMigrationHandler {
 	 * @return
 	 */
 	public Completable migrateBranch(Branch newBranch, MigrationStatusHandler status) {
-		if (newBranch.isMigrated()) {
-			throw error(BAD_REQUEST, "Branch {" + newBranch.getName() + "} is already migrated");
-		}
-
-		Branch oldBranch = newBranch.getPreviousBranch();
-		if (oldBranch == null) {
-			throw error(BAD_REQUEST, "Branch {" + newBranch.getName() + "} does not have previous branch");
-		}
-
-		if (!oldBranch.isMigrated()) {
-			throw error(BAD_REQUEST, "Cannot migrate nodes to branch {" + newBranch.getName() + "}, because previous branch {"
-				+ oldBranch.getName() + "} is not fully migrated yet.");
-		}
+		Branch oldBranch = db.tx(() -> {
+			if (newBranch.isMigrated()) {
+				throw error(BAD_REQUEST, "Branch {" + newBranch.getName() + "} is already migrated");
+			}
 
-		if (status != null) {
-			status.setStatus(RUNNING);
-			status.commit();
-		}
+			Branch previousBranch = newBranch.getPreviousBranch();
+			if (previousBranch == null) {
+				throw error(BAD_REQUEST, "Branch {" + newBranch.getName() + "} does not have previous branch");
+			}
 
-		long count = 0;
-		// Iterate over all nodes of the project and migrate them to the new branch
-		Project project = oldBranch.getProject();
-		List<Exception> errorsDetected = new ArrayList<>();
-		SearchQueueBatch sqb = null;
-		for (Node node : project.getNodeRoot().findAll()) {
-			// Create a new SQB to handle the ES update
-			if (sqb == null) {
-				sqb = searchQueue.create();
+			if (!previousBranch.isMigrated()) {
+				throw error(BAD_REQUEST, "Cannot migrate nodes to branch {" + newBranch.getName() + "}, because previous branch {"
+					+ previousBranch.getName() + "} is not fully migrated yet.");
 			}
-			migrateNode(node, sqb, oldBranch, newBranch, errorsDetected);
+
 			if (status != null) {
-				status.incCompleted();
-			}
-			if (count % 50 == 0) {
-				log.info("Migrated nodes: " + count);
-				if (status != null) {
-					status.commit();
+				if (status.resume() != null) {
+					// All nodes will be visited again. Nodes which have already been migrated are skipped but still counted.
+					status.setCompletionCount(0);
 				}
+				status.setStatus(RUNNING);
+				status.commit();
 			}
-			count++;
-			if (count % 500 == 0) {
-				// Process the batch and reset it
-				log.info("Syncing batch with size: " + sqb.size());
-				sqb.processSync();
-				sqb = null;
-			}
-		}
-		if (sqb != null) {
-			log.info("Syncing last batch with size: " + sqb.size());
-			sqb.processSync();
-			sqb = null;
+			return previousBranch;
+		});
+
+		// Only the ids are streamed. Each node will be framed within the transaction which migrates it.
+		Project project = db.tx(() -> oldBranch.getProject());
+		List<Exception> errorsDetected;
+		try (VertexIdStream nodeIds = streamIds(() -> project.getNodeRoot().findAll().iterator())) {
+			errorsDetected = migrateLoop(nodeIds, status, (batch, id, errors) -> {
+				migrateNode(reframe(id, NodeImpl.class), batch, oldBranch, newBranch);
+			});
 		}
 
-		log.info("Migration of " + count + " node done..");
-		log.info("Encountered {" + errorsDetected.size() + "} errors during micronode migration.");
-
 		Completable result = Completable.complete();
 		if (!errorsDetected.isEmpty()) {
 			if (log.isDebugEnabled()) {
@@ -124,69 +105,67 @@ public class BranchMigrationHandler extends AbstractMigrationHandler {
 
 	/**
 	 * Migrate the node from the old branch to the new branch. This will effectively create the edges between the new branch and the node. Additionally also the
-	 * tags will be update to correspond with the new branch structure.
+	 * tags will be update to correspond with the new branch structure. Must be invoked within a transaction.
 	 * 
 	 * @param node
 	 * @param batch
 	 * @param oldBranch
 	 * @param newBranc
-	 * @param errorsDetected
 	 */
-	private void migrateNode(Node node, SearchQueueBatch batch, Branch oldBranch, Branch newBranch, List<Exception> errorsDetected) {
+	private void migrateNode(Node node, SearchQueueBatch batch, Branch oldBranch, Branch newBranch) {
 		try {
-			db.tx((tx) -> {
+			// Check whether the node already has an initial container and thus was already migrated
+			if (node.getGraphFieldContainersIt(newBranch, INITIAL).iterator().hasNext()) {
+				return;
+			}
 
-				// Check whether the node already has an initial container and thus was already migrated
-				if (node.getGraphFieldContainersIt(newBranch, INITIAL).iterator().hasNext()) {
-					return;
-				}
+			Node parent = node.getParentNode(oldBranch.getUuid());
+			if (parent != null) {
+				node.setParentNode(newBranch.getUuid(), parent);
+			}
 
-				Node parent = node.getParentNode(oldBranch.getUuid());
-				if (parent != null) {
-					node.setParentNode(newBranch.getUuid(), parent);
+			node.getGraphFieldContainersIt(oldBranch, DRAFT).forEach(container -> {
+				GraphFieldContainerEdgeImpl initialEdge = node.addFramedEdge(HAS_FIELD_CONTAINER, container, GraphFieldContainerEdgeImpl.class);
+				initialEdge.setLanguageTag(container.getLanguageTag());
+				initialEdge.setType(INITIAL);
+				initialEdge.setBranchUuid(newBranch.getUuid());
+
+				GraphFieldContainerEdgeImpl draftEdge = node.addFramedEdge(HAS_FIELD_CONTAINER, container, GraphFieldContainerEdgeImpl.class);
+				draftEdge.setLanguageTag(container.getLanguageTag());
+				draftEdge.setType(DRAFT);
+				draftEdge.setBranchUuid(newBranch.getUuid());
+				String value = container.getSegmentFieldValue();
+				if (value != null) {
+					draftEdge.setSegmentInfo(parent, value);
+				} else {
+					draftEdge.setSegmentInfo(null);
 				}
-
-				node.getGraphFieldContainersIt(oldBranch, DRAFT).forEach(container -> {
-					GraphFieldContainerEdgeImpl initialEdge = node.addFramedEdge(HAS_FIELD_CONTAINER, container, GraphFieldContainerEdgeImpl.class);
-					initialEdge.setLanguageTag(container.getLanguageTag());
-					initialEdge.setType(INITIAL);
-					initialEdge.setBranchUuid(newBranch.getUuid());
-
-					GraphFieldContainerEdgeImpl draftEdge = node.addFramedEdge(HAS_FIELD_CONTAINER, container, GraphFieldContainerEdgeImpl.class);
-					draftEdge.setLanguageTag(container.getLanguageTag());
-					draftEdge.setType(DRAFT);
-					draftEdge.setBranchUuid(newBranch.getUuid());
-					String value = container.getSegmentFieldValue();
-					if (value != null) {
-						draftEdge.setSegmentInfo(parent, value);
-					} else {
-						draftEdge.setSegmentInfo(null);
-					}
-					draftEdge.setUrlFieldInfo(container.getUrlFieldValues());
-				});
-				batch.store(node, newBranch.getUuid(), DRAFT, false);
-
-				node.getGraphFieldContainersIt(oldBranch, PUBLISHED).forEach(container -> {
-					GraphFieldContainerEdgeImpl publishEdge = node.addFramedEdge(HAS_FIELD_CONTAINER, container, GraphFieldContainerEdgeImpl.class);
-					publishEdge.setLanguageTag(container.getLanguageTag());
-					publishEdge.setType(PUBLISHED);
-					publishEdge.setBranchUuid(newBranch.getUuid());
-					String value = container.getSegmentFieldValue();
-					if (value != null) {
-						publishEdge.setSegmentInfo(parent, value);
-					} else {
-						publishEdge.setSegmentInfo(null);
-					}
-					publishEdge.setUrlFieldInfo(container.getUrlFieldValues());
-				});
-				batch.store(node, newBranch.getUuid(), PUBLISHED, false);
-
-				// migrate tags
-				node.getTags(oldBranch).forEach(tag -> node.addTag(tag, newBranch));
+				draftEdge.setUrlFieldInfo(container.getUrlFieldValues());
+			});
+			batch.store(node, newBranch.getUuid(), DRAFT, false);
+
+			node.getGraphFieldContainersIt(oldBranch, PUBLISHED).forEach(container -> {
+				GraphFieldContainerEdgeImpl publishEdge = node.addFramedEdge(HAS_FIELD_CONTAINER, container, GraphFieldContainerEdgeImpl.class);
+				publishEdge.setLanguageTag(container.getLanguageTag());
+				publishEdge.setType(PUBLISHED);
+				publishEdge.setBranchUuid(newBranch.getUuid());
+				String value = container.getSegmentFieldValue();
+				if (value != null) {
+					publishEdge.setSegmentInfo(parent, value);
+				} else {
+					publishEdge.setSegmentInfo(null);
+				}
+				publishEdge.setUrlFieldInfo(container.getUrlFieldValues());
 			});
-		} catch (Exception e1) {
-			log.error("Error while handling node {" + node.getUuid() + "} during schema migration.", e1);
-			errorsDetected.add(e1);
+			batch.store(node, newBranch.getUuid(), PUBLISHED, false);
+
+			// migrate tags
+			node.getTags(oldBranch).forEach(tag -> node.addTag(tag, newBranch));
+		} catch (RuntimeException e1) {
+			// The error is propagated so that the transaction of the chunk gets rolled back. The node will be migrated again within its own
+			// transaction.
+			log.error("Error while handling node {" + node.getUuid() + "} during branch migration.", e1);
+			throw e1;
 		}
 	}
 }
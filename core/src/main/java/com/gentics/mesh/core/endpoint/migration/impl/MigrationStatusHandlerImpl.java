@@ -5,6 +5,7 @@ import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.COMPLET
 import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.FAILED;
 
 import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
@@ -12,6 +13,7 @@ import javax.management.ObjectName;
 
 import com.gentics.mesh.core.data.branch.BranchVersionEdge;
 import com.gentics.mesh.core.data.job.Job;
+import com.gentics.mesh.core.endpoint.migration.MigrationMetrics;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
@@ -37,17 +39,36 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 
 	private Job job;
 
-	private long completionCount = 0;
+	private AtomicLong completionCount = new AtomicLong();
 
 	private MigrationStatus status;
 
+	private MigrationMetrics metrics;
+
 	public MigrationStatusHandlerImpl(Job job, Vertx vertx, MigrationType type) {
 		this.vertx = vertx;
 		this.job = job;
+		this.metrics = new MigrationMetrics(type.name());
+	}
+
+	@Override
+	public synchronized MigrationStatusHandler checkpoint(String checkpoint) {
+		job.setCheckpoint(checkpoint);
+		return commit();
 	}
 
 	@Override
-	public MigrationStatusHandler commit() {
+	public String resume() {
+		String checkpoint = job.getCheckpoint();
+		if (checkpoint != null) {
+			completionCount.set(job.getCompletionCount());
+			log.info("Resuming migration from checkpoint {" + checkpoint + "} with {" + completionCount.get() + "} already migrated elements.");
+		}
+		return checkpoint;
+	}
+
+	@Override
+	public synchronized MigrationStatusHandler commit() {
 		// Load the status if it has not yet been set or loaded.
 		if (status == null) {
 			status = job.getStatus();
@@ -55,8 +76,11 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 		if (versionEdge != null) {
 			versionEdge.setMigrationStatus(status);
 		}
-		job.setCompletionCount(completionCount);
+		job.setCompletionCount(completionCount.get());
+		job.setMetrics(metrics.toRest());
 		job.setStatus(status);
+		// Each update of the status also acts as heartbeat for the lease of the job
+		job.renewLease();
 
 		Tx.getActive().getGraph().commit();
 		return this;
@@ -96,6 +120,7 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 		JsonObject result = new JsonObject().put("type", "completed");
 		vertx.eventBus().publish(MESH_MIGRATION.address, result);
 		job.setStopTimestamp();
+		job.setCheckpoint(null);
 		commit();
 		return this;
 	}
@@ -129,7 +154,7 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 
 	@Override
 	public void setCompletionCount(long completionCount) {
-		this.completionCount = completionCount;
+		this.completionCount.set(completionCount);
 	}
 
 	@Override
@@ -139,7 +164,12 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 
 	@Override
 	public void incCompleted() {
-		completionCount++;
+		completionCount.incrementAndGet();
+	}
+
+	@Override
+	public MigrationMetrics getMetrics() {
+		return metrics;
 	}
 
 }
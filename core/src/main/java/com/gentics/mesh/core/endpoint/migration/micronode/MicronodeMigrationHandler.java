@@ -18,6 +18,7 @@ import javax.validation.constraints.NotNull;
 import com.gentics.mesh.context.impl.NodeMigrationActionContextImpl;
 import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.container.impl.NodeGraphFieldContainerImpl;
 import com.gentics.mesh.core.data.node.Micronode;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.field.list.MicronodeGraphFieldList;
@@ -27,6 +28,7 @@ import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.endpoint.migration.AbstractMigrationHandler;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
+import com.gentics.mesh.core.endpoint.migration.VertexIdStream;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.core.rest.micronode.MicronodeResponse;
 import com.gentics.mesh.graphdb.spi.Database;
@@ -76,6 +78,9 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 			ac.setBranch(branch);
 
 			if (status != null) {
+				// Containers which have already been migrated by an interrupted run no longer reference the old version. Only the progress needs to
+				// be restored.
+				status.resume();
 				status.setStatus(RUNNING);
 				status.commit();
 			}
@@ -85,24 +90,27 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 		}
 
 		// Get the containers, that need to be transformed
-		List<? extends NodeGraphFieldContainer> fieldContainersResult = db.tx(() -> {
-			return fromVersion.getDraftFieldContainers(branch.getUuid()).list();
-		});
-
-		// No field containers, migration is done
-		if (fieldContainersResult.isEmpty()) {
-			if (status != null) {
-				db.tx(() -> {
-					status.setStatus(COMPLETED);
-					status.commit();
-				});
+		// Only the ids are streamed. Each container will be framed within the transaction which migrates it.
+		List<Exception> errorsDetected;
+		try (VertexIdStream containerIds = streamIds(() -> fromVersion.getDraftFieldContainers(branch.getUuid()).iterator())) {
+			// No field containers, migration is done
+			if (!containerIds.hasNext()) {
+				if (status != null) {
+					db.tx(() -> {
+						status.setStatus(COMPLETED);
+						status.commit();
+					});
+				}
+				return Completable.complete();
 			}
-			return Completable.complete();
-		}
 
-		List<Exception> errorsDetected = migrateLoop(fieldContainersResult, status, (batch, container, errors) ->
-			migrateMicronodeContainer(ac, batch, branch, fromVersion, toVersion, container, touchedFields, migrationScripts, errors)
-		);
+			// The context parameters are modified per container. Thus each migration worker needs its own context.
+			ThreadLocal<NodeMigrationActionContextImpl> workerContext = ThreadLocal.withInitial(ac::fork);
+			errorsDetected = migrateLoop(containerIds, status, (batch, id, errors) ->
+				migrateMicronodeContainer(workerContext.get(), batch, branch, fromVersion, toVersion, reframe(id, NodeGraphFieldContainerImpl.class),
+					touchedFields, migrationScripts, errors)
+			);
+		}
 
 		Completable result = Completable.complete();
 		if (!errorsDetected.isEmpty()) {
@@ -186,27 +194,24 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 		}
 		String branchUuid = branch.getUuid();
 
-		// Run the actual migration in a dedicated transaction
+		// The migration loop provides the transaction of the chunk
 		try {
-			db.tx((tx) -> {
-
-				Node node = container.getParentNode();
-				String languageTag = container.getLanguageTag();
-				ac.getNodeParameters().setLanguages(languageTag);
-				ac.getVersioningParameters().setVersion("draft");
-				NodeGraphFieldContainer oldPublished = node.getGraphFieldContainer(languageTag, branchUuid, PUBLISHED);
-
-				VersionNumber nextDraftVersion = null;
-				// 1. Check whether there is any other published container which we need to handle separately
-				if (oldPublished != null && !oldPublished.equals(container)) {
-					nextDraftVersion = migratePublishedContainer(ac, batch, branch, node, container, fromVersion, toVersion, touchedFields,
-						migrationScripts);
-					nextDraftVersion = nextDraftVersion.nextDraft();
-				}
+			Node node = container.getParentNode();
+			String languageTag = container.getLanguageTag();
+			ac.getNodeParameters().setLanguages(languageTag);
+			ac.getVersioningParameters().setVersion("draft");
+			NodeGraphFieldContainer oldPublished = node.getGraphFieldContainer(languageTag, branchUuid, PUBLISHED);
+
+			VersionNumber nextDraftVersion = null;
+			// 1. Check whether there is any other published container which we need to handle separately
+			if (oldPublished != null && !oldPublished.equals(container)) {
+				nextDraftVersion = migratePublishedContainer(ac, batch, branch, node, container, fromVersion, toVersion, touchedFields,
+					migrationScripts);
+				nextDraftVersion = nextDraftVersion.nextDraft();
+			}
 
-				// 2. Migrate the draft container. This will also update the draft edge.
-				migrateDraftContainer(ac, batch, branch, node, container, fromVersion, toVersion, touchedFields, migrationScripts, nextDraftVersion);
-			});
+			// 2. Migrate the draft container. This will also update the draft edge.
+			migrateDraftContainer(ac, batch, branch, node, container, fromVersion, toVersion, touchedFields, migrationScripts, nextDraftVersion);
 		} catch (Exception e1) {
 			log.error("Error while handling container {" + container.getUuid() + "} during schema migration.", e1);
 			errorsDetected.add(e1);
@@ -275,12 +280,16 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 			field = container.createMicronode(field.getFieldKey(), fromVersion);
 			Micronode micronode = field.getMicronode();
 			// transform to rest and migrate
-			MicronodeResponse restModel = micronode.transformToRestSync(ac, 0);
+			MicronodeResponse restModel = migrationScripts.isEmpty() ? null : micronode.transformToRestSync(ac, 0);
 			migrate(ac, micronode, restModel, toVersion, touchedFields, migrationScripts, MicronodeResponse.class);
 		}
 
-		// iterate over all micronode list fields to migrate
+		// iterate over all micronode list fields to migrate. A list is returned once for each of its micronodes which use the version.
+		Set<String> migratedLists = new HashSet<>();
 		for (MicronodeGraphFieldList field : container.getMicronodeListFields(fromVersion)) {
+			if (!migratedLists.add(field.getFieldKey())) {
+				continue;
+			}
 			MicronodeGraphFieldList oldListField = field;
 
 			// clone the field (this will not clone the micronodes)
@@ -296,7 +305,7 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 				// migrate the micronode, if it uses the fromVersion
 				if (newMicronode.getSchemaContainerVersion().equals(fromVersion)) {
 					// transform to rest and migrate
-					MicronodeResponse restModel = newMicronode.transformToRestSync(ac, 0);
+					MicronodeResponse restModel = migrationScripts.isEmpty() ? null : newMicronode.transformToRestSync(ac, 0);
 					migrate(ac, newMicronode, restModel, toVersion, touchedFields, migrationScripts, MicronodeResponse.class);
 				}
 			}
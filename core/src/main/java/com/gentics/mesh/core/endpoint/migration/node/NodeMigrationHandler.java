@@ -8,7 +8,6 @@ import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.RUNNING
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -20,12 +19,14 @@ import com.gentics.mesh.context.impl.NodeMigrationActionContextImpl;
 import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
+import com.gentics.mesh.core.data.container.impl.NodeGraphFieldContainerImpl;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.endpoint.migration.AbstractMigrationHandler;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
+import com.gentics.mesh.core.endpoint.migration.VertexIdStream;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.core.rest.node.NodeResponse;
 import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
@@ -33,7 +34,6 @@ import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.util.Tuple;
 import com.gentics.mesh.util.VersionNumber;
-import com.google.common.collect.Lists;
 import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
@@ -85,6 +85,9 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 			ac.setBranch(branch);
 
 			if (status != null) {
+				// Containers which have already been migrated by an interrupted run no longer reference the old version. Only the progress needs to
+				// be restored.
+				status.resume();
 				status.setStatus(RUNNING);
 				status.commit();
 			}
@@ -96,25 +99,27 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 
 		// Get the draft containers that need to be transformed. Containers which need to be transformed are those which are still linked to older schema
 		// versions. We'll work on drafts. The migration code will later on also handle publish versions.
-		List<? extends NodeGraphFieldContainer> containers = db.tx(() -> {
-			Iterator<? extends NodeGraphFieldContainer> it = fromVersion.getDraftFieldContainers(branch.getUuid());
-			return Lists.newArrayList(it);
-		});
-
-		// No field containers, migration is done
-		if (containers.isEmpty()) {
-			if (status != null) {
-				db.tx(() -> {
-					status.setStatus(COMPLETED);
-					status.commit();
-				});
+		// Only the ids are streamed. Each container will be framed within the transaction which migrates it.
+		List<Exception> errorsDetected;
+		try (VertexIdStream containerIds = streamIds(() -> fromVersion.getDraftFieldContainers(branch.getUuid()))) {
+			// No field containers, migration is done
+			if (!containerIds.hasNext()) {
+				if (status != null) {
+					db.tx(() -> {
+						status.setStatus(COMPLETED);
+						status.commit();
+					});
+				}
+				return Completable.complete();
 			}
-			return Completable.complete();
-		}
 
-		List<Exception> errorsDetected = migrateLoop(containers, status, (batch, container, errors) ->
-			migrateContainer(ac, batch, container, toVersion, migrationScripts, branch, newSchema, errors, touchedFields)
-		);
+			// The context parameters are modified per container. Thus each migration worker needs its own context.
+			ThreadLocal<NodeMigrationActionContextImpl> workerContext = ThreadLocal.withInitial(ac::fork);
+			errorsDetected = migrateLoop(containerIds, status, (batch, id, errors) ->
+				migrateContainer(workerContext.get(), batch, reframe(id, NodeGraphFieldContainerImpl.class), toVersion, migrationScripts, branch,
+					newSchema, errors, touchedFields)
+			);
+		}
 
 		// TODO prepare errors. They should be easy to understand and to grasp
 		Completable result = Completable.complete();
@@ -219,11 +224,15 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 		// We need to ensure that the migrated container is also published.
 		boolean publish = container.isPublished(branchUuid);
 
-		ac.getVersioningParameters().setVersion(container.getVersion().getFullVersion());
-		NodeResponse restModel = node.transformToRestSync(ac, 0, languageTag);
+		// The REST model is only needed when migration scripts have to be applied
+		NodeResponse restModel = null;
+		if (!migrationScripts.isEmpty()) {
+			ac.getVersioningParameters().setVersion(container.getVersion().getFullVersion());
+			restModel = node.transformToRestSync(ac, 0, languageTag);
 
-		// Update the schema version. Otherwise deserialisation of the JSON will fail later on.
-		restModel.getSchema().setVersion(newSchema.getVersion());
+			// Update the schema version. Otherwise deserialisation of the JSON will fail later on.
+			restModel.getSchema().setVersion(newSchema.getVersion());
+		}
 
 		// Actual migration - Create the new version
 		NodeGraphFieldContainer migrated = node.createGraphFieldContainer(container.getLanguageTag(), branch, container.getEditor(), container, true);
@@ -274,9 +283,12 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 		String languageTag = container.getLanguageTag();
 		String branchUuid = branch.getUuid();
 
-		ac.getVersioningParameters().setVersion("published");
-		NodeResponse restModel = node.transformToRestSync(ac, 0, languageTag);
-		restModel.getSchema().setVersion(newSchema.getVersion());
+		NodeResponse restModel = null;
+		if (!migrationScripts.isEmpty()) {
+			ac.getVersioningParameters().setVersion("published");
+			restModel = node.transformToRestSync(ac, 0, languageTag);
+			restModel.getSchema().setVersion(newSchema.getVersion());
+		}
 
 		NodeGraphFieldContainer migrated = node.createGraphFieldContainer(container.getLanguageTag(), branch, container.getEditor(), container, true);
 
@@ -11,19 +11,30 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
+import org.apache.commons.io.IOUtils;
+
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.context.impl.InternalRoutingActionContextImpl;
 import com.gentics.mesh.core.binary.BinaryDataProcessor;
 import com.gentics.mesh.core.binary.BinaryProcessorRegistry;
+import com.gentics.mesh.core.binary.ImageRenditionGenerator;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Language;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
@@ -42,13 +53,13 @@ import com.gentics.mesh.core.image.spi.ImageInfo;
 import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.core.rest.error.NodeVersionConflictException;
+import com.gentics.mesh.core.rest.node.NodeResponse;
 import com.gentics.mesh.core.rest.node.field.BinaryFieldTransformRequest;
 import com.gentics.mesh.core.rest.node.field.image.FocalPoint;
 import com.gentics.mesh.core.rest.schema.BinaryFieldSchema;
 import com.gentics.mesh.core.rest.schema.FieldSchema;
 import com.gentics.mesh.etc.config.MeshUploadOptions;
 import com.gentics.mesh.graphdb.spi.Database;
-import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.parameter.image.CropMode;
@@ -57,6 +68,8 @@ import com.gentics.mesh.storage.BinaryStorage;
 import com.gentics.mesh.util.FileUtils;
 import com.gentics.mesh.util.NodeUtil;
 import com.gentics.mesh.util.RxUtil;
+import com.gentics.mesh.util.UUIDUtil;
+import com.syncleus.ferma.tx.TxAction1;
 
 import dagger.Lazy;
 import io.reactivex.Flowable;
@@ -93,6 +106,8 @@ public class BinaryFieldHandler extends AbstractHandler {
 
 	private BinaryProcessorRegistry binaryProcessorRegistry;
 
+	private ImageRenditionGenerator renditionGenerator;
+
 	@Inject
 	public BinaryFieldHandler(ImageManipulator imageManipulator,
 		Database db,
@@ -100,7 +115,8 @@ public class BinaryFieldHandler extends AbstractHandler {
 		SearchQueue searchQueue,
 		BinaryFieldResponseHandler binaryFieldResponseHandler,
 		BinaryStorage binaryStorage,
-		BinaryProcessorRegistry binaryProcessorRegistry) {
+		BinaryProcessorRegistry binaryProcessorRegistry,
+		ImageRenditionGenerator renditionGenerator) {
 
 		this.imageManipulator = imageManipulator;
 		this.db = db;
@@ -109,6 +125,7 @@ public class BinaryFieldHandler extends AbstractHandler {
 		this.binaryFieldResponseHandler = binaryFieldResponseHandler;
 		this.binaryStorage = binaryStorage;
 		this.binaryProcessorRegistry = binaryProcessorRegistry;
+		this.renditionGenerator = renditionGenerator;
 	}
 
 	public void handleReadBinaryField(RoutingContext rc, String uuid, String fieldName) {
@@ -192,12 +209,46 @@ public class BinaryFieldHandler extends AbstractHandler {
 		}
 		FileUpload ul = fileUploads.iterator().next();
 		validateFileUpload(ul, fieldName);
-		// This the name and path of the file to be moved to a new location.
-		// This will be changed because it is possible that the file has to be moved multiple times
-		// (if the transaction failed and has to be repeated).
-		ac.put("sourceFile", ul.uploadedFileName());
 
+		updateBinaryField(ac, nodeUuid, fieldName, languageTag, nodeVersion, ul, null).subscribe(model -> ac.send(model, CREATED), ac::fail);
+	}
+
+	/**
+	 * Process the upload and store it in the binary field of the node. The field is updated within a single transaction once the data has been
+	 * stored.
+	 * 
+	 * @param ac
+	 * @param nodeUuid
+	 *            UUID of the node which should be updated
+	 * @param fieldName
+	 *            Name of the binary field
+	 * @param languageTag
+	 *            Language of the content which should be updated
+	 * @param nodeVersion
+	 *            Version of the content on which the update is based
+	 * @param ul
+	 *            Validated upload
+	 * @param hash
+	 *            SHA 512 checksum of the upload or null if the checksum is not yet known
+	 * @return Single which emits the updated node
+	 */
+	public Single<NodeResponse> updateBinaryField(InternalActionContext ac, String nodeUuid, String fieldName, String languageTag, String nodeVersion,
+		FileUpload ul, String hash) {
+		// Check the permission before the upload data is processed
 		db.tx(() -> {
+			ac.getProject().getNodeRoot().loadObjectByUuid(ac, nodeUuid, UPDATE_PERM);
+		});
+
+		// The upload is processed outside of the transaction since the transaction may be repeated. The data is stored using a new binary uuid unless
+		// the hash is already known and a binary with the same hash exists. The stored data will be discarded if the same data has already been stored.
+		String binaryUuid = UUIDUtil.randomUUID();
+		ProcessedUpload upload = processUpload(ul, binaryUuid, hash);
+		AtomicBoolean storedDataUsed = new AtomicBoolean();
+		AtomicBoolean storedDataCommitted = new AtomicBoolean();
+		AtomicReference<String> imageBinaryUuid = new AtomicReference<>();
+		AtomicReference<FocalPoint> imageFocalPoint = new AtomicReference<>();
+
+		TxAction1<Single<NodeResponse>> update = () -> {
 			Project project = ac.getProject();
 			Branch branch = ac.getBranch();
 			Node node = project.getNodeRoot().loadObjectByUuid(ac, nodeUuid, UPDATE_PERM);
@@ -256,19 +307,22 @@ public class BinaryFieldHandler extends AbstractHandler {
 				throw error(BAD_REQUEST, "error_found_field_is_not_binary", fieldName);
 			}
 
+			// Check whether the binary with the given hashsum was already stored
+			BinaryRoot binaryRoot = boot.get().meshRoot().getBinaryRoot();
+			Binary binary = binaryRoot.findByHash(upload.getHash());
+			if (binary == null && !upload.isStored()) {
+				// Nothing has been modified yet. The data needs to be stored first.
+				return null;
+			}
+
 			SearchQueueBatch batch = searchQueue.create();
 			// Create a new node version field container to store the upload
 			NodeGraphFieldContainer newDraftVersion = node.createGraphFieldContainer(languageTag, branch, ac.getUser(), latestDraftVersion, true);
 
-			// Check whether the binary with the given hashsum was already stored
-			BinaryRoot binaryRoot = boot.get().meshRoot().getBinaryRoot();
-			String hash = FileUtils.hash(ul.uploadedFileName());
-			Binary binary = binaryRoot.findByHash(hash);
-
-			// Create a new binary if the data was not already stored
-			boolean storeBinary = binary == null;
-			if (storeBinary) {
-				binary = binaryRoot.create(hash, ul.size());
+			// Create a new binary for the stored data if the data was not already stored
+			storedDataUsed.set(binary == null);
+			if (binary == null) {
+				binary = binaryRoot.create(binaryUuid, upload.getHash(), ul.size());
 			}
 
 			// Get the potential existing field
@@ -280,6 +334,8 @@ public class BinaryFieldHandler extends AbstractHandler {
 			// Reuse the existing properties
 			if (oldField != null) {
 				oldField.copyTo(field);
+				// The metadata of the previous upload does not apply to the new data
+				field.clearMetadata();
 
 				// If the old field was an image and the current upload is not an image we need to reset the custom image specific attributes.
 				if (oldField.hasProcessableImage() && !NodeUtil.isProcessableImage(ul.contentType())) {
@@ -287,8 +343,13 @@ public class BinaryFieldHandler extends AbstractHandler {
 				}
 			}
 
-			// Process the upload which will update the binary field
-			processUpload(ac, ul, field, storeBinary);
+			// Apply the extracted information to the binary field
+			upload.apply(field);
+
+			// Remember the image so that its renditions can be generated once the transaction has been committed
+			boolean isImage = binary.getImageWidth() != null && binary.getImageHeight() != null;
+			imageBinaryUuid.set(isImage ? binary.getUuid() : null);
+			imageFocalPoint.set(isImage ? field.getImageFocalPoint() : null);
 
 			// Now get rid of the old field
 			if (oldField != null) {
@@ -300,43 +361,141 @@ public class BinaryFieldHandler extends AbstractHandler {
 			}
 
 			return batch.store(node, branch.getUuid(), DRAFT, false).processAsync().andThen(node.transformToRest(ac, 0));
-		}).subscribe(model -> ac.send(model, CREATED), ac::fail);
+		};
+
+		return Single.defer(() -> {
+			Single<NodeResponse> result = db.tx(update);
+			if (result == null) {
+				// The binary was removed (e.g. by the garbage collection) after the upload has been processed. The data has to be stored before the
+				// field can be updated.
+				storeUpload(ul, binaryUuid, upload);
+				result = db.tx(update);
+			}
+			// The transaction has been committed
+			storedDataCommitted.set(storedDataUsed.get());
+			if (imageBinaryUuid.get() != null) {
+				renditionGenerator.schedule(imageBinaryUuid.get(), upload.getHash(), imageFocalPoint.get());
+			}
+			if (upload.isStored() && !storedDataUsed.get()) {
+				// The same data has already been stored for another binary. The duplicate is removed before the response is sent.
+				upload.setStored(false);
+				return binaryStorage.delete(binaryUuid)
+					.doOnError(e -> log.error("Could not remove duplicate binary data {" + binaryUuid + "}", e))
+					.onErrorComplete()
+					.andThen(result);
+			}
+			return result;
+		}).doFinally(() -> {
+			// Remove the stored data if it is not referenced by a new binary (e.g. the update failed)
+			if (upload.isStored() && !storedDataCommitted.get()) {
+				binaryStorage.delete(binaryUuid).subscribe(() -> {
+				}, e -> log.error("Could not remove unused binary data {" + binaryUuid + "}", e));
+			}
+		});
 	}
 
 	/**
-	 * Processes the upload and set the binary information (e.g.: image dimensions) within the provided field. The binary data will be stored in the
-	 * {@link BinaryStorage} if desired.
+	 * Process the upload in a single pass. The uploaded file is read once and its data is fed into the SHA-512 digest and the {@link BinaryStorage} at
+	 * the same time. The beginning of the data is kept in memory and passed to the binary data processors which extract the meta data (e.g. image
+	 * dimensions). The data will not be written if the checksum was already known and a binary with this checksum exists. Only the beginning of the
+	 * data is read in that case.
 	 * 
-	 * @param ac
 	 * @param ul
 	 *            Upload to process
-	 * @param field
-	 *            Field which will be updated with the extracted information
-	 * @param storeBinary
-	 *            Whether to store the data in the binary store
+	 * @param binaryUuid
+	 *            Uuid which will be used to store the data
+	 * @param knownHash
+	 *            Checksum of the upload if it has already been computed
+	 * @return Hash and extracted information of the upload
 	 */
-	private void processUpload(ActionContext ac, FileUpload ul, BinaryGraphField field, boolean storeBinary) {
+	private ProcessedUpload processUpload(FileUpload ul, String binaryUuid, String knownHash) {
+		int sniffLimit = (int) Math.min(Mesh.mesh().getOptions().getUploadOptions().getSniffLimit(), ul.size());
+		Buffer prefix = Buffer.buffer(sniffLimit);
+		boolean exists = knownHash != null && db.tx(() -> boot.get().meshRoot().getBinaryRoot().findByHash(knownHash) != null);
+
+		String hash;
+		boolean stored;
+		if (exists) {
+			if (log.isDebugEnabled()) {
+				log.debug("Data of upload with hash {" + knownHash + "} has already been stored. Skipping store.");
+			}
+			readPrefix(ul, prefix, sniffLimit);
+			hash = knownHash;
+			stored = false;
+		} else {
+			MessageDigest digest = FileUtils.createDigest();
+			AsyncFile asyncFile = Mesh.vertx().fileSystem().openBlocking(ul.uploadedFileName(), new OpenOptions());
+			Flowable<Buffer> stream = RxUtil.toBufferFlow(asyncFile).doOnNext(buffer -> {
+				if (knownHash == null) {
+					digest.update(buffer.getBytes());
+				}
+				if (prefix.length() < sniffLimit) {
+					prefix.appendBuffer(buffer, 0, Math.min(buffer.length(), sniffLimit - prefix.length()));
+				}
+			});
+			try {
+				binaryStorage.store(stream, binaryUuid).blockingAwait();
+			} catch (RuntimeException e) {
+				// Don't keep partially stored data
+				binaryStorage.delete(binaryUuid).onErrorComplete().blockingAwait();
+				throw e;
+			}
+			hash = knownHash != null ? knownHash : FileUtils.bytesToHex(digest.digest());
+			stored = true;
+		}
 
-		// Process the upload and extract needed information
-		String contentType = ul.contentType();
-		for (BinaryDataProcessor p : binaryProcessorRegistry.getProcessors(contentType)) {
+		// Extract the needed information from the beginning of the data
+		List<Consumer<BinaryGraphField>> consumers = new ArrayList<>();
+		for (BinaryDataProcessor p : binaryProcessorRegistry.getProcessors(ul.contentType())) {
 			try {
-				p.process(ul, field);
+				consumers.add(p.process(ul, prefix));
 			} catch (Exception e) {
 				log.warn("Processing of upload {" + ul.fileName() + "/" + ul.uploadedFileName() + "} in handler {" + p.getClass() + "}", e);
 			}
 		}
+		ProcessedUpload upload = new ProcessedUpload(hash, consumers);
+		upload.setStored(stored);
+		return upload;
+	}
 
-		// Store the data
-		if (storeBinary) {
-			Binary binary = field.getBinary();
-			String binaryUuid = binary.getUuid();
-			String uploadFile = ul.uploadedFileName();
-			AsyncFile asyncFile = Mesh.vertx().fileSystem().openBlocking(uploadFile, new OpenOptions());
-			Flowable<Buffer> stream = RxUtil.toBufferFlow(asyncFile);
-			binaryStorage.store(stream, binaryUuid).andThen(Single.just(ul.size())).blockingGet();
+	/**
+	 * Read the beginning of the uploaded file into the given buffer.
+	 * 
+	 * @param ul
+	 * @param prefix
+	 *            Buffer which will receive the data
+	 * @param length
+	 *            Amount of bytes to read
+	 */
+	private void readPrefix(FileUpload ul, Buffer prefix, int length) {
+		try (InputStream ins = new FileInputStream(ul.uploadedFileName())) {
+			byte[] data = new byte[length];
+			int read = IOUtils.read(ins, data);
+			prefix.appendBytes(data, 0, read);
+		} catch (IOException e) {
+			throw error(INTERNAL_SERVER_ERROR, "node_error_upload_failed", e);
 		}
+	}
 
+	/**
+	 * Store the data of the upload in the {@link BinaryStorage}.
+	 * 
+	 * @param ul
+	 * @param binaryUuid
+	 *            Uuid which will be used to store the data
+	 * @param upload
+	 *            Processed upload which will be marked as stored
+	 */
+	private void storeUpload(FileUpload ul, String binaryUuid, ProcessedUpload upload) {
+		AsyncFile asyncFile = Mesh.vertx().fileSystem().openBlocking(ul.uploadedFileName(), new OpenOptions());
+		try {
+			binaryStorage.store(RxUtil.toBufferFlow(asyncFile), binaryUuid).blockingAwait();
+		} catch (RuntimeException e) {
+			// Don't keep partially stored data
+			binaryStorage.delete(binaryUuid).onErrorComplete().blockingAwait();
+			throw e;
+		}
+		upload.setStored(true);
 	}
 
 	/**
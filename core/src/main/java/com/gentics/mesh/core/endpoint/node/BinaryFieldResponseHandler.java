@@ -4,6 +4,11 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.http.HttpConstants.ETAG;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
+import static io.netty.handler.codec.http.HttpResponseStatus.PARTIAL_CONTENT;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,10 +24,12 @@ import com.gentics.mesh.handler.impl.RangeRequestHandlerImpl;
 import com.gentics.mesh.http.MeshHeaders;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.storage.LocalBinaryFile;
 import com.gentics.mesh.util.ETag;
 import com.gentics.mesh.util.RxUtil;
 
 import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerResponse;
@@ -35,6 +42,8 @@ import io.vertx.ext.web.RoutingContext;
 @Singleton
 public class BinaryFieldResponseHandler {
 
+	private static final Pattern RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
+
 	private ImageManipulator imageManipulator;
 
 	private BinaryStorage storage;
@@ -107,18 +116,42 @@ public class BinaryFieldResponseHandler {
 		// Set to IDENTITY to avoid gzip compression
 		response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
 
-		String localPath = storage.getLocalPath(binary.getUuid());
-		if (localPath != null) {
+		LocalBinaryFile localFile = storage.openLocalFile(binary.getUuid());
+		if (localFile != null) {
+			// The file must be kept until it has been sent
+			response.endHandler(v -> localFile.close());
+			response.closeHandler(v -> localFile.close());
 			RangeRequestHandler handler = new RangeRequestHandlerImpl();
-			handler.handle(rc, localPath, contentType);
+			handler.handle(rc, localFile.getPath(), contentType);
 		} else {
-			String contentLength = String.valueOf(binary.getSize());
+			long size = binary.getSize();
+			Flowable<Buffer> data = binary.getStream();
+			long contentLength = size;
+			String range = rc.request().getHeader(HttpHeaders.RANGE);
+			Matcher m = range == null ? null : RANGE.matcher(range);
+			if (m != null && m.matches()) {
+				long offset = Long.parseLong(m.group(1));
+				long end = m.group(2).isEmpty() ? size - 1 : Math.min(size - 1, Long.parseLong(m.group(2)));
+				if (offset >= size || end < offset) {
+					response.putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+					rc.fail(REQUESTED_RANGE_NOT_SATISFIABLE.code());
+					return;
+				}
+				// Only the requested range will be loaded from the storage
+				contentLength = end + 1 - offset;
+				data = storage.read(binary.getUuid(), offset, contentLength);
+				response.setStatusCode(PARTIAL_CONTENT.code());
+				response.putHeader(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + size);
+			}
 			if (contentType != null) {
 				response.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
 			}
+			response.putHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
 			response.putHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate");
-			response.putHeader(HttpHeaders.CONTENT_LENGTH, contentLength);
-			binary.getStream().subscribe(response::write, rc::fail, response::end);
+			response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+			// Only read further data once the client has received the previous data
+			Disposable transfer = RxUtil.pipe(data, response).subscribe(response::end, rc::fail);
+			response.closeHandler(v -> transfer.dispose());
 		}
 
 	}
@@ -137,21 +170,19 @@ public class BinaryFieldResponseHandler {
 		}
 		// Resize the image if needed
 		Flowable<Buffer> data = binary.getStream();
-		Flowable<Buffer> resizedData = imageManipulator.handleResize(data, sha512sum, imageParams)
-			.toFlowable()
-			.map(fileWithProps -> {
-				response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileWithProps.getProps().size()));
-				response.putHeader(HttpHeaders.CONTENT_TYPE, fileWithProps.getMimeType());
-				response.putHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate");
-				response.putHeader(MeshHeaders.WEBROOT_RESPONSE_TYPE, "binary");
-				// Set to IDENTITY to avoid gzip compression
-				response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
-
-				// TODO encode filename?
-				response.putHeader("content-disposition", "inline; filename=" + fileName);
-				return fileWithProps.getFile();
-			}).flatMap(RxUtil::toBufferFlow);
-		resizedData.subscribe(response::write, rc::fail, response::end);
+		imageManipulator.handleResize(data, sha512sum, imageParams).subscribe(fileWithProps -> {
+			// The cached variant is served directly from the disk
+			fileWithProps.getFile().close();
+			response.putHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate");
+			response.putHeader(MeshHeaders.WEBROOT_RESPONSE_TYPE, "binary");
+			// Set to IDENTITY to avoid gzip compression
+			response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+
+			// TODO encode filename?
+			response.putHeader("content-disposition", "inline; filename=" + fileName);
+			RangeRequestHandler handler = new RangeRequestHandlerImpl();
+			handler.handle(rc, fileWithProps.getPath(), fileWithProps.getMimeType());
+		}, rc::fail);
 
 	}
 
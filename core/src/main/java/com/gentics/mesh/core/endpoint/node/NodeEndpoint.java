@@ -4,6 +4,8 @@ import static com.gentics.mesh.example.ExampleUuids.NODE_DELOREAN_UUID;
 import static com.gentics.mesh.example.ExampleUuids.TAG_RED_UUID;
 import static com.gentics.mesh.example.ExampleUuids.UUID_1;
 import static com.gentics.mesh.http.HttpConstants.APPLICATION_JSON;
+import static com.gentics.mesh.http.HttpConstants.APPLICATION_OFFSET_OCTET_STREAM;
+import static com.gentics.mesh.http.HttpConstants.UPLOAD_OFFSET;
 import static io.netty.handler.codec.http.HttpResponseStatus.CONFLICT;
 import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
@@ -11,6 +13,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.vertx.core.http.HttpMethod.DELETE;
 import static io.vertx.core.http.HttpMethod.GET;
+import static io.vertx.core.http.HttpMethod.PATCH;
 import static io.vertx.core.http.HttpMethod.POST;
 
 import javax.inject.Inject;
@@ -47,15 +50,19 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 
 	private BinaryFieldHandler binaryFieldHandler;
 
+	private ResumableUploadHandler resumableUploadHandler;
+
 	public NodeEndpoint() {
 		super("nodes", null, null);
 	}
 
 	@Inject
-	public NodeEndpoint(MeshAuthChain chain, BootstrapInitializer boot, NodeCrudHandler crudHandler, BinaryFieldHandler fieldAPIHandler) {
+	public NodeEndpoint(MeshAuthChain chain, BootstrapInitializer boot, NodeCrudHandler crudHandler, BinaryFieldHandler fieldAPIHandler,
+		ResumableUploadHandler resumableUploadHandler) {
 		super("nodes", chain, boot);
 		this.crudHandler = crudHandler;
 		this.binaryFieldHandler = fieldAPIHandler;
+		this.resumableUploadHandler = resumableUploadHandler;
 	}
 
 	@Override
@@ -80,6 +87,7 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 		addTagsHandler();
 		addMoveHandler();
 		addBinaryHandlers();
+		addResumableUploadHandlers();
 		addLanguageHandlers();
 		addNavigationHandlers();
 		addPublishHandlers();
@@ -182,6 +190,79 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 
 	}
 
+	private void addResumableUploadHandlers() {
+		InternalEndpointRoute uploadCreate = createRoute();
+		uploadCreate.path("/:nodeUuid/binary/:fieldName/uploads");
+		uploadCreate.addUriParameter("nodeUuid", "Uuid of the node.", NODE_DELOREAN_UUID);
+		uploadCreate.addUriParameter("fieldName", "Name of the binary field.", "image");
+		uploadCreate.method(POST);
+		uploadCreate.produces(APPLICATION_JSON);
+		uploadCreate.consumes(APPLICATION_JSON);
+		uploadCreate.exampleRequest(nodeExamples.getResumableUploadRequest());
+		uploadCreate.exampleResponse(CREATED, nodeExamples.getResumableUploadResponse(), "The upload was started.");
+		uploadCreate.exampleResponse(NOT_FOUND, miscExamples.createMessageResponse(), "The node could not be found.");
+		uploadCreate.description("Start a resumable upload for the binary field with the given name. The data can afterwards be sent in chunks.");
+		uploadCreate.blockingHandler(rc -> {
+			String uuid = rc.request().getParam("nodeUuid");
+			String fieldName = rc.request().getParam("fieldName");
+			resumableUploadHandler.handleCreate(wrap(rc), uuid, fieldName);
+		}, false);
+
+		InternalEndpointRoute uploadRead = createRoute();
+		uploadRead.path("/:nodeUuid/binary/:fieldName/uploads/:uploadUuid");
+		uploadRead.addUriParameter("nodeUuid", "Uuid of the node.", NODE_DELOREAN_UUID);
+		uploadRead.addUriParameter("fieldName", "Name of the binary field.", "image");
+		uploadRead.addUriParameter("uploadUuid", "Uuid of the upload.", UUID_1);
+		uploadRead.method(GET);
+		uploadRead.produces(APPLICATION_JSON);
+		uploadRead.exampleResponse(OK, nodeExamples.getResumableUploadResponse(), "The response contains the offset at which the upload can be resumed.");
+		uploadRead.exampleResponse(NOT_FOUND, miscExamples.createMessageResponse(), "The upload could not be found.");
+		uploadRead.description("Load the state of the resumable upload.");
+		uploadRead.blockingHandler(rc -> {
+			String uuid = rc.request().getParam("nodeUuid");
+			String fieldName = rc.request().getParam("fieldName");
+			String uploadUuid = rc.request().getParam("uploadUuid");
+			resumableUploadHandler.handleRead(wrap(rc), uuid, fieldName, uploadUuid);
+		}, false);
+
+		InternalEndpointRoute uploadAppend = createRoute();
+		uploadAppend.path("/:nodeUuid/binary/:fieldName/uploads/:uploadUuid");
+		uploadAppend.addUriParameter("nodeUuid", "Uuid of the node.", NODE_DELOREAN_UUID);
+		uploadAppend.addUriParameter("fieldName", "Name of the binary field.", "image");
+		uploadAppend.addUriParameter("uploadUuid", "Uuid of the upload.", UUID_1);
+		uploadAppend.method(PATCH);
+		uploadAppend.produces(APPLICATION_JSON);
+		uploadAppend.consumes(APPLICATION_OFFSET_OCTET_STREAM);
+		uploadAppend.exampleResponse(OK, nodeExamples.getResumableUploadResponse(),
+			"The chunk was stored. The response contains the updated node once the last chunk has been received.");
+		uploadAppend.exampleResponse(CONFLICT, miscExamples.createMessageResponse(), "The offset of the chunk does not match the offset of the upload.");
+		uploadAppend.description("Append the chunk to the resumable upload. The " + UPLOAD_OFFSET
+			+ " header must contain the current offset of the upload. The binary field will be updated once the last chunk has been received.");
+		uploadAppend.handler(rc -> {
+			String uuid = rc.request().getParam("nodeUuid");
+			String fieldName = rc.request().getParam("fieldName");
+			String uploadUuid = rc.request().getParam("uploadUuid");
+			resumableUploadHandler.handleAppend(rc, uuid, fieldName, uploadUuid);
+		});
+
+		InternalEndpointRoute uploadAbort = createRoute();
+		uploadAbort.path("/:nodeUuid/binary/:fieldName/uploads/:uploadUuid");
+		uploadAbort.addUriParameter("nodeUuid", "Uuid of the node.", NODE_DELOREAN_UUID);
+		uploadAbort.addUriParameter("fieldName", "Name of the binary field.", "image");
+		uploadAbort.addUriParameter("uploadUuid", "Uuid of the upload.", UUID_1);
+		uploadAbort.method(DELETE);
+		uploadAbort.produces(APPLICATION_JSON);
+		uploadAbort.exampleResponse(NO_CONTENT, "The upload was aborted.");
+		uploadAbort.exampleResponse(NOT_FOUND, miscExamples.createMessageResponse(), "The upload could not be found.");
+		uploadAbort.description("Abort the resumable upload and remove the received data.");
+		uploadAbort.blockingHandler(rc -> {
+			String uuid = rc.request().getParam("nodeUuid");
+			String fieldName = rc.request().getParam("fieldName");
+			String uploadUuid = rc.request().getParam("uploadUuid");
+			resumableUploadHandler.handleAbort(wrap(rc), uuid, fieldName, uploadUuid);
+		}, false);
+	}
+
 	private void addMoveHandler() {
 		InternalEndpointRoute endpoint = createRoute();
 		endpoint.path("/:nodeUuid/moveTo/:toUuid");
@@ -0,0 +1,70 @@
+package com.gentics.mesh.core.endpoint.node;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+
+/**
+ * Result of the upload processing. It contains the hash of the upload and the information which was extracted by the binary data processors.
+ */
+public class ProcessedUpload {
+
+	private final String hash;
+
+	private final List<Consumer<BinaryGraphField>> metadata;
+
+	private volatile boolean stored = false;
+
+	/**
+	 * Create a new result.
+	 *
+	 * @param hash
+	 *            SHA 512 checksum of the upload
+	 * @param metadata
+	 *            Consumers which apply the extracted information to the binary field
+	 */
+	public ProcessedUpload(String hash, List<Consumer<BinaryGraphField>> metadata) {
+		this.hash = hash;
+		this.metadata = metadata;
+	}
+
+	/**
+	 * Return the SHA 512 checksum of the upload.
+	 *
+	 * @return
+	 */
+	public String getHash() {
+		return hash;
+	}
+
+	/**
+	 * Check whether the data of the upload has been written to the binary storage.
+	 *
+	 * @return
+	 */
+	public boolean isStored() {
+		return stored;
+	}
+
+	/**
+	 * Set the flag which indicates that the data of the upload has been written to the binary storage.
+	 *
+	 * @param stored
+	 */
+	public void setStored(boolean stored) {
+		this.stored = stored;
+	}
+
+	/**
+	 * Apply the extracted information to the given field.
+	 *
+	 * @param field
+	 */
+	public void apply(BinaryGraphField field) {
+		for (Consumer<BinaryGraphField> consumer : metadata) {
+			consumer.accept(field);
+		}
+	}
+
+}
@@ -0,0 +1,536 @@
+package com.gentics.mesh.core.endpoint.node;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.UPDATE_PERM;
+import static com.gentics.mesh.core.rest.error.Errors.error;
+import static com.gentics.mesh.http.HttpConstants.UPLOAD_OFFSET;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.CONFLICT;
+import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
+import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.context.impl.InternalRoutingActionContextImpl;
+import com.gentics.mesh.core.endpoint.handler.AbstractHandler;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadResponse;
+import com.gentics.mesh.etc.config.MeshUploadOptions;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
+import com.gentics.mesh.util.FileUtils;
+import com.gentics.mesh.util.UUIDUtil;
+
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.web.FileUpload;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Handler for resumable binary uploads.
+ *
+ * A resumable upload is started by posting the upload information. The data is afterwards sent in chunks using PATCH requests which contain the
+ * <code>Upload-Offset</code> header. The chunks are streamed into a part file within the upload temp directory and the SHA-512 checksum is computed
+ * incrementally while the chunks are received by the same instance. The binary field of the node is updated once the last chunk has been received. The current offset can be loaded at any time in order to
+ * resume an interrupted upload.
+ */
+@Singleton
+public class ResumableUploadHandler extends AbstractHandler {
+
+	private static final Logger log = LoggerFactory.getLogger(ResumableUploadHandler.class);
+
+	/**
+	 * Time after which uploads which did not receive any data are removed.
+	 */
+	public static final long UPLOAD_TIMEOUT = TimeUnit.HOURS.toMillis(24);
+
+	private static final String UPLOAD_FOLDER = "resumable";
+
+	private static final String PART_EXTENSION = ".part";
+
+	private static final String INFO_EXTENSION = ".json";
+
+	private final Database db;
+
+	private final BinaryFieldHandler binaryFieldHandler;
+
+	/**
+	 * Incremental checksums of the uploads. A checksum is only used if it covers all data of the part file. Otherwise (e.g. a chunk was received by a
+	 * different instance) it is dropped and the checksum is computed while the completed upload is stored.
+	 */
+	private final Map<String, UploadDigest> digests = new ConcurrentHashMap<>();
+
+	/**
+	 * Uploads which are currently receiving a chunk.
+	 */
+	private final Set<String> activeUploads = ConcurrentHashMap.newKeySet();
+
+	@Inject
+	public ResumableUploadHandler(Database db, BinaryFieldHandler binaryFieldHandler) {
+		this.db = db;
+		this.binaryFieldHandler = binaryFieldHandler;
+	}
+
+	/**
+	 * Handle the request which starts a new resumable upload.
+	 *
+	 * @param ac
+	 * @param nodeUuid
+	 *            Uuid of the node which should be updated
+	 * @param fieldName
+	 *            Name of the binary field
+	 */
+	public void handleCreate(InternalActionContext ac, String nodeUuid, String fieldName) {
+		validateParameter(nodeUuid, "uuid");
+		validateParameter(fieldName, "fieldName");
+		ResumableUploadRequest request = JsonUtil.readValue(ac.getBodyAsString(), ResumableUploadRequest.class);
+		if (isEmpty(request.getLanguage())) {
+			throw error(BAD_REQUEST, "upload_error_no_language");
+		}
+		if (isEmpty(request.getVersion())) {
+			throw error(BAD_REQUEST, "upload_error_no_version");
+		}
+		if (isEmpty(request.getFileName())) {
+			throw error(BAD_REQUEST, "upload_error_no_filename");
+		}
+		if (isEmpty(request.getMimeType())) {
+			throw error(BAD_REQUEST, "upload_error_no_mimetype");
+		}
+		if (request.getSize() == null || request.getSize() < 0) {
+			throw error(BAD_REQUEST, "upload_error_invalid_size");
+		}
+		MeshUploadOptions uploadOptions = Mesh.mesh().getOptions().getUploadOptions();
+		long byteLimit = uploadOptions.getByteLimit();
+		if (request.getSize() > byteLimit) {
+			String humanReadableFileSize = org.apache.commons.io.FileUtils.byteCountToDisplaySize(request.getSize());
+			String humanReadableUploadLimit = org.apache.commons.io.FileUtils.byteCountToDisplaySize(byteLimit);
+			throw error(BAD_REQUEST, "node_error_uploadlimit_reached", humanReadableFileSize, humanReadableUploadLimit);
+		}
+
+		// Check the permission before the upload is accepted
+		db.tx(() -> {
+			ac.getProject().getNodeRoot().loadObjectByUuid(ac, nodeUuid, UPDATE_PERM);
+		});
+
+		purgeExpiredUploads();
+
+		String uploadUuid = UUIDUtil.randomUUID();
+		JsonObject info = new JsonObject();
+		info.put("nodeUuid", nodeUuid);
+		info.put("fieldName", fieldName);
+		info.put("userUuid", ac.getUser().getUuid());
+		info.put("request", new JsonObject(JsonUtil.toJson(request)));
+		try {
+			File folder = getUploadFolder();
+			folder.mkdirs();
+			org.apache.commons.io.FileUtils.writeStringToFile(getInfoFile(uploadUuid), info.encode(), StandardCharsets.UTF_8);
+			getPartFile(uploadUuid).createNewFile();
+		} catch (IOException e) {
+			log.error("Could not create upload {" + uploadUuid + "}", e);
+			throw error(INTERNAL_SERVER_ERROR, "error_internal");
+		}
+		digests.put(uploadUuid, new UploadDigest());
+		ac.send(toResponse(uploadUuid, 0, request.getSize()), CREATED);
+	}
+
+	/**
+	 * Handle the request which loads the current state of the upload.
+	 *
+	 * @param ac
+	 * @param nodeUuid
+	 * @param fieldName
+	 * @param uploadUuid
+	 */
+	public void handleRead(InternalActionContext ac, String nodeUuid, String fieldName, String uploadUuid) {
+		JsonObject info = loadInfo(ac, nodeUuid, fieldName, uploadUuid);
+		ac.send(toResponse(uploadUuid, getPartFile(uploadUuid).length(), getRequest(info).getSize()), OK);
+	}
+
+	/**
+	 * Handle the request which aborts the upload and removes the received data.
+	 *
+	 * @param ac
+	 * @param nodeUuid
+	 * @param fieldName
+	 * @param uploadUuid
+	 */
+	public void handleAbort(InternalActionContext ac, String nodeUuid, String fieldName, String uploadUuid) {
+		loadInfo(ac, nodeUuid, fieldName, uploadUuid);
+		if (!activeUploads.add(uploadUuid)) {
+			throw error(CONFLICT, "upload_error_in_progress", uploadUuid);
+		}
+		try {
+			remove(uploadUuid);
+		} finally {
+			activeUploads.remove(uploadUuid);
+		}
+		ac.send(NO_CONTENT);
+	}
+
+	/**
+	 * Handle the request which appends a chunk to the upload. The request body is streamed into the part file. The request must be paused by the
+	 * caller.
+	 *
+	 * @param rc
+	 * @param nodeUuid
+	 * @param fieldName
+	 * @param uploadUuid
+	 */
+	public void handleAppend(RoutingContext rc, String nodeUuid, String fieldName, String uploadUuid) {
+		InternalActionContext ac = new InternalRoutingActionContextImpl(rc);
+		HttpServerRequest request = rc.request();
+		String offsetHeader = request.getHeader(UPLOAD_OFFSET);
+		long offset;
+		try {
+			offset = Long.parseLong(offsetHeader);
+		} catch (NumberFormatException e) {
+			discard(request);
+			throw error(BAD_REQUEST, "upload_error_invalid_offset", String.valueOf(offsetHeader));
+		}
+
+		vertx.<JsonObject>executeBlocking(bc -> {
+			JsonObject info = loadInfo(ac, nodeUuid, fieldName, uploadUuid);
+			if (!activeUploads.add(uploadUuid)) {
+				throw error(CONFLICT, "upload_error_in_progress", uploadUuid);
+			}
+			long currentOffset = getPartFile(uploadUuid).length();
+			if (currentOffset != offset) {
+				activeUploads.remove(uploadUuid);
+				throw error(CONFLICT, "upload_error_offset_mismatch", String.valueOf(offset), String.valueOf(currentOffset));
+			}
+			bc.complete(info);
+		}, false, rh -> {
+			if (rh.failed()) {
+				discard(request);
+				ac.fail(rh.cause());
+				return;
+			}
+			ResumableUploadRequest info = getRequest(rh.result());
+			receive(request, uploadUuid, offset, info.getSize(), error -> {
+				long received = getPartFile(uploadUuid).length();
+				if (error != null || received < info.getSize()) {
+					activeUploads.remove(uploadUuid);
+					if (error != null) {
+						ac.fail(error);
+					} else {
+						ac.send(toResponse(uploadUuid, received, info.getSize()), OK);
+					}
+				} else {
+					complete(ac, nodeUuid, fieldName, uploadUuid, info);
+				}
+			});
+		});
+	}
+
+	/**
+	 * Discard the body of the paused request. This keeps the connection usable once the error response has been sent.
+	 *
+	 * @param request
+	 */
+	private void discard(HttpServerRequest request) {
+		request.handler(buffer -> {
+		});
+		request.exceptionHandler(e -> {
+		});
+		request.resume();
+	}
+
+	/**
+	 * Stream the request body into the part file. The data is also added to the checksum of the upload. The request is paused whenever the write queue of
+	 * the file is full in order to keep the memory usage flat.
+	 *
+	 * @param request
+	 * @param uploadUuid
+	 * @param offset
+	 *            Position at which the data will be written
+	 * @param size
+	 *            Total size of the upload
+	 * @param done
+	 *            Handler which is invoked once the chunk has been written. The error is null if the chunk was written successfully.
+	 */
+	private void receive(HttpServerRequest request, String uploadUuid, long offset, long size, Handler<Throwable> done) {
+		UploadDigest digest = offset == 0 ? new UploadDigest() : digests.get(uploadUuid);
+		if (digest != null && digest.getLength() != offset) {
+			// The checksum does not cover the data which was written before (e.g. by a different instance)
+			digest = null;
+		}
+		if (digest != null) {
+			digests.put(uploadUuid, digest);
+		} else {
+			digests.remove(uploadUuid);
+		}
+		UploadDigest chunkDigest = digest;
+		long[] position = { offset };
+		Throwable[] failure = { null };
+		vertx.fileSystem().open(getPartFile(uploadUuid).getAbsolutePath(), new OpenOptions().setWrite(true).setCreate(false), fh -> {
+			if (fh.failed()) {
+				request.resume();
+				done.handle(fh.cause());
+				return;
+			}
+			AsyncFile file = fh.result();
+			file.setWritePos(offset);
+			file.exceptionHandler(e -> {
+				// The checksum no longer matches the written data
+				digests.remove(uploadUuid);
+				failure[0] = e;
+			});
+			request.handler(buffer -> {
+				if (failure[0] != null) {
+					return;
+				}
+				position[0] += buffer.length();
+				if (position[0] > size) {
+					failure[0] = error(BAD_REQUEST, "upload_error_size_exceeded", String.valueOf(size));
+					return;
+				}
+				if (chunkDigest != null) {
+					chunkDigest.update(buffer);
+				}
+				file.write(buffer);
+				if (file.writeQueueFull()) {
+					request.pause();
+					file.drainHandler(v -> request.resume());
+				}
+			});
+			request.exceptionHandler(e -> {
+				if (failure[0] == null) {
+					failure[0] = e;
+				}
+			});
+			request.endHandler(v -> close(file, failure, done));
+			request.resume();
+		});
+	}
+
+	private void close(AsyncFile file, Throwable[] failure, Handler<Throwable> done) {
+		file.close(ch -> {
+			if (failure[0] == null && ch.failed()) {
+				failure[0] = ch.cause();
+			}
+			done.handle(failure[0]);
+		});
+	}
+
+	/**
+	 * Update the binary field using the completely received upload. The received data is removed once the field has been updated. The data is kept if the
+	 * update failed so that the update can be repeated by sending an empty chunk. The upload must be locked by the caller. The lock is released once the
+	 * update has been completed.
+	 *
+	 * @param ac
+	 * @param nodeUuid
+	 * @param fieldName
+	 * @param uploadUuid
+	 * @param info
+	 */
+	private void complete(InternalActionContext ac, String nodeUuid, String fieldName, String uploadUuid, ResumableUploadRequest info) {
+		File partFile = getPartFile(uploadUuid);
+		Single.defer(() -> {
+			// The checksum will be computed while the data is stored if the incremental checksum does not cover all received data
+			UploadDigest digest = digests.get(uploadUuid);
+			String hash = digest != null && digest.getLength() == partFile.length() ? digest.getHash() : null;
+			FileUpload upload = new ResumableFileUpload(partFile, info);
+			return binaryFieldHandler.updateBinaryField(ac, nodeUuid, fieldName, info.getLanguage(), info.getVersion(), upload, hash);
+		}).subscribeOn(Schedulers.io()).doFinally(() -> activeUploads.remove(uploadUuid)).subscribe(node -> {
+			remove(uploadUuid);
+			ac.send(toResponse(uploadUuid, info.getSize(), info.getSize()).setNode(node), OK);
+		}, ac::fail);
+	}
+
+	/**
+	 * Load the stored information of the upload and verify that the upload belongs to the field and to the user.
+	 *
+	 * @param ac
+	 * @param nodeUuid
+	 * @param fieldName
+	 * @param uploadUuid
+	 * @return
+	 */
+	private JsonObject loadInfo(InternalActionContext ac, String nodeUuid, String fieldName, String uploadUuid) {
+		validateParameter(uploadUuid, "uploadUuid");
+		if (!UUIDUtil.isUUID(uploadUuid)) {
+			throw error(NOT_FOUND, "upload_error_session_not_found", uploadUuid);
+		}
+		File infoFile = getInfoFile(uploadUuid);
+		if (!infoFile.exists() || !getPartFile(uploadUuid).exists()) {
+			throw error(NOT_FOUND, "upload_error_session_not_found", uploadUuid);
+		}
+		JsonObject info;
+		try {
+			info = new JsonObject(org.apache.commons.io.FileUtils.readFileToString(infoFile, StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw error(NOT_FOUND, "upload_error_session_not_found", uploadUuid);
+		}
+		if (!nodeUuid.equals(info.getString("nodeUuid")) || !fieldName.equals(info.getString("fieldName"))
+			|| !ac.getUser().getUuid().equals(info.getString("userUuid"))) {
+			throw error(NOT_FOUND, "upload_error_session_not_found", uploadUuid);
+		}
+		return info;
+	}
+
+	private ResumableUploadRequest getRequest(JsonObject info) {
+		return JsonUtil.readValue(info.getJsonObject("request").encode(), ResumableUploadRequest.class);
+	}
+
+	private ResumableUploadResponse toResponse(String uploadUuid, long offset, long size) {
+		return new ResumableUploadResponse().setUuid(uploadUuid).setOffset(offset).setSize(size);
+	}
+
+	/**
+	 * Remove the received data and the information of the upload.
+	 *
+	 * @param uploadUuid
+	 */
+	private void remove(String uploadUuid) {
+		digests.remove(uploadUuid);
+		getPartFile(uploadUuid).delete();
+		getInfoFile(uploadUuid).delete();
+	}
+
+	/**
+	 * Remove uploads which did not receive data within the {@link #UPLOAD_TIMEOUT}.
+	 */
+	private void purgeExpiredUploads() {
+		File[] files = getUploadFolder().listFiles((dir, name) -> name.endsWith(INFO_EXTENSION));
+		if (files == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		for (File infoFile : files) {
+			String uploadUuid = infoFile.getName().substring(0, infoFile.getName().length() - INFO_EXTENSION.length());
+			File partFile = getPartFile(uploadUuid);
+			long lastModified = Math.max(infoFile.lastModified(), partFile.lastModified());
+			if (now - lastModified > UPLOAD_TIMEOUT && !activeUploads.contains(uploadUuid)) {
+				if (log.isDebugEnabled()) {
+					log.debug("Removing expired upload {" + uploadUuid + "}");
+				}
+				remove(uploadUuid);
+			}
+		}
+	}
+
+	private File getUploadFolder() {
+		return new File(Mesh.mesh().getOptions().getUploadOptions().getTempDirectory(), UPLOAD_FOLDER);
+	}
+
+	private File getPartFile(String uploadUuid) {
+		return new File(getUploadFolder(), uploadUuid + PART_EXTENSION);
+	}
+
+	private File getInfoFile(String uploadUuid) {
+		return new File(getUploadFolder(), uploadUuid + INFO_EXTENSION);
+	}
+
+	/**
+	 * Incremental checksum of an upload which also tracks the amount of bytes which were added to the checksum.
+	 */
+	private static class UploadDigest {
+
+		private final MessageDigest digest = FileUtils.createDigest();
+
+		private volatile long length = 0;
+
+		/**
+		 * Add the data to the checksum.
+		 *
+		 * @param buffer
+		 */
+		synchronized void update(Buffer buffer) {
+			digest.update(buffer.getBytes());
+			length += buffer.length();
+		}
+
+		/**
+		 * Return the amount of bytes which were added to the checksum.
+		 *
+		 * @return
+		 */
+		long getLength() {
+			return length;
+		}
+
+		/**
+		 * Return the hex encoded checksum of the data which has been added so far.
+		 *
+		 * @return
+		 * @throws CloneNotSupportedException
+		 */
+		synchronized String getHash() throws CloneNotSupportedException {
+			return FileUtils.bytesToHex(((MessageDigest) digest.clone()).digest());
+		}
+	}
+
+	/**
+	 * {@link FileUpload} which represents the completely received data of a resumable upload.
+	 */
+	private static class ResumableFileUpload implements FileUpload {
+
+		private final File file;
+
+		private final ResumableUploadRequest info;
+
+		public ResumableFileUpload(File file, ResumableUploadRequest info) {
+			this.file = file;
+			this.info = info;
+		}
+
+		@Override
+		public String name() {
+			return "file";
+		}
+
+		@Override
+		public String uploadedFileName() {
+			return file.getAbsolutePath();
+		}
+
+		@Override
+		public String fileName() {
+			return info.getFileName();
+		}
+
+		@Override
+		public long size() {
+			return file.length();
+		}
+
+		@Override
+		public String contentType() {
+			return info.getMimeType();
+		}
+
+		@Override
+		public String contentTransferEncoding() {
+			return "binary";
+		}
+
+		@Override
+		public String charSet() {
+			return null;
+		}
+	}
+
+}
@@ -2,6 +2,9 @@ package com.gentics.mesh.core.verticle.job;
 
 import static com.gentics.mesh.MeshEvent.JOB_WORKER_ADDRESS;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -10,13 +13,17 @@ import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.data.job.JobRoot;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.verticle.AbstractJobVerticle;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import dagger.Lazy;
 import io.reactivex.Completable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 import io.vertx.core.eventbus.Message;
 
 /**
- * Dedicated verticle which will process jobs.
+ * Dedicated verticle which will process jobs. The global job lock is only held while the pending jobs are claimed. The claimed jobs are executed by a
+ * bounded pool of job workers.
  */
 @Singleton
 public class JobWorkerVerticle extends AbstractJobVerticle {
@@ -37,12 +44,32 @@ public class JobWorkerVerticle extends AbstractJobVerticle {
 
 	private Database db;
 
+	private ExecutorService jobExecutor;
+
+	private Scheduler jobScheduler;
+
 	@Inject
 	public JobWorkerVerticle(Database db, Lazy<BootstrapInitializer> boot) {
 		this.db = db;
 		this.boot = boot;
 	}
 
+	@Override
+	public void start() throws Exception {
+		int workerCount = Mesh.mesh().getOptions().getMigrationOptions().getJobWorkerCount();
+		jobExecutor = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder().setNameFormat("mesh-job-worker-%d").build());
+		jobScheduler = Schedulers.from(jobExecutor);
+		super.start();
+	}
+
+	@Override
+	public void stop() throws Exception {
+		super.stop();
+		if (jobExecutor != null) {
+			jobExecutor.shutdown();
+		}
+	}
+
 	@Override
 	public String getJobAdress() {
 		return JOB_WORKER_ADDRESS + Mesh.mesh().getOptions().getNodeName();
@@ -55,10 +82,18 @@ public class JobWorkerVerticle extends AbstractJobVerticle {
 
 	@Override
 	public Completable executeJob(Message<Object> message) {
-		return Completable.defer(() -> db.tx(() -> {
-			JobRoot jobRoot = boot.get().jobRoot();
-			return jobRoot.process();
-		}));
+		return Completable.fromAction(() -> {
+			Completable jobs = db.tx(() -> {
+				JobRoot jobRoot = boot.get().jobRoot();
+				return jobRoot.process(jobScheduler);
+			});
+			// The jobs have been claimed. They are executed without holding the lock so that other jobs can be scheduled meanwhile.
+			jobs.subscribe(() -> {
+				log.debug("Processed jobs");
+			}, error -> {
+				log.error("Error while processing jobs", error);
+			});
+		});
 	}
 
 }
@@ -160,6 +160,7 @@ public class RangeRequestHandlerImpl implements RangeRequestHandler {
 		FileProps entry = propsCache().get(file);
 		if (entry != null) {
 			resultHandler.handle(Future.succeededFuture(entry));
+			return;
 		}
 
 		FileSystem fs = context.vertx().fileSystem();
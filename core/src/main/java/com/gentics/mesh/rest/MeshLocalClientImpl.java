@@ -49,6 +49,7 @@ import com.gentics.mesh.core.rest.group.GroupResponse;
 import com.gentics.mesh.core.rest.group.GroupUpdateRequest;
 import com.gentics.mesh.core.rest.job.JobListResponse;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.job.JobThrottle;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaCreateRequest;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaResponse;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaUpdateRequest;
@@ -60,6 +61,8 @@ import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
 import com.gentics.mesh.core.rest.node.NodeUpsertRequest;
 import com.gentics.mesh.core.rest.node.PublishStatusModel;
 import com.gentics.mesh.core.rest.node.PublishStatusResponse;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadResponse;
 import com.gentics.mesh.core.rest.plugin.PluginDeploymentRequest;
 import com.gentics.mesh.core.rest.plugin.PluginListResponse;
 import com.gentics.mesh.core.rest.plugin.PluginResponse;
@@ -1132,6 +1135,28 @@ public class MeshLocalClientImpl implements MeshRestClient {
 		return new MeshLocalRequestImpl<>(ac.getFuture());
 	}
 
+	@Override
+	public MeshRequest<ResumableUploadResponse> startResumableUpload(String projectName, String nodeUuid, String fieldKey,
+		ResumableUploadRequest request) {
+		return null;
+	}
+
+	@Override
+	public MeshRequest<ResumableUploadResponse> loadResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid) {
+		return null;
+	}
+
+	@Override
+	public MeshRequest<ResumableUploadResponse> appendResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid,
+		long offset, InputStream chunk, long chunkSize) {
+		return null;
+	}
+
+	@Override
+	public MeshRequest<EmptyResponse> abortResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid) {
+		return null;
+	}
+
 	@Override
 	public MeshRequest<String> resolveLinks(String body, ParameterProvider... parameters) {
 		LocalActionContextImpl<String> ac = createContext(String.class, parameters);
@@ -1428,6 +1453,21 @@ public class MeshLocalClientImpl implements MeshRestClient {
 		return null;
 	}
 
+	@Override
+	public MeshRequest<GenericMessageResponse> invokeImageRenditions() {
+		return null;
+	}
+
+	@Override
+	public MeshRequest<GenericMessageResponse> invokeBinaryGarbageCollection() {
+		return null;
+	}
+
+	@Override
+	public MeshRequest<GenericMessageResponse> binaryGarbageCollectionStatus() {
+		return null;
+	}
+
 	@Override
 	public MeshRequest<GenericMessageResponse> invokeExport() {
 		// TODO Auto-generated method stub
@@ -1509,6 +1549,16 @@ public class MeshLocalClientImpl implements MeshRestClient {
 		return null;
 	}
 
+	@Override
+	public MeshRequest<JobThrottle> loadJobThrottle() {
+		return null;
+	}
+
+	@Override
+	public MeshRequest<JobThrottle> updateJobThrottle(JobThrottle throttle) {
+		return null;
+	}
+
 	@Override
 	public MeshRequest<SchemaValidationResponse> validateSchema(Schema schema) {
 		return null;
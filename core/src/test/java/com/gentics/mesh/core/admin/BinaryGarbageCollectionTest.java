@@ -0,0 +1,80 @@
+package com.gentics.mesh.core.admin;
+
+import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.data.MeshVertex;
+import com.gentics.mesh.core.data.binary.Binary;
+import com.gentics.mesh.core.data.binary.impl.BinaryImpl;
+import com.gentics.mesh.core.rest.common.GenericMessageResponse;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.gentics.mesh.util.UUIDUtil;
+
+import io.reactivex.Flowable;
+import io.vertx.core.buffer.Buffer;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = true, inMemoryDB = true)
+public class BinaryGarbageCollectionTest extends AbstractMeshTest {
+
+	@Test
+	public void testGarbageCollection() throws InterruptedException {
+		grantAdminRole();
+		BinaryStorage storage = MeshInternal.get().binaryStorage();
+		long old = System.currentTimeMillis() - 2 * 60 * 60 * 1000;
+
+		// Binary which is not referenced by any field
+		String unreferencedUuid = tx(() -> {
+			Binary binary = boot().binaryRoot().create("unreferencedHash", 4L);
+			return binary.getUuid();
+		});
+		storage.store(Flowable.just(Buffer.buffer("data")), unreferencedUuid).blockingAwait();
+		File unreferencedFile = new File(storage.getLocalPath(unreferencedUuid));
+
+		// Data for which no binary exists
+		String orphanUuid = UUIDUtil.randomUUID();
+		storage.store(Flowable.just(Buffer.buffer("orphan")), orphanUuid).blockingAwait();
+		File orphanFile = new File(storage.getLocalPath(orphanUuid));
+		orphanFile.setLastModified(old);
+
+		// Data of a pending upload which is still within the grace period
+		String pendingUuid = UUIDUtil.randomUUID();
+		storage.store(Flowable.just(Buffer.buffer("pending")), pendingUuid).blockingAwait();
+		File pendingFile = new File(storage.getLocalPath(pendingUuid));
+
+		call(() -> client().invokeBinaryGarbageCollection());
+		GenericMessageResponse status = waitForGarbageCollection();
+
+		assertEquals(1L, ((Number) status.getProperty("removedBinaries")).longValue());
+		assertEquals(1L, ((Number) status.getProperty("removedFiles")).longValue());
+		assertEquals(10L, ((Number) status.getProperty("reclaimedBytes")).longValue());
+		assertFalse("The data of the unreferenced binary should have been deleted", unreferencedFile.exists());
+		assertFalse("The orphaned data should have been deleted", orphanFile.exists());
+		assertTrue("The data within the grace period should be kept", pendingFile.exists());
+		tx(() -> {
+			assertNull(db().findVertex(MeshVertex.UUID_KEY, unreferencedUuid, BinaryImpl.class));
+		});
+	}
+
+	private GenericMessageResponse waitForGarbageCollection() throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			GenericMessageResponse status = call(() -> client().binaryGarbageCollectionStatus());
+			if (!Boolean.TRUE.equals(status.getProperty("running"))) {
+				return status;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("The binary garbage collection did not finish in time");
+	}
+
+}
@@ -0,0 +1,194 @@
+package com.gentics.mesh.core.binary.impl;
+
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.XHTMLContentHandler;
+import org.junit.After;
+import org.junit.Test;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.binary.Binary;
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.etc.config.MeshUploadOptions;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.syncleus.ferma.tx.Tx;
+
+import io.reactivex.Flowable;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.FileUpload;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = false)
+public class TikaBinaryProcessorTest extends AbstractMeshTest {
+
+	private static final Buffer DATA = Buffer.buffer("some document");
+
+	@After
+	public void resetOptions() {
+		Mesh.mesh().getOptions().getUploadOptions()
+			.setParserThreads(MeshUploadOptions.DEFAULT_PARSER_THREADS)
+			.setParserTimeout(MeshUploadOptions.DEFAULT_PARSER_TIMEOUT)
+			.setParserLimit(MeshUploadOptions.DEFAULT_PARSER_LIMIT)
+			.setParserDeferred(MeshUploadOptions.DEFAULT_PARSER_DEFERRED);
+	}
+
+	@Test
+	public void testTimeoutReplacesStuckWorker() throws Exception {
+		Mesh.mesh().getOptions().getUploadOptions().setParserThreads(1).setParserTimeout(200);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		TikaBinaryProcessor processor = createProcessor(new TestParser((handler, metadata) -> {
+			if (calls.incrementAndGet() == 1) {
+				// Ignore the interruption like a parser which is stuck in a loop
+				Uninterruptibles.awaitUninterruptibly(release);
+			}
+			metadata.set("foo", "bar");
+		}));
+
+		try {
+			BinaryGraphField timedOut = mock(BinaryGraphField.class);
+			processor.process(mockUpload(), DATA).accept(timedOut);
+			verify(timedOut, never()).setMetadata(anyString(), anyString());
+			assertEquals("The stuck parser thread should have been replaced", 1, processor.getStuckWorkers());
+
+			// The only configured thread is still stuck. The document must be parsed by the replacement thread.
+			BinaryGraphField field = mock(BinaryGraphField.class);
+			processor.process(mockUpload(), DATA).accept(field);
+			verify(field).setMetadata("foo", "bar");
+		} finally {
+			release.countDown();
+		}
+		waitFor(() -> processor.getStuckWorkers() == 0);
+	}
+
+	@Test
+	public void testParserLimit() throws Exception {
+		Mesh.mesh().getOptions().getUploadOptions().setParserLimit(10);
+		TikaBinaryProcessor processor = createProcessor(new TestParser((handler, metadata) -> {
+			metadata.set("foo", "bar");
+			XHTMLContentHandler xhtml = new XHTMLContentHandler(handler, metadata);
+			xhtml.startDocument();
+			xhtml.characters(StringUtils.repeat('a', 100));
+			xhtml.endDocument();
+			metadata.set("late", "value");
+		}));
+
+		// The metadata which was found before the limit was reached is used
+		BinaryGraphField field = mock(BinaryGraphField.class);
+		processor.process(mockUpload(), DATA).accept(field);
+		verify(field).setMetadata("foo", "bar");
+		verify(field, never()).setMetadata("late", "value");
+
+		// The limit can be disabled
+		Mesh.mesh().getOptions().getUploadOptions().setParserLimit(-1);
+		BinaryGraphField unlimited = mock(BinaryGraphField.class);
+		processor.process(mockUpload(), DATA).accept(unlimited);
+		verify(unlimited).setMetadata("foo", "bar");
+		verify(unlimited).setMetadata("late", "value");
+	}
+
+	@Test
+	public void testDeferredFailureClearsMarker() throws Exception {
+		Mesh.mesh().getOptions().getUploadOptions().setParserDeferred(true);
+		TikaBinaryProcessor processor = createProcessor(new TestParser((handler, metadata) -> {
+			throw new TikaException("Broken document");
+		}));
+
+		try (Tx tx = tx()) {
+			Binary binary = boot().binaryRoot().create("someHash", (long) DATA.length());
+			MeshInternal.get().binaryStorage().store(Flowable.just(DATA), binary.getUuid()).blockingAwait();
+			BinaryGraphField field = content().getLatestDraftFieldContainer(english()).createBinary("binary", binary);
+			processor.process(mockUpload(), DATA).accept(field);
+			assertNotNull("The field should wait for the metadata", field.getMetadataUpload());
+			tx.success();
+		}
+
+		waitFor(() -> tx(() -> content().getLatestDraftFieldContainer(english()).getBinary("binary").getMetadataUpload() == null));
+		try (Tx tx = tx()) {
+			assertNull("The marker should be removed once the parsing failed", content().getLatestDraftFieldContainer(english()).getBinary("binary")
+				.getMetadataUpload());
+		}
+	}
+
+	private TikaBinaryProcessor createProcessor(Parser parser) {
+		return new TikaBinaryProcessor(db(), MeshInternal.get().binaryStorage(), MeshInternal.get().searchQueue(), parser);
+	}
+
+	private FileUpload mockUpload() {
+		FileUpload upload = mock(FileUpload.class);
+		when(upload.fileName()).thenReturn("test.pdf");
+		when(upload.uploadedFileName()).thenReturn("test.pdf");
+		when(upload.contentType()).thenReturn("application/pdf");
+		when(upload.size()).thenReturn((long) DATA.length());
+		return upload;
+	}
+
+	private void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > end) {
+				throw new AssertionError("The condition was not met in time");
+			}
+			Thread.sleep(100);
+		}
+	}
+
+	/**
+	 * Parse action of the {@link TestParser}.
+	 */
+	@FunctionalInterface
+	private interface ParseAction {
+		void parse(ContentHandler handler, Metadata metadata) throws IOException, SAXException, TikaException;
+	}
+
+	/**
+	 * Parser which invokes the given action instead of parsing the document.
+	 */
+	private static class TestParser implements Parser {
+
+		private final ParseAction action;
+
+		TestParser(ParseAction action) {
+			this.action = action;
+		}
+
+		@Override
+		public Set<MediaType> getSupportedTypes(ParseContext context) {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public void parse(InputStream stream, ContentHandler handler, Metadata metadata, ParseContext context) throws IOException, SAXException,
+			TikaException {
+			action.parse(handler, metadata);
+		}
+	}
+
+}
@@ -24,18 +24,22 @@ import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.gentics.mesh.FieldUtil;
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Project;
+import com.gentics.mesh.core.data.job.Job;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.branch.BranchCreateRequest;
 import com.gentics.mesh.core.rest.job.JobListResponse;
+import com.gentics.mesh.core.rest.job.JobResponse;
 import com.gentics.mesh.core.rest.node.NodeCreateRequest;
 import com.gentics.mesh.core.rest.node.NodeResponse;
 import com.gentics.mesh.core.rest.schema.impl.SchemaCreateRequest;
 import com.gentics.mesh.core.rest.schema.impl.SchemaReferenceImpl;
 import com.gentics.mesh.core.rest.schema.impl.SchemaResponse;
+import com.gentics.mesh.etc.config.MigrationOptions;
 import com.gentics.mesh.parameter.impl.PublishParametersImpl;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -204,6 +208,72 @@ public class BranchMigrationEndpointTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testChunkedMigration() throws Throwable {
+		MigrationOptions options = Mesh.mesh().getOptions().getMigrationOptions();
+		options.setBatchSize(2).setCheckpointInterval(3).setWorkerCount(2);
+		try {
+			Branch newBranch;
+			try (Tx tx = tx()) {
+				newBranch = project().getBranchRoot().create("newbranch", user());
+				tx.success();
+			}
+			String jobUuid = requestBranchMigration(newBranch);
+			triggerAndWaitForJob(jobUuid);
+
+			try (Tx tx = tx()) {
+				assertThat(newBranch.isMigrated()).as("Branch migration status").isEqualTo(true);
+				List<? extends Node> nodes = project().getNodeRoot().findAll().list();
+				for (Node node : nodes) {
+					assertThat(node.getGraphFieldContainers(initialBranch(), ContainerType.DRAFT).count()).as("Draft containers of node " + node
+						.getUuid()).isEqualTo(node.getGraphFieldContainers(newBranch, ContainerType.DRAFT).count());
+				}
+				JobResponse job = call(() -> client().findJobByUuid(jobUuid));
+				assertThat(job.getCompletionCount()).as("Completion count").isEqualTo(nodes.size());
+				assertThat(boot().jobRoot().findByUuid(jobUuid).getCheckpoint()).as("Checkpoint").isNull();
+			}
+		} finally {
+			options.setBatchSize(MigrationOptions.DEFAULT_BATCH_SIZE).setCheckpointInterval(MigrationOptions.DEFAULT_CHECKPOINT_INTERVAL)
+				.setWorkerCount(MigrationOptions.DEFAULT_WORKER_COUNT);
+		}
+	}
+
+	@Test
+	public void testResumeMigration() throws Throwable {
+		Branch newBranch;
+		try (Tx tx = tx()) {
+			newBranch = project().getBranchRoot().create("newbranch", user());
+			tx.success();
+		}
+
+		// Simulate a previous run which migrated the nodes but was interrupted before the branch was marked as migrated
+		meshDagger().branchMigrationHandler().migrateBranch(newBranch, null).blockingAwait();
+		String jobUuid;
+		try (Tx tx = tx()) {
+			newBranch.setMigrated(false);
+			Job job = boot().jobRoot().enqueueBranchMigration(user(), newBranch);
+			job.setCheckpoint("3");
+			job.setCompletionCount(3);
+			jobUuid = job.getUuid();
+			tx.success();
+		}
+
+		triggerAndWaitForJob(jobUuid);
+
+		try (Tx tx = tx()) {
+			assertThat(newBranch.isMigrated()).as("Branch migration status").isEqualTo(true);
+			List<? extends Node> nodes = project().getNodeRoot().findAll().list();
+			for (Node node : nodes) {
+				// Nodes which have already been migrated must not be migrated again
+				assertThat(node.getGraphFieldContainers(newBranch, ContainerType.INITIAL).count()).as("Initial containers of node " + node
+					.getUuid()).isEqualTo(node.getGraphFieldContainers(initialBranch(), ContainerType.INITIAL).count());
+			}
+			// The resumed run visits all nodes again and restarts the completion count
+			JobResponse job = call(() -> client().findJobByUuid(jobUuid));
+			assertThat(job.getCompletionCount()).as("Completion count").isEqualTo(nodes.size());
+		}
+	}
+
 	@Test
 	public void testBigData() throws Throwable {
 
@@ -0,0 +1,128 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.etc.config.MigrationOptions;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.google.common.collect.Iterators;
+import com.syncleus.ferma.VertexFrame;
+import com.syncleus.ferma.tx.Tx;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = false, inMemoryDB = true)
+public class MigrationLoopTest extends AbstractMeshTest {
+
+	@After
+	public void resetOptions() {
+		options().setWorkerCount(MigrationOptions.DEFAULT_WORKER_COUNT).setBatchSize(MigrationOptions.DEFAULT_BATCH_SIZE);
+	}
+
+	@Test
+	public void testChunks() {
+		options().setWorkerCount(1).setBatchSize(3);
+		Map<Tx, List<Integer>> chunks = new LinkedHashMap<>();
+		List<Exception> errors = handler().migrateLoop(range(10), null, (batch, element, errorList) -> {
+			chunks.computeIfAbsent(Tx.getActive(), tx -> new ArrayList<>()).add(element);
+		});
+
+		assertTrue(errors.isEmpty());
+		assertEquals("Each chunk should be migrated within its own transaction", Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays
+			.asList(6, 7, 8), Arrays.asList(9)), new ArrayList<>(chunks.values()));
+	}
+
+	@Test
+	public void testRetryFailedChunk() {
+		options().setWorkerCount(1).setBatchSize(3);
+		Map<Integer, Tx> migrated = new LinkedHashMap<>();
+		List<Exception> errors = handler().migrateLoop(range(9), null, (batch, element, errorList) -> {
+			if (element == 4) {
+				throw new RuntimeException("Migration of element 4 failed");
+			}
+			migrated.put(element, Tx.getActive());
+		});
+
+		assertEquals("Only the failing element should cause an error", 1, errors.size());
+		assertEquals(Arrays.asList(0, 1, 2, 3, 5, 6, 7, 8), migrated.keySet().stream().sorted().collect(Collectors.toList()));
+		// The other elements of the failed chunk are migrated one by one
+		assertNotEquals(migrated.get(3), migrated.get(5));
+		// The other chunks are not affected
+		assertEquals(migrated.get(0), migrated.get(2));
+		assertEquals(migrated.get(6), migrated.get(8));
+	}
+
+	@Test
+	public void testMultipleWorkers() {
+		options().setWorkerCount(4).setBatchSize(5);
+		Map<Integer, String> migrated = new ConcurrentHashMap<>();
+		List<Exception> errors = handler().migrateLoop(range(100), null, (batch, element, errorList) -> {
+			String previous = migrated.put(element, Thread.currentThread().getName());
+			assertEquals("The element should only be migrated once", null, previous);
+		});
+
+		assertTrue(errors.isEmpty());
+		assertEquals(100, migrated.size());
+		Set<String> threads = migrated.values().stream().collect(Collectors.toSet());
+		for (String thread : threads) {
+			assertTrue("Unexpected thread {" + thread + "}", thread.startsWith("mesh-migration-worker-"));
+		}
+	}
+
+	@Test
+	public void testStreamIds() {
+		List<Object> expected = tx(() -> boot().userRoot().findAll().stream().map(user -> (Object) user.getId()).collect(Collectors.toList()));
+		assertTrue("The test requires multiple pages", expected.size() > 2);
+
+		List<Object> ids = new ArrayList<>();
+		try (VertexIdStream stream = new VertexIdStream(db(), () -> boot().userRoot().findAll().iterator(), 2)) {
+			Iterators.addAll(ids, stream.iterator());
+		}
+		assertEquals(expected, ids);
+
+		// Closing a stream which was not fully consumed must not block
+		try (VertexIdStream stream = new VertexIdStream(db(), () -> boot().userRoot().findAll().iterator(), 1)) {
+			assertTrue(stream.hasNext());
+			stream.next();
+		}
+	}
+
+	@Test
+	public void testStreamEmptyTraversal() {
+		try (VertexIdStream stream = new VertexIdStream(db(), () -> Collections.<VertexFrame>emptyIterator(), 5)) {
+			assertFalse(stream.hasNext());
+		}
+	}
+
+	private MigrationOptions options() {
+		return Mesh.mesh().getOptions().getMigrationOptions();
+	}
+
+	private List<Integer> range(int count) {
+		return IntStream.range(0, count).boxed().collect(Collectors.toList());
+	}
+
+	private AbstractMigrationHandler handler() {
+		return new AbstractMigrationHandler(db(), MeshInternal.get().searchQueue(), null) {
+		};
+	}
+
+}
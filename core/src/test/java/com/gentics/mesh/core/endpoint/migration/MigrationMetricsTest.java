@@ -0,0 +1,47 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.endpoint.migration.MigrationMetrics.Phase;
+import com.gentics.mesh.core.rest.job.JobMetrics;
+
+public class MigrationMetricsTest {
+
+	@Test
+	public void testSnapshot() {
+		MigrationMetrics metrics = new MigrationMetrics("test");
+		metrics.start(100L);
+		metrics.processed(10);
+		metrics.record(Phase.SCRIPT, TimeUnit.MILLISECONDS.toNanos(20));
+		metrics.record(Phase.SCRIPT, TimeUnit.MILLISECONDS.toNanos(5));
+		metrics.error(new IllegalStateException());
+		metrics.error(new IllegalStateException());
+		metrics.error(new NullPointerException());
+
+		JobMetrics rest = metrics.toRest();
+		assertEquals(10, rest.getProcessed());
+		assertEquals(Long.valueOf(100), rest.getTotal());
+		assertTrue(rest.getThroughput() > 0);
+		assertNotNull(rest.getEstimatedRemainingTime());
+		assertEquals(Long.valueOf(25), rest.getPhases().get("script"));
+		assertEquals(Long.valueOf(0), rest.getPhases().get("commit"));
+		assertEquals(Long.valueOf(2), rest.getErrors().get("IllegalStateException"));
+		assertEquals(Long.valueOf(1), rest.getErrors().get("NullPointerException"));
+	}
+
+	@Test
+	public void testUnknownTotal() {
+		MigrationMetrics metrics = new MigrationMetrics("test");
+		metrics.start(null);
+		metrics.processed(5);
+		assertNull(metrics.toRest().getEstimatedRemainingTime());
+	}
+
+}
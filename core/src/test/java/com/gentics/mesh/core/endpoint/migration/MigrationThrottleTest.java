@@ -0,0 +1,111 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.mesh.etc.config.MigrationOptions;
+import com.google.common.util.concurrent.RateLimiter;
+
+public class MigrationThrottleTest {
+
+	private MigrationOptions options;
+
+	private MigrationMetrics metrics;
+
+	private RateLimiter limiter;
+
+	private MigrationThrottle throttle;
+
+	@Before
+	public void setup() {
+		options = new MigrationOptions().setThrottleRate(100).setAdaptiveThrottle(false);
+		metrics = new MigrationMetrics("test");
+		metrics.start(null);
+		// Far more containers than the limit allows have been processed so far
+		metrics.processed(1_000_000);
+		limiter = spy(RateLimiter.create(Double.MAX_VALUE));
+		doReturn(0d).when(limiter).acquire(anyInt());
+		throttle = new MigrationThrottle(options, metrics, limiter, null);
+	}
+
+	@Test
+	public void testAcquire() {
+		throttle.acquire(10);
+		verify(limiter).acquire(10);
+		assertEquals(100, limiter.getRate(), 0);
+
+		// Changes of the options affect the next chunk
+		options.setThrottleRate(50);
+		throttle.acquire(5);
+		verify(limiter).acquire(5);
+		assertEquals(50, limiter.getRate(), 0);
+	}
+
+	@Test
+	public void testUnlimited() {
+		options.setThrottleRate(0);
+		throttle.acquire(10);
+		verify(limiter, never()).acquire(anyInt());
+		assertTrue(Double.isInfinite(throttle.getRate()));
+	}
+
+	@Test
+	public void testBackoffOnConflict() {
+		options.setAdaptiveThrottle(true);
+		throttle.report(false);
+		assertEquals("The rate should not change without pressure", 100, throttle.getRate(), 0);
+
+		throttle.report(true);
+		assertEquals(50, throttle.getRate(), 0);
+		throttle.acquire(10);
+		verify(limiter).acquire(10);
+		assertEquals(50, limiter.getRate(), 0);
+
+		throttle.report(true);
+		assertEquals(25, throttle.getRate(), 0);
+
+		// The rate recovers once the pressure is gone but never exceeds the configured rate
+		throttle.report(false);
+		assertEquals(27.5, throttle.getRate(), 0.001);
+		for (int i = 0; i < 20; i++) {
+			throttle.report(false);
+		}
+		assertEquals(100, throttle.getRate(), 0);
+	}
+
+	@Test
+	public void testBackoffOnLatency() {
+		options.setAdaptiveThrottle(true);
+		throttle.setLatency(MigrationThrottle.LATENCY_THRESHOLD);
+		throttle.report(false);
+		assertEquals("The latency is within the threshold", 100, throttle.getRate(), 0);
+
+		throttle.setLatency(MigrationThrottle.LATENCY_THRESHOLD + 1);
+		throttle.report(false);
+		assertEquals(50, throttle.getRate(), 0);
+	}
+
+	@Test
+	public void testConflictWithoutAdaptiveThrottle() {
+		throttle.report(true);
+		assertEquals(100, throttle.getRate(), 0);
+
+		// The adaptive rate is reset once the adaptive throttle is disabled
+		options.setAdaptiveThrottle(true);
+		throttle.report(true);
+		assertEquals(50, throttle.getRate(), 0);
+		options.setAdaptiveThrottle(false);
+		throttle.report(false);
+		options.setAdaptiveThrottle(true);
+		assertEquals(100, throttle.getRate(), 0);
+	}
+
+}
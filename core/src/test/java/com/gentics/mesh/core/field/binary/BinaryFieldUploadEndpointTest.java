@@ -19,10 +19,13 @@ import static org.junit.Assert.fail;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -33,6 +36,7 @@ import org.junit.Test;
 import com.gentics.mesh.FieldUtil;
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.binary.Binary;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
 import com.gentics.mesh.core.rest.node.NodeCreateRequest;
@@ -42,12 +46,16 @@ import com.gentics.mesh.core.rest.node.field.BinaryField;
 import com.gentics.mesh.core.rest.node.field.binary.BinaryMetadata;
 import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.core.rest.schema.impl.StringFieldSchemaImpl;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.etc.config.MeshUploadOptions;
 import com.gentics.mesh.parameter.LinkType;
 import com.gentics.mesh.parameter.impl.DeleteParametersImpl;
 import com.gentics.mesh.parameter.impl.NodeParametersImpl;
 import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
 import com.gentics.mesh.rest.client.MeshBinaryResponse;
+import com.gentics.mesh.storage.BinaryStorage;
 import com.gentics.mesh.storage.LocalBinaryStorage;
+import com.gentics.mesh.storage.StoredBinary;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
 import com.gentics.mesh.util.VersionNumber;
@@ -319,6 +327,83 @@ public class BinaryFieldUploadEndpointTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testUploadExcludedTypeForTika() throws IOException {
+		String parentNodeUuid = tx(() -> project().getBaseNode().getUuid());
+		Buffer buffer = getBuffer("/pictures/android-gps.jpg");
+		NodeResponse node = createNode(parentNodeUuid);
+		Mesh.mesh().getOptions().getUploadOptions().setParserExcludedTypes(Arrays.asList("image/*"));
+		try {
+			NodeResponse node2 = call(() -> client().updateNodeBinaryField(PROJECT_NAME, node.getUuid(), "en", "0.1", "binary",
+				new ByteArrayInputStream(buffer.getBytes()), buffer.length(), "test.jpg", "image/jpeg"));
+			BinaryMetadata metadata = node2.getFields().getBinaryField("binary").getMetadata();
+			assertTrue("No metadata should be extracted for excluded types", metadata.getMap().isEmpty());
+			assertNull(metadata.getLocation());
+		} finally {
+			Mesh.mesh().getOptions().getUploadOptions().setParserExcludedTypes(new ArrayList<>());
+		}
+	}
+
+	@Test
+	public void testDeferredTika() throws Exception {
+		String parentNodeUuid = tx(() -> project().getBaseNode().getUuid());
+		Buffer buffer = getBuffer("/pictures/android-gps.jpg");
+		NodeResponse node = createNode(parentNodeUuid);
+		Mesh.mesh().getOptions().getUploadOptions().setParserDeferred(true);
+		try {
+			call(() -> client().updateNodeBinaryField(PROJECT_NAME, node.getUuid(), "en", "0.1", "binary", new ByteArrayInputStream(buffer
+				.getBytes()), buffer.length(), "test.jpg", "image/jpeg"));
+
+			// The metadata will be added once the extraction in the background has been completed
+			BinaryMetadata metadata = null;
+			for (int i = 0; i < 100; i++) {
+				metadata = call(() -> client().findNodeByUuid(PROJECT_NAME, node.getUuid())).getFields().getBinaryField("binary").getMetadata();
+				if (metadata.getLocation() != null) {
+					break;
+				}
+				Thread.sleep(100);
+			}
+			assertNotNull("The deferred extraction did not add the location", metadata.getLocation());
+			assertEquals(47.6725, metadata.getLocation().getLat().doubleValue(), 0.01);
+			assertEquals("4.2 mm", metadata.get("Focal_Length"));
+		} finally {
+			Mesh.mesh().getOptions().getUploadOptions().setParserDeferred(false);
+		}
+	}
+
+	@Test
+	public void testDeferredTikaReupload() throws Exception {
+		String parentNodeUuid = tx(() -> project().getBaseNode().getUuid());
+		NodeResponse node = createNode(parentNodeUuid);
+		Buffer pdf = getBuffer("/testfiles/test.pdf");
+		NodeResponse node2 = call(() -> client().updateNodeBinaryField(PROJECT_NAME, node.getUuid(), "en", "0.1", "binary", new ByteArrayInputStream(pdf
+			.getBytes()), pdf.length(), "test.pdf", "application/pdf"));
+		assertFalse(node2.getFields().getBinaryField("binary").getMetadata().getMap().isEmpty());
+
+		Buffer image = getBuffer("/pictures/android-gps.jpg");
+		Mesh.mesh().getOptions().getUploadOptions().setParserDeferred(true);
+		try {
+			NodeResponse node3 = call(() -> client().updateNodeBinaryField(PROJECT_NAME, node.getUuid(), "en", node2.getVersion(), "binary",
+				new ByteArrayInputStream(image.getBytes()), image.length(), "test.jpg", "image/jpeg"));
+			BinaryMetadata uploaded = node3.getFields().getBinaryField("binary").getMetadata();
+			assertTrue("The metadata of the previous upload should have been removed", uploaded.getMap().isEmpty());
+
+			// The metadata of the new upload will be added although the field already had metadata
+			BinaryMetadata metadata = null;
+			for (int i = 0; i < 100; i++) {
+				metadata = call(() -> client().findNodeByUuid(PROJECT_NAME, node.getUuid())).getFields().getBinaryField("binary").getMetadata();
+				if (metadata.getLocation() != null) {
+					break;
+				}
+				Thread.sleep(100);
+			}
+			assertNotNull("The deferred extraction did not add the location", metadata.getLocation());
+			assertEquals("4.2 mm", metadata.get("Focal_Length"));
+		} finally {
+			Mesh.mesh().getOptions().getUploadOptions().setParserDeferred(false);
+		}
+	}
+
 	@Test
 	public void testUploadToNodeWithoutBinaryField() throws IOException {
 		String contentType = "application/octet-stream";
@@ -602,6 +687,43 @@ public class BinaryFieldUploadEndpointTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testDuplicateUploadReusesBinary() throws IOException {
+		String contentType = "application/blub";
+		Buffer buffer = TestUtils.randomBuffer(8000);
+		String fileName = "somefile.dat";
+
+		Node nodeA = folder("news");
+		Node nodeB = folder("products");
+		String uuidA = tx(() -> nodeA.getUuid());
+		String uuidB = tx(() -> nodeB.getUuid());
+		String versionA = tx(() -> nodeA.getGraphFieldContainer("en").getVersion()).toString();
+		String versionB = tx(() -> nodeB.getGraphFieldContainer("en").getVersion()).toString();
+		try (Tx tx = tx()) {
+			prepareSchema(nodeA, "", "binary");
+			prepareSchema(nodeB, "", "binary");
+			tx.success();
+		}
+
+		BinaryStorage storage = MeshInternal.get().binaryStorage();
+		NodeResponse responseA = call(() -> client().updateNodeBinaryField(PROJECT_NAME, uuidA, "en", versionA, "binary", new ByteArrayInputStream(
+			buffer.getBytes()), buffer.length(), fileName, contentType));
+		Set<String> storedBefore = storage.list().map(StoredBinary::getUuid).toList().blockingGet().stream().collect(Collectors.toSet());
+
+		// Upload the same data again
+		NodeResponse responseB = call(() -> client().updateNodeBinaryField(PROJECT_NAME, uuidB, "en", versionB, "binary", new ByteArrayInputStream(
+			buffer.getBytes()), buffer.length(), fileName, contentType));
+		assertEquals(responseA.getFields().getBinaryField("binary").getSha512sum(), responseB.getFields().getBinaryField("binary").getSha512sum());
+
+		try (Tx tx = tx()) {
+			Binary binaryA = nodeA.getLatestDraftFieldContainer(english()).getBinary("binary").getBinary();
+			Binary binaryB = nodeB.getLatestDraftFieldContainer(english()).getBinary("binary").getBinary();
+			assertEquals("The binary should have been reused", binaryA.getUuid(), binaryB.getUuid());
+		}
+		Set<String> storedAfter = storage.list().map(StoredBinary::getUuid).toList().blockingGet().stream().collect(Collectors.toSet());
+		assertEquals("The duplicate data should have been removed", storedBefore, storedAfter);
+	}
+
 	@Test
 	public void testUploadWithSegmentfieldConflict() throws IOException {
 		String contentType = "application/octet-stream";
@@ -676,6 +798,39 @@ public class BinaryFieldUploadEndpointTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testUploadImageExceedingSniffLimit() throws IOException {
+		String contentType = "image/png";
+		String fieldName = "image";
+		String fileName = "somefile.png";
+		Node node = folder("news");
+
+		try (Tx tx = tx()) {
+			prepareSchema(node, "", fieldName);
+			tx.success();
+		}
+
+		Mesh.mesh().getOptions().getUploadOptions().setSniffLimit(1024);
+		try (Tx tx = tx()) {
+			int size = uploadImage(node, "en", fieldName, fileName, contentType);
+			NodeResponse response = call(() -> client().findNodeByUuid(PROJECT_NAME, node.getUuid(), new VersioningParametersImpl().draft()));
+
+			// Only the header of the image was read
+			BinaryField binaryField = response.getFields().getBinaryField(fieldName);
+			assertEquals("The complete data should have been stored.", size, binaryField.getFileSize());
+			assertEquals("The image width should have been read from the header.", 1160, binaryField.getWidth().intValue());
+			assertEquals("The image height should have been read from the header.", 1376, binaryField.getHeight().intValue());
+			assertNull("The image should not have been decoded.", binaryField.getDominantColor());
+
+			MeshBinaryResponse downloadResponse = call(() -> client().downloadBinaryField(PROJECT_NAME, node.getUuid(), "en", fieldName));
+			byte[] bytes = IOUtils.toByteArray(downloadResponse.getStream());
+			downloadResponse.close();
+			assertEquals(size, bytes.length);
+		} finally {
+			Mesh.mesh().getOptions().getUploadOptions().setSniffLimit(MeshUploadOptions.DEFAULT_SNIFF_LIMIT);
+		}
+	}
+
 	@Test
 	public void testFlowableDownload() throws IOException {
 		String contentType = "image/png";
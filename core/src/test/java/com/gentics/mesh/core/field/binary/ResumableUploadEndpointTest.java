@@ -0,0 +1,137 @@
+package com.gentics.mesh.core.field.binary;
+
+import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static io.netty.handler.codec.http.HttpResponseStatus.CONFLICT;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.rest.node.NodeResponse;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadResponse;
+import com.gentics.mesh.rest.client.MeshBinaryResponse;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.gentics.mesh.util.FileUtils;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.test.core.TestUtils;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = true)
+public class ResumableUploadEndpointTest extends AbstractMeshTest {
+
+	@Test
+	public void testChunkedUpload() throws IOException {
+		Node node = folder("news");
+		try (Tx tx = tx()) {
+			prepareSchema(node, "", "binary");
+			tx.success();
+		}
+		String nodeUuid = tx(() -> node.getUuid());
+		String version = tx(() -> node.getGraphFieldContainer("en").getVersion().toString());
+		byte[] data = TestUtils.randomBuffer(10000).getBytes();
+
+		ResumableUploadRequest request = new ResumableUploadRequest();
+		request.setLanguage("en").setVersion(version).setFileName("somefile.dat").setMimeType("application/octet-stream").setSize((long) data.length);
+		ResumableUploadResponse upload = call(() -> client().startResumableUpload(PROJECT_NAME, nodeUuid, "binary", request));
+		assertEquals(0, upload.getOffset());
+
+		ResumableUploadResponse chunk = call(() -> client().appendResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid(), 0,
+			new ByteArrayInputStream(data, 0, 4000), 4000));
+		assertEquals(4000, chunk.getOffset());
+		assertNull(chunk.getNode());
+
+		// A chunk with an outdated offset must be rejected
+		call(() -> client().appendResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid(), 0, new ByteArrayInputStream(data, 0, 4000),
+			4000), CONFLICT, "upload_error_offset_mismatch", "0", "4000");
+
+		// Resume the upload
+		ResumableUploadResponse state = call(() -> client().loadResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid()));
+		assertEquals(4000, state.getOffset());
+		ResumableUploadResponse result = call(() -> client().appendResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid(),
+			state.getOffset(), new ByteArrayInputStream(data, 4000, 6000), 6000));
+		NodeResponse response = result.getNode();
+		assertNotNull("The node should be returned once the upload is complete", response);
+		assertEquals("somefile.dat", response.getFields().getBinaryField("binary").getFileName());
+		assertEquals(data.length, response.getFields().getBinaryField("binary").getFileSize());
+		assertEquals("The checksum of the resumed upload should match the data", FileUtils.hash(Buffer.buffer(data)).blockingGet(),
+			response.getFields().getBinaryField("binary").getSha512sum());
+
+		MeshBinaryResponse download = call(() -> client().downloadBinaryField(PROJECT_NAME, nodeUuid, "en", "binary"));
+		assertArrayEquals(data, IOUtils.toByteArray(download.getStream()));
+
+		// The upload is removed once it has been completed
+		call(() -> client().loadResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid()), NOT_FOUND, "upload_error_session_not_found",
+			upload.getUuid());
+	}
+
+	@Test
+	public void testResumeWithForeignChunk() throws IOException {
+		Node node = folder("news");
+		try (Tx tx = tx()) {
+			prepareSchema(node, "", "binary");
+			tx.success();
+		}
+		String nodeUuid = tx(() -> node.getUuid());
+		String version = tx(() -> node.getGraphFieldContainer("en").getVersion().toString());
+		byte[] data = TestUtils.randomBuffer(10000).getBytes();
+
+		ResumableUploadRequest request = new ResumableUploadRequest();
+		request.setLanguage("en").setVersion(version).setFileName("somefile.dat").setMimeType("application/octet-stream").setSize((long) data.length);
+		ResumableUploadResponse upload = call(() -> client().startResumableUpload(PROJECT_NAME, nodeUuid, "binary", request));
+		call(() -> client().appendResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid(), 0, new ByteArrayInputStream(data, 0, 4000),
+			4000));
+
+		// Simulate a chunk which was received by a different instance. The incremental checksum of this instance does not cover it.
+		File partFile = new File(new File(Mesh.mesh().getOptions().getUploadOptions().getTempDirectory(), "resumable"), upload.getUuid() + ".part");
+		try (FileOutputStream out = new FileOutputStream(partFile, true)) {
+			out.write(data, 4000, 3000);
+		}
+
+		ResumableUploadResponse state = call(() -> client().loadResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid()));
+		assertEquals(7000, state.getOffset());
+		ResumableUploadResponse result = call(() -> client().appendResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid(),
+			state.getOffset(), new ByteArrayInputStream(data, 7000, 3000), 3000));
+		NodeResponse response = result.getNode();
+		assertNotNull("The node should be returned once the upload is complete", response);
+		assertEquals("The checksum should have been computed from the complete data", FileUtils.hash(Buffer.buffer(data)).blockingGet(),
+			response.getFields().getBinaryField("binary").getSha512sum());
+
+		MeshBinaryResponse download = call(() -> client().downloadBinaryField(PROJECT_NAME, nodeUuid, "en", "binary"));
+		assertArrayEquals(data, IOUtils.toByteArray(download.getStream()));
+	}
+
+	@Test
+	public void testAbortUpload() throws IOException {
+		Node node = folder("news");
+		try (Tx tx = tx()) {
+			prepareSchema(node, "", "binary");
+			tx.success();
+		}
+		String nodeUuid = tx(() -> node.getUuid());
+		String version = tx(() -> node.getGraphFieldContainer("en").getVersion().toString());
+
+		ResumableUploadRequest request = new ResumableUploadRequest();
+		request.setLanguage("en").setVersion(version).setFileName("somefile.dat").setMimeType("application/octet-stream").setSize(1000L);
+		ResumableUploadResponse upload = call(() -> client().startResumableUpload(PROJECT_NAME, nodeUuid, "binary", request));
+		call(() -> client().abortResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid()));
+		call(() -> client().appendResumableUpload(PROJECT_NAME, nodeUuid, "binary", upload.getUuid(), 0, new ByteArrayInputStream(new byte[10]), 10),
+			NOT_FOUND, "upload_error_session_not_found", upload.getUuid());
+	}
+
+}
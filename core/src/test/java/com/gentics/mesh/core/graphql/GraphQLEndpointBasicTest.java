@@ -11,6 +11,7 @@ import java.io.IOException;
 import org.json.JSONException;
 import org.junit.Test;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.schema.MicroschemaContainer;
 import com.gentics.mesh.core.rest.graphql.GraphQLRequest;
 import com.gentics.mesh.core.rest.graphql.GraphQLResponse;
@@ -80,4 +81,20 @@ public class GraphQLEndpointBasicTest extends AbstractMeshTest {
 
 		Completable.merge(calls).blockingAwait();
 	}
+
+	@Test
+	public void testParallelExecution() throws Throwable {
+		String query = "{ me { username firstname } project { name rootNode { uuid } } node(path: \"/News\") { uuid } nodes { totalCount elements { uuid } } branch { name } }";
+		GraphQLResponse sequential = call(() -> client().graphqlQuery(PROJECT_NAME, query));
+		assertThat(sequential.getErrors()).isNullOrEmpty();
+
+		Mesh.mesh().getOptions().getGraphQLOptions().setParallelExecution(true);
+		try {
+			GraphQLResponse parallel = call(() -> client().graphqlQuery(PROJECT_NAME, query));
+			assertThat(parallel.getErrors()).isNullOrEmpty();
+			MeshJSONAssert.assertEquals(sequential.getData().encode(), parallel.getData());
+		} finally {
+			Mesh.mesh().getOptions().getGraphQLOptions().setParallelExecution(false);
+		}
+	}
 }
@@ -11,18 +11,22 @@ import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.job.Job;
 import com.gentics.mesh.core.data.schema.SchemaContainer;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.common.GenericMessageResponse;
 import com.gentics.mesh.core.rest.job.JobListResponse;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.job.JobThrottle;
 import com.gentics.mesh.core.rest.schema.impl.SchemaUpdateRequest;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.test.context.AbstractMeshTest;
@@ -64,6 +68,33 @@ public class JobEndpointTest extends AbstractMeshTest {
 		assertThat(jobList.getData()).hasSize(2);
 	}
 
+	@Test
+	public void testUpdateThrottle() {
+		call(() -> client().loadJobThrottle(), FORBIDDEN, "error_admin_permission_required");
+
+		tx(() -> group().addRole(roles().get("admin")));
+
+		JobThrottle throttle = call(() -> client().loadJobThrottle());
+		assertEquals(0, throttle.getRate().intValue());
+		assertFalse(throttle.getAdaptive());
+
+		call(() -> client().updateJobThrottle(new JobThrottle().setRate(-1)), BAD_REQUEST, "job_error_throttle_rate_invalid", "-1");
+
+		try {
+			throttle = call(() -> client().updateJobThrottle(new JobThrottle().setRate(100).setAdaptive(true)));
+			assertEquals(100, throttle.getRate().intValue());
+			assertTrue(throttle.getAdaptive());
+			assertEquals(100, Mesh.mesh().getOptions().getMigrationOptions().getThrottleRate());
+
+			// Only the given settings are updated
+			throttle = call(() -> client().updateJobThrottle(new JobThrottle().setAdaptive(false)));
+			assertEquals(100, throttle.getRate().intValue());
+			assertFalse(throttle.getAdaptive());
+		} finally {
+			Mesh.mesh().getOptions().getMigrationOptions().setThrottleRate(0).setAdaptiveThrottle(false);
+		}
+	}
+
 	@Test
 	public void testDeleteFailedJob() {
 
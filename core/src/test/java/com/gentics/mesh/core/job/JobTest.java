@@ -8,24 +8,34 @@ import static org.junit.Assert.assertNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.cxf.jaxrs.utils.ExceptionUtils;
 import org.junit.Test;
 
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.job.Job;
 import com.gentics.mesh.core.data.job.JobRoot;
 import com.gentics.mesh.core.data.job.impl.BranchMigrationJobImpl;
+import com.gentics.mesh.core.data.job.impl.JobImpl;
+import com.gentics.mesh.core.data.job.impl.JobRootImpl;
 import com.gentics.mesh.core.data.job.impl.MicronodeMigrationJobImpl;
 import com.gentics.mesh.core.data.job.impl.NodeMigrationJobImpl;
+import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
+import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
+import com.gentics.mesh.core.endpoint.migration.impl.MigrationStatusHandlerImpl;
 import com.gentics.mesh.core.rest.job.JobResponse;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
 import com.gentics.mesh.test.util.TestUtils;
 import com.syncleus.ferma.tx.Tx;
 
+import io.reactivex.Completable;
 import io.reactivex.exceptions.CompositeException;
+import io.reactivex.schedulers.Schedulers;
 
 @MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = false)
 public class JobTest extends AbstractMeshTest {
@@ -119,4 +129,123 @@ public class JobTest extends AbstractMeshTest {
 					BranchMigrationJobImpl.class.getName());
 		}
 	}
+
+	@Test
+	public void testClaimExpiredLease() {
+		long leaseTimeout = TimeUnit.SECONDS.toMillis(Mesh.mesh().getOptions().getMigrationOptions().getJobLeaseTimeout());
+		try (Tx tx = tx()) {
+			Job job = createJob(NodeMigrationJobImpl.class, initialBranch());
+			job.setLeaseOwner("otherInstance");
+			job.setNodeName("otherNode");
+			job.renewLease();
+
+			assertThat(boot().jobRoot().claim()).as("Jobs which are leased by other nodes should be skipped").isEmpty();
+			assertEquals("otherInstance", job.getLeaseOwner());
+
+			// The other node did not renew the lease in time
+			job.setLeaseTimestamp(System.currentTimeMillis() - leaseTimeout - 1000);
+			List<List<Job>> queues = boot().jobRoot().claim();
+			assertThat(queues).hasSize(1);
+			assertEquals(job.getUuid(), queues.get(0).get(0).getUuid());
+			assertEquals("The expired lease should have been taken over", JobRootImpl.INSTANCE_ID, job.getLeaseOwner());
+			assertEquals(Mesh.mesh().getOptions().getNodeName(), job.getNodeName());
+		}
+	}
+
+	@Test
+	public void testClaimLeaseOfPreviousRun() {
+		try (Tx tx = tx()) {
+			Job job = createJob(NodeMigrationJobImpl.class, initialBranch());
+			job.setLeaseOwner("previousRun");
+			job.setNodeName(Mesh.mesh().getOptions().getNodeName());
+			job.renewLease();
+
+			// The lease was held by a previous run of this node which was interrupted. It can be taken over right away.
+			List<List<Job>> queues = boot().jobRoot().claim();
+			assertThat(queues).hasSize(1);
+			assertEquals(JobRootImpl.INSTANCE_ID, job.getLeaseOwner());
+		}
+	}
+
+	@Test
+	public void testClaimLeasedQueue() {
+		try (Tx tx = tx()) {
+			Job first = createJob(NodeMigrationJobImpl.class, initialBranch());
+			Job second = createJob(NodeMigrationJobImpl.class, initialBranch());
+			first.setLeaseOwner("otherInstance");
+			first.setNodeName("otherNode");
+			first.renewLease();
+
+			// Jobs of the same branch must wait until the leased job has been processed
+			assertThat(boot().jobRoot().claim()).isEmpty();
+			assertNull(second.getLeaseOwner());
+		}
+	}
+
+	@Test
+	public void testClaimPriority() {
+		try (Tx tx = tx()) {
+			Branch newBranch = project().getBranchRoot().create("newbranch", user());
+			Job schemaMigration = createJob(NodeMigrationJobImpl.class, initialBranch());
+			Job branchMigration = createJob(BranchMigrationJobImpl.class, newBranch);
+
+			List<List<Job>> queues = boot().jobRoot().claim();
+			assertThat(queues).hasSize(2);
+			assertEquals("The branch migration should be started first", branchMigration.getUuid(), queues.get(0).get(0).getUuid());
+			assertEquals(schemaMigration.getUuid(), queues.get(1).get(0).getUuid());
+		}
+	}
+
+	@Test
+	public void testStatusUpdateRenewsLease() {
+		Job job = tx(() -> {
+			Job created = createJob(NodeMigrationJobImpl.class, initialBranch());
+			created.setLeaseOwner(JobRootImpl.INSTANCE_ID);
+			created.setLeaseTimestamp(1L);
+			return created;
+		});
+		MigrationStatusHandler status = new MigrationStatusHandlerImpl(job, vertx(), MigrationType.schema);
+
+		// Each status update acts as heartbeat of the lease
+		tx(() -> {
+			status.setStatus(MigrationStatus.RUNNING);
+			status.commit();
+		});
+		long committed = tx(() -> job.getLeaseTimestamp());
+		assertThat(committed).as("Lease timestamp after the status update").isGreaterThan(1L);
+
+		tx(() -> job.setLeaseTimestamp(1L));
+		tx(() -> {
+			status.checkpoint("5");
+		});
+		assertThat(tx(() -> job.getLeaseTimestamp())).as("Lease timestamp after the checkpoint").isGreaterThan(1L);
+		assertEquals(JobRootImpl.INSTANCE_ID, tx(() -> job.getLeaseOwner()));
+	}
+
+	@Test
+	public void testSkipJobWithLostLease() {
+		Job job;
+		Completable jobs;
+		try (Tx tx = tx()) {
+			job = createJob(NodeMigrationJobImpl.class, initialBranch());
+			jobs = boot().jobRoot().process(Schedulers.trampoline());
+			tx.success();
+		}
+		// Another instance took over the job while it was waiting in its queue
+		tx(() -> {
+			job.setLeaseOwner("otherInstance");
+			job.renewLease();
+		});
+		jobs.blockingAwait();
+		assertEquals("The job should not have been started", MigrationStatus.QUEUED, tx(() -> job.getStatus()));
+		assertEquals("otherInstance", tx(() -> job.getLeaseOwner()));
+	}
+
+	private Job createJob(Class<? extends JobImpl> clazz, Branch branch) {
+		JobImpl job = Tx.getActive().getGraph().addFramedVertex(clazz);
+		job.setBranch(branch);
+		job.setStatus(MigrationStatus.QUEUED);
+		boot().jobRoot().addItem(job);
+		return job;
+	}
 }
@@ -0,0 +1,107 @@
+package com.gentics.mesh.core.node;
+
+import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.imageio.ImageIO;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.core.image.spi.ImageManipulator;
+import com.gentics.mesh.core.rest.node.field.image.FocalPoint;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.parameter.ImageManipulationParameters;
+import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.syncleus.ferma.tx.Tx;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = true)
+public class NodeImageRenditionEndpointTest extends AbstractMeshTest {
+
+	@After
+	public void resetRenditions() {
+		Mesh.mesh().getOptions().getImageOptions().getRenditions().clear();
+	}
+
+	@Test
+	public void testRenditionsOnUpload() throws Exception {
+		Mesh.mesh().getOptions().getImageOptions().setRendition("small", "w=100").setRendition("banner", "w=200&h=50");
+		try (Tx tx = tx()) {
+			uploadImage(folder("news"), "en", "image");
+		}
+		String sha512sum = tx(() -> getImageField().getBinary().getSHA512Sum());
+
+		// The renditions are generated in the background once the upload has been committed
+		ImageManipulationParameters small = new ImageManipulationParametersImpl().setWidth(100);
+		ImageManipulationParameters banner = new ImageManipulationParametersImpl().setWidth(200).setHeight(50);
+		waitFor(() -> getCacheFile(sha512sum, small).exists() && getCacheFile(sha512sum, banner).exists());
+
+		BufferedImage smallImage = ImageIO.read(getCacheFile(sha512sum, small));
+		assertEquals(100, smallImage.getWidth());
+		BufferedImage bannerImage = ImageIO.read(getCacheFile(sha512sum, banner));
+		assertEquals(200, bannerImage.getWidth());
+		assertEquals(50, bannerImage.getHeight());
+	}
+
+	@Test
+	public void testBackfill() throws Exception {
+		grantAdminRole();
+		// Upload the image before any rendition has been configured
+		try (Tx tx = tx()) {
+			uploadImage(folder("news"), "en", "image");
+		}
+		FocalPoint focalPoint = new FocalPoint(0.2f, 0.3f);
+		String sha512sum = tx(() -> {
+			BinaryGraphField field = getImageField();
+			field.setImageFocalPoint(focalPoint);
+			return field.getBinary().getSHA512Sum();
+		});
+
+		Mesh.mesh().getOptions().getImageOptions().setRendition("square", "w=120&h=120&crop=fp");
+		ImageManipulationParameters square = new ImageManipulationParametersImpl().setWidth(120).setHeight(120).setCropMode(CropMode.FOCALPOINT)
+			.setFocalPoint(focalPoint);
+		assertFalse("The rendition must not exist before the backfill", getCacheFile(sha512sum, square).exists());
+
+		// The backfill uses the focal point of the field
+		call(() -> client().invokeImageRenditions());
+		waitFor(() -> getCacheFile(sha512sum, square).exists());
+
+		BufferedImage image = ImageIO.read(getCacheFile(sha512sum, square));
+		assertEquals(120, image.getWidth());
+		assertEquals(120, image.getHeight());
+	}
+
+	private BinaryGraphField getImageField() {
+		Node node = folder("news");
+		return node.getLatestDraftFieldContainer(english()).getBinary("image");
+	}
+
+	private File getCacheFile(String sha512sum, ImageManipulationParameters parameters) {
+		ImageManipulator imageManipulator = MeshInternal.get().imageManipulator();
+		return imageManipulator.getCacheFile(sha512sum, parameters);
+	}
+
+	private void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > end) {
+				throw new AssertionError("The condition was not met in time");
+			}
+			Thread.sleep(100);
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+package com.gentics.mesh.core.schema;
+
+import static com.gentics.mesh.core.data.ContainerType.DRAFT;
+import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
+import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.COMPLETED;
+import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.mesh.FieldUtil;
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
+import com.gentics.mesh.core.rest.node.NodeResponse;
+import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
+import com.gentics.mesh.core.rest.node.field.impl.StringFieldImpl;
+import com.gentics.mesh.core.rest.schema.impl.SchemaUpdateRequest;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.json.JsonUtil;
+import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
+import com.gentics.mesh.search.index.node.NodeContainerTransformer;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.json.JsonObject;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = true)
+public class LazyMigrationEndpointTest extends AbstractMeshTest {
+
+	@Before
+	public void setup() throws Exception {
+		tx(() -> group().addRole(roles().get("admin")));
+		Mesh.mesh().getOptions().getMigrationOptions().setLazyMigration(true);
+		// Stop the job worker so that the containers are not migrated by the sweeper
+		MeshInternal.get().jobWorkerVerticle().stop();
+	}
+
+	@After
+	public void reset() throws Exception {
+		MeshInternal.get().jobWorkerVerticle().start();
+		Mesh.mesh().getOptions().getMigrationOptions().setLazyMigration(false);
+	}
+
+	@Test
+	public void testReadLazilyMigratedContainer() {
+		NodeResponse before = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		SchemaContainerVersion oldVersion = tx(() -> content().getLatestDraftFieldContainer(english()).getSchemaContainerVersion());
+		String newVersionUuid = updateSchema();
+
+		NodeResponse after = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		assertNotEquals("The node should be presented with the new schema version", before.getSchema().getVersion(), after.getSchema()
+			.getVersion());
+		assertFalse("The removed field should not be returned", after.getFields().hasField("content"));
+		assertNull("The added field should not have a value", after.getFields().getStringField("extra"));
+		assertEquals(before.getFields().getStringField("title").getString(), after.getFields().getStringField("title").getString());
+		assertEquals(before.getDisplayName(), after.getDisplayName());
+
+		try (Tx tx = tx()) {
+			NodeGraphFieldContainer container = content().getLatestDraftFieldContainer(english());
+			assertEquals("The container should not yet have been migrated", oldVersion.getUuid(), container.getSchemaContainerVersion().getUuid());
+			assertNotNull("The field of the removed field should still exist", container.getHtml("content"));
+		}
+
+		// The sweeper migrates the remaining containers
+		MeshInternal.get().jobWorkerVerticle().start();
+		triggerAndWaitForAllJobs(COMPLETED);
+		try (Tx tx = tx()) {
+			NodeGraphFieldContainer container = content().getLatestDraftFieldContainer(english());
+			assertEquals(newVersionUuid, container.getSchemaContainerVersion().getUuid());
+			assertNull("The field of the removed field should have been deleted", container.getHtml("content"));
+		}
+		NodeResponse migrated = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		assertEquals(after.getSchema().getVersion(), migrated.getSchema().getVersion());
+		assertEquals(after.getFields().getStringField("title").getString(), migrated.getFields().getStringField("title").getString());
+	}
+
+	@Test
+	public void testUpdateLazilyMigratedContainer() {
+		NodeResponse before = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		String newVersionUuid = updateSchema();
+
+		NodeUpdateRequest request = new NodeUpdateRequest();
+		request.setLanguage("en");
+		request.setVersion(before.getVersion());
+		request.getFields().put("extra", new StringFieldImpl().setString("extra value"));
+		NodeResponse updated = call(() -> client().updateNode(PROJECT_NAME, contentUuid(), request));
+
+		assertEquals("extra value", updated.getFields().getStringField("extra").getString());
+		assertFalse(updated.getFields().hasField("content"));
+		assertEquals(before.getFields().getStringField("title").getString(), updated.getFields().getStringField("title").getString());
+
+		try (Tx tx = tx()) {
+			NodeGraphFieldContainer container = content().getLatestDraftFieldContainer(english());
+			assertEquals("The updated container should have been migrated", newVersionUuid, container.getSchemaContainerVersion().getUuid());
+			assertNull("The field of the removed field should not be copied", container.getHtml("content"));
+			assertEquals("extra value", container.getString("extra").getString());
+			// The previous versions are not modified
+			NodeGraphFieldContainer previous = container.getPreviousVersion();
+			while (previous != null && previous.getSchemaContainerVersion().getUuid().equals(newVersionUuid)) {
+				previous = previous.getPreviousVersion();
+			}
+			assertNotNull(previous);
+			assertNotNull("The previous version should still contain the removed field", previous.getHtml("content"));
+		}
+	}
+
+	@Test
+	public void testUpdatePublishedDraft() {
+		call(() -> client().publishNode(PROJECT_NAME, contentUuid()));
+		NodeResponse before = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		String newVersionUuid = updateSchema();
+
+		NodeUpdateRequest request = new NodeUpdateRequest();
+		request.setLanguage("en");
+		request.setVersion(before.getVersion());
+		request.getFields().put("extra", new StringFieldImpl().setString("extra value"));
+		call(() -> client().updateNode(PROJECT_NAME, contentUuid(), request));
+
+		NodeResponse published = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid(), new VersioningParametersImpl().published()));
+		assertNull("The update must not modify the published version", published.getFields().getStringField("extra"));
+		assertEquals(before.getFields().getStringField("title").getString(), published.getFields().getStringField("title").getString());
+		assertPublishedMigrated(newVersionUuid);
+	}
+
+	@Test
+	public void testUpdateSeparatePublishedContainer() {
+		call(() -> client().publishNode(PROJECT_NAME, contentUuid()));
+		NodeResponse before = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		NodeUpdateRequest titleRequest = new NodeUpdateRequest();
+		titleRequest.setLanguage("en");
+		titleRequest.setVersion(before.getVersion());
+		titleRequest.getFields().put("title", new StringFieldImpl().setString("draft title"));
+		NodeResponse draft = call(() -> client().updateNode(PROJECT_NAME, contentUuid(), titleRequest));
+		String newVersionUuid = updateSchema();
+
+		NodeUpdateRequest request = new NodeUpdateRequest();
+		request.setLanguage("en");
+		request.setVersion(draft.getVersion());
+		request.getFields().put("extra", new StringFieldImpl().setString("extra value"));
+		NodeResponse updated = call(() -> client().updateNode(PROJECT_NAME, contentUuid(), request));
+		assertEquals("draft title", updated.getFields().getStringField("title").getString());
+		assertEquals("extra value", updated.getFields().getStringField("extra").getString());
+
+		NodeResponse published = call(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid(), new VersioningParametersImpl().published()));
+		assertEquals(before.getFields().getStringField("title").getString(), published.getFields().getStringField("title").getString());
+		assertNull(published.getFields().getStringField("extra"));
+		assertPublishedMigrated(newVersionUuid);
+	}
+
+	@Test
+	public void testIndexDocument() {
+		updateSchema();
+		NodeContainerTransformer transformer = new NodeContainerTransformer(searchProvider());
+		try (Tx tx = tx()) {
+			Node node = content();
+			NodeGraphFieldContainer container = node.getGraphFieldContainer(english(), initialBranch(), DRAFT);
+			JsonObject document = transformer.toDocument(container, initialBranchUuid(), DRAFT);
+			JsonObject fields = document.getJsonObject("fields");
+			assertFalse("The lazily removed field should not be indexed", fields.containsKey("content"));
+			assertTrue(fields.containsKey("title"));
+			assertEquals("The document should still be stored for the schema version of the container", container.getSchemaContainerVersion()
+				.getVersion(), document.getJsonObject("schema").getString("version"));
+		}
+	}
+
+	/**
+	 * Assert that the published container of the content has been migrated and that the draft was created as a single version on top of it.
+	 *
+	 * @param newVersionUuid
+	 */
+	private void assertPublishedMigrated(String newVersionUuid) {
+		try (Tx tx = tx()) {
+			NodeGraphFieldContainer published = content().getGraphFieldContainer(english(), initialBranch(), PUBLISHED);
+			assertEquals("The published container should have been migrated", newVersionUuid, published.getSchemaContainerVersion().getUuid());
+			assertNull("The field of the removed field should not be copied", published.getHtml("content"));
+			NodeGraphFieldContainer draft = content().getGraphFieldContainer(english(), initialBranch(), DRAFT);
+			assertEquals(newVersionUuid, draft.getSchemaContainerVersion().getUuid());
+			assertEquals("The migration and the update should only create a single draft version", published.getUuid(), draft.getPreviousVersion()
+				.getUuid());
+			assertEquals(published.getVersion().nextDraft().getFullVersion(), draft.getVersion().getFullVersion());
+		}
+	}
+
+	/**
+	 * Update the schema of the content by removing the "content" field and by adding the "extra" field.
+	 *
+	 * @return Uuid of the new schema version
+	 */
+	private String updateSchema() {
+		String schemaUuid = tx(() -> content().getSchemaContainer().getUuid());
+		SchemaUpdateRequest request = tx(() -> JsonUtil.readValue(content().getSchemaContainer().getLatestVersion().getJson(),
+			SchemaUpdateRequest.class));
+		request.removeField("content");
+		request.addField(FieldUtil.createStringFieldSchema("extra"));
+		call(() -> client().updateSchema(schemaUuid, request));
+		return tx(() -> content().getSchemaContainer().getLatestVersion().getUuid());
+	}
+
+}
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,10 +36,13 @@ import com.gentics.mesh.core.data.branch.BranchSchemaEdge;
 import com.gentics.mesh.core.data.container.impl.MicroschemaContainerImpl;
 import com.gentics.mesh.core.data.container.impl.MicroschemaContainerVersionImpl;
 import com.gentics.mesh.core.data.impl.GraphFieldContainerEdgeImpl;
+import com.gentics.mesh.core.data.job.Job;
 import com.gentics.mesh.core.data.node.Micronode;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.field.list.MicronodeGraphFieldList;
+import com.gentics.mesh.core.data.node.field.list.impl.MicronodeGraphFieldListImpl;
 import com.gentics.mesh.core.data.node.field.nesting.MicronodeGraphField;
+import com.gentics.mesh.core.data.node.impl.MicronodeImpl;
 import com.gentics.mesh.core.data.schema.MicroschemaContainer;
 import com.gentics.mesh.core.data.schema.MicroschemaContainerVersion;
 import com.gentics.mesh.core.data.schema.SchemaContainer;
@@ -47,6 +51,8 @@ import com.gentics.mesh.core.data.schema.impl.SchemaContainerImpl;
 import com.gentics.mesh.core.data.schema.impl.SchemaContainerVersionImpl;
 import com.gentics.mesh.core.data.schema.impl.UpdateFieldChangeImpl;
 import com.gentics.mesh.core.rest.job.JobListResponse;
+import com.gentics.mesh.core.rest.job.JobMetrics;
+import com.gentics.mesh.core.rest.job.JobResponse;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaModelImpl;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaUpdateRequest;
 import com.gentics.mesh.core.rest.node.NodeCreateRequest;
@@ -343,6 +349,78 @@ public class NodeMigrationEndpointTest extends AbstractMeshTest {
 		assertThat(status).listsAll(COMPLETED).hasInfos(1).containsJobs(jobUuid);
 	}
 
+	@Test
+	public void testMigrationMetrics() throws Throwable {
+		String fieldName = "changedfield";
+		String jobUuid;
+
+		try (Tx tx = tx()) {
+			SchemaContainer container = createDummySchemaWithChanges(fieldName, false);
+			SchemaContainerVersion versionB = container.getLatestVersion();
+			SchemaContainerVersion versionA = versionB.getPreviousVersion();
+			User user = user();
+			project().getLatestBranch().assignSchemaVersion(user, versionA);
+
+			Node parentNode = folder("2015");
+			for (int i = 0; i < 3; i++) {
+				Node node = parentNode.create(user, versionA, project());
+				node.createGraphFieldContainer(english(), project().getLatestBranch(), user).createString(fieldName).setString("content " + i);
+			}
+			jobUuid = project().getLatestBranch().assignSchemaVersion(user, versionB).getUuid();
+			tx.success();
+		}
+
+		triggerAndWaitForJob(jobUuid);
+
+		JobMetrics metrics = call(() -> client().findJobByUuid(jobUuid)).getMetrics();
+		assertNotNull("The job should contain the metrics of the migration", metrics);
+		assertEquals("The total should have been counted before the containers were migrated", Long.valueOf(3), metrics.getTotal());
+		assertEquals(3, metrics.getProcessed());
+		assertEquals("No containers should remain", Long.valueOf(0), metrics.getEstimatedRemainingTime());
+	}
+
+	@Test
+	public void testResumeFromCheckpoint() throws Throwable {
+		String fieldName = "changedfield";
+		Node firstNode;
+		Node secondNode;
+		String jobUuid;
+
+		try (Tx tx = tx()) {
+			SchemaContainer container = createDummySchemaWithChanges(fieldName, false);
+			SchemaContainerVersion versionB = container.getLatestVersion();
+			SchemaContainerVersion versionA = versionB.getPreviousVersion();
+			User user = user();
+			project().getLatestBranch().assignSchemaVersion(user, versionA);
+
+			Node parentNode = folder("2015");
+			firstNode = parentNode.create(user, versionA, project());
+			firstNode.createGraphFieldContainer(english(), project().getLatestBranch(), user).createString(fieldName).setString("first content");
+			secondNode = parentNode.create(user, versionA, project());
+			secondNode.createGraphFieldContainer(english(), project().getLatestBranch(), user).createString(fieldName).setString("second content");
+
+			// Simulate a previous run which was interrupted after it migrated some containers
+			Job job = project().getLatestBranch().assignSchemaVersion(user, versionB);
+			job.setCheckpoint("5");
+			job.setCompletionCount(5);
+			jobUuid = job.getUuid();
+			tx.success();
+		}
+
+		triggerAndWaitForJob(jobUuid);
+
+		try (Tx tx = tx()) {
+			assertThat(firstNode.getGraphFieldContainer("en").getString(fieldName).getString()).isEqualTo("modified first content");
+			assertThat(secondNode.getGraphFieldContainer("en").getString(fieldName).getString()).isEqualTo("modified second content");
+			Job job = boot().jobRoot().findByUuid(jobUuid);
+			assertNull("The checkpoint should be removed once the migration is done", job.getCheckpoint());
+		}
+
+		JobResponse job = call(() -> client().findJobByUuid(jobUuid));
+		assertEquals(COMPLETED, job.getStatus());
+		assertEquals("The progress of the previous run should have been restored", 7, job.getCompletionCount());
+	}
+
 	@Test
 	public void testMigrateAddRawField() throws Throwable {
 
@@ -393,6 +471,39 @@ public class NodeMigrationEndpointTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testScriptFreeMigration() throws Throwable {
+		Node node = content();
+		String nodeUuid = contentUuid();
+		String schemaUuid = tx(() -> node.getSchemaContainer().getUuid());
+		NodeResponse before = call(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid));
+		assertTrue("The content field should be set before the migration", before.getFields().hasField("content"));
+
+		// Only remove and add fields so that the migration does not need to evaluate any script
+		waitForJobs(() -> {
+			SchemaUpdateRequest request = tx(() -> JsonUtil.readValue(node.getSchemaContainer().getLatestVersion().getJson(),
+				SchemaUpdateRequest.class));
+			request.removeField("content");
+			request.addField(FieldUtil.createStringFieldSchema("extra").setRequired(true));
+			call(() -> client().updateSchema(schemaUuid, request));
+		}, COMPLETED, 1);
+
+		NodeResponse after = call(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid));
+		assertNotEquals(before.getSchema().getVersion(), after.getSchema().getVersion());
+		assertFalse("The removed field should no longer be set", after.getFields().hasField("content"));
+		assertNull("The added field should not have a value", after.getFields().getStringField("extra"));
+		assertEquals(before.getFields().getStringField("slug").getString(), after.getFields().getStringField("slug").getString());
+		assertEquals(before.getFields().getStringField("title").getString(), after.getFields().getStringField("title").getString());
+		assertEquals(before.getFields().getStringField("teaser").getString(), after.getFields().getStringField("teaser").getString());
+		assertEquals("The display name should have been kept", before.getDisplayName(), after.getDisplayName());
+
+		try (Tx tx = tx()) {
+			NodeGraphFieldContainer container = node.getLatestDraftFieldContainer(english());
+			assertNull("The field of the removed field should have been deleted", container.getHtml("content"));
+			assertNull(container.getString("extra"));
+		}
+	}
+
 	@Test
 	public void testMigrateAgain() throws Throwable {
 		String fieldName = "changedfield";
@@ -985,6 +1096,105 @@ public class NodeMigrationEndpointTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testMicroschemaMigrationInSharedListField() throws Throwable {
+		String fieldName = "changedfield";
+		String micronodeFieldName = "micronodefield";
+		MicroschemaContainerVersion versionA;
+		MicroschemaContainerVersion versionB;
+		MicronodeGraphFieldList sharedListField;
+		NodeGraphFieldContainer previousContainer;
+		Node node;
+		long micronodeCount;
+		long listCount;
+
+		try (Tx tx = tx()) {
+			// create version 1 of the microschema
+			MicroschemaContainer container = tx.getGraph().addFramedVertex(MicroschemaContainerImpl.class);
+			container.setCreated(user());
+			versionA = tx.getGraph().addFramedVertex(MicroschemaContainerVersionImpl.class);
+			container.setLatestVersion(versionA);
+			versionA.setSchemaContainer(container);
+
+			MicroschemaModelImpl microschemaA = new MicroschemaModelImpl();
+			microschemaA.setName("migratedSchema");
+			microschemaA.setVersion("1.0");
+			microschemaA.addField(FieldUtil.createStringFieldSchema(fieldName));
+			versionA.setName("migratedSchema");
+			versionA.setSchema(microschemaA);
+			boot().microschemaContainerRoot().addMicroschema(user(), container);
+
+			// create version 2 of the microschema
+			versionB = tx.getGraph().addFramedVertex(MicroschemaContainerVersionImpl.class);
+			versionB.setSchemaContainer(container);
+			MicroschemaModelImpl microschemaB = new MicroschemaModelImpl();
+			microschemaB.setName("migratedSchema");
+			microschemaB.setVersion("2.0");
+			microschemaB.addField(FieldUtil.createStringFieldSchema(fieldName));
+			versionB.setName("migratedSchema");
+			versionB.setSchema(microschemaB);
+
+			// link the schemas with the changes in between
+			UpdateFieldChangeImpl updateFieldChange = tx.getGraph().addFramedVertex(UpdateFieldChangeImpl.class);
+			updateFieldChange.setFieldName(fieldName);
+			updateFieldChange.setCustomMigrationScript(
+				"function migrate(node, fieldname, convert) {node.fields[fieldname] = 'modified ' + node.fields[fieldname]; return node;}");
+			updateFieldChange.setPreviousContainerVersion(versionA);
+			updateFieldChange.setNextSchemaContainerVersion(versionB);
+			versionA.setNextVersion(versionB);
+
+			String english = english();
+			node = folder("2015");
+			SchemaModel schema = node.getSchemaContainer().getLatestVersion().getSchema();
+			schema.addField(new ListFieldSchemaImpl().setListType("micronode").setAllowedSchemas(versionA.getName()).setName(micronodeFieldName)
+				.setLabel("Micronode List Field"));
+			node.getSchemaContainer().getLatestVersion().setSchema(schema);
+
+			// Create a list with multiple micronodes of the old version
+			Branch branch = node.getProject().getLatestBranch();
+			NodeGraphFieldContainer oldContainer = node.getGraphFieldContainer(english, branch, DRAFT);
+			previousContainer = node.createGraphFieldContainer(english, branch, user(), oldContainer, true);
+			sharedListField = previousContainer.createMicronodeFieldList(micronodeFieldName);
+			for (String content : Arrays.asList("first content", "second content")) {
+				Micronode micronode = sharedListField.createMicronode();
+				micronode.setSchemaContainerVersion(versionA);
+				micronode.createString(fieldName).setString(content);
+			}
+
+			// The new draft version shares the list with the previous version
+			NodeGraphFieldContainer draftContainer = node.createGraphFieldContainer(english, branch, user(), previousContainer, true);
+			assertEquals(sharedListField.getUuid(), draftContainer.getMicronodeList(micronodeFieldName).getUuid());
+
+			micronodeCount = tx.getGraph().v().has(MicronodeImpl.class).count();
+			listCount = tx.getGraph().v().has(MicronodeGraphFieldListImpl.class).count();
+			tx.success();
+		}
+
+		String jobUuid = tx(() -> boot().jobRoot().enqueueMicroschemaMigration(user(), project().getLatestBranch(), versionA, versionB).getUuid());
+		triggerAndWaitForJob(jobUuid);
+
+		try (Tx tx = tx()) {
+			// The list must only be cloned once even though it contains multiple micronodes of the old version
+			assertEquals("The list should have been cloned once", listCount + 1, tx.getGraph().v().has(MicronodeGraphFieldListImpl.class).count());
+			assertEquals("Each micronode should have been cloned once", micronodeCount + 2, tx.getGraph().v().has(MicronodeImpl.class).count());
+
+			MicronodeGraphFieldList migratedList = node.getGraphFieldContainer("en").getMicronodeList(micronodeFieldName);
+			assertNotEquals(sharedListField.getUuid(), migratedList.getUuid());
+			List<? extends MicronodeGraphField> migrated = migratedList.getList();
+			assertThat(migrated).hasSize(2);
+			assertThat(migrated.get(0).getMicronode()).as("Migrated Micronode").isOf(versionB);
+			assertThat(migrated.get(0).getMicronode().getString(fieldName).getString()).isEqualTo("modified first content");
+			assertThat(migrated.get(1).getMicronode()).as("Migrated Micronode").isOf(versionB);
+			assertThat(migrated.get(1).getMicronode().getString(fieldName).getString()).isEqualTo("modified second content");
+
+			// The shared list is still used by the previous version and must not be modified
+			assertEquals(sharedListField.getUuid(), previousContainer.getMicronodeList(micronodeFieldName).getUuid());
+			assertThat(sharedListField.getList()).hasSize(2);
+			assertThat(sharedListField.getList().get(0).getMicronode()).as("Old Micronode").isOf(versionA);
+			assertThat(sharedListField.getList().get(0).getMicronode().getString(fieldName).getString()).isEqualTo("first content");
+		}
+	}
+
 	@Test
 	public void testMicroschemaMigrationMixedList() throws Throwable {
 		String fieldName = "changedfield";
@@ -1,12 +1,15 @@
 package com.gentics.mesh.core.schema.field;
 
 import com.gentics.mesh.core.data.branch.BranchVersionEdge;
+import com.gentics.mesh.core.endpoint.migration.MigrationMetrics;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 
 public class DummyMigrationStatus implements MigrationStatusHandler {
 	private static DummyMigrationStatus instance = new DummyMigrationStatus();
 
+	private MigrationMetrics metrics = new MigrationMetrics("dummy");
+
 	private DummyMigrationStatus() {
 
 	}
@@ -20,6 +23,16 @@ public class DummyMigrationStatus implements MigrationStatusHandler {
 		return this;
 	}
 
+	@Override
+	public MigrationStatusHandler checkpoint(String checkpoint) {
+		return this;
+	}
+
+	@Override
+	public String resume() {
+		return null;
+	}
+
 	@Override
 	public MigrationStatusHandler done() {
 		return this;
@@ -49,4 +62,9 @@ public class DummyMigrationStatus implements MigrationStatusHandler {
 	public void incCompleted() {
 
 	}
+
+	@Override
+	public MigrationMetrics getMetrics() {
+		return metrics;
+	}
 }
@@ -358,6 +358,7 @@ public class TagFamilyEndpointTest extends AbstractMeshTest implements BasicRest
 			// Multiple tags of the same family can be tagged on same node. This should still trigger only 1 update for that node.
 			HashSet<String> taggedNodes = new HashSet<>();
 			int storeCount = 0;
+			int updateCount = 0;
 			for (Tag tag : tagfamily.findAll()) {
 				storeCount++;
 				for (Node node : tag.getNodes(branch)) {
@@ -366,8 +367,8 @@ public class TagFamilyEndpointTest extends AbstractMeshTest implements BasicRest
 						for (ContainerType containerType : new ContainerType[] { ContainerType.DRAFT, ContainerType.PUBLISHED }) {
 							for (NodeGraphFieldContainer fieldContainer : node.getGraphFieldContainers(branch, containerType)) {
 								SchemaContainerVersion schema = node.getSchemaContainer().getLatestVersion();
-								storeCount++;
-								assertThat(trackingSearchProvider()).hasStore(NodeGraphFieldContainer.composeIndexName(project.getUuid(), branch
+								updateCount++;
+								assertThat(trackingSearchProvider()).hasUpdate(NodeGraphFieldContainer.composeIndexName(project.getUuid(), branch
 										.getUuid(), schema.getUuid(), containerType), NodeGraphFieldContainer.composeDocumentId(node.getUuid(),
 												fieldContainer.getLanguageTag()));
 							}
@@ -377,6 +378,7 @@ public class TagFamilyEndpointTest extends AbstractMeshTest implements BasicRest
 			}
 
 			assertThat(trackingSearchProvider()).hasEvents(storeCount + 1, 0, 0, 0);
+			assertThat(trackingSearchProvider()).recordedUpdateEvents(updateCount);
 		}
 	}
 
@@ -19,6 +19,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Test;
 
 import com.gentics.mesh.context.BulkActionContext;
@@ -43,6 +47,7 @@ import com.gentics.mesh.parameter.impl.PagingParametersImpl;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
 import com.gentics.mesh.test.util.TestUtils;
+import com.gentics.mesh.util.UUIDUtil;
 import com.google.common.collect.Iterables;
 import com.syncleus.ferma.tx.Tx;
 
@@ -139,6 +144,21 @@ public class UserTest extends AbstractMeshTest implements BasicObjectTestcases {
 		}
 	}
 
+	@Test
+	public void testFindByUuids() {
+		try (Tx tx = tx()) {
+			UserRoot root = meshRoot().getUserRoot();
+			String userUuid = user().getUuid();
+			String groupUuid = group().getUuid();
+			String missingUuid = UUIDUtil.randomUUID();
+
+			Map<String, ? extends User> found = root.findByUuids(Arrays.asList(userUuid, userUuid, groupUuid, missingUuid));
+			assertEquals("Only the user should be found within the user root", 1, found.size());
+			assertEquals(userUuid, found.get(userUuid).getUuid());
+			assertTrue(root.findByUuids(Collections.emptyList()).isEmpty());
+		}
+	}
+
 	@Test
 	public void testGetPrincipal() {
 		try (Tx tx = tx()) {
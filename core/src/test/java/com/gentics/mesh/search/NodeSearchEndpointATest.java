@@ -7,8 +7,12 @@ import static com.gentics.mesh.test.TestSize.FULL;
 import static com.gentics.mesh.test.context.MeshTestHelper.getSimpleQuery;
 import static com.gentics.mesh.test.context.MeshTestHelper.getSimpleTermQuery;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -20,7 +24,10 @@ import com.gentics.mesh.core.rest.schema.FieldSchema;
 import com.gentics.mesh.core.rest.schema.impl.SchemaResponse;
 import com.gentics.mesh.core.rest.schema.impl.SchemaUpdateRequest;
 import com.gentics.mesh.core.rest.schema.impl.StringFieldSchemaImpl;
+import com.gentics.mesh.parameter.SearchParameters;
 import com.gentics.mesh.parameter.client.SchemaUpdateParametersImpl;
+import com.gentics.mesh.parameter.client.SearchParametersImpl;
+import com.gentics.mesh.parameter.impl.PagingParametersImpl;
 import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
 import com.gentics.mesh.test.context.MeshTestSetting;
 import com.syncleus.ferma.tx.Tx;
@@ -108,4 +115,43 @@ public class NodeSearchEndpointATest extends AbstractNodeSearchEndpointTest {
 
 		assertThat(newCount).isEqualTo(oldCount);
 	}
+
+	@Test
+	public void testSearchWithCursor() throws Exception {
+		try (Tx tx = tx()) {
+			recreateIndices();
+		}
+
+		String query = getSimpleTermQuery("schema.name.raw", "content");
+		NodeListResponse all = call(() -> client().searchNodes(PROJECT_NAME, query, new PagingParametersImpl().setPerPage(1000L),
+			new VersioningParametersImpl().draft()));
+		Set<String> expected = new HashSet<>();
+		for (NodeResponse node : all.getData()) {
+			expected.add(node.getUuid() + "-" + node.getLanguage());
+		}
+		assertThat(expected).as("Nodes of the content schema").hasSize(all.getData().size()).hasSize((int) all.getMetainfo().getTotalCount());
+		assertTrue("The result must span multiple pages", expected.size() > 2);
+
+		// Page through the whole result using the cursor
+		Set<String> found = new HashSet<>();
+		String cursor = SearchParameters.INITIAL_CURSOR;
+		int pages = 0;
+		while (cursor != null) {
+			String current = cursor;
+			NodeListResponse page = call(() -> client().searchNodes(PROJECT_NAME, query, new PagingParametersImpl().setPerPage(2L),
+				new SearchParametersImpl().setCursor(current), new VersioningParametersImpl().draft()));
+			assertThat(page.getData().size()).as("Page size").isLessThanOrEqualTo(2);
+			for (NodeResponse node : page.getData()) {
+				assertTrue("Node {" + node.getUuid() + "} was returned more than once", found.add(node.getUuid() + "-" + node.getLanguage()));
+			}
+			cursor = page.getMetainfo().getNextCursor();
+			assertTrue("The cursor did not reach the end of the result", ++pages <= expected.size());
+		}
+		assertThat(found).as("Nodes found using the cursor").isEqualTo(expected);
+
+		// The cursor of the last page does not return any further element
+		NodeListResponse last = call(() -> client().searchNodes(PROJECT_NAME, query, new PagingParametersImpl().setPerPage(1000L),
+			new SearchParametersImpl().setCursor(SearchParameters.INITIAL_CURSOR), new VersioningParametersImpl().draft()));
+		assertNull("The whole result fits into a single page", last.getMetainfo().getNextCursor());
+	}
 }
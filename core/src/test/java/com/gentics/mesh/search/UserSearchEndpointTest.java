@@ -10,6 +10,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.codehaus.jettison.json.JSONException;
 import org.junit.Test;
@@ -20,6 +22,7 @@ import com.gentics.mesh.core.rest.user.UserListResponse;
 import com.gentics.mesh.core.rest.user.UserResponse;
 import com.gentics.mesh.core.rest.user.UserUpdateRequest;
 import com.gentics.mesh.parameter.impl.PagingParametersImpl;
+import com.gentics.mesh.parameter.impl.SearchParametersImpl;
 import com.gentics.mesh.test.TestSize;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -63,6 +66,52 @@ public class UserSearchEndpointTest extends AbstractMeshTest implements BasicSea
 
 	}
 
+	@Test
+	public void testPageTransform() throws IOException {
+		String username = "testuser";
+		Set<String> uuids = new HashSet<>();
+		for (int i = 0; i < 10; i++) {
+			uuids.add(createUser(username + i).getUuid());
+		}
+
+		String json = getESText("userWildcard.es");
+
+		// All hits of the page are resolved together and share the same group
+		UserListResponse list = call(() -> client().searchUsers(json, new PagingParametersImpl(1, 10L)));
+		assertEquals(10, list.getData().size());
+		String groupName = db().tx(() -> group().getName());
+		for (UserResponse user : list.getData()) {
+			assertTrue("The user {" + user.getUsername() + "} was not created by the test", uuids.remove(user.getUuid()));
+			assertEquals(1, user.getGroups().size());
+			assertEquals(groupName, user.getGroups().get(0).getName());
+		}
+		assertTrue("Each user should only be listed once", uuids.isEmpty());
+	}
+
+	@Test
+	public void testSourceOnly() throws IOException {
+		String username = "testuser";
+		for (int i = 0; i < 5; i++) {
+			createUser(username + i);
+		}
+
+		String json = getESText("userWildcard.es");
+		UserListResponse fromGraph = call(() -> client().searchUsers(json));
+		UserListResponse fromSource = call(() -> client().searchUsers(json, new SearchParametersImpl().setSourceOnly(true)));
+
+		assertEquals(5, fromSource.getData().size());
+		assertEquals(fromGraph.getMetainfo().getTotalCount(), fromSource.getMetainfo().getTotalCount());
+		for (int i = 0; i < fromGraph.getData().size(); i++) {
+			UserResponse expected = fromGraph.getData().get(i);
+			UserResponse user = fromSource.getData().get(i);
+			assertEquals(expected.getUuid(), user.getUuid());
+			assertEquals(expected.getUsername(), user.getUsername());
+			assertEquals(expected.getGroups().size(), user.getGroups().size());
+			assertEquals(expected.getGroups().get(0).getUuid(), user.getGroups().get(0).getUuid());
+			assertEquals(expected.getGroups().get(0).getName(), user.getGroups().get(0).getName());
+		}
+	}
+
 	@Test
 	public void testBogusQuery() throws IOException {
 		String username = "testuser42a";
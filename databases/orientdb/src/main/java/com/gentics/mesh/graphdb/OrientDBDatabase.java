@@ -63,6 +63,7 @@ import com.orientechnologies.orient.core.intent.OIntentMassiveInsert;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.OServerMain;
@@ -636,6 +637,15 @@ public class OrientDBDatabase extends AbstractDatabase {
 		return orientBaseGraph.getVertices(classOfVertex.getSimpleName(), fieldNames, fieldValues).iterator();
 	}
 
+	@Override
+	public Iterator<Vertex> getVerticesByUuids(Class<?> classOfVertex, Collection<String> uuids) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		// The IN condition will be resolved using the uuid index of the type
+		OCommandSQL query = new OCommandSQL("SELECT FROM " + classOfVertex.getSimpleName() + " WHERE " + MeshVertex.UUID_KEY + " IN ?");
+		Iterable<Vertex> result = orientBaseGraph.command(query).execute(new ArrayList<>(uuids));
+		return result.iterator();
+	}
+
 	@Override
 	public <T extends MeshVertex> Iterator<? extends T> getVerticesForType(Class<T> classOfVertex) {
 		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
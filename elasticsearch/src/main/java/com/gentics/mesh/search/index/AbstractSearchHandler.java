@@ -9,17 +9,23 @@ import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
+import javax.inject.Inject;
+
 import org.apache.commons.lang3.StringUtils;
 
 import com.gentics.elasticsearch.client.HttpErrorException;
 import com.gentics.elasticsearch.client.okhttp.RequestBuilder;
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.MeshCoreVertex;
 import com.gentics.mesh.core.data.Role;
@@ -34,9 +40,11 @@ import com.gentics.mesh.core.rest.common.RestModel;
 import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.error.InvalidArgumentException;
 import com.gentics.mesh.error.MeshConfigurationException;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.json.MeshJsonException;
 import com.gentics.mesh.parameter.PagingParameters;
+import com.gentics.mesh.parameter.SearchParameters;
 import com.gentics.mesh.search.DevNullSearchProvider;
 import com.gentics.mesh.search.SearchHandler;
 import com.gentics.mesh.search.SearchProvider;
@@ -46,7 +54,6 @@ import com.gentics.mesh.util.Tuple;
 import com.syncleus.ferma.tx.Tx;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -68,6 +75,9 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 
 	protected IndexHandler<T> indexHandler;
 
+	@Inject
+	public SearchResultCache resultCache;
+
 	/**
 	 * Create a new search handler.
 	 * 
@@ -93,12 +103,14 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 		try {
 			JsonObject userJson = new JsonObject(searchQuery);
 
-			JsonArray roleUuids = new JsonArray();
+			// The uuids are sorted so that the resulting query is stable for the same set of roles
+			Set<String> sortedRoleUuids = new TreeSet<>();
 			try (Tx tx = db.tx()) {
 				for (Role role : ac.getUser().getRoles()) {
-					roleUuids.add(role.getUuid());
+					sortedRoleUuids.add(role.getUuid());
 				}
 			}
+			JsonArray roleUuids = new JsonArray(new ArrayList<>(sortedRoleUuids));
 			JsonObject newQuery = new JsonObject().put("bool",
 				new JsonObject().put("filter", new JsonArray().add(new JsonObject().put("terms", new JsonObject().put(
 					"_roleUuids", roleUuids)))));
@@ -147,11 +159,10 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 
 		JsonObject queryOption = new JsonObject();
 		queryOption.put("index", StringUtils.join(indices.stream().map(i -> searchProvider.installationPrefix() + i).toArray(String[]::new), ","));
-		queryOption.put("search_type", "dfs_query_then_fetch");
+		queryOption.put("search_type", getSearchType());
 		log.debug("Using options {" + queryOption.encodePrettily() + "}");
 
-		RequestBuilder<JsonObject> requestBuilder = client.multiSearch(queryOption, request);
-		requestBuilder.async().subscribe(response -> {
+		multiSearch(client, queryOption, request, indices).subscribe(response -> {
 			// JsonObject firstResponse = response.getJsonArray("responses").getJsonObject(0);
 			// Directly relay the response to the requester without converting it.
 			ac.send(response.toString(), OK);
@@ -207,7 +218,12 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 		JsonObject request = prepareSearchQuery(ac, searchQuery, filterLanguage);
 
 		// Add paging to query. Internally we start with page 0
-		applyPagingParams(request, pagingInfo);
+		String cursor = ac.getSearchParameters().getCursor();
+		if (cursor != null) {
+			SearchCursor.apply(request, SearchParameters.INITIAL_CURSOR.equals(cursor) ? null : cursor, perPage);
+		} else {
+			applyPagingParams(request, pagingInfo);
+		}
 
 		if (log.isDebugEnabled()) {
 			log.debug("Using parsed query {" + request.encodePrettily() + "}");
@@ -215,61 +231,44 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 
 		JsonObject queryOption = new JsonObject();
 		queryOption.put("index", StringUtils.join(indices.stream().map(i -> searchProvider.installationPrefix() + i).toArray(String[]::new), ","));
-		queryOption.put("search_type", "dfs_query_then_fetch");
+		queryOption.put("search_type", getSearchType());
 		log.debug("Using options {" + queryOption.encodePrettily() + "}");
 
-		RequestBuilder<JsonObject> requestBuilder = client.multiSearch(queryOption, request);
-		requestBuilder.async().flatMapObservable(response -> {
+		boolean sourceOnly = ac.getSearchParameters().isSourceOnly();
+		multiSearch(client, queryOption, request, indices).map(response -> {
 			JsonArray responses = response.getJsonArray("responses");
 			JsonObject firstResponse = responses.getJsonObject(0);
 
 			// Process the nested error
 			JsonObject errorInfo = firstResponse.getJsonObject("error");
 			if (errorInfo != null) {
-				return Observable.error(mapError(errorInfo));
+				throw mapError(errorInfo);
 			}
 
 			JsonObject hitsInfo = firstResponse.getJsonObject("hits");
 			JsonArray hits = hitsInfo.getJsonArray("hits");
 
-			List<Tuple<T, String>> list = new ArrayList<>();
+			// Resolve and transform the whole page within a single transaction
 			db.tx(() -> {
-				for (int i = 0; i < hits.size(); i++) {
-					JsonObject hit = hits.getJsonObject(i);
-					String id = hit.getString("_id");
-					int pos = id.indexOf("-");
-
-					String language = pos > 0 ? id.substring(pos + 1) : null;
-					String uuid = pos > 0 ? id.substring(0, pos) : id;
-
-					// Locate the node
-					T element = rootVertex.get().findByUuid(uuid);
-					if (element == null) {
-						log.warn("Object could not be found for uuid {" + uuid + "} in root vertex {" + rootVertex.get().getRootLabel()
-							+ "}. The element will be omitted.");
-						// Reduce the total count
-						hitsInfo.put("total", hitsInfo.getLong("total") - 1);
-					} else {
-						// TODO maybe it would be better to directly transform the element here.
-						list.add(Tuple.tuple(element, language));
-					}
+				List<RM> models = sourceOnly ? transformFromSource(hits) : null;
+				if (models == null) {
+					models = transformFromGraph(ac, rootVertex.get(), hits, hitsInfo);
 				}
+				listResponse.getData().addAll(models);
 			});
 
 			// Set meta information to the rest response
-			listResponse.setMetainfo(extractMetaInfo(hitsInfo, pagingInfo));
-
-			return Observable.fromIterable(list);
+			PagingMetaInfo metaInfo = extractMetaInfo(hitsInfo, pagingInfo);
+			if (cursor != null) {
+				metaInfo.setNextCursor(SearchCursor.next(hits, perPage));
+			}
+			listResponse.setMetainfo(metaInfo);
+			return listResponse;
 		}).onErrorResumeNext(error -> {
-			return Observable.error(mapToMeshError(error));
-		}).flatMapSingle(element -> {
-			// TODO add resume next to omit the item if it can't be transformed for some reason.
-			// This would be better than to just fail the whole request
-			// TODO maybe add extra permission filtering? This would not be very costly for smaller pages and ensure perm consistency?
-			// TODO it would be good to batch the transformation of the elements to save the overhead of creating transactions and use the L1 cache.
-			return db.tx(() -> Single.just(element.v1().transformToRestSync(ac, 0, element.v2())));
-		}).collect(() -> listResponse.getData(), (x, y) -> {
-			x.add(y);
+			if (error instanceof GenericRestException) {
+				return Single.error(error);
+			}
+			return Single.error(mapToMeshError(error));
 		}).subscribe(list -> {
 			ac.send(listResponse.toJson(), OK);
 		}, error -> {
@@ -278,6 +277,121 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 		});
 	}
 
+	/**
+	 * Load the elements for the given hits and transform them. The elements are looked up in one batch so that elements which are referenced by multiple
+	 * hits (e.g. multiple languages of the same node) are only loaded once. This method must be invoked within the scope of a transaction.
+	 * 
+	 * @param ac
+	 * @param root
+	 *            Root vertex which is used to locate the elements
+	 * @param hits
+	 *            Hits of the search response
+	 * @param hitsInfo
+	 *            Hits info which will be updated if elements could not be found
+	 * @return Transformed elements in the order of the hits
+	 */
+	protected List<RM> transformFromGraph(InternalActionContext ac, RootVertex<T> root, JsonArray hits, JsonObject hitsInfo) {
+		List<Tuple<String, String>> uuidAndLanguage = new ArrayList<>(hits.size());
+		Set<String> uuids = new LinkedHashSet<>();
+		for (int i = 0; i < hits.size(); i++) {
+			JsonObject hit = hits.getJsonObject(i);
+			String id = hit.getString("_id");
+			int pos = id.indexOf("-");
+
+			String language = pos > 0 ? id.substring(pos + 1) : null;
+			String uuid = pos > 0 ? id.substring(0, pos) : id;
+			uuidAndLanguage.add(Tuple.tuple(uuid, language));
+			uuids.add(uuid);
+		}
+
+		Map<String, T> elements = root.findByUuids(uuids);
+		List<RM> models = new ArrayList<>(uuidAndLanguage.size());
+		for (Tuple<String, String> entry : uuidAndLanguage) {
+			T element = elements.get(entry.v1());
+			if (element == null) {
+				log.warn("Object could not be found for uuid {" + entry.v1() + "} in root vertex {" + root.getRootLabel()
+					+ "}. The element will be omitted.");
+				// Reduce the total count
+				hitsInfo.put("total", hitsInfo.getLong("total") - 1);
+			} else {
+				// TODO maybe add extra permission filtering? This would not be very costly for smaller pages and ensure perm consistency?
+				models.add(element.transformToRestSync(ac, 0, entry.v2()));
+			}
+		}
+		return models;
+	}
+
+	/**
+	 * Transform the hits directly into rest models by using the indexed document source.
+	 * 
+	 * @param hits
+	 * @return Transformed models or null if the source-only mode is not supported by the handler
+	 */
+	protected List<RM> transformFromSource(JsonArray hits) {
+		List<RM> models = new ArrayList<>(hits.size());
+		for (int i = 0; i < hits.size(); i++) {
+			JsonObject source = hits.getJsonObject(i).getJsonObject("_source");
+			RM model = source == null ? null : transformFromSource(source);
+			if (model == null) {
+				return null;
+			}
+			models.add(model);
+		}
+		return models;
+	}
+
+	/**
+	 * Transform the given document source into the rest model. The default implementation does not support the source-only mode and returns null. Handlers
+	 * which support the mode need to override this method. Note that the permission information will not be included in the created model.
+	 * 
+	 * @param source
+	 *            Source of the indexed document
+	 * @return Created model or null if the mode is not supported
+	 */
+	protected RM transformFromSource(JsonObject source) {
+		return null;
+	}
+
+	/**
+	 * Invoke the multi search request. The response will be loaded from the search result cache if possible.
+	 * 
+	 * @param client
+	 * @param queryOption
+	 * @param request
+	 * @param indices
+	 *            Indices which are searched. The current generation of each index is part of the cache key.
+	 * @return
+	 */
+	protected Single<JsonObject> multiSearch(SearchClient client, JsonObject queryOption, JsonObject request, Set<String> indices) {
+		RequestBuilder<JsonObject> requestBuilder = client.multiSearch(queryOption, request);
+		if (resultCache == null || !resultCache.isEnabled()) {
+			return requestBuilder.async();
+		}
+		// The key must be created before the request is sent to ensure that it references the generation which was current before the search
+		String key = resultCache.createKey(new JsonObject().put("options", queryOption).put("request", request), indices);
+		JsonObject cached = resultCache.get(key);
+		if (cached != null) {
+			return Single.just(cached);
+		}
+		return requestBuilder.async().doOnSuccess(response -> {
+			// Don't cache failed searches
+			JsonArray responses = response.getJsonArray("responses");
+			if (responses != null && !responses.isEmpty() && responses.getJsonObject(0).getJsonObject("error") == null) {
+				resultCache.put(key, response);
+			}
+		});
+	}
+
+	/**
+	 * Return the configured search type which will be used for search requests.
+	 * 
+	 * @return
+	 */
+	protected String getSearchType() {
+		String searchType = Mesh.mesh().getOptions().getSearchOptions().getSearchType();
+		return searchType == null ? ElasticSearchOptions.DEFAULT_SEARCH_TYPE : searchType;
+	}
+
 	/**
 	 * Add the paging parameters to the request.
 	 * 
@@ -341,12 +455,11 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 
 		JsonObject queryOption = new JsonObject();
 		queryOption.put("index", StringUtils.join(indices.stream().map(i -> searchProvider.installationPrefix() + i).toArray(String[]::new), ","));
-		queryOption.put("search_type", "dfs_query_then_fetch");
+		queryOption.put("search_type", getSearchType());
 		log.debug("Using options {" + queryOption.encodePrettily() + "}");
 
 		// Prepare the request
-		RequestBuilder<JsonObject> requestBuilder = client.multiSearch(queryOption, queryJson);
-		Single<Page<? extends T>> result = requestBuilder.async()
+		Single<Page<? extends T>> result = multiSearch(client, queryOption, queryJson, indices)
 			.map(response -> {
 				JsonArray responses = response.getJsonArray("responses");
 				JsonObject firstResponse = responses.getJsonObject(0);
@@ -358,17 +471,21 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 				}
 
 				return db.tx(() -> {
-					List<T> elementList = new ArrayList<>();
 					JsonObject hitsInfo = firstResponse.getJsonObject("hits");
 					JsonArray hits = hitsInfo.getJsonArray("hits");
+					List<String> uuids = new ArrayList<>(hits.size());
 					for (int i = 0; i < hits.size(); i++) {
 						JsonObject hit = hits.getJsonObject(i);
 						String id = hit.getString("_id");
 						int pos = id.indexOf("-");
-						String uuid = pos > 0 ? id.substring(0, pos) : id;
+						uuids.add(pos > 0 ? id.substring(0, pos) : id);
+					}
 
-						// Locate the node
-						T element = indexHandler.getRootVertex().findByUuid(uuid);
+					// Locate the elements
+					Map<String, T> elements = indexHandler.getRootVertex().findByUuids(uuids);
+					List<T> elementList = new ArrayList<>(uuids.size());
+					for (String uuid : uuids) {
+						T element = elements.get(uuid);
 						if (element != null) {
 							elementList.add(element);
 						}
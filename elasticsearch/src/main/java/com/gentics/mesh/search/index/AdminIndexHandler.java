@@ -45,12 +45,16 @@ public class AdminIndexHandler {
 
 	private IndexHandlerRegistry registry;
 
+	private SearchResultCache resultCache;
+
 	@Inject
-	public AdminIndexHandler(Database db, SearchProvider searchProvider, ElasticsearchSyncVerticle syncVerticle, IndexHandlerRegistry registry) {
+	public AdminIndexHandler(Database db, SearchProvider searchProvider, ElasticsearchSyncVerticle syncVerticle, IndexHandlerRegistry registry,
+		SearchResultCache resultCache) {
 		this.db = db;
 		this.searchProvider = searchProvider;
 		this.syncVerticle = syncVerticle;
 		this.registry = registry;
+		this.resultCache = resultCache;
 	}
 
 	public void handleStatus(InternalActionContext ac) {
@@ -101,7 +105,8 @@ public class AdminIndexHandler {
 	public void handleClear(InternalActionContext ac) {
 		db.asyncTx(() -> Single.just(ac.getUser().hasAdminRole())).flatMapCompletable(hasAdminRole -> {
 			if (hasAdminRole) {
-				return searchProvider.clear().andThen(Observable.fromIterable(registry.getHandlers()).flatMapCompletable(handler -> handler.init()));
+				return searchProvider.clear().andThen(Observable.fromIterable(registry.getHandlers()).flatMapCompletable(handler -> handler.init()))
+					.doFinally(resultCache::invalidate);
 			} else {
 				throw error(FORBIDDEN, "error_admin_permission_required");
 			}
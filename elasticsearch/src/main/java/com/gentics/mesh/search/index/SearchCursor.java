@@ -0,0 +1,101 @@
+package com.gentics.mesh.search.index;
+
+import static com.gentics.mesh.core.rest.error.Errors.error;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Helper for cursor based paging which uses the Elasticsearch <code>search_after</code> feature. The cursor is an opaque token which contains the sort
+ * values of the last hit of the previous page.
+ */
+public final class SearchCursor {
+
+	/**
+	 * Field which is used as a tiebreaker to make the sort order unique.
+	 */
+	public static final String TIEBREAKER_FIELD = "_id";
+
+	private SearchCursor() {
+	}
+
+	/**
+	 * Prepare the query for cursor based paging. The <code>_id</code> tiebreaker will be added to the sort of the query and the <code>search_after</code>
+	 * values will be set when a cursor of a previous page was specified.
+	 * 
+	 * @param query
+	 *            Query which will be modified
+	 * @param cursor
+	 *            Cursor of the previous page or null for the first page
+	 * @param size
+	 *            Size of the page
+	 */
+	public static void apply(JsonObject query, String cursor, Long size) {
+		JsonArray sort;
+		Object currentSort = query.getValue("sort");
+		if (currentSort == null) {
+			sort = new JsonArray().add("_score");
+		} else if (currentSort instanceof JsonArray) {
+			sort = (JsonArray) currentSort;
+		} else {
+			sort = new JsonArray().add(currentSort);
+		}
+		sort.add(new JsonObject().put(TIEBREAKER_FIELD, "asc"));
+		query.put("sort", sort);
+		query.remove("from");
+		if (size != null) {
+			query.put("size", size);
+		}
+		if (cursor != null) {
+			query.put("search_after", decode(cursor));
+		}
+	}
+
+	/**
+	 * Create the cursor for the next page using the given hits. No cursor will be created if the page is not filled since no further hits can exist.
+	 * 
+	 * @param hits
+	 *            Hits of the current page
+	 * @param size
+	 *            Requested page size
+	 * @return Cursor or null if no further page exists
+	 */
+	public static String next(JsonArray hits, Long size) {
+		if (hits.isEmpty() || (size != null && hits.size() < size)) {
+			return null;
+		}
+		JsonArray sortValues = hits.getJsonObject(hits.size() - 1).getJsonArray("sort");
+		if (sortValues == null) {
+			return null;
+		}
+		return encode(sortValues);
+	}
+
+	/**
+	 * Encode the sort values into an opaque cursor.
+	 * 
+	 * @param sortValues
+	 * @return
+	 */
+	public static String encode(JsonArray sortValues) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(sortValues.encode().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode the cursor into the sort values.
+	 * 
+	 * @param cursor
+	 * @return
+	 */
+	public static JsonArray decode(String cursor) {
+		try {
+			return new JsonArray(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			throw error(BAD_REQUEST, "search_error_invalid_cursor", cursor);
+		}
+	}
+}
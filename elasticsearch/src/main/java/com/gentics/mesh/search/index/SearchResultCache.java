@@ -0,0 +1,184 @@
+package com.gentics.mesh.search.index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.etc.config.MeshOptions;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Optional LRU cache for search responses. Entries are keyed by the normalized search request (which also contains the role filter of the requester),
+ * the searched indices and the generation of each of those indices. The generation of an index is incremented once changes for the index have been
+ * processed by a search queue batch. Entries which reference an outdated generation will thus never be returned again and will be evicted over time.
+ */
+@Singleton
+public class SearchResultCache {
+
+	private static final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+	private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+	private final Cache<String, JsonObject> cache;
+
+	@Inject
+	public SearchResultCache(MeshOptions options) {
+		ElasticSearchOptions searchOptions = options.getSearchOptions();
+		if (searchOptions != null && searchOptions.getResultCacheSize() > 0) {
+			cache = Caffeine.newBuilder().maximumSize(searchOptions.getResultCacheSize())
+				.expireAfterWrite(searchOptions.getResultCacheTTL(), TimeUnit.SECONDS).build();
+		} else {
+			cache = null;
+		}
+	}
+
+	/**
+	 * Check whether the cache has been enabled.
+	 *
+	 * @return
+	 */
+	public boolean isEnabled() {
+		return cache != null;
+	}
+
+	/**
+	 * Create the cache key for the given request.
+	 *
+	 * @param request
+	 *            Search request which already contains the permission filter
+	 * @param indices
+	 *            Searched indices
+	 * @return
+	 */
+	public String createKey(JsonObject request, Set<String> indices) {
+		StringBuilder builder = new StringBuilder();
+		for (String index : new TreeSet<>(indices)) {
+			builder.append(index).append("@").append(getGeneration(index)).append(",");
+		}
+		builder.append("|");
+		normalize(request, builder);
+		return builder.toString();
+	}
+
+	/**
+	 * Return a copy of the cached response.
+	 *
+	 * @param key
+	 * @return Cached response or null if no response has been cached
+	 */
+	public JsonObject get(String key) {
+		if (cache == null) {
+			return null;
+		}
+		JsonObject response = cache.getIfPresent(key);
+		if (response != null && log.isDebugEnabled()) {
+			log.debug("Using cached search response for key {" + key + "}");
+		}
+		return response == null ? null : response.copy();
+	}
+
+	/**
+	 * Store the response in the cache.
+	 *
+	 * @param key
+	 * @param response
+	 */
+	public void put(String key, JsonObject response) {
+		if (cache != null) {
+			cache.put(key, response.copy());
+		}
+	}
+
+	/**
+	 * Increment the generation of the given index. This will make all cached responses which include the index unreachable.
+	 *
+	 * @param indexName
+	 */
+	public void bump(String indexName) {
+		generations.computeIfAbsent(indexName, name -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * Invalidate all cached responses. This is needed when indices get created or dropped.
+	 */
+	public void invalidate() {
+		for (AtomicLong generation : generations.values()) {
+			generation.incrementAndGet();
+		}
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Return the current generation of the index.
+	 *
+	 * @param indexName
+	 * @return
+	 */
+	public long getGeneration(String indexName) {
+		AtomicLong generation = generations.get(indexName);
+		return generation == null ? 0 : generation.get();
+	}
+
+	/**
+	 * Append the normalized JSON representation of the value to the builder. Object keys are sorted so that equal requests result in equal keys.
+	 *
+	 * @param value
+	 * @param builder
+	 */
+	@SuppressWarnings("unchecked")
+	static void normalize(Object value, StringBuilder builder) {
+		if (value instanceof JsonObject) {
+			value = ((JsonObject) value).getMap();
+		} else if (value instanceof JsonArray) {
+			value = ((JsonArray) value).getList();
+		}
+
+		if (value instanceof Map) {
+			builder.append("{");
+			boolean first = true;
+			for (Map.Entry<String, Object> entry : new TreeMap<>((Map<String, Object>) value).entrySet()) {
+				if (!first) {
+					builder.append(",");
+				}
+				first = false;
+				builder.append(Json.encode(entry.getKey())).append(":");
+				normalize(entry.getValue(), builder);
+			}
+			builder.append("}");
+		} else if (value instanceof List) {
+			builder.append("[");
+			boolean first = true;
+			for (Object element : (List<Object>) value) {
+				if (!first) {
+					builder.append(",");
+				}
+				first = false;
+				normalize(element, builder);
+			}
+			builder.append("]");
+		} else if (value instanceof CharSequence) {
+			builder.append(Json.encode(value.toString()));
+		} else {
+			builder.append(value);
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import com.gentics.mesh.core.data.search.IndexHandler;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
@@ -142,6 +143,11 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		}
 	}
 
+	@Override
+	public Observable<? extends BulkEntry> updateTagsForBulk(UpdateDocumentEntry entry) {
+		return storeForBulk(entry);
+	}
+
 	@Override
 	public Observable<DeleteBulkEntry> deleteForBulk(UpdateDocumentEntry entry) {
 		String indexName = composeIndexNameFromEntry(entry);
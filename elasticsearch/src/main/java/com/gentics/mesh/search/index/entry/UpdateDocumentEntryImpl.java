@@ -71,6 +71,9 @@ public class UpdateDocumentEntryImpl extends AbstractEntry<GenericEntryContext>
 		case UPDATE_ROLE_PERM_ACTION:
 			return indexHandler.updatePermissionForBulk(this).doOnComplete(onProcessAction);
 
+		case UPDATE_TAGS_ACTION:
+			return indexHandler.updateTagsForBulk(this).doOnComplete(onProcessAction);
+
 		default:
 			throw error(INTERNAL_SERVER_ERROR, "Can't process entry of for action {" + elementAction + "}");
 		}
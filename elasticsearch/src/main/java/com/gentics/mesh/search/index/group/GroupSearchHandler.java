@@ -6,9 +6,12 @@ import javax.inject.Singleton;
 import com.gentics.mesh.core.data.Group;
 import com.gentics.mesh.core.rest.group.GroupResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
 
+import io.vertx.core.json.JsonObject;
+
 @Singleton
 public class GroupSearchHandler extends AbstractSearchHandler<Group, GroupResponse> {
 
@@ -17,4 +20,9 @@ public class GroupSearchHandler extends AbstractSearchHandler<Group, GroupRespon
 		super(db, searchProvider, indexHandler);
 	}
 
+	@Override
+	protected GroupResponse transformFromSource(JsonObject source) {
+		return JsonUtil.readValue(source.encode(), GroupResponse.class);
+	}
+
 }
@@ -12,6 +12,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,6 +21,7 @@ import javax.inject.Singleton;
 import org.apache.commons.lang3.NotImplementedException;
 import org.jsoup.Jsoup;
 
+import com.gentics.mesh.core.data.Branch;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.GraphFieldContainer;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
@@ -54,6 +57,7 @@ import com.gentics.mesh.core.rest.schema.impl.ListFieldSchemaImpl;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractTransformer;
 import com.gentics.mesh.util.ETag;
+import com.gentics.mesh.util.LazyMigrationUtil;
 
 import io.reactivex.Observable;
 import io.vertx.core.json.JsonArray;
@@ -448,6 +452,20 @@ public class NodeContainerTransformer extends AbstractTransformer<NodeGraphField
 		return document;
 	}
 
+	/**
+	 * Generate the node specific tag info partial which is used to update the tag information of node container documents in the indices.
+	 * 
+	 * @param node
+	 * @return
+	 */
+	public JsonObject toTagsPartial(Node node) {
+		JsonObject document = new JsonObject();
+		Iterable<? extends Tag> tags = node.getTags(node.getProject().getLatestBranch());
+		addTags(document, tags);
+		addTagFamilies(document, tags);
+		return document;
+	}
+
 	public String generateVersion(NodeGraphFieldContainer container, String branchUuid, ContainerType type) {
 		Node node = container.getParentNode();
 		Project project = node.getProject();
@@ -475,6 +493,29 @@ public class NodeContainerTransformer extends AbstractTransformer<NodeGraphField
 		throw new NotImplementedException("Use generateVersion(container, branchUuid) instead");
 	}
 
+	/**
+	 * Return the schema fields of the container which will be added to the document. Fields which have been removed by a lazily applied schema migration
+	 * are omitted. Fields which have been added lazily don't exist in the container and the index of its schema version.
+	 * 
+	 * @param container
+	 * @param branchUuid
+	 * @return
+	 */
+	private List<FieldSchema> getIndexedFields(NodeGraphFieldContainer container, String branchUuid) {
+		SchemaContainerVersion version = container.getSchemaContainerVersion();
+		List<FieldSchema> fields = version.getSchema().getFields();
+		if (!LazyMigrationUtil.isEnabled()) {
+			return fields;
+		}
+		Branch branch = container.getParentNode().getProject().getBranchRoot().findByUuid(branchUuid);
+		SchemaContainerVersion effectiveVersion = LazyMigrationUtil.getEffectiveVersion(container, branch);
+		if (effectiveVersion.equals(version)) {
+			return fields;
+		}
+		Set<String> fieldNames = effectiveVersion.getSchema().getFieldsAsMap().keySet();
+		return fields.stream().filter(field -> fieldNames.contains(field.getName())).collect(Collectors.toList());
+	}
+
 	/**
 	 * Transform the role to the document which can be stored in ES.
 	 * 
@@ -506,7 +547,7 @@ public class NodeContainerTransformer extends AbstractTransformer<NodeGraphField
 		document.put("language", language);
 		addSchema(document, container.getSchemaContainerVersion());
 
-		addFields(document, "fields", container, container.getSchemaContainerVersion().getSchema().getFields());
+		addFields(document, "fields", container, getIndexedFields(container, branchUuid));
 		if (log.isTraceEnabled()) {
 			String json = document.toString();
 			log.trace("Search index json:");
@@ -38,6 +38,7 @@ import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
 import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.ScriptUpdateBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
 import com.gentics.mesh.core.data.search.context.GenericEntryContext;
 import com.gentics.mesh.core.data.search.context.MoveEntryContext;
@@ -668,6 +669,47 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 		}
 	}
 
+	/**
+	 * Tag changes only affect the tag information of the node documents. Thus the documents are updated partially instead of being regenerated.
+	 */
+	@Override
+	public Observable<ScriptUpdateBulkEntry> updateTagsForBulk(UpdateDocumentEntry entry) {
+		return Observable.defer(() -> {
+			try (Tx tx = db.tx()) {
+				String uuid = entry.getElementUuid();
+				Node node = getRootVertex().findByUuid(uuid);
+				if (node == null) {
+					throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
+				}
+				GenericEntryContext context = entry.getContext();
+				Project project = node.getProject();
+				JsonObject json = getTransformer().toTagsPartial(node);
+
+				List<String> branchUuids = new ArrayList<>();
+				if (context == null || context.getBranchUuid() == null) {
+					for (Branch branch : project.getBranchRoot().findAll()) {
+						branchUuids.add(branch.getUuid());
+					}
+				} else {
+					branchUuids.add(context.getBranchUuid());
+				}
+				List<ContainerType> types = context == null || context.getContainerType() == null ? Arrays.asList(DRAFT, PUBLISHED)
+					: Arrays.asList(context.getContainerType());
+
+				List<ScriptUpdateBulkEntry> entries = new ArrayList<>();
+				for (String branchUuid : branchUuids) {
+					for (ContainerType type : types) {
+						for (NodeGraphFieldContainer container : node.getGraphFieldContainersIt(branchUuid, type)) {
+							String indexName = container.getIndexName(project.getUuid(), branchUuid, type);
+							entries.add(new ScriptUpdateBulkEntry(indexName, container.getDocumentId(), json));
+						}
+					}
+				}
+				return Observable.fromIterable(entries);
+			}
+		});
+	}
+
 	/**
 	 * Validate the schema by creating an index template.
 	 * 
@@ -6,9 +6,12 @@ import javax.inject.Singleton;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.rest.project.ProjectResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
 
+import io.vertx.core.json.JsonObject;
+
 @Singleton
 public class ProjectSearchHandler extends AbstractSearchHandler<Project, ProjectResponse> {
 
@@ -17,4 +20,9 @@ public class ProjectSearchHandler extends AbstractSearchHandler<Project, Project
 		super(db, searchProvider, indexHandler);
 	}
 
+	@Override
+	protected ProjectResponse transformFromSource(JsonObject source) {
+		return JsonUtil.readValue(source.encode(), ProjectResponse.class);
+	}
+
 }
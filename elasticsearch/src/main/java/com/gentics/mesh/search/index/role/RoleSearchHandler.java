@@ -6,9 +6,12 @@ import javax.inject.Singleton;
 import com.gentics.mesh.core.data.Role;
 import com.gentics.mesh.core.rest.role.RoleResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
 
+import io.vertx.core.json.JsonObject;
+
 @Singleton
 public class RoleSearchHandler extends AbstractSearchHandler<Role, RoleResponse> {
 
@@ -17,4 +20,9 @@ public class RoleSearchHandler extends AbstractSearchHandler<Role, RoleResponse>
 		super(db, searchProvider, indexHandler);
 	}
 
+	@Override
+	protected RoleResponse transformFromSource(JsonObject source) {
+		return JsonUtil.readValue(source.encode(), RoleResponse.class);
+	}
+
 }
@@ -6,9 +6,12 @@ import javax.inject.Singleton;
 import com.gentics.mesh.core.data.Tag;
 import com.gentics.mesh.core.rest.tag.TagResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
 
+import io.vertx.core.json.JsonObject;
+
 @Singleton
 public class TagSearchHandler extends AbstractSearchHandler<Tag, TagResponse> {
 
@@ -17,4 +20,9 @@ public class TagSearchHandler extends AbstractSearchHandler<Tag, TagResponse> {
 		super(db, searchProvider, indexHandler);
 	}
 
+	@Override
+	protected TagResponse transformFromSource(JsonObject source) {
+		return JsonUtil.readValue(source.encode(), TagResponse.class);
+	}
+
 }
@@ -6,9 +6,12 @@ import javax.inject.Singleton;
 import com.gentics.mesh.core.data.TagFamily;
 import com.gentics.mesh.core.rest.tag.TagFamilyResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
 
+import io.vertx.core.json.JsonObject;
+
 @Singleton
 public class TagFamilySearchHandler extends AbstractSearchHandler<TagFamily, TagFamilyResponse> {
 
@@ -17,4 +20,9 @@ public class TagFamilySearchHandler extends AbstractSearchHandler<TagFamily, Tag
 		super(db, searchProvider, indexHandler);
 	}
 
+	@Override
+	protected TagFamilyResponse transformFromSource(JsonObject source) {
+		return JsonUtil.readValue(source.encode(), TagFamilyResponse.class);
+	}
+
 }
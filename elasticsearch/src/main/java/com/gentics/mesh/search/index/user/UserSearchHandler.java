@@ -1,14 +1,26 @@
 package com.gentics.mesh.search.index.user;
 
+import static com.gentics.mesh.search.index.MappingHelper.NAME_KEY;
+import static com.gentics.mesh.search.index.MappingHelper.UUID_KEY;
+import static com.gentics.mesh.search.index.user.UserTransformer.EMAIL_KEY;
+import static com.gentics.mesh.search.index.user.UserTransformer.GROUPS_KEY;
+import static com.gentics.mesh.search.index.user.UserTransformer.NODEREFERECE_KEY;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.core.rest.group.GroupReference;
+import com.gentics.mesh.core.rest.user.NodeReference;
 import com.gentics.mesh.core.rest.user.UserResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
 
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
 @Singleton
 public class UserSearchHandler extends AbstractSearchHandler<User, UserResponse> {
 
@@ -17,4 +29,30 @@ public class UserSearchHandler extends AbstractSearchHandler<User, UserResponse>
 		super(db, searchProvider, indexHandler);
 	}
 
+	@Override
+	protected UserResponse transformFromSource(JsonObject source) {
+		// The group and node reference fields of the document use a different structure
+		JsonObject groups = source.getJsonObject(GROUPS_KEY);
+		String nodeUuid = source.getString(NODEREFERECE_KEY);
+		JsonObject copy = source.copy();
+		copy.remove(GROUPS_KEY);
+		copy.remove(NODEREFERECE_KEY);
+
+		UserResponse user = JsonUtil.readValue(copy.encode(), UserResponse.class);
+		user.setEmailAddress(source.getString(EMAIL_KEY));
+		if (groups != null) {
+			JsonArray groupUuids = groups.getJsonArray(UUID_KEY);
+			JsonArray groupNames = groups.getJsonArray(NAME_KEY);
+			for (int i = 0; i < groupUuids.size(); i++) {
+				user.getGroups().add(new GroupReference().setUuid(groupUuids.getString(i)).setName(groupNames.getString(i)));
+			}
+		}
+		if (nodeUuid != null) {
+			NodeReference reference = new NodeReference();
+			reference.setUuid(nodeUuid);
+			user.setNodeReference(reference);
+		}
+		return user;
+	}
+
 }
@@ -12,6 +12,7 @@ import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.search.IndexHandler;
 import com.gentics.mesh.search.IndexHandlerRegistry;
 import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.index.SearchResultCache;
 import com.gentics.mesh.search.index.metric.SyncMetric;
 import com.gentics.mesh.verticle.AbstractJobVerticle;
 
@@ -37,6 +38,8 @@ public class ElasticsearchSyncVerticle extends AbstractJobVerticle {
 
 	private SearchProvider provider;
 
+	private SearchResultCache resultCache;
+
 	/**
 	 * Send the index sync event which will trigger the index sync job.
 	 */
@@ -45,9 +48,10 @@ public class ElasticsearchSyncVerticle extends AbstractJobVerticle {
 	}
 
 	@Inject
-	public ElasticsearchSyncVerticle(Lazy<IndexHandlerRegistry> registry, SearchProvider provider) {
+	public ElasticsearchSyncVerticle(Lazy<IndexHandlerRegistry> registry, SearchProvider provider, SearchResultCache resultCache) {
 		this.registry = registry;
 		this.provider = provider;
+		this.resultCache = resultCache;
 	}
 
 	public String getJobAdress() {
@@ -69,7 +73,10 @@ public class ElasticsearchSyncVerticle extends AbstractJobVerticle {
 		})
 			.andThen(purgeOldIndices())
 			.andThen(syncIndices())
-			.andThen(provider.refreshIndex()).doOnComplete(() -> {
+			.andThen(provider.refreshIndex())
+			// The sync writes to the indices directly and may also create and drop indices. Cached results are thus no longer valid.
+			.doFinally(resultCache::invalidate)
+			.doOnComplete(() -> {
 				log.info("Sync completed");
 				vertx.eventBus().publish(MeshEvent.INDEX_SYNC.address, new JsonObject().put("status", "completed"));
 			}).doOnError(error -> {
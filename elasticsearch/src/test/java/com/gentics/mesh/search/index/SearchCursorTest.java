@@ -0,0 +1,59 @@
+package com.gentics.mesh.search.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.rest.error.GenericRestException;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class SearchCursorTest {
+
+	@Test
+	public void testApplyWithoutSort() {
+		JsonObject query = new JsonObject().put("from", 100);
+		SearchCursor.apply(query, null, 25L);
+		assertEquals(new JsonArray().add("_score").add(new JsonObject().put("_id", "asc")), query.getJsonArray("sort"));
+		assertFalse("The from parameter must be removed", query.containsKey("from"));
+		assertEquals(25L, query.getLong("size").longValue());
+		assertNull(query.getJsonArray("search_after"));
+	}
+
+	@Test
+	public void testApplyWithSortObject() {
+		JsonObject query = new JsonObject().put("sort", new JsonObject().put("fields.name", "desc"));
+		SearchCursor.apply(query, null, 10L);
+		JsonArray sort = query.getJsonArray("sort");
+		assertEquals(2, sort.size());
+		assertEquals("desc", sort.getJsonObject(0).getString("fields.name"));
+		assertEquals("asc", sort.getJsonObject(1).getString("_id"));
+	}
+
+	@Test
+	public void testCursorRoundtrip() {
+		JsonArray sortValues = new JsonArray().add(1.5).add("someUuid-en");
+		JsonArray hits = new JsonArray().add(new JsonObject().put("sort", new JsonArray().add(2.0).add("a")))
+			.add(new JsonObject().put("sort", sortValues));
+		String cursor = SearchCursor.next(hits, 2L);
+
+		JsonObject query = new JsonObject();
+		SearchCursor.apply(query, cursor, 2L);
+		assertEquals(sortValues, query.getJsonArray("search_after"));
+	}
+
+	@Test
+	public void testNoCursorForLastPage() {
+		JsonArray hits = new JsonArray().add(new JsonObject().put("sort", new JsonArray().add(1.0).add("a")));
+		assertNull("The page is not full and thus no cursor should be returned", SearchCursor.next(hits, 2L));
+		assertNull(SearchCursor.next(new JsonArray(), 2L));
+	}
+
+	@Test(expected = GenericRestException.class)
+	public void testInvalidCursor() {
+		SearchCursor.decode("not-a-cursor");
+	}
+}
@@ -0,0 +1,58 @@
+package com.gentics.mesh.search.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.gentics.mesh.etc.config.MeshOptions;
+
+import io.vertx.core.json.JsonObject;
+
+public class SearchResultCacheTest {
+
+	private static final Set<String> INDICES = new HashSet<>(Arrays.asList("user", "group"));
+
+	private SearchResultCache createCache() {
+		MeshOptions options = new MeshOptions();
+		options.getSearchOptions().setResultCacheSize(100);
+		return new SearchResultCache(options);
+	}
+
+	@Test
+	public void testKeyIgnoresPropertyOrder() {
+		SearchResultCache cache = createCache();
+		JsonObject a = new JsonObject().put("size", 10).put("query", new JsonObject().put("match_all", new JsonObject()));
+		JsonObject b = new JsonObject().put("query", new JsonObject().put("match_all", new JsonObject())).put("size", 10);
+		assertEquals(cache.createKey(a, INDICES), cache.createKey(b, INDICES));
+		assertNotEquals(cache.createKey(a, INDICES), cache.createKey(a.copy().put("size", 11), INDICES));
+	}
+
+	@Test
+	public void testBumpInvalidatesEntries() {
+		SearchResultCache cache = createCache();
+		JsonObject request = new JsonObject().put("query", new JsonObject().put("match_all", new JsonObject()));
+		String key = cache.createKey(request, INDICES);
+		cache.put(key, new JsonObject().put("took", 1));
+		assertEquals(1, cache.get(key).getInteger("took").intValue());
+
+		cache.bump("group");
+		assertNotEquals(key, cache.createKey(request, INDICES));
+		assertNull(cache.get(cache.createKey(request, INDICES)));
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		SearchResultCache cache = new SearchResultCache(new MeshOptions());
+		assertFalse(cache.isEnabled());
+		cache.put("key", new JsonObject());
+		assertNull(cache.get("key"));
+	}
+
+}
@@ -20,6 +20,7 @@ import com.gentics.mesh.core.rest.group.GroupResponse;
 import com.gentics.mesh.core.rest.group.GroupUpdateRequest;
 import com.gentics.mesh.core.rest.job.JobListResponse;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.job.JobThrottle;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaCreateRequest;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaResponse;
 import com.gentics.mesh.core.rest.microschema.impl.MicroschemaUpdateRequest;
@@ -32,6 +33,8 @@ import com.gentics.mesh.core.rest.node.NodeUpsertRequest;
 import com.gentics.mesh.core.rest.node.PublishStatusModel;
 import com.gentics.mesh.core.rest.node.PublishStatusResponse;
 import com.gentics.mesh.core.rest.node.field.BinaryFieldTransformRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadResponse;
 import com.gentics.mesh.core.rest.plugin.PluginDeploymentRequest;
 import com.gentics.mesh.core.rest.plugin.PluginListResponse;
 import com.gentics.mesh.core.rest.plugin.PluginResponse;
@@ -93,10 +96,13 @@ import java.util.Objects;
 import java.util.Vector;
 import java.util.stream.Collectors;
 
+import static com.gentics.mesh.http.HttpConstants.APPLICATION_OFFSET_OCTET_STREAM;
 import static com.gentics.mesh.http.HttpConstants.APPLICATION_YAML_UTF8;
+import static com.gentics.mesh.http.HttpConstants.UPLOAD_OFFSET;
 import static com.gentics.mesh.rest.client.impl.HttpMethod.DELETE;
 import static com.gentics.mesh.util.URIUtils.encodeSegment;
 import static com.gentics.mesh.rest.client.impl.HttpMethod.GET;
+import static com.gentics.mesh.rest.client.impl.HttpMethod.PATCH;
 import static com.gentics.mesh.rest.client.impl.HttpMethod.POST;
 /**
  * HTTP based REST client implementation.
@@ -964,6 +970,21 @@ public abstract class MeshRestHttpClientImpl extends AbstractMeshRestHttpClient
 		return prepareRequest(POST, "/admin/graphdb/backup", GenericMessageResponse.class);
 	}
 
+	@Override
+	public MeshRequest<GenericMessageResponse> invokeImageRenditions() {
+		return prepareRequest(POST, "/admin/images/renditions", GenericMessageResponse.class);
+	}
+
+	@Override
+	public MeshRequest<GenericMessageResponse> invokeBinaryGarbageCollection() {
+		return prepareRequest(POST, "/admin/binaries/gc", GenericMessageResponse.class);
+	}
+
+	@Override
+	public MeshRequest<GenericMessageResponse> binaryGarbageCollectionStatus() {
+		return prepareRequest(GET, "/admin/binaries/gc", GenericMessageResponse.class);
+	}
+
 	@Override
 	public MeshRequest<GenericMessageResponse> invokeExport() {
 		return prepareRequest(POST, "/admin/graphdb/export", GenericMessageResponse.class);
@@ -1100,6 +1121,52 @@ public abstract class MeshRestHttpClientImpl extends AbstractMeshRestHttpClient
 			transformRequest);
 	}
 
+	@Override
+	public MeshRequest<ResumableUploadResponse> startResumableUpload(String projectName, String nodeUuid, String fieldKey,
+		ResumableUploadRequest request) {
+		Objects.requireNonNull(projectName, "projectName must not be null");
+		Objects.requireNonNull(nodeUuid, "nodeUuid must not be null");
+		Objects.requireNonNull(fieldKey, "field key must not be null");
+		Objects.requireNonNull(request, "request must not be null");
+		return prepareRequest(POST, "/" + encodeSegment(projectName) + "/nodes/" + nodeUuid + "/binary/" + fieldKey + "/uploads",
+			ResumableUploadResponse.class, request);
+	}
+
+	@Override
+	public MeshRequest<ResumableUploadResponse> loadResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid) {
+		Objects.requireNonNull(projectName, "projectName must not be null");
+		Objects.requireNonNull(nodeUuid, "nodeUuid must not be null");
+		Objects.requireNonNull(fieldKey, "field key must not be null");
+		Objects.requireNonNull(uploadUuid, "uploadUuid must not be null");
+		return prepareRequest(GET, "/" + encodeSegment(projectName) + "/nodes/" + nodeUuid + "/binary/" + fieldKey + "/uploads/" + uploadUuid,
+			ResumableUploadResponse.class);
+	}
+
+	@Override
+	public MeshRequest<ResumableUploadResponse> appendResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid,
+		long offset, InputStream chunk, long chunkSize) {
+		Objects.requireNonNull(projectName, "projectName must not be null");
+		Objects.requireNonNull(nodeUuid, "nodeUuid must not be null");
+		Objects.requireNonNull(fieldKey, "field key must not be null");
+		Objects.requireNonNull(uploadUuid, "uploadUuid must not be null");
+		Objects.requireNonNull(chunk, "chunk must not be null");
+		MeshRequest<ResumableUploadResponse> request = prepareRequest(PATCH,
+			"/" + encodeSegment(projectName) + "/nodes/" + nodeUuid + "/binary/" + fieldKey + "/uploads/" + uploadUuid, ResumableUploadResponse.class,
+			chunk, chunkSize, APPLICATION_OFFSET_OCTET_STREAM);
+		request.setHeader(UPLOAD_OFFSET, String.valueOf(offset));
+		return request;
+	}
+
+	@Override
+	public MeshRequest<EmptyResponse> abortResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid) {
+		Objects.requireNonNull(projectName, "projectName must not be null");
+		Objects.requireNonNull(nodeUuid, "nodeUuid must not be null");
+		Objects.requireNonNull(fieldKey, "field key must not be null");
+		Objects.requireNonNull(uploadUuid, "uploadUuid must not be null");
+		return prepareRequest(DELETE, "/" + encodeSegment(projectName) + "/nodes/" + nodeUuid + "/binary/" + fieldKey + "/uploads/" + uploadUuid,
+			EmptyResponse.class);
+	}
+
 	@Override
 	public MeshRequest<GenericMessageResponse> updateRolePermissions(String roleUuid, String pathToElement, RolePermissionRequest request) {
 		Objects.requireNonNull(roleUuid, "roleUuid must not be null");
@@ -1370,6 +1437,17 @@ public abstract class MeshRestHttpClientImpl extends AbstractMeshRestHttpClient
 		return prepareRequest(POST, "/admin/processJobs", GenericMessageResponse.class);
 	}
 
+	@Override
+	public MeshRequest<JobThrottle> loadJobThrottle() {
+		return prepareRequest(GET, "/admin/jobs/throttle", JobThrottle.class);
+	}
+
+	@Override
+	public MeshRequest<JobThrottle> updateJobThrottle(JobThrottle throttle) {
+		Objects.requireNonNull(throttle, "The throttle must not be null");
+		return prepareRequest(POST, "/admin/jobs/throttle", JobThrottle.class, throttle);
+	}
+
 	@Override
 	public MeshRequest<PluginResponse> deployPlugin(PluginDeploymentRequest request) {
 		Objects.requireNonNull(request, "The deployment request must not be null");
@@ -71,4 +71,25 @@ public interface AdminClientMethods {
 	 */
 	MeshRequest<ConsistencyCheckResponse> repairConsistency();
 
+	/**
+	 * Invoke the generation of the configured image renditions for all existing images.
+	 * 
+	 * @return
+	 */
+	MeshRequest<GenericMessageResponse> invokeImageRenditions();
+
+	/**
+	 * Invoke the binary garbage collection.
+	 * 
+	 * @return
+	 */
+	MeshRequest<GenericMessageResponse> invokeBinaryGarbageCollection();
+
+	/**
+	 * Return the status of the binary garbage collection.
+	 * 
+	 * @return
+	 */
+	MeshRequest<GenericMessageResponse> binaryGarbageCollectionStatus();
+
 }
@@ -3,6 +3,7 @@ package com.gentics.mesh.rest.client.method;
 import com.gentics.mesh.core.rest.common.GenericMessageResponse;
 import com.gentics.mesh.core.rest.job.JobListResponse;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.job.JobThrottle;
 import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.rest.client.MeshRequest;
 import com.gentics.mesh.rest.client.impl.EmptyResponse;
@@ -52,4 +53,19 @@ public interface JobClientMethods {
 	 */
 	MeshRequest<GenericMessageResponse> invokeJobProcessing();
 
+	/**
+	 * Load the throttle settings of migration jobs.
+	 * 
+	 * @return
+	 */
+	MeshRequest<JobThrottle> loadJobThrottle();
+
+	/**
+	 * Update the throttle settings of migration jobs. The settings also affect running migrations of the instance.
+	 * 
+	 * @param throttle
+	 * @return
+	 */
+	MeshRequest<JobThrottle> updateJobThrottle(JobThrottle throttle);
+
 }
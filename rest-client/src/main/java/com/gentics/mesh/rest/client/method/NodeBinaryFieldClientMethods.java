@@ -1,10 +1,13 @@
 package com.gentics.mesh.rest.client.method;
 
 import com.gentics.mesh.core.rest.node.NodeResponse;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadRequest;
+import com.gentics.mesh.core.rest.node.field.binary.ResumableUploadResponse;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.parameter.ParameterProvider;
 import com.gentics.mesh.rest.client.MeshBinaryResponse;
 import com.gentics.mesh.rest.client.MeshRequest;
+import com.gentics.mesh.rest.client.impl.EmptyResponse;
 
 import java.io.InputStream;
 
@@ -84,4 +87,62 @@ public interface NodeBinaryFieldClientMethods {
 	 */
 	MeshRequest<NodeResponse> transformNodeBinaryField(String projectName, String nodeUuid, String languageTag, String version,
 			String fieldKey, ImageManipulationParameters imageManipulationParameter);
+
+	/**
+	 * Start a resumable upload for the binary field of the node.
+	 *
+	 * @param projectName
+	 *            Name of the project which contains the node
+	 * @param nodeUuid
+	 *            Uuid of the node
+	 * @param fieldKey
+	 *            Key of the field which holds the binary data
+	 * @param request
+	 *            Information about the upload
+	 * @return Mesh request which provides the uuid of the upload
+	 */
+	MeshRequest<ResumableUploadResponse> startResumableUpload(String projectName, String nodeUuid, String fieldKey, ResumableUploadRequest request);
+
+	/**
+	 * Load the state of the resumable upload.
+	 *
+	 * @param projectName
+	 * @param nodeUuid
+	 * @param fieldKey
+	 * @param uploadUuid
+	 * @return Mesh request which provides the offset at which the upload can be resumed
+	 */
+	MeshRequest<ResumableUploadResponse> loadResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid);
+
+	/**
+	 * Append a chunk to the resumable upload. The binary field will be updated once the last chunk has been received. The response will contain the
+	 * updated node in that case.
+	 *
+	 * This reads the entire stream and closes it after the content has been read.
+	 *
+	 * @param projectName
+	 * @param nodeUuid
+	 * @param fieldKey
+	 * @param uploadUuid
+	 * @param offset
+	 *            Current offset of the upload
+	 * @param chunk
+	 *            InputStream that serves the data of the chunk
+	 * @param chunkSize
+	 *            Size of the chunk in bytes
+	 * @return
+	 */
+	MeshRequest<ResumableUploadResponse> appendResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid, long offset,
+		InputStream chunk, long chunkSize);
+
+	/**
+	 * Abort the resumable upload.
+	 *
+	 * @param projectName
+	 * @param nodeUuid
+	 * @param fieldKey
+	 * @param uploadUuid
+	 * @return
+	 */
+	MeshRequest<EmptyResponse> abortResumableUpload(String projectName, String nodeUuid, String fieldKey, String uploadUuid);
 }
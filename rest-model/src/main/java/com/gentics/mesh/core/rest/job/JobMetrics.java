@@ -0,0 +1,162 @@
+package com.gentics.mesh.core.rest.job;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.core.rest.common.RestModel;
+
+/**
+ * POJO for the runtime metrics of a job.
+ */
+public class JobMetrics implements RestModel {
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of elements which need to be processed by the current run of the job.")
+	private Long total;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of elements which have been processed by the current run of the job.")
+	private long processed;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of processed elements per second.")
+	private double throughput;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Estimated remaining time in seconds. The value is only set when the total amount of elements is known.")
+	private Long estimatedRemainingTime;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time in milliseconds which was spent in the different phases of the job (e.g. read, script, write, flush, commit).")
+	private Map<String, Long> phases = new HashMap<>();
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of encountered errors per exception type.")
+	private Map<String, Long> errors = new HashMap<>();
+
+	public JobMetrics() {
+	}
+
+	/**
+	 * Return the amount of elements which need to be processed.
+	 *
+	 * @return Total amount or null if the amount is not known
+	 */
+	public Long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Set the amount of elements which need to be processed.
+	 *
+	 * @param total
+	 * @return Fluent API
+	 */
+	public JobMetrics setTotal(Long total) {
+		this.total = total;
+		return this;
+	}
+
+	/**
+	 * Return the amount of processed elements.
+	 *
+	 * @return
+	 */
+	public long getProcessed() {
+		return processed;
+	}
+
+	/**
+	 * Set the amount of processed elements.
+	 *
+	 * @param processed
+	 * @return Fluent API
+	 */
+	public JobMetrics setProcessed(long processed) {
+		this.processed = processed;
+		return this;
+	}
+
+	/**
+	 * Return the amount of processed elements per second.
+	 *
+	 * @return
+	 */
+	public double getThroughput() {
+		return throughput;
+	}
+
+	/**
+	 * Set the amount of processed elements per second.
+	 *
+	 * @param throughput
+	 * @return Fluent API
+	 */
+	public JobMetrics setThroughput(double throughput) {
+		this.throughput = throughput;
+		return this;
+	}
+
+	/**
+	 * Return the estimated remaining time in seconds.
+	 *
+	 * @return
+	 */
+	public Long getEstimatedRemainingTime() {
+		return estimatedRemainingTime;
+	}
+
+	/**
+	 * Set the estimated remaining time in seconds.
+	 *
+	 * @param estimatedRemainingTime
+	 * @return Fluent API
+	 */
+	public JobMetrics setEstimatedRemainingTime(Long estimatedRemainingTime) {
+		this.estimatedRemainingTime = estimatedRemainingTime;
+		return this;
+	}
+
+	/**
+	 * Return the time in milliseconds per phase.
+	 *
+	 * @return
+	 */
+	public Map<String, Long> getPhases() {
+		return phases;
+	}
+
+	/**
+	 * Set the time in milliseconds per phase.
+	 *
+	 * @param phases
+	 * @return Fluent API
+	 */
+	public JobMetrics setPhases(Map<String, Long> phases) {
+		this.phases = phases;
+		return this;
+	}
+
+	/**
+	 * Return the amount of errors per exception type.
+	 *
+	 * @return
+	 */
+	public Map<String, Long> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Set the amount of errors per exception type.
+	 *
+	 * @param errors
+	 * @return Fluent API
+	 */
+	public JobMetrics setErrors(Map<String, Long> errors) {
+		this.errors = errors;
+		return this;
+	}
+
+}
@@ -66,6 +66,10 @@ public class JobResponse extends AbstractResponse {
 	@JsonPropertyDescription("List of warnings which were encoutered while executing the job.")
 	private List<JobWarning> warnings = new ArrayList<>();
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Runtime metrics of the job (e.g. throughput, estimated remaining time and time spent per phase).")
+	private JobMetrics metrics;
+
 	public void setErrorMessage(String errorMessage) {
 		this.errorMessage = errorMessage;
 	}
@@ -247,4 +251,22 @@ public class JobResponse extends AbstractResponse {
 	public void setWarnings(List<JobWarning> warnings) {
 		this.warnings = warnings;
 	}
+
+	/**
+	 * Return the runtime metrics of the job.
+	 * 
+	 * @return Metrics or null if the job did not record any metrics
+	 */
+	public JobMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Set the runtime metrics of the job.
+	 * 
+	 * @param metrics
+	 */
+	public void setMetrics(JobMetrics metrics) {
+		this.metrics = metrics;
+	}
 }
@@ -0,0 +1,63 @@
+package com.gentics.mesh.core.rest.job;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.core.rest.common.RestModel;
+
+/**
+ * POJO for the throttle settings of migration jobs.
+ */
+public class JobThrottle implements RestModel {
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of containers per second which will be migrated by the instance. A value of 0 disables the limit.")
+	private Integer rate;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which indicates whether the migration rate will be adapted to the load of the instance.")
+	private Boolean adaptive;
+
+	public JobThrottle() {
+	}
+
+	/**
+	 * Return the maximum amount of containers per second.
+	 *
+	 * @return
+	 */
+	public Integer getRate() {
+		return rate;
+	}
+
+	/**
+	 * Set the maximum amount of containers per second.
+	 *
+	 * @param rate
+	 * @return Fluent API
+	 */
+	public JobThrottle setRate(Integer rate) {
+		this.rate = rate;
+		return this;
+	}
+
+	/**
+	 * Return the adaptive flag.
+	 *
+	 * @return
+	 */
+	public Boolean getAdaptive() {
+		return adaptive;
+	}
+
+	/**
+	 * Set the adaptive flag.
+	 *
+	 * @param adaptive
+	 * @return Fluent API
+	 */
+	public JobThrottle setAdaptive(Boolean adaptive) {
+		this.adaptive = adaptive;
+		return this;
+	}
+
+}
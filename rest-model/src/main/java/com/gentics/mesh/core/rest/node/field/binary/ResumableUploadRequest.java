@@ -0,0 +1,135 @@
+package com.gentics.mesh.core.rest.node.field.binary;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.core.rest.common.RestModel;
+
+/**
+ * POJO for the request which starts a resumable binary upload.
+ */
+public class ResumableUploadRequest implements RestModel {
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Language of the node content which contains the binary field which should be updated.")
+	private String language;
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Version of the node which should be updated. This information is used to determine conflicting updates.")
+	private String version;
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Filename of the uploaded file.")
+	private String fileName;
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Mimetype of the uploaded file.")
+	private String mimeType;
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Total size of the uploaded file in bytes.")
+	private Long size;
+
+	public ResumableUploadRequest() {
+	}
+
+	/**
+	 * Return the language tag of the content.
+	 * 
+	 * @return
+	 */
+	public String getLanguage() {
+		return language;
+	}
+
+	/**
+	 * Set the language tag of the content.
+	 * 
+	 * @param language
+	 * @return Fluent API
+	 */
+	public ResumableUploadRequest setLanguage(String language) {
+		this.language = language;
+		return this;
+	}
+
+	/**
+	 * Return the version of the content on which the upload is based.
+	 * 
+	 * @return
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * Set the version of the content on which the upload is based.
+	 * 
+	 * @param version
+	 * @return Fluent API
+	 */
+	public ResumableUploadRequest setVersion(String version) {
+		this.version = version;
+		return this;
+	}
+
+	/**
+	 * Return the filename.
+	 * 
+	 * @return
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Set the filename.
+	 * 
+	 * @param fileName
+	 * @return Fluent API
+	 */
+	public ResumableUploadRequest setFileName(String fileName) {
+		this.fileName = fileName;
+		return this;
+	}
+
+	/**
+	 * Return the mimetype.
+	 * 
+	 * @return
+	 */
+	public String getMimeType() {
+		return mimeType;
+	}
+
+	/**
+	 * Set the mimetype.
+	 * 
+	 * @param mimeType
+	 * @return Fluent API
+	 */
+	public ResumableUploadRequest setMimeType(String mimeType) {
+		this.mimeType = mimeType;
+		return this;
+	}
+
+	/**
+	 * Return the total size of the upload in bytes.
+	 * 
+	 * @return
+	 */
+	public Long getSize() {
+		return size;
+	}
+
+	/**
+	 * Set the total size of the upload in bytes.
+	 * 
+	 * @param size
+	 * @return Fluent API
+	 */
+	public ResumableUploadRequest setSize(Long size) {
+		this.size = size;
+		return this;
+	}
+
+}
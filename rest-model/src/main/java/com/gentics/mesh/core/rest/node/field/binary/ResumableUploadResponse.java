@@ -0,0 +1,112 @@
+package com.gentics.mesh.core.rest.node.field.binary;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.core.rest.common.RestModel;
+import com.gentics.mesh.core.rest.node.NodeResponse;
+
+/**
+ * POJO for the state of a resumable binary upload.
+ */
+public class ResumableUploadResponse implements RestModel {
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Uuid of the upload.")
+	private String uuid;
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Amount of bytes which have been received so far. The next chunk must be sent using this offset.")
+	private long offset;
+
+	@JsonProperty(required = true)
+	@JsonPropertyDescription("Total size of the upload in bytes.")
+	private long size;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Updated node. The node is only set once the last chunk has been received and the binary field has been updated.")
+	private NodeResponse node;
+
+	public ResumableUploadResponse() {
+	}
+
+	/**
+	 * Return the uuid of the upload.
+	 * 
+	 * @return
+	 */
+	public String getUuid() {
+		return uuid;
+	}
+
+	/**
+	 * Set the uuid of the upload.
+	 * 
+	 * @param uuid
+	 * @return Fluent API
+	 */
+	public ResumableUploadResponse setUuid(String uuid) {
+		this.uuid = uuid;
+		return this;
+	}
+
+	/**
+	 * Return the amount of received bytes.
+	 * 
+	 * @return
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Set the amount of received bytes.
+	 * 
+	 * @param offset
+	 * @return Fluent API
+	 */
+	public ResumableUploadResponse setOffset(long offset) {
+		this.offset = offset;
+		return this;
+	}
+
+	/**
+	 * Return the total size of the upload.
+	 * 
+	 * @return
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Set the total size of the upload.
+	 * 
+	 * @param size
+	 * @return Fluent API
+	 */
+	public ResumableUploadResponse setSize(long size) {
+		this.size = size;
+		return this;
+	}
+
+	/**
+	 * Return the updated node. The node is only set once the upload has been completed.
+	 * 
+	 * @return
+	 */
+	public NodeResponse getNode() {
+		return node;
+	}
+
+	/**
+	 * Set the updated node.
+	 * 
+	 * @param node
+	 * @return Fluent API
+	 */
+	public ResumableUploadResponse setNode(NodeResponse node) {
+		this.node = node;
+		return this;
+	}
+
+}
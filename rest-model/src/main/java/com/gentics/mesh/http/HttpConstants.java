@@ -25,4 +25,8 @@ public final class HttpConstants {
 
 	public static final String APPLICATION_XML = "application/xml";
 
+	public static final String APPLICATION_OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+	public static final String UPLOAD_OFFSET = "Upload-Offset";
+
 }
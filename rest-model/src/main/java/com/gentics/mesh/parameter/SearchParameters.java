@@ -0,0 +1,57 @@
+package com.gentics.mesh.parameter;
+
+import org.apache.commons.lang.BooleanUtils;
+
+public interface SearchParameters extends ParameterProvider {
+
+	public static final String SOURCE_ONLY_PARAMETER_KEY = "sourceOnly";
+
+	public static final String CURSOR_PARAMETER_KEY = "cursor";
+
+	/**
+	 * Cursor value which is used to request the first page of a cursor based search.
+	 */
+	public static final String INITIAL_CURSOR = "*";
+
+	/**
+	 * Set the source-only flag. When enabled the response will directly be created using the indexed document source instead of loading the found
+	 * elements from the graph.
+	 * 
+	 * @param flag
+	 * @return Fluent API
+	 */
+	default SearchParameters setSourceOnly(boolean flag) {
+		setParameter(SOURCE_ONLY_PARAMETER_KEY, String.valueOf(flag));
+		return this;
+	}
+
+	/**
+	 * Check whether the source-only flag is enabled.
+	 * 
+	 * @return
+	 */
+	default boolean isSourceOnly() {
+		return BooleanUtils.toBooleanDefaultIfNull(Boolean.valueOf(getParameter(SOURCE_ONLY_PARAMETER_KEY)), false);
+	}
+
+	/**
+	 * Set the cursor which will be used to load the next page of the search result. Use {@link #INITIAL_CURSOR} to load the first page. The cursor for the
+	 * following page is returned in the paging meta info of the response.
+	 * 
+	 * @param cursor
+	 * @return Fluent API
+	 */
+	default SearchParameters setCursor(String cursor) {
+		setParameter(CURSOR_PARAMETER_KEY, cursor);
+		return this;
+	}
+
+	/**
+	 * Return the cursor for cursor based paging.
+	 * 
+	 * @return Cursor or null if regular paging should be used
+	 */
+	default String getCursor() {
+		return getParameter(CURSOR_PARAMETER_KEY);
+	}
+}
@@ -1,38 +1,61 @@
 package com.gentics.mesh.storage.s3;
 
+import java.io.File;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
 import com.gentics.mesh.storage.AbstractBinaryStorage;
+import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.storage.CachedBinaryStorage;
+import com.gentics.mesh.storage.StoredBinary;
+import com.gentics.mesh.util.RxUtil;
 
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
+import io.reactivex.Single;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.core.file.AsyncFile;
+import io.vertx.reactivex.core.file.FileSystem;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.CreateBucketResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
-import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 public class S3BinaryStorage extends AbstractBinaryStorage {
 
 	private static final Logger log = LoggerFactory.getLogger(S3BinaryStorage.class);
 
+	private static final long MAX_PARTS = 10_000;
+
 	private S3AsyncClient client;
 
 	private S3StorageOptions options;
@@ -40,12 +63,30 @@ public class S3BinaryStorage extends AbstractBinaryStorage {
 	private Vertx vertx;
 
 	public S3BinaryStorage(S3StorageOptions options, Vertx vertx) {
+		this(options, vertx, createClient(options));
+	}
+
+	/**
+	 * Create the storage which uses the given client.
+	 * 
+	 * @param options
+	 * @param vertx
+	 * @param client
+	 */
+	S3BinaryStorage(S3StorageOptions options, Vertx vertx, S3AsyncClient client) {
 		this.options = options;
 		this.vertx = vertx;
+		this.client = client;
 		init();
 	}
 
-	private void init() {
+	/**
+	 * Create the client for the configured S3 service.
+	 * 
+	 * @param options
+	 * @return
+	 */
+	static S3AsyncClient createClient(S3StorageOptions options) {
 		AwsCredentials credentials = AwsBasicCredentials.create(options.getAccessId(), options.getAccessKey());
 		// ClientConfiguration clientConfiguration = new ClientConfiguration();
 		// clientConfiguration.setSignerOverride("AWSS3V4SignerType");
@@ -57,14 +98,18 @@ public class S3BinaryStorage extends AbstractBinaryStorage {
 		System.setProperty("aws.accessKeyId", options.getAccessId());
 		System.setProperty("aws.secretAccessKey", options.getAccessKey());
 
-		client = S3AsyncClient.builder()
+		return S3AsyncClient.builder()
 			// .advancedConfiguration(advancedConfiguration)
 			// .asyncHttpConfiguration(asyncHttpConfiguration)
 			.region(Region.of(options.getRegion()))
 			.endpointOverride(URI.create(options.getUrl()))
+			// Path style access is needed for S3 compatible services which do not provide bucket subdomains
+			.serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
 			.credentialsProvider(StaticCredentialsProvider.create(credentials))
 			.build();
+	}
 
+	private void init() {
 		String bucketName = options.getBucketName();
 		// try {
 		// HeadBucketResponse response = client.headBucket(HeadBucketRequest.builder().bucket(bucketName).build()).get();
@@ -96,130 +141,277 @@ public class S3BinaryStorage extends AbstractBinaryStorage {
 
 	}
 
+	/**
+	 * Create the S3 storage. The storage will be wrapped in a {@link CachedBinaryStorage} when a binary cache has been configured.
+	 * 
+	 * @param options
+	 * @param vertx
+	 * @return
+	 */
+	public static BinaryStorage create(S3StorageOptions options, Vertx vertx) {
+		S3BinaryStorage storage = new S3BinaryStorage(options, vertx);
+		if (options.getCacheMaxSize() > 0) {
+			return new CachedBinaryStorage(storage, vertx, options.getCacheDirectory(), options.getCacheMaxSize(), options.getExistsCacheTime());
+		}
+		return storage;
+	}
+
 	@Override
 	public boolean exists(BinaryGraphField field) {
-		String id = field.getBinary().getSHA512Sum();
-		// NoSuchKeyException
+		String id = field.getBinary().getUuid();
 		try {
-			HeadObjectResponse headResponse = client.headObject(HeadObjectRequest.builder()
+			client.headObject(HeadObjectRequest.builder()
 				.bucket(options.getBucketName())
 				.key(id)
 				.build()).get();
-		} catch (InterruptedException | ExecutionException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			return true;
+		} catch (ExecutionException e) {
+			if (isNotFound(e.getCause())) {
+				return false;
+			}
+			throw new RuntimeException("Could not check binary {" + id + "}", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Could not check binary {" + id + "}", e);
 		}
-		return false;
+	}
 
+	@Override
+	public Flowable<Buffer> read(String uuid) {
+		if (log.isDebugEnabled()) {
+			log.debug("Loading data for binary {" + uuid + "}");
+		}
+		return getObject(GetObjectRequest.builder()
+			.bucket(options.getBucketName())
+			.key(uuid)
+			.build());
 	}
 
 	@Override
-	public Flowable<Buffer> read(String hashsum) {
-		return Flowable.generate(sub -> {
-			if (log.isDebugEnabled()) {
-				log.debug("Loading data for hash {" + hashsum + "}");
-			}
-			// GetObjectRequest rangeObjectRequest = new GetObjectRequest(options.getBucketName(), hashsum);
-			GetObjectRequest request = GetObjectRequest.builder().bucket(options.getBucketName()).build();
-			client.getObject(request, new AsyncResponseTransformer<GetObjectResponse, String>() {
-
-				@Override
-				public CompletableFuture<String> prepare() {
-					// TODO Auto-generated method stub
-					return null;
-				}
+	public Flowable<Buffer> read(String uuid, long offset, long length) {
+		if (log.isDebugEnabled()) {
+			log.debug("Loading range {" + offset + "+" + length + "} of binary {" + uuid + "}");
+		}
+		if (length <= 0) {
+			return Flowable.empty();
+		}
+		return getObject(GetObjectRequest.builder()
+			.bucket(options.getBucketName())
+			.key(uuid)
+			.range("bytes=" + offset + "-" + (offset + length - 1))
+			.build());
+	}
 
-				@Override
-				public void onResponse(GetObjectResponse response) {
-					// TODO Auto-generated method stub
+	/**
+	 * Load the object and return its content. The data of the object will only be requested from S3 when it is consumed.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	private Flowable<Buffer> getObject(GetObjectRequest request) {
+		return toSingle(() -> client.getObject(request, new AsyncResponseTransformer<GetObjectResponse, Flowable<Buffer>>() {
+
+			private CompletableFuture<Flowable<Buffer>> future;
+
+			@Override
+			public CompletableFuture<Flowable<Buffer>> prepare() {
+				future = new CompletableFuture<>();
+				return future;
+			}
 
-				}
+			@Override
+			public void onResponse(GetObjectResponse response) {
+			}
 
-				@Override
-				public void onStream(SdkPublisher<ByteBuffer> publisher) {
-					// TODO Auto-generated method stub
+			@Override
+			public void onStream(SdkPublisher<ByteBuffer> publisher) {
+				future.complete(Flowable.fromPublisher(publisher).map(data -> {
+					byte[] bytes = new byte[data.remaining()];
+					data.get(bytes);
+					return Buffer.buffer(bytes);
+				}));
+			}
 
-				}
+			@Override
+			public void exceptionOccurred(Throwable error) {
+				future.completeExceptionally(error);
+			}
+		})).flatMapPublisher(data -> data);
+	}
 
-				@Override
-				public void exceptionOccurred(Throwable error) {
-					// TODO Auto-generated method stub
+	@Override
+	public Completable store(Flowable<Buffer> stream, String uuid) {
+		return Completable.defer(() -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Uploading {" + uuid + "} to S3.");
+			}
+			// The content length is required by S3. Thus the data is buffered in a temporary file.
+			File temp = File.createTempFile("mesh-s3-" + uuid, ".tmp");
+			FileSystem fs = FileSystem.newInstance(vertx.fileSystem());
+			return fs.rxOpen(temp.getAbsolutePath(), new OpenOptions().setWrite(true))
+				.flatMapCompletable(file -> RxUtil.pipe(stream, file.getDelegate())
+					.andThen(file.rxClose())
+					.doOnError(e -> file.close()))
+				.andThen(Completable.defer(() -> {
+					if (temp.length() > options.getMultipartThreshold()) {
+						return storeMultipart(temp, uuid);
+					}
+					return toSingle(() -> client.putObject(PutObjectRequest.builder()
+						.bucket(options.getBucketName())
+						.key(uuid)
+						.build(), AsyncRequestBody.fromFile(temp.toPath()))).toCompletable();
+				}))
+				.doFinally(temp::delete);
+		});
+	}
 
-				}
+	/**
+	 * Upload the file using a multipart upload. The parts are uploaded in parallel and only the parts which are currently being uploaded are kept in
+	 * memory. Failed parts will be retried. The upload will be aborted if a part can't be uploaded.
+	 * 
+	 * @param file
+	 * @param uuid
+	 * @return
+	 */
+	private Completable storeMultipart(File file, String uuid) {
+		long size = file.length();
+		// S3 allows at most 10000 parts per upload
+		long partSize = Math.max(options.getMultipartPartSize(), (size + MAX_PARTS - 1) / MAX_PARTS);
+		int partCount = (int) ((size + partSize - 1) / partSize);
+		if (log.isDebugEnabled()) {
+			log.debug("Uploading {" + uuid + "} in {" + partCount + "} parts.");
+		}
+		String bucketName = options.getBucketName();
+		return toSingle(() -> client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+			.bucket(bucketName)
+			.key(uuid)
+			.build())).flatMapCompletable(upload -> {
+				String uploadId = upload.uploadId();
+				FileSystem fs = FileSystem.newInstance(vertx.fileSystem());
+				return fs.rxOpen(file.getAbsolutePath(), new OpenOptions().setRead(true)).flatMapCompletable(asyncFile -> {
+					return Flowable.range(1, partCount)
+						.flatMap(partNumber -> uploadPart(asyncFile, uuid, uploadId, partNumber, partSize, size).toFlowable(), options
+							.getMultipartConcurrency())
+						.toSortedList((a, b) -> Integer.compare(a.partNumber(), b.partNumber()))
+						.flatMapCompletable(parts -> toSingle(() -> client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+							.bucket(bucketName)
+							.key(uuid)
+							.uploadId(uploadId)
+							.multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+							.build())).toCompletable())
+						.doFinally(asyncFile::close);
+				}).onErrorResumeNext(e -> {
+					log.error("Multipart upload of {" + uuid + "} failed. Aborting the upload.", e);
+					return toSingle(() -> client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+						.bucket(bucketName)
+						.key(uuid)
+						.uploadId(uploadId)
+						.build())).toCompletable()
+						.doOnError(abortError -> log.error("Could not abort the multipart upload of {" + uuid + "}", abortError))
+						.onErrorComplete()
+						.andThen(Completable.error(e));
+				});
 			});
-
-			// try (InputStream stream = objectPortion.getObjectContent()) {
-			//
-			// if (log.isDebugEnabled()) {
-			// log.debug("Printing bytes retrieved:");
-			// displayTextInputStream(stream);
-			// }
-			// }
-			// sub.onComplete();
-		});
 	}
 
-	@Override
-	public Completable store(Flowable<Buffer> stream, String hashsum) {
-		return Completable.create(sub -> {
-			PutObjectRequest request = PutObjectRequest.builder()
+	/**
+	 * Read the part from the file and upload it.
+	 * 
+	 * @param file
+	 * @param uuid
+	 * @param uploadId
+	 * @param partNumber
+	 *            Number of the part starting with 1
+	 * @param partSize
+	 * @param size
+	 *            Size of the file
+	 * @return
+	 */
+	private Single<CompletedPart> uploadPart(AsyncFile file, String uuid, String uploadId, int partNumber, long partSize, long size) {
+		long position = (partNumber - 1) * partSize;
+		int length = (int) Math.min(partSize, size - position);
+		return Single.defer(() -> file.rxRead(io.vertx.reactivex.core.buffer.Buffer.buffer(length), 0, position, length))
+			.flatMap(data -> toSingle(() -> client.uploadPart(UploadPartRequest.builder()
 				.bucket(options.getBucketName())
-				.key(hashsum)
-				.build();
-
-			/*
-			client.putObject(request, new AsyncRequestBody() {
-
-				@Override
-				public void subscribe(Subscriber<? super ByteBuffer> s) {
-					stream.map(Buffer::getByteBuf).map(ByteBuf::nioBuffer).subscribe(s);
+				.key(uuid)
+				.uploadId(uploadId)
+				.partNumber(partNumber)
+				.contentLength((long) length)
+				.build(), AsyncRequestBody.fromBytes(data.getDelegate().getBytes()))))
+			.retry((attempt, error) -> {
+				boolean retry = attempt <= options.getMultipartRetries();
+				if (retry) {
+					log.warn("Upload of part {" + partNumber + "} of {" + uuid + "} failed. Retrying.", error);
 				}
+				return retry;
+			})
+			.map(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+	}
 
-				@Override
-				public Optional<Long> contentLength() {
-					// return Optional.from(10L);
-					return null;
+	@Override
+	public Flowable<StoredBinary> list() {
+		return listPage(null);
+	}
+
+	/**
+	 * List the objects of the page with the given token. The next page will only be loaded once the current page has been consumed.
+	 * 
+	 * @param continuationToken
+	 *            Token of the page or null for the first page
+	 * @return
+	 */
+	private Flowable<StoredBinary> listPage(String continuationToken) {
+		return toSingle(() -> client.listObjectsV2(ListObjectsV2Request.builder()
+			.bucket(options.getBucketName())
+			.continuationToken(continuationToken)
+			.build())).flatMapPublisher(page -> {
+				Flowable<StoredBinary> objects = Flowable.fromIterable(page.contents())
+					.map(object -> new StoredBinary(object.key(), object.size(), object.lastModified().toEpochMilli()));
+				if (Boolean.TRUE.equals(page.isTruncated())) {
+					return objects.concatWith(Flowable.defer(() -> listPage(page.nextContinuationToken())));
 				}
+				return objects;
 			});
-			*/
-		});
-
-		// try {
-		// if (log.isDebugEnabled()) {
-		// log.debug("Uploading {" + hashsum + "} to S3.");
-		// }
-		// try (InputStream ins = RxUtil.toInputStream(stream, new io.vertx.reactivex.core.Vertx(vertx))) {
-		// ObjectMetadata metaData = new ObjectMetadata();
-		// metaData.setContentLength(90);
-		// s3Client.putObject(new PutObjectRequest(options.getBucketName(), hashsum, ins, metaData));
-		// sub.onComplete();
-		// }
-		// } catch (AmazonServiceException ase) {
-		// log.debug(
-		// "Caught an AmazonServiceException, which means your request made it to Amazon S3, but was rejected with an error response for some reason.");
-		// log.debug("Error Message: " + ase.getMessage());
-		// log.debug("HTTP Status Code: " + ase.getStatusCode());
-		// log.debug("AWS Error Code: " + ase.getErrorCode());
-		// log.debug("Error Type: " + ase.getErrorType());
-		// log.debug("Request ID: " + ase.getRequestId());
-		// sub.onError(ase);
-		// } catch (AmazonClientException ace) {
-		// log.debug("Caught an AmazonClientException, which " + "means the client encountered " + "an internal error while trying to "
-		// + "communicate with S3, " + "such as not being able to access the network.");
-		// log.debug("Error Message: " + ace.getMessage());
-		// sub.onError(ace);
-		// }
 	}
 
 	@Override
 	public Completable delete(String uuid) {
-		// TODO Auto-generated method stub
-		return null;
+		return toSingle(() -> client.deleteObject(DeleteObjectRequest.builder()
+			.bucket(options.getBucketName())
+			.key(uuid)
+			.build())).toCompletable();
 	}
 
 	@Override
 	public Buffer readAllSync(String uuid) {
-		// TODO implement
-		return null;
+		return read(uuid).reduce(Buffer.buffer(), Buffer::appendBuffer).blockingGet();
+	}
+
+	/**
+	 * Check whether the error was caused by a missing object.
+	 * 
+	 * @param error
+	 * @return
+	 */
+	private static boolean isNotFound(Throwable error) {
+		return error instanceof S3Exception && ((S3Exception) error).statusCode() == 404;
+	}
+
+	/**
+	 * Convert the future of the S3 client into a single. The request will be sent once the single has been subscribed.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	private static <T> Single<T> toSingle(Supplier<CompletableFuture<T>> request) {
+		return Single.create(sub -> {
+			request.get().whenComplete((result, error) -> {
+				if (error != null) {
+					sub.onError(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+				} else {
+					sub.onSuccess(result);
+				}
+			});
+		});
 	}
 }
@@ -1,11 +1,31 @@
 package com.gentics.mesh.storage.s3;
 
+import java.io.File;
 import java.util.Objects;
 
 public class S3StorageOptions {
 
 	public static final String DEFAULT_BUCKET_NAME = "mesh";
 
+	public static final String DEFAULT_CACHE_DIRECTORY = "data" + File.separator + "binaryCache";
+
+	public static final long DEFAULT_CACHE_MAX_SIZE = 10L * 1024 * 1024 * 1024;
+
+	public static final long DEFAULT_EXISTS_CACHE_TIME = 60 * 60;
+
+	public static final long DEFAULT_MULTIPART_THRESHOLD = 64L * 1024 * 1024;
+
+	public static final long DEFAULT_MULTIPART_PART_SIZE = 16L * 1024 * 1024;
+
+	/**
+	 * Minimum size of the parts of a multipart upload which is accepted by S3.
+	 */
+	public static final long MIN_MULTIPART_PART_SIZE = 5L * 1024 * 1024;
+
+	public static final int DEFAULT_MULTIPART_CONCURRENCY = 4;
+
+	public static final int DEFAULT_MULTIPART_RETRIES = 3;
+
 	private String url;
 
 	private String accessId;
@@ -16,6 +36,20 @@ public class S3StorageOptions {
 
 	private String region;
 
+	private String cacheDirectory = DEFAULT_CACHE_DIRECTORY;
+
+	private long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+
+	private long existsCacheTime = DEFAULT_EXISTS_CACHE_TIME;
+
+	private long multipartThreshold = DEFAULT_MULTIPART_THRESHOLD;
+
+	private long multipartPartSize = DEFAULT_MULTIPART_PART_SIZE;
+
+	private int multipartConcurrency = DEFAULT_MULTIPART_CONCURRENCY;
+
+	private int multipartRetries = DEFAULT_MULTIPART_RETRIES;
+
 	public String getUrl() {
 		return url;
 	}
@@ -61,11 +95,128 @@ public class S3StorageOptions {
 		return this;
 	}
 
+	public String getCacheDirectory() {
+		return cacheDirectory;
+	}
+
+	/**
+	 * Set the directory for the local copies of the binaries.
+	 * 
+	 * @param cacheDirectory
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setCacheDirectory(String cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+		return this;
+	}
+
+	public long getCacheMaxSize() {
+		return cacheMaxSize;
+	}
+
+	/**
+	 * Set the maximum size in bytes of the local copies of the binaries. A value of 0 disables the local cache.
+	 * 
+	 * @param cacheMaxSize
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setCacheMaxSize(long cacheMaxSize) {
+		this.cacheMaxSize = cacheMaxSize;
+		return this;
+	}
+
+	public long getExistsCacheTime() {
+		return existsCacheTime;
+	}
+
+	/**
+	 * Set the time in seconds for which the existence of a binary will be cached.
+	 * 
+	 * @param existsCacheTime
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setExistsCacheTime(long existsCacheTime) {
+		this.existsCacheTime = existsCacheTime;
+		return this;
+	}
+
+	public long getMultipartThreshold() {
+		return multipartThreshold;
+	}
+
+	/**
+	 * Set the size in bytes above which binaries will be uploaded using a multipart upload.
+	 * 
+	 * @param multipartThreshold
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setMultipartThreshold(long multipartThreshold) {
+		this.multipartThreshold = multipartThreshold;
+		return this;
+	}
+
+	public long getMultipartPartSize() {
+		return multipartPartSize;
+	}
+
+	/**
+	 * Set the size in bytes of the parts of a multipart upload. The minimum part size is 5 MB.
+	 * 
+	 * @param multipartPartSize
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setMultipartPartSize(long multipartPartSize) {
+		this.multipartPartSize = multipartPartSize;
+		return this;
+	}
+
+	public int getMultipartConcurrency() {
+		return multipartConcurrency;
+	}
+
+	/**
+	 * Set the amount of parts which will be uploaded in parallel. The parts which are currently being uploaded are kept in memory.
+	 * 
+	 * @param multipartConcurrency
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setMultipartConcurrency(int multipartConcurrency) {
+		this.multipartConcurrency = multipartConcurrency;
+		return this;
+	}
+
+	public int getMultipartRetries() {
+		return multipartRetries;
+	}
+
+	/**
+	 * Set the amount of retries for a failed part of a multipart upload.
+	 * 
+	 * @param multipartRetries
+	 * @return Fluent API
+	 */
+	public S3StorageOptions setMultipartRetries(int multipartRetries) {
+		this.multipartRetries = multipartRetries;
+		return this;
+	}
+
 	public void validate() {
 		Objects.requireNonNull(url, "No S3 URL has been specified");
 		Objects.requireNonNull(accessId, "No accessId has been specified");
 		Objects.requireNonNull(accessKey, "No accessKey has been specified");
 		Objects.requireNonNull(region, "No region has been specified");
+		if (cacheMaxSize > 0) {
+			Objects.requireNonNull(cacheDirectory, "No cache directory has been specified");
+		}
+		if (cacheMaxSize < 0 || existsCacheTime < 0) {
+			throw new IllegalArgumentException("The cache settings must not be negative");
+		}
+		if (multipartPartSize < MIN_MULTIPART_PART_SIZE) {
+			throw new IllegalArgumentException("The multipart part size must be at least " + MIN_MULTIPART_PART_SIZE + " bytes");
+		}
+		if (multipartConcurrency < 1 || multipartRetries < 0) {
+			throw new IllegalArgumentException("The multipart concurrency must be positive and the retries must not be negative");
+		}
 	}
 
 }
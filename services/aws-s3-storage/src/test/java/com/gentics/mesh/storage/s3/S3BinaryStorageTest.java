@@ -1,23 +1,47 @@
 package com.gentics.mesh.storage.s3;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
-import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.Wait;
 
 import com.gentics.mesh.core.data.binary.Binary;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.util.RxUtil;
 
 import io.reactivex.Flowable;
+import io.reactivex.observers.TestObserver;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
-@Ignore
 public class S3BinaryStorageTest {
 
 	public static final String VERSION = "RELEASE.2018-01-18T20-33-21Z";
@@ -35,29 +59,142 @@ public class S3BinaryStorageTest {
 		.withExposedPorts(9000)
 		.waitingFor(Wait.forHttp("/").forStatusCode(403));
 
+	private S3StorageOptions options;
+
 	private S3BinaryStorage storage;
 
+	private File cacheDir;
+
 	@Before
 	public void setup() {
-		S3StorageOptions options = new S3StorageOptions();
+		cacheDir = new File("target/binaryCache_" + System.currentTimeMillis());
+		options = new S3StorageOptions();
 		options.setAccessId(ACCESS_KEY);
 		options.setAccessKey(SECRET_KEY);
-		options.setRegion("US_EAST_1");
+		options.setRegion("us-east-1");
 		options.setBucketName(BUCKET_NAME);
 		options.setUrl("http://localhost:" + minio.getMappedPort(9000));
 		storage = new S3BinaryStorage(options, vertx);
 	}
 
+	@After
+	public void cleanup() throws IOException {
+		FileUtils.deleteDirectory(cacheDir);
+	}
+
 	@Test
 	public void testStore() {
+		BinaryGraphField mockField = mockField("test");
+		assertFalse(storage.exists(mockField));
+		storage.store(Flowable.just(Buffer.buffer("test")), "test").blockingAwait();
+		assertTrue(storage.exists(mockField));
+		assertEquals("test", storage.readAllSync("test").toString());
+
+		storage.delete("test").blockingAwait();
+		assertFalse(storage.exists(mockField));
+	}
+
+	@Test
+	public void testRangeRead() {
+		storage.store(Flowable.just(Buffer.buffer("0123456789")), "range").blockingAwait();
+		assertEquals("3456", RxUtil.readEntireData(storage.read("range", 3, 4)).blockingGet().toString());
+	}
+
+	@Test
+	public void testMultipartUpload() {
+		options.setMultipartThreshold(S3StorageOptions.MIN_MULTIPART_PART_SIZE);
+		options.setMultipartPartSize(S3StorageOptions.MIN_MULTIPART_PART_SIZE);
+		S3BinaryStorage multipartStorage = new S3BinaryStorage(options, vertx);
+		byte[] data = new byte[(int) (S3StorageOptions.MIN_MULTIPART_PART_SIZE * 2 + 1000)];
+		new Random().nextBytes(data);
+
+		// Upload the data in three parts
+		multipartStorage.store(Flowable.just(Buffer.buffer(data)), "multipart").blockingAwait();
+		assertArrayEquals(data, multipartStorage.readAllSync("multipart").getBytes());
+	}
+
+	@Test
+	public void testMultipartUploadRetry() {
+		options.setMultipartThreshold(S3StorageOptions.MIN_MULTIPART_PART_SIZE);
+		options.setMultipartPartSize(S3StorageOptions.MIN_MULTIPART_PART_SIZE);
+		AtomicInteger failures = new AtomicInteger();
+		S3AsyncClient client = failingClient(part -> part == 2 && failures.getAndIncrement() == 0);
+		S3BinaryStorage multipartStorage = new S3BinaryStorage(options, vertx, client);
+		byte[] data = new byte[(int) (S3StorageOptions.MIN_MULTIPART_PART_SIZE * 2 + 1000)];
+		new Random().nextBytes(data);
+
+		multipartStorage.store(Flowable.just(Buffer.buffer(data)), "retry").blockingAwait();
+		assertArrayEquals(data, multipartStorage.readAllSync("retry").getBytes());
+		// Three parts and the retry of the second part
+		Mockito.verify(client, Mockito.times(4)).uploadPart(Matchers.any(UploadPartRequest.class), Matchers.any(AsyncRequestBody.class));
+		Mockito.verify(client, Mockito.never()).abortMultipartUpload(Matchers.any(AbortMultipartUploadRequest.class));
+	}
+
+	@Test
+	public void testMultipartUploadAbort() {
+		options.setMultipartThreshold(S3StorageOptions.MIN_MULTIPART_PART_SIZE);
+		options.setMultipartPartSize(S3StorageOptions.MIN_MULTIPART_PART_SIZE);
+		options.setMultipartRetries(1);
+		S3AsyncClient client = failingClient(part -> part == 2);
+		S3BinaryStorage multipartStorage = new S3BinaryStorage(options, vertx, client);
+		byte[] data = new byte[(int) (S3StorageOptions.MIN_MULTIPART_PART_SIZE * 2 + 1000)];
+
+		TestObserver<Void> upload = multipartStorage.store(Flowable.just(Buffer.buffer(data)), "abort").test();
+		upload.awaitTerminalEvent(1, TimeUnit.MINUTES);
+		upload.assertError(RuntimeException.class);
+		// The second part is uploaded once and retried once
+		Mockito.verify(client, Mockito.times(2)).uploadPart(Matchers.argThat(isPart(2)), Matchers.any(AsyncRequestBody.class));
+		Mockito.verify(client).abortMultipartUpload(Matchers.any(AbortMultipartUploadRequest.class));
+		Mockito.verify(client, Mockito.never()).completeMultipartUpload(Matchers.any(CompleteMultipartUploadRequest.class));
+		assertFalse("The aborted upload should not have been stored", multipartStorage.exists(mockField("abort")));
+	}
+
+	@Test
+	public void testCachedStorage() {
+		options.setCacheDirectory(cacheDir.getAbsolutePath());
+		BinaryStorage cached = S3BinaryStorage.create(options, vertx);
+		cached.store(Flowable.just(Buffer.buffer("cached")), "cached").blockingAwait();
+		assertEquals("cached", RxUtil.readEntireData(cached.read("cached")).blockingGet().toString());
+		assertNotNull("The binary should have been copied to the local cache", cached.getLocalPath("cached"));
+	}
+
+	/**
+	 * Create a client which fails the upload of the parts which match the predicate and which delegates all other requests to the S3 service.
+	 * 
+	 * @param failPart
+	 *            Predicate for the part number which is invoked for every upload of a part
+	 * @return
+	 */
+	private S3AsyncClient failingClient(IntPredicate failPart) {
+		S3AsyncClient realClient = S3BinaryStorage.createClient(options);
+		S3AsyncClient client = Mockito.mock(S3AsyncClient.class, AdditionalAnswers.delegatesTo(realClient));
+		Mockito.doAnswer(invocation -> {
+			UploadPartRequest request = (UploadPartRequest) invocation.getArguments()[0];
+			if (failPart.test(request.partNumber())) {
+				CompletableFuture<UploadPartResponse> future = new CompletableFuture<>();
+				future.completeExceptionally(new RuntimeException("Upload of part {" + request.partNumber() + "} failed"));
+				return future;
+			}
+			return realClient.uploadPart(request, (AsyncRequestBody) invocation.getArguments()[1]);
+		}).when(client).uploadPart(Matchers.any(UploadPartRequest.class), Matchers.any(AsyncRequestBody.class));
+		return client;
+	}
+
+	private ArgumentMatcher<UploadPartRequest> isPart(int partNumber) {
+		return new ArgumentMatcher<UploadPartRequest>() {
+			@Override
+			public boolean matches(Object argument) {
+				return argument instanceof UploadPartRequest && ((UploadPartRequest) argument).partNumber() == partNumber;
+			}
+		};
+	}
+
+	private BinaryGraphField mockField(String uuid) {
 		BinaryGraphField mockField = Mockito.mock(BinaryGraphField.class);
 		Binary binary = Mockito.mock(Binary.class);
 		Mockito.when(mockField.getBinary()).thenReturn(binary);
-		Mockito.when(binary.getSHA512Sum()).thenReturn("test");
-//		assertFalse(storage.exists(mockField));
-		storage.store(Flowable.just(Buffer.buffer("test")), "test").blockingAwait();
-		assertTrue(storage.exists(mockField));
-		storage.read("test").ignoreElements().blockingAwait();
+		Mockito.when(binary.getUuid()).thenReturn(uuid);
+		return mockField;
 	}
 
 }
@@ -0,0 +1,84 @@
+package com.gentics.mesh.image;
+
+import static com.gentics.mesh.core.rest.error.Errors.error;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.gentics.mesh.etc.config.ImageManipulatorOptions;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Admission control for image operations. Each operation reserves the estimated amount of memory which is needed to decode and resize the image. The
+ * operation has to wait if the reservations of the currently running operations would exceed the configured limit.
+ */
+public class ImageMemoryLimiter {
+
+	private static final Logger log = LoggerFactory.getLogger(ImageMemoryLimiter.class);
+
+	/**
+	 * Time in seconds an operation waits for the memory reservation.
+	 */
+	public static final long ACQUIRE_TIMEOUT = 60;
+
+	private final Semaphore permits;
+
+	private final int maxPermits;
+
+	/**
+	 * Create a new limiter.
+	 *
+	 * @param options
+	 */
+	public ImageMemoryLimiter(ImageManipulatorOptions options) {
+		long limit = options.getDecodeMemoryLimit();
+		if (limit <= 0) {
+			limit = Runtime.getRuntime().maxMemory() / 4;
+		}
+		// The permits are measured in kilobytes
+		this.maxPermits = (int) Math.max(Math.min(limit / 1024, Integer.MAX_VALUE), 1);
+		this.permits = new Semaphore(maxPermits, true);
+	}
+
+	/**
+	 * Reserve the given amount of memory. Reservations which exceed the limit will wait until no other operation is running.
+	 *
+	 * @param bytes
+	 * @return Amount of reserved permits which need to be passed to {@link #release(int)}
+	 */
+	public int acquire(long bytes) {
+		int required = (int) Math.max(Math.min(bytes / 1024, maxPermits), 1);
+		try {
+			if (!permits.tryAcquire(required, ACQUIRE_TIMEOUT, TimeUnit.SECONDS)) {
+				log.warn("Could not reserve {" + bytes + "} bytes for the image operation within {" + ACQUIRE_TIMEOUT + "} seconds");
+				throw error(SERVICE_UNAVAILABLE, "image_error_memory_limit_reached");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw error(SERVICE_UNAVAILABLE, "image_error_memory_limit_reached");
+		}
+		return required;
+	}
+
+	/**
+	 * Release the reservation.
+	 *
+	 * @param reserved
+	 */
+	public void release(int reserved) {
+		permits.release(reserved);
+	}
+
+	/**
+	 * Return the amount of currently available memory in kilobytes.
+	 *
+	 * @return
+	 */
+	public int available() {
+		return permits.availablePermits();
+	}
+
+}
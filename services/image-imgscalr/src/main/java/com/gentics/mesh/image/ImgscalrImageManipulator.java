@@ -11,6 +11,7 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Function;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
@@ -39,6 +40,7 @@ import com.gentics.mesh.parameter.image.ImageRect;
 import com.gentics.mesh.util.PropReadFileStream;
 import com.gentics.mesh.util.RxUtil;
 
+import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
@@ -58,6 +60,8 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 
 	private WorkerExecutor workerPool;
 
+	private ImageMemoryLimiter memoryLimiter;
+
 	public ImgscalrImageManipulator() {
 		this(new Vertx(Mesh.vertx()), Mesh.mesh().getOptions().getImageOptions());
 	}
@@ -66,6 +70,7 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 		super(vertx, options);
 		// 10 seconds
 		workerPool = vertx.createSharedWorkerExecutor("resizeWorker", 5, Duration.ofSeconds(10).toNanos());
+		memoryLimiter = new ImageMemoryLimiter(options);
 	}
 
 	/**
@@ -98,9 +103,22 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 	 * @return Resized image or original image if no resize operation was requested
 	 */
 	protected BufferedImage resizeIfRequested(BufferedImage originalImage, ImageManipulationParameters parameters) {
+		return resizeIfRequested(originalImage, parameters, (double) originalImage.getWidth() / (double) originalImage.getHeight());
+	}
+
+	/**
+	 * Resize the image if the request contains resize parameters.
+	 *
+	 * @param originalImage
+	 * @param parameters
+	 * @param aspectRatio
+	 *            Aspect ratio which is used to calculate a missing target dimension. The ratio of the source image is used since the decoded image
+	 *            may have been subsampled.
+	 * @return Resized image or original image if no resize operation was requested
+	 */
+	private BufferedImage resizeIfRequested(BufferedImage originalImage, ImageManipulationParameters parameters, double aspectRatio) {
 		int originalHeight = originalImage.getHeight();
 		int originalWidth = originalImage.getWidth();
-		double aspectRatio = (double) originalWidth / (double) originalHeight;
 
 		// Resize if required and calculate missing parameters if needed
 		Integer pHeight = parameters.getHeight();
@@ -215,15 +233,19 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 	 *
 	 * @param image The image to process
 	 * @param parameters The parameters defining cropping and resizing requests
+	 * @param source The source region which was decoded
 	 * @return The modified image
 	 */
-	private BufferedImage cropAndResize(BufferedImage image, ImageManipulationParameters parameters) {
+	private BufferedImage cropAndResize(BufferedImage image, ImageManipulationParameters parameters, SourceRegion source) {
 		CropMode cropMode = parameters.getCropMode();
 		boolean omitResize = false;
 		if (cropMode != null) {
 			switch (cropMode) {
 				case RECT:
-					image = crop(image, parameters.getRect());
+					// The crop area has already been applied when the image was decoded
+					if (!source.isCropped()) {
+						image = crop(image, parameters.getRect());
+					}
 					break;
 				case FOCALPOINT:
 					image = focalPointModifier.apply(image, parameters);
@@ -234,12 +256,56 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 		}
 
 		if (!omitResize) {
-			image = resizeIfRequested(image, parameters);
+			image = resizeIfRequested(image, parameters, source.getAspectRatio());
 		}
 
 		return image;
 	}
 
+	/**
+	 * Determine the region and the subsampling which will be used to decode the image. Only the crop area will be decoded for rect crop requests. Rows
+	 * and columns are skipped when the image is much larger than the requested size so that the decoded image is at least twice the target size.
+	 *
+	 * @param reader
+	 *            Reader of the image
+	 * @param parameters
+	 * @return
+	 * @throws IOException
+	 */
+	protected SourceRegion getSourceRegion(ImageReader reader, ImageManipulationParameters parameters) throws IOException {
+		int width = reader.getWidth(0);
+		int height = reader.getHeight(0);
+		SourceRegion source = new SourceRegion(width, height);
+
+		ImageRect rect = parameters.getRect();
+		if (parameters.getCropMode() == CropMode.RECT && rect != null) {
+			rect.validateCropBounds(width, height);
+			source.crop(rect);
+		}
+
+		// Zooming operates on the pixels of the original image. Subsampling would change the result.
+		Float zoom = parameters.getFocalPointZoom();
+		if (parameters.getCropMode() == CropMode.FOCALPOINT && zoom != null && zoom > 1) {
+			return source;
+		}
+
+		Integer targetWidth = parameters.getWidth();
+		Integer targetHeight = parameters.getHeight();
+		if (targetWidth == null && targetHeight == null) {
+			return source;
+		}
+		double ratio;
+		if (targetWidth == null) {
+			ratio = (double) source.getHeight() / targetHeight;
+		} else if (targetHeight == null) {
+			ratio = (double) source.getWidth() / targetWidth;
+		} else {
+			ratio = Math.min((double) source.getWidth() / targetWidth, (double) source.getHeight() / targetHeight);
+		}
+		source.setSubsampling((int) Math.floor(ratio / 2));
+		return source;
+	}
+
 	@Override
 	public Single<PropReadFileStream> handleResize(Flowable<Buffer> stream, String cacheKey, ImageManipulationParameters parameters) {
 		// Validate the resize parameters
@@ -249,23 +315,60 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 		} catch (Exception e) {
 			return Single.error(e);
 		}
-		File cacheFile = getCacheFile(cacheKey, parameters);
+		String variantKey = parameters.getCacheKey();
+		Function<File, Single<File>> resize = baseFile -> resize(stream, baseFile, parameters);
+
+		// Concurrent requests for the same variant share the resize operation
+		return cache.computeIfAbsent(cacheKey, variantKey, resize).flatMap(file -> {
+			return PropReadFileStream.openFile(this.vertx, file.getAbsolutePath()).onErrorResumeNext(e -> {
+				// The cached file may have been removed from the disk. Create it again.
+				if (log.isDebugEnabled()) {
+					log.debug("Could not open cached file {" + file.getAbsolutePath() + "}", e);
+				}
+				cache.invalidate(cacheKey, variantKey);
+				return cache.computeIfAbsent(cacheKey, variantKey, resize).flatMap(recreated -> PropReadFileStream.openFile(this.vertx, recreated
+					.getAbsolutePath()));
+			});
+		});
+	}
 
-		// Check the cache file directory
-		if (cacheFile.exists()) {
-			return PropReadFileStream.openFile(this.vertx, cacheFile.getAbsolutePath());
+	@Override
+	public Completable prepareResize(Flowable<Buffer> stream, String cacheKey, ImageManipulationParameters parameters) {
+		try {
+			parameters.validate();
+			parameters.validateLimits(options);
+		} catch (Exception e) {
+			return Completable.error(e);
 		}
+		return cache.computeIfAbsent(cacheKey, parameters.getCacheKey(), baseFile -> resize(stream, baseFile, parameters)).toCompletable();
+	}
 
+	/**
+	 * Read the image from the stream, apply the manipulation and write the result to the cache.
+	 *
+	 * @param stream
+	 *            Stream of the original image
+	 * @param baseFile
+	 *            Cache file without the extension
+	 * @param parameters
+	 * @return Written cache file
+	 */
+	private Single<File> resize(Flowable<Buffer> stream, File baseFile, ImageManipulationParameters parameters) {
 		// TODO handle execution timeout
 		// Make sure to run that code in the dedicated thread pool it may be CPU intensive for larger images and we don't want to exhaust the regular worker
 		// pool
 		return workerPool.rxExecuteBlocking(bh -> {
+			int reserved = 0;
 			try (ImageInputStream ins = ImageIO.createImageInputStream(RxUtil.toInputStream(stream, vertx))) {
 				BufferedImage image;
 				ImageReader reader = getImageReader(ins);
+				SourceRegion source;
 
 				try {
-					image = reader.read(0);
+					source = getSourceRegion(reader, parameters);
+					// Wait until enough memory is available to decode the image
+					reserved = memoryLimiter.acquire(source.estimateMemory());
+					image = reader.read(0, source.toReadParam(reader.getDefaultReadParam()));
 				} catch (IOException e) {
 					log.error("Could not read input image", e);
 
@@ -273,14 +376,15 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 				}
 
 				if (log.isDebugEnabled()) {
-					log.debug("Read image from stream " + stream.hashCode() + " with reader " + reader.getClass().getName());
+					log.debug("Read image from stream " + stream.hashCode() + " with reader " + reader.getClass().getName() + " using subsampling {"
+						+ source.getSubsampling() + "}");
 				}
 
-				image = cropAndResize(image, parameters);
+				image = cropAndResize(image, parameters, source);
 
 				String[] extensions = reader.getOriginatingProvider().getFileSuffixes();
 				String extension = ArrayUtils.isEmpty(extensions) ? "" : extensions[0];
-				File outCacheFile = new File(cacheFile.getAbsolutePath() + "." + extension);
+				File outCacheFile = new File(baseFile.getAbsolutePath() + "." + extension);
 
 				// Write image
 				try (ImageOutputStream out = new FileImageOutputStream(outCacheFile)) {
@@ -289,12 +393,15 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 					throw error(BAD_REQUEST, "image_error_writing_failed");
 				}
 
-				// Return buffer to written cache file
-				PropReadFileStream.openFile(this.vertx, outCacheFile.getAbsolutePath()).subscribe(bh::complete, bh::fail);
+				bh.complete(outCacheFile);
 			} catch (Exception e) {
 				bh.fail(e);
+			} finally {
+				if (reserved > 0) {
+					memoryLimiter.release(reserved);
+				}
 			}
-		});
+		}, false);
 	}
 
 	@Override
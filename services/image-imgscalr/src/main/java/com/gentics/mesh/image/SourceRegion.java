@@ -0,0 +1,128 @@
+package com.gentics.mesh.image;
+
+import java.awt.Rectangle;
+
+import javax.imageio.ImageReadParam;
+
+import com.gentics.mesh.parameter.image.ImageRect;
+
+/**
+ * Region of the source image which will be decoded for a resize operation.
+ */
+public class SourceRegion {
+
+	/**
+	 * Bytes per pixel of the decoded image. The factor also covers the copy which is created by the resize operation.
+	 */
+	private static final int BYTES_PER_PIXEL = 8;
+
+	private final int imageWidth;
+
+	private final int imageHeight;
+
+	private Rectangle region;
+
+	private int subsampling = 1;
+
+	/**
+	 * Create a region which covers the whole image.
+	 *
+	 * @param imageWidth
+	 * @param imageHeight
+	 */
+	public SourceRegion(int imageWidth, int imageHeight) {
+		this.imageWidth = imageWidth;
+		this.imageHeight = imageHeight;
+	}
+
+	/**
+	 * Limit the region to the crop area.
+	 *
+	 * @param rect
+	 */
+	public void crop(ImageRect rect) {
+		this.region = new Rectangle(rect.getStartX(), rect.getStartY(), rect.getWidth(), rect.getHeight());
+	}
+
+	/**
+	 * Check whether only the crop area will be decoded.
+	 *
+	 * @return
+	 */
+	public boolean isCropped() {
+		return region != null;
+	}
+
+	/**
+	 * Return the width of the region in pixels of the source image.
+	 *
+	 * @return
+	 */
+	public int getWidth() {
+		return region == null ? imageWidth : region.width;
+	}
+
+	/**
+	 * Return the height of the region in pixels of the source image.
+	 *
+	 * @return
+	 */
+	public int getHeight() {
+		return region == null ? imageHeight : region.height;
+	}
+
+	/**
+	 * Return the aspect ratio of the region.
+	 *
+	 * @return
+	 */
+	public double getAspectRatio() {
+		return (double) getWidth() / (double) getHeight();
+	}
+
+	/**
+	 * Return the subsampling factor. Only every n-th row and column will be decoded.
+	 *
+	 * @return
+	 */
+	public int getSubsampling() {
+		return subsampling;
+	}
+
+	/**
+	 * Set the subsampling factor. Values lower than 1 will disable the subsampling.
+	 *
+	 * @param subsampling
+	 */
+	public void setSubsampling(int subsampling) {
+		this.subsampling = Math.max(subsampling, 1);
+	}
+
+	/**
+	 * Estimate the amount of memory which is needed to decode and process the region.
+	 *
+	 * @return Memory in bytes
+	 */
+	public long estimateMemory() {
+		long width = (getWidth() + subsampling - 1) / subsampling;
+		long height = (getHeight() + subsampling - 1) / subsampling;
+		return width * height * BYTES_PER_PIXEL;
+	}
+
+	/**
+	 * Apply the region and the subsampling to the read parameters.
+	 *
+	 * @param param
+	 * @return Fluent API
+	 */
+	public ImageReadParam toReadParam(ImageReadParam param) {
+		if (region != null) {
+			param.setSourceRegion(region);
+		}
+		if (subsampling > 1) {
+			param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+		}
+		return param;
+	}
+
+}
@@ -2,12 +2,14 @@ package com.gentics.mesh.image;
 
 import static com.gentics.mesh.assertj.MeshAssertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -17,6 +19,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -31,6 +35,7 @@ import org.xml.sax.SAXException;
 import com.gentics.mesh.core.image.spi.ImageInfo;
 import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.etc.config.ImageManipulatorOptions;
+import com.gentics.mesh.parameter.image.CropMode;
 import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
 import com.gentics.mesh.util.PropReadFileStream;
 import com.gentics.mesh.util.RxUtil;
@@ -245,6 +250,66 @@ public class ImgscalrImageManipulatorTest extends AbstractImageTest {
 
 	}
 
+	@Test
+	public void testSourceRegion() throws IOException {
+		BufferedImage bi = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ImageIO.write(bi, "png", bos);
+
+		try (ImageInputStream ins = ImageIO.createImageInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			ImageReader reader = ImageIO.getImageReaders(ins).next();
+			reader.setInput(ins);
+
+			// Thumbnails are decoded using subsampling
+			SourceRegion source = manipulator.getSourceRegion(reader, new ImageManipulationParametersImpl().setWidth(100));
+			assertEquals(10, source.getSubsampling());
+			assertFalse(source.isCropped());
+			BufferedImage decoded = reader.read(0, source.toReadParam(reader.getDefaultReadParam()));
+			assertEquals(200, decoded.getWidth());
+			assertEquals(100, decoded.getHeight());
+
+			// No subsampling if the target is close to the original size
+			source = manipulator.getSourceRegion(reader, new ImageManipulationParametersImpl().setWidth(1500).setHeight(500));
+			assertEquals(1, source.getSubsampling());
+
+			// Only the crop area is decoded
+			ImageManipulationParametersImpl params = new ImageManipulationParametersImpl();
+			params.setRect(0, 100, 400, 800).setCropMode(CropMode.RECT).setWidth(200);
+			source = manipulator.getSourceRegion(reader, params);
+			assertTrue(source.isCropped());
+			assertEquals(2, source.getSubsampling());
+			decoded = reader.read(0, source.toReadParam(reader.getDefaultReadParam()));
+			assertEquals(400, decoded.getWidth());
+			assertEquals(200, decoded.getHeight());
+
+			// Zoom operations need the original pixels
+			params = new ImageManipulationParametersImpl();
+			params.setFocalPoint(0.5f, 0.5f).setFocalPointZoom(2f).setCropMode(CropMode.FOCALPOINT).setWidth(100).setHeight(100);
+			assertEquals(1, manipulator.getSourceRegion(reader, params).getSubsampling());
+		}
+	}
+
+	@Test
+	public void testPrepareResize() throws IOException {
+		BufferedImage bi = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ImageIO.write(bi, "png", bos);
+		Flowable<Buffer> data = Flowable.just(Buffer.buffer(bos.toByteArray()));
+		ImageManipulationParametersImpl params = new ImageManipulationParametersImpl();
+		params.setWidth(100);
+
+		assertFalse("The variant should not yet be cached", manipulator.getCacheFile("somehash", params).exists());
+		manipulator.prepareResize(data, "somehash", params).blockingAwait();
+		File cached = manipulator.getCacheFile("somehash", params);
+		assertTrue("The variant should have been written to the cache", cached.exists());
+		BufferedImage resized = ImageIO.read(cached);
+		assertEquals(100, resized.getWidth());
+		assertEquals(50, resized.getHeight());
+
+		// The cached variant should be reused
+		manipulator.prepareResize(Flowable.error(new IOException("The data should not be read")), "somehash", params).blockingAwait();
+	}
+
 	@Test
 	public void testTikaMetadata() throws IOException, SAXException, TikaException {
 		InputStream ins = getClass().getResourceAsStream("/pictures/12382975864_09e6e069e7_o.jpg");
@@ -4,7 +4,10 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -120,6 +123,24 @@ public class LocalBinaryStorage extends AbstractBinaryStorage {
 		return buffer.toString();
 	}
 
+	@Override
+	public Flowable<StoredBinary> list() {
+		return Flowable.defer(() -> {
+			Path root = new File(Mesh.mesh().getOptions().getUploadOptions().getDirectory()).toPath();
+			if (!Files.exists(root)) {
+				return Flowable.empty();
+			}
+			// The directory is walked lazily to avoid loading all entries at once
+			return Flowable.using(() -> Files.walk(root), paths -> Flowable.fromIterable(() -> paths.iterator()), Stream::close)
+				.filter(path -> path.getFileName().toString().endsWith(".bin") && Files.isRegularFile(path))
+				.map(path -> {
+					File file = path.toFile();
+					String name = file.getName();
+					return new StoredBinary(name.substring(0, name.length() - 4), file.length(), file.lastModified());
+				});
+		});
+	}
+
 	@Override
 	public Completable delete(String binaryUuid) {
 		String path = getFilePath(binaryUuid);
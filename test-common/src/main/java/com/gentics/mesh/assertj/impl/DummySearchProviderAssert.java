@@ -48,6 +48,14 @@ public class DummySearchProviderAssert extends AbstractAssert<DummySearchProvide
 		return this;
 	}
 
+	public DummySearchProviderAssert recordedUpdateEvents(int count) {
+		isNotNull();
+		String info = actual.getUpdateEvents().keySet().stream().map(Object::toString).reduce((t, u) -> t + "\n" + u).orElse("");
+		assertEquals("The search provider did not record the correct amount of update events. Found events: {\n" + info + "\n}", count, actual
+				.getUpdateEvents().size());
+		return this;
+	}
+
 	public DummySearchProviderAssert hasNoStoreEvents() {
 		return recordedStoreEvents(0);
 	}
@@ -72,6 +80,25 @@ public class DummySearchProviderAssert extends AbstractAssert<DummySearchProvide
 		return this;
 	}
 
+	/**
+	 * Verify that the search provider recorded the given (partial) update event.
+	 * 
+	 * @param indexName
+	 * @param documentId
+	 * @return Fluent API
+	 */
+	public DummySearchProviderAssert hasUpdate(String indexName, String documentId) {
+		String key = indexName + "-" + documentId;
+		boolean hasKey = actual.getUpdateEvents().containsKey(key);
+		if (!hasKey) {
+			for (String event : actual.getUpdateEvents().keySet()) {
+				System.out.println("Recorded update event: " + event);
+			}
+		}
+		assertTrue("The update event could not be found. {" + indexName + "} {" + documentId + "}", hasKey);
+		return this;
+	}
+
 	/**
 	 * Verify that the search provider recorded the given create event.
 	 * 
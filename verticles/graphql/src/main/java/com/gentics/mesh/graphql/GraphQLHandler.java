@@ -1,8 +1,12 @@
 package com.gentics.mesh.graphql;
 
+import static com.gentics.mesh.core.rest.error.Errors.error;
+import static com.gentics.mesh.http.HttpConstants.APPLICATION_JSON_UTF8;
 import static graphql.GraphQL.newGraphQL;
+import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +16,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.syncleus.ferma.tx.Tx;
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.rest.error.AbstractUnavailableException;
 import com.gentics.mesh.core.rest.error.PermissionException;
 import com.gentics.mesh.graphdb.spi.Database;
@@ -23,6 +28,12 @@ import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphQLError;
 import graphql.language.SourceLocation;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
@@ -39,6 +50,8 @@ public class GraphQLHandler {
 	@Inject
 	public Database db;
 
+	private ParallelQueryExecutionStrategy parallelStrategy;
+
 	@Inject
 	public GraphQLHandler() {
 	}
@@ -52,35 +65,88 @@ public class GraphQLHandler {
 	 *            GraphQL query
 	 */
 	public void handleQuery(GraphQLContext gc, String body) {
-		try (Tx tx = db.tx()) {
-			JsonObject queryJson = new JsonObject(body);
-			String query = queryJson.getString("query");
-			GraphQL graphQL = newGraphQL(typeProvider.getRootSchema(gc)).build();
-			ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(query).context(gc).variables(extractVariables(queryJson))
-					.build();
-			ExecutionResult result = graphQL.execute(executionInput);
-			List<GraphQLError> errors = result.getErrors();
-			JsonObject response = new JsonObject();
-			if (!errors.isEmpty()) {
-				addErrors(errors, response);
-				log.warn("Encountered {" + errors.size() + "} errors while executing query {" + query + "}");
-				if (log.isDebugEnabled()) {
-					for (GraphQLError error : errors) {
-						String loc = "unknown location";
-						if (error.getLocations() != null) {
-							loc = error.getLocations().stream().map(Object::toString).collect(Collectors.joining(","));
-						}
-						log.debug("Error: " + error.getErrorType() + ":" + error.getMessage() + ":" + loc);
-					}
+		JsonObject queryJson = new JsonObject(body);
+		String query = queryJson.getString("query");
+		ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(query).context(gc).variables(extractVariables(queryJson))
+			.build();
+
+		if (Mesh.mesh().getOptions().getGraphQLOptions().isParallelExecution()) {
+			// The schema is built within a short transaction. The fields will be resolved by the strategy within their own transactions.
+			GraphQL graphQL;
+			try (Tx tx = db.tx()) {
+				graphQL = newGraphQL(typeProvider.getRootSchema(gc)).queryExecutionStrategy(getParallelStrategy()).build();
+			}
+			graphQL.executeAsync(executionInput).whenComplete((result, error) -> {
+				if (error != null) {
+					gc.fail(error);
+					return;
+				}
+				// Errors of the callback would otherwise be swallowed by the future and the request would never be answered
+				try {
+					sendResult(gc, query, result);
+				} catch (Throwable e) {
+					gc.fail(e);
 				}
+			});
+		} else {
+			try (Tx tx = db.tx()) {
+				GraphQL graphQL = newGraphQL(typeProvider.getRootSchema(gc)).build();
+				ExecutionResult result = graphQL.execute(executionInput);
+				sendResult(gc, query, result);
 			}
-			if (result.getData() != null) {
-				Map<String, Object> data = (Map<String, Object>) result.getData();
-				response.put("data", new JsonObject(data));
+		}
+	}
+
+	/**
+	 * Encode the execution result and send it. The response is directly written into the response buffer.
+	 * 
+	 * @param gc
+	 * @param query
+	 * @param result
+	 */
+	private void sendResult(GraphQLContext gc, String query, ExecutionResult result) {
+		List<GraphQLError> errors = result.getErrors();
+		JsonObject response = new JsonObject();
+		if (!errors.isEmpty()) {
+			addErrors(errors, response);
+			log.warn("Encountered {" + errors.size() + "} errors while executing query {" + query + "}");
+			if (log.isDebugEnabled()) {
+				for (GraphQLError error : errors) {
+					String loc = "unknown location";
+					if (error.getLocations() != null) {
+						loc = error.getLocations().stream().map(Object::toString).collect(Collectors.joining(","));
+					}
+					log.debug("Error: " + error.getErrorType() + ":" + error.getMessage() + ":" + loc);
+				}
 			}
-			gc.send(response.encodePrettily(), OK);
+		}
+		if (result.getData() != null) {
+			Map<String, Object> data = (Map<String, Object>) result.getData();
+			response.put("data", new JsonObject(data));
 		}
 
+		ByteBuf buf = Unpooled.buffer();
+		try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
+			Json.mapper.writeValue(out, response);
+		} catch (IOException e) {
+			buf.release();
+			throw error(INTERNAL_SERVER_ERROR, "error_internal", e);
+		}
+		gc.send(Buffer.buffer(buf), OK, APPLICATION_JSON_UTF8);
+	}
+
+	/**
+	 * Return the lazily created execution strategy which is used for parallel execution.
+	 * 
+	 * @return
+	 */
+	private synchronized ParallelQueryExecutionStrategy getParallelStrategy() {
+		if (parallelStrategy == null) {
+			int poolSize = Mesh.mesh().getOptions().getGraphQLOptions().getWorkerPoolSize();
+			WorkerExecutor workerPool = Mesh.vertx().createSharedWorkerExecutor("graphqlWorker", poolSize);
+			parallelStrategy = new ParallelQueryExecutionStrategy(db, workerPool);
+		}
+		return parallelStrategy;
 	}
 
 	/**
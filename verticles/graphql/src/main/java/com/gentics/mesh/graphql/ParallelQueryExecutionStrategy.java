@@ -0,0 +1,67 @@
+package com.gentics.mesh.graphql;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.gentics.mesh.graphdb.spi.Database;
+import com.syncleus.ferma.tx.Tx;
+
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.execution.FieldValueInfo;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Execution strategy which resolves the top-level fields of a query (e.g. <code>me</code>, <code>project</code>, <code>nodes</code>) concurrently. Each
+ * top-level field and its complete sub-tree will be resolved within a dedicated short read transaction on the given worker pool. Nested fields are
+ * resolved inline by the thread which handles the top-level field.
+ */
+public class ParallelQueryExecutionStrategy extends AsyncExecutionStrategy {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelQueryExecutionStrategy.class);
+
+	private final Database db;
+
+	private final WorkerExecutor workerPool;
+
+	public ParallelQueryExecutionStrategy(Database db, WorkerExecutor workerPool) {
+		this.db = db;
+		this.workerPool = workerPool;
+	}
+
+	@Override
+	protected CompletableFuture<FieldValueInfo> resolveFieldWithInfo(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+		// Only the fields of the query type are dispatched to the pool
+		if (parameters.getPath().getLevel() != 1) {
+			return super.resolveFieldWithInfo(executionContext, parameters);
+		}
+
+		CompletableFuture<FieldValueInfo> future = new CompletableFuture<>();
+		workerPool.<FieldValueInfo>executeBlocking(bc -> {
+			try (Tx tx = db.tx()) {
+				FieldValueInfo info = super.resolveFieldWithInfo(executionContext, parameters).join();
+				// Complete the whole sub-tree while the transaction is still open
+				info.getFieldValue().join();
+				bc.complete(info);
+			} catch (CompletionException e) {
+				bc.fail(e.getCause());
+			} catch (Exception e) {
+				bc.fail(e);
+			}
+		}, false, rh -> {
+			if (rh.failed()) {
+				if (log.isDebugEnabled()) {
+					log.debug("Error while resolving field {" + parameters.getPath() + "}", rh.cause());
+				}
+				future.completeExceptionally(rh.cause());
+			} else {
+				future.complete(rh.result());
+			}
+		});
+		return future;
+	}
+
+}